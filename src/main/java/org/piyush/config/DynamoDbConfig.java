@@ -5,8 +5,12 @@ import lombok.NoArgsConstructor;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 import java.net.URI;
@@ -20,20 +24,19 @@ public class DynamoDbConfig {
   private static final String AWS_REGION = System.getenv().getOrDefault("AWS_REGION", "us-east-1");
   private static final String TABLE_NAME = System.getenv().getOrDefault("DYNAMODB_TABLE_NAME", "task_management");
   private static final boolean IS_LOCAL = Boolean.parseBoolean(System.getenv().getOrDefault("IS_LOCAL", "false"));
+  // ✅ Upper bound on concurrent requests the async client keeps open
+  private static final int ASYNC_MAX_CONCURRENCY =
+      Integer.parseInt(System.getenv().getOrDefault("DYNAMODB_ASYNC_MAX_CONCURRENCY", "100"));
 
-  private static final class EnhancedClientHolder {
-    private static final DynamoDbEnhancedClient enhancedClient = createClient();
-
-    private static DynamoDbEnhancedClient createClient() {
-      return DynamoDbEnhancedClient.builder()
-          .dynamoDbClient(createDynamoDbClient())
-          .build();
-    }
+  private static final class ClientHolder {
+    private static final DynamoDbClient client = createDynamoDbClient();
 
     private static DynamoDbClient createDynamoDbClient() {
       if (IS_LOCAL || IS_TEST) {
         System.out.println("🔹 Using Local DynamoDB for Testing");
         return DynamoDbClient.builder()
+            .httpClient(HttpClientConfig.httpClient())
+            .overrideConfiguration(HttpClientConfig.overrideConfiguration())
             .endpointOverride(URI.create("http://localhost:8000"))
             .region(Region.of(AWS_REGION))
             .credentialsProvider(StaticCredentialsProvider.create(
@@ -42,6 +45,8 @@ public class DynamoDbConfig {
       } else {
         System.out.println("☁️ Using AWS DynamoDB");
         return DynamoDbClient.builder()
+            .httpClient(HttpClientConfig.httpClient())
+            .overrideConfiguration(HttpClientConfig.overrideConfiguration())
             .region(Region.of(AWS_REGION))
             .credentialsProvider(DefaultCredentialsProvider.create()) // Uses IAM role in AWS
             .build();
@@ -49,7 +54,62 @@ public class DynamoDbConfig {
     }
   }
 
+  private static final class EnhancedClientHolder {
+    private static final DynamoDbEnhancedClient enhancedClient = createClient();
+
+    private static DynamoDbEnhancedClient createClient() {
+      return DynamoDbEnhancedClient.builder()
+          .dynamoDbClient(ClientHolder.client)
+          .build();
+    }
+  }
+
+  // ✅ Separate holders keep Netty off the cold start of the synchronous handlers
+  private static final class AsyncClientHolder {
+    private static final DynamoDbAsyncClient client = createDynamoDbAsyncClient();
+
+    private static DynamoDbAsyncClient createDynamoDbAsyncClient() {
+      DynamoDbAsyncClientBuilder builder = DynamoDbAsyncClient.builder()
+          .region(Region.of(AWS_REGION))
+          .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+              .maxConcurrency(ASYNC_MAX_CONCURRENCY))
+          .overrideConfiguration(HttpClientConfig.overrideConfiguration());
+      if (IS_LOCAL || IS_TEST) {
+        return builder
+            .endpointOverride(URI.create("http://localhost:8000"))
+            .credentialsProvider(StaticCredentialsProvider.create(
+                AwsBasicCredentials.create("DUMMYIDEXAMPLE", "DUMMYEXAMPLEKEY")))
+            .build();
+      }
+      return builder
+          .credentialsProvider(DefaultCredentialsProvider.create())
+          .build();
+    }
+  }
+
+  private static final class EnhancedAsyncClientHolder {
+    private static final DynamoDbEnhancedAsyncClient enhancedClient = DynamoDbEnhancedAsyncClient.builder()
+        .dynamoDbClient(AsyncClientHolder.client)
+        .build();
+  }
+
+  public static DynamoDbClient dynamoDbClient() {
+    return ClientHolder.client;
+  }
+
   public static DynamoDbEnhancedClient dynamoDbEnhancedClient() {
     return EnhancedClientHolder.enhancedClient;
   }
+
+  public static DynamoDbAsyncClient dynamoDbAsyncClient() {
+    return AsyncClientHolder.client;
+  }
+
+  public static DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient() {
+    return EnhancedAsyncClientHolder.enhancedClient;
+  }
+
+  public static String tableName() {
+    return TABLE_NAME;
+  }
 }
@@ -0,0 +1,55 @@
+package org.piyush.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ExecutorConfig {
+  // ✅ Threads used to fan out blocking DynamoDB calls (batch chunks, parallel queries)
+  private static final int IO_THREADS = Integer.parseInt(System.getenv().getOrDefault("IO_THREADS", "16"));
+  // ✅ Long-running scan segments get their own threads so they can't starve batch calls on the I/O pool
+  private static final int SCAN_THREADS = Integer.parseInt(System.getenv().getOrDefault("SCAN_THREADS", "8"));
+  // ✅ Stream projection runs one task per thread, and its projectors may fan out on the I/O pool themselves
+  private static final int STREAM_THREADS = Integer.parseInt(System.getenv().getOrDefault("STREAM_THREADS", "16"));
+
+  private static final class IoExecutorHolder {
+    private static final ExecutorService ioExecutor = createExecutor(IO_THREADS, "task-io-");
+  }
+
+  private static final class ScanExecutorHolder {
+    private static final ExecutorService scanExecutor = createExecutor(SCAN_THREADS, "task-scan-");
+  }
+
+  private static final class StreamExecutorHolder {
+    private static final ExecutorService streamExecutor = createExecutor(STREAM_THREADS, "task-stream-");
+  }
+
+  private static ExecutorService createExecutor(int threads, String namePrefix) {
+    AtomicInteger counter = new AtomicInteger();
+    return Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public static ExecutorService ioExecutor() {
+    return IoExecutorHolder.ioExecutor;
+  }
+
+  public static ExecutorService scanExecutor() {
+    return ScanExecutorHolder.scanExecutor;
+  }
+
+  public static ExecutorService streamExecutor() {
+    return StreamExecutorHolder.streamExecutor;
+  }
+
+  public static int scanThreads() {
+    return SCAN_THREADS;
+  }
+}
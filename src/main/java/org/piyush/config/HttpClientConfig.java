@@ -0,0 +1,120 @@
+package org.piyush.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtHttpClient;
+import software.amazon.awssdk.http.crt.TcpKeepAliveConfiguration;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * HTTP transport for the synchronous DynamoDB client, chosen with {@code DYNAMODB_HTTP_CLIENT}
+ * ({@code apache}, {@code url-connection} or {@code crt}; {@code apache} unless set). Several transports are on the
+ * classpath, so the SDK's own discovery can't be relied on to pick one.
+ * <p>
+ * Tuning, all optional:
+ * <ul>
+ *   <li>{@code DYNAMODB_MAX_CONNECTIONS} - pool size (default 50)</li>
+ *   <li>{@code DYNAMODB_TCP_KEEP_ALIVE} - TCP keep-alive on pooled connections (default true)</li>
+ *   <li>{@code DYNAMODB_CONNECTION_TTL_MS} - how long a pooled connection may be reused (default 60000)</li>
+ *   <li>{@code DYNAMODB_CONNECTION_TIMEOUT_MS} - TCP connect timeout (default 2000)</li>
+ *   <li>{@code DYNAMODB_API_CALL_TIMEOUT_MS} / {@code DYNAMODB_API_CALL_ATTEMPT_TIMEOUT_MS} - whole call including
+ *   retries / single attempt (SDK default, i.e. none, unless set)</li>
+ * </ul>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class HttpClientConfig {
+  private static final Logger logger = LoggerFactory.getLogger(HttpClientConfig.class);
+
+  private static final int MAX_CONNECTIONS = intSetting("DYNAMODB_MAX_CONNECTIONS", 50);
+  private static final boolean TCP_KEEP_ALIVE =
+      Boolean.parseBoolean(System.getenv().getOrDefault("DYNAMODB_TCP_KEEP_ALIVE", "true"));
+  private static final Duration CONNECTION_TTL = Duration.ofMillis(intSetting("DYNAMODB_CONNECTION_TTL_MS", 60_000));
+  private static final Duration CONNECTION_TIMEOUT =
+      Duration.ofMillis(intSetting("DYNAMODB_CONNECTION_TIMEOUT_MS", 2_000));
+  private static final int API_CALL_TIMEOUT_MS = intSetting("DYNAMODB_API_CALL_TIMEOUT_MS", 0);
+  private static final int API_CALL_ATTEMPT_TIMEOUT_MS = intSetting("DYNAMODB_API_CALL_ATTEMPT_TIMEOUT_MS", 0);
+  // ✅ CRT only: probe an idle connection after 30s, give up on it 10s later
+  private static final Duration KEEP_ALIVE_INTERVAL = Duration.ofSeconds(30);
+  private static final Duration KEEP_ALIVE_TIMEOUT = Duration.ofSeconds(10);
+
+  public enum Transport {
+    APACHE, URL_CONNECTION, CRT;
+
+    public static Transport from(String value) {
+      try {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException(String.format(
+            "Unknown DYNAMODB_HTTP_CLIENT [%s]; expected apache, url-connection or crt", value), e);
+      }
+    }
+  }
+
+  public static Transport transport() {
+    return Transport.from(System.getProperty("DYNAMODB_HTTP_CLIENT",
+        System.getenv().getOrDefault("DYNAMODB_HTTP_CLIENT", "apache")));
+  }
+
+  public static SdkHttpClient httpClient() {
+    return httpClient(transport());
+  }
+
+  public static SdkHttpClient httpClient(Transport transport) {
+    logger.info("Using {} HTTP client for DynamoDB ({} connections, keep-alive {}, TTL {})", transport,
+        MAX_CONNECTIONS, TCP_KEEP_ALIVE, CONNECTION_TTL);
+    return switch (transport) {
+      case APACHE -> ApacheHttpClient.builder()
+          .maxConnections(MAX_CONNECTIONS)
+          .tcpKeepAlive(TCP_KEEP_ALIVE)
+          .connectionTimeToLive(CONNECTION_TTL)
+          .connectionTimeout(CONNECTION_TIMEOUT)
+          .build();
+      case URL_CONNECTION -> {
+        // ✅ HttpURLConnection pools through the JDK keep-alive cache, sized by http.maxConnections (default 5)
+        if (System.getProperty("http.maxConnections") == null) {
+          System.setProperty("http.maxConnections", Integer.toString(MAX_CONNECTIONS));
+        }
+        yield UrlConnectionHttpClient.builder()
+            .connectionTimeout(CONNECTION_TIMEOUT)
+            .build();
+      }
+      case CRT -> {
+        AwsCrtHttpClient.Builder builder = AwsCrtHttpClient.builder()
+            .maxConcurrency(MAX_CONNECTIONS)
+            // ✅ CRT has no connection TTL; idle time is the closest bound on connection reuse
+            .connectionMaxIdleTime(CONNECTION_TTL)
+            .connectionTimeout(CONNECTION_TIMEOUT);
+        if (TCP_KEEP_ALIVE) {
+          builder.tcpKeepAliveConfiguration(TcpKeepAliveConfiguration.builder()
+              .keepAliveInterval(KEEP_ALIVE_INTERVAL)
+              .keepAliveTimeout(KEEP_ALIVE_TIMEOUT)
+              .build());
+        }
+        yield builder.build();
+      }
+    };
+  }
+
+  public static ClientOverrideConfiguration overrideConfiguration() {
+    ClientOverrideConfiguration.Builder builder = ClientOverrideConfiguration.builder();
+    if (API_CALL_TIMEOUT_MS > 0) {
+      builder.apiCallTimeout(Duration.ofMillis(API_CALL_TIMEOUT_MS));
+    }
+    if (API_CALL_ATTEMPT_TIMEOUT_MS > 0) {
+      builder.apiCallAttemptTimeout(Duration.ofMillis(API_CALL_ATTEMPT_TIMEOUT_MS));
+    }
+    return builder.build();
+  }
+
+  private static int intSetting(String name, int defaultValue) {
+    return Integer.parseInt(System.getenv().getOrDefault(name, Integer.toString(defaultValue)));
+  }
+}
@@ -0,0 +1,27 @@
+package org.piyush.constant;
+
+import org.piyush.model.dynamodb.DbTask;
+
+import java.util.Locale;
+
+/**
+ * Where a task's sub-tasks are stored. A task keeps the layout it was created with.
+ */
+public enum SubTaskLayout {
+  // ✅ A list attribute on the task item; the whole list is read with the task
+  EMBEDDED,
+  // ✅ One item per sub-task in the task's partition, so the task item stays small whatever the sub-task count
+  ITEMS;
+
+  /**
+   * Layout for new tasks, from {@code TASK_SUB_TASK_LAYOUT} ({@code embedded} unless set).
+   */
+  public static SubTaskLayout fromEnvironment() {
+    return valueOf(System.getenv().getOrDefault("TASK_SUB_TASK_LAYOUT", "embedded").toUpperCase(Locale.ROOT));
+  }
+
+  // ✅ Tasks written before layouts existed have no layout attribute
+  public static SubTaskLayout of(DbTask task) {
+    return task.getSubTaskLayout() != null ? task.getSubTaskLayout() : EMBEDDED;
+  }
+}
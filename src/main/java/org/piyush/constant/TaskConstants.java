@@ -8,4 +8,10 @@ public class TaskConstants {
   public static final TaskStatus DEFAULT_STATUS = TaskStatus.PENDING;
   public static final int TITLE_MAX_LENGTH = 100;
   public static final int DESCRIPTION_MAX_LENGTH = 500;
+  public static final int BATCH_CREATE_MAX_ITEMS = 1000;
+  public static final int BATCH_GET_MAX_KEYS = 5000;
+  public static final int SEARCH_MAX_RESULTS = 1000;
+  public static final int DEFAULT_PAGE_SIZE = 50;
+  public static final int MAX_PAGE_SIZE = 500;
+  public static final int COUNT_MAX_ASSIGNEES = 100;
 }
@@ -0,0 +1,33 @@
+package org.piyush.converters;
+
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * String attribute that {@link TextCompression} stores as deflated binary once it is long enough. Such attributes
+ * can't be used in filter or key conditions, since the stored value is no longer the text.
+ */
+public class CompressedTextConverter implements AttributeConverter<String> {
+
+  @Override
+  public AttributeValue transformFrom(String text) {
+    return TextCompression.shared().encode(text);
+  }
+
+  @Override
+  public String transformTo(AttributeValue attributeValue) {
+    return TextCompression.shared().decode(attributeValue);
+  }
+
+  @Override
+  public EnhancedType<String> type() {
+    return EnhancedType.of(String.class);
+  }
+
+  @Override
+  public AttributeValueType attributeValueType() {
+    return AttributeValueType.S;
+  }
+}
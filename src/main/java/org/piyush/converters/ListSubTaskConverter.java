@@ -11,6 +11,10 @@ import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 import java.util.List;
 
+/**
+ * Legacy storage of sub-tasks as a single JSON string. Only read now, through {@link SubTaskListConverter}, for items
+ * written before sub-tasks were stored as a native list.
+ */
 public class ListSubTaskConverter implements AttributeConverter<List<SubTask>> {
   private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
 
@@ -0,0 +1,121 @@
+package org.piyush.converters;
+
+import org.piyush.model.taskmanagement.SubTask;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores sub-tasks as a native list of maps, so a single sub-task can be read or updated with a document path such
+ * as {@code subTasks[3].completed}. Items written before this converter hold the list as one JSON string; those are
+ * still read through {@link ListSubTaskConverter} and are rewritten in the native form on their next save.
+ * Long sub-task descriptions are compressed like the task's own, see {@link TextCompression}.
+ */
+public class SubTaskListConverter implements AttributeConverter<List<SubTask>> {
+  public static final String ID = "id";
+  public static final String TITLE = "title";
+  public static final String COMPLETED = "completed";
+  public static final String DUE_DATE = "dueDate";
+  public static final String DESCRIPTION = "description";
+  public static final String ASSIGNEE = "assignee";
+  public static final String COMPLETED_AT = "completedAt";
+
+  private static final ListSubTaskConverter LEGACY = new ListSubTaskConverter();
+
+  @Override
+  public AttributeValue transformFrom(List<SubTask> subTasks) {
+    if (subTasks == null) {
+      return AttributeValue.builder().nul(true).build();
+    }
+    return AttributeValue.fromL(subTasks.stream().map(SubTaskListConverter::toAttributeValue).toList());
+  }
+
+  @Override
+  public List<SubTask> transformTo(AttributeValue attributeValue) {
+    if (Boolean.TRUE.equals(attributeValue.nul())) {
+      return new ArrayList<>();
+    }
+    if (attributeValue.s() != null) {
+      return new ArrayList<>(LEGACY.transformTo(attributeValue));
+    }
+    List<SubTask> subTasks = new ArrayList<>(attributeValue.l().size());
+    for (AttributeValue item : attributeValue.l()) {
+      subTasks.add(fromAttributeValue(item));
+    }
+    return subTasks;
+  }
+
+  /**
+   * @return {@code true} when the stored value is the legacy JSON string form
+   */
+  public static boolean isLegacy(AttributeValue attributeValue) {
+    return attributeValue != null && attributeValue.s() != null;
+  }
+
+  // ✅ Null members are left out of the map, as the enhanced client does for top-level attributes
+  public static AttributeValue toAttributeValue(SubTask subTask) {
+    Map<String, AttributeValue> item = new LinkedHashMap<>();
+    putString(item, ID, subTask.getId());
+    putString(item, TITLE, subTask.getTitle());
+    item.put(COMPLETED, AttributeValue.fromBool(Boolean.TRUE.equals(subTask.getCompleted())));
+    putInstant(item, DUE_DATE, subTask.getDueDate());
+    if (subTask.getDescription() != null) {
+      item.put(DESCRIPTION, TextCompression.shared().encode(subTask.getDescription()));
+    }
+    putString(item, ASSIGNEE, subTask.getAssignee());
+    putInstant(item, COMPLETED_AT, subTask.getCompletedAt());
+    return AttributeValue.fromM(item);
+  }
+
+  public static SubTask fromAttributeValue(AttributeValue attributeValue) {
+    Map<String, AttributeValue> item = attributeValue.m();
+    AttributeValue completed = item.get(COMPLETED);
+    return new SubTask()
+        .setId(string(item, ID))
+        .setTitle(string(item, TITLE))
+        .setCompleted(completed != null && Boolean.TRUE.equals(completed.bool()))
+        .setDueDate(instant(item, DUE_DATE))
+        .setDescription(TextCompression.shared().decode(item.get(DESCRIPTION)))
+        .setAssignee(string(item, ASSIGNEE))
+        .setCompletedAt(instant(item, COMPLETED_AT));
+  }
+
+  private static void putString(Map<String, AttributeValue> item, String name, String value) {
+    if (value != null) {
+      item.put(name, AttributeValue.fromS(value));
+    }
+  }
+
+  private static void putInstant(Map<String, AttributeValue> item, String name, Instant value) {
+    if (value != null) {
+      item.put(name, AttributeValue.fromS(value.toString()));
+    }
+  }
+
+  private static String string(Map<String, AttributeValue> item, String name) {
+    AttributeValue value = item.get(name);
+    return value != null ? value.s() : null;
+  }
+
+  private static Instant instant(Map<String, AttributeValue> item, String name) {
+    String value = string(item, name);
+    return value != null ? Instant.parse(value) : null;
+  }
+
+  @Override
+  public EnhancedType<List<SubTask>> type() {
+    return EnhancedType.listOf(SubTask.class);
+  }
+
+  @Override
+  public AttributeValueType attributeValueType() {
+    return AttributeValueType.L;
+  }
+}
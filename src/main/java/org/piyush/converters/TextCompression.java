@@ -0,0 +1,200 @@
+package org.piyush.converters;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores long text attributes as deflated binary. Text shorter than the threshold, or that doesn't shrink, stays a
+ * plain {@code S} value, so items written before compression was enabled read unchanged.
+ * <p>
+ * A {@code B} value starts with one header byte: the high nibble is the codec ({@code 0x1} = raw deflate) and the
+ * low nibble the preset dictionary it was compressed with ({@code 0} = none). Dictionaries are never replaced, only
+ * added under a new id, so every stored value can be inflated for as long as its dictionary ships. New values use
+ * the highest dictionary id available.
+ */
+public final class TextCompression {
+  private static final Logger logger = LoggerFactory.getLogger(TextCompression.class);
+
+  private static final int CODEC_DEFLATE = 0x10;
+  private static final int MAX_DICTIONARY_ID = 0x0f;
+  private static final String DICTIONARY_RESOURCE = "compression/task-text-%d.dict";
+
+  private static volatile TextCompression shared;
+
+  private final int thresholdBytes;
+  private final byte[][] dictionaries = new byte[MAX_DICTIONARY_ID + 1][];
+  private final int writeDictionaryId;
+  // ✅ zlib streams are costly to create; one pair per thread, reset between values
+  private final ThreadLocal<Deflater> deflaters;
+  private final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(() -> new Inflater(true));
+
+  /**
+   * @param thresholdBytes UTF-8 length from which text is compressed; 0 or less stores everything as {@code S}
+   * @param dictionaries   preset dictionaries by id (1 to 15)
+   */
+  public TextCompression(int thresholdBytes, int level, Map<Integer, byte[]> dictionaries) {
+    this.thresholdBytes = thresholdBytes;
+    this.deflaters = ThreadLocal.withInitial(() -> new Deflater(level, true));
+    int highest = 0;
+    for (Map.Entry<Integer, byte[]> dictionary : dictionaries.entrySet()) {
+      int id = dictionary.getKey();
+      if (id < 1 || id > MAX_DICTIONARY_ID) {
+        throw new IllegalArgumentException("Dictionary ids must be between 1 and " + MAX_DICTIONARY_ID);
+      }
+      this.dictionaries[id] = dictionary.getValue();
+      highest = Math.max(highest, id);
+    }
+    this.writeDictionaryId = highest;
+  }
+
+  /**
+   * Shared instance configured by {@code TASK_TEXT_COMPRESSION_THRESHOLD} (default 256 bytes, 0 disables),
+   * {@code TASK_TEXT_COMPRESSION_LEVEL} (default 6) and the dictionaries {@code task-text-<id>.dict} found under
+   * {@code TASK_TEXT_DICTIONARY_DIR} or on the classpath under {@code compression/}.
+   */
+  public static TextCompression shared() {
+    TextCompression current = shared;
+    if (current == null) {
+      synchronized (TextCompression.class) {
+        current = shared;
+        if (current == null) {
+          current = fromEnvironment();
+          shared = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  private static TextCompression fromEnvironment() {
+    String directory = System.getenv("TASK_TEXT_DICTIONARY_DIR");
+    Map<Integer, byte[]> dictionaries = new HashMap<>();
+    for (int id = 1; id <= MAX_DICTIONARY_ID; id++) {
+      byte[] dictionary = loadDictionary(directory, id);
+      if (dictionary != null) {
+        dictionaries.put(id, dictionary);
+      }
+    }
+    TextCompression compression = new TextCompression(
+        Integer.parseInt(System.getenv().getOrDefault("TASK_TEXT_COMPRESSION_THRESHOLD", "256")),
+        Integer.parseInt(System.getenv().getOrDefault("TASK_TEXT_COMPRESSION_LEVEL", "6")),
+        dictionaries);
+    logger.info("Text compression from {} bytes, writing with dictionary {} ({} loaded)",
+        compression.thresholdBytes, compression.writeDictionaryId, dictionaries.size());
+    return compression;
+  }
+
+  private static byte[] loadDictionary(String directory, int id) {
+    String name = String.format(DICTIONARY_RESOURCE, id);
+    try {
+      if (directory != null && !directory.isBlank()) {
+        Path path = Path.of(directory, name.substring(name.indexOf('/') + 1));
+        if (Files.isReadable(path)) {
+          return Files.readAllBytes(path);
+        }
+      }
+      try (InputStream in = TextCompression.class.getClassLoader().getResourceAsStream(name)) {
+        return in != null ? in.readAllBytes() : null;
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to load compression dictionary " + name, e);
+    }
+  }
+
+  public AttributeValue encode(String text) {
+    if (text == null) {
+      return AttributeValue.builder().nul(true).build();
+    }
+    // ✅ A char is at most 3 UTF-8 bytes, so short text skips the encoding
+    if (thresholdBytes <= 0 || text.length() * 3 < thresholdBytes) {
+      return AttributeValue.fromS(text);
+    }
+    byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+    if (raw.length < thresholdBytes) {
+      return AttributeValue.fromS(text);
+    }
+    byte[] compressed = deflate(raw);
+    return compressed.length < raw.length
+        ? AttributeValue.fromB(SdkBytes.fromByteArrayUnsafe(compressed))
+        : AttributeValue.fromS(text);
+  }
+
+  public String decode(AttributeValue value) {
+    if (value == null || Boolean.TRUE.equals(value.nul())) {
+      return null;
+    }
+    if (value.s() != null) {
+      return value.s();
+    }
+    if (value.b() == null) {
+      throw new IllegalStateException("Expected a string or binary text attribute");
+    }
+    return inflate(value.b().asByteArrayUnsafe());
+  }
+
+  private byte[] deflate(byte[] raw) {
+    Deflater deflater = deflaters.get();
+    deflater.reset();
+    if (writeDictionaryId != 0) {
+      deflater.setDictionary(dictionaries[writeDictionaryId]);
+    }
+    deflater.setInput(raw);
+    deflater.finish();
+    byte[] out = new byte[raw.length + 1];
+    out[0] = (byte) (CODEC_DEFLATE | writeDictionaryId);
+    int length = 1;
+    while (!deflater.finished() && length < out.length) {
+      length += deflater.deflate(out, length, out.length - length);
+    }
+    // ✅ Ran out of room before finishing: the compressed form is no smaller than the text
+    return deflater.finished() ? Arrays.copyOf(out, length) : raw;
+  }
+
+  private String inflate(byte[] stored) {
+    int header = stored[0] & 0xff;
+    if ((header & 0xf0) != CODEC_DEFLATE) {
+      throw new IllegalStateException(String.format("Unknown text encoding header 0x%02x", header));
+    }
+    int dictionaryId = header & MAX_DICTIONARY_ID;
+    if (dictionaryId != 0 && dictionaries[dictionaryId] == null) {
+      throw new IllegalStateException("Compression dictionary " + dictionaryId + " is not available");
+    }
+    Inflater inflater = inflaters.get();
+    inflater.reset();
+    if (dictionaryId != 0) {
+      inflater.setDictionary(dictionaries[dictionaryId]);
+    }
+    inflater.setInput(stored, 1, stored.length - 1);
+    byte[] out = new byte[Math.max(64, stored.length * 4)];
+    int length = 0;
+    try {
+      while (!inflater.finished()) {
+        if (length == out.length) {
+          out = Arrays.copyOf(out, out.length * 2);
+        }
+        int inflated = inflater.inflate(out, length, out.length - length);
+        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IllegalStateException("Truncated compressed text attribute");
+        }
+        length += inflated;
+      }
+    } catch (DataFormatException e) {
+      throw new IllegalStateException("Corrupt compressed text attribute", e);
+    }
+    return new String(out, 0, length, StandardCharsets.UTF_8);
+  }
+}
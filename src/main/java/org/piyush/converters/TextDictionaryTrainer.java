@@ -0,0 +1,94 @@
+package org.piyush.converters;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds a deflate preset dictionary from sample text. Deflate can only reference the last 32 KB it has seen, so the
+ * dictionary is the phrases (runs of one to four words) that the most samples share, weighted by length, with the
+ * most valuable ones last where back-references to them are shortest.
+ * <p>
+ * Run as {@code TextDictionaryTrainer <samples> <output.dict> [maxBytes]} with one sample per line, e.g. task
+ * descriptions exported from the table; ship the output as {@code task-text-<id>.dict} under a new id.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TextDictionaryTrainer {
+  public static final int MAX_DICTIONARY_BYTES = 32 * 1024;
+  private static final int MAX_PHRASE_WORDS = 4;
+
+  public static byte[] train(Collection<String> samples, int maxBytes) {
+    Map<String, Integer> documentFrequency = new HashMap<>();
+    for (String sample : samples) {
+      String[] words = sample.split("\\s+");
+      Set<String> seen = new HashSet<>();
+      for (int start = 0; start < words.length; start++) {
+        StringBuilder phrase = new StringBuilder();
+        for (int length = 1; length <= MAX_PHRASE_WORDS && start + length <= words.length; length++) {
+          phrase.append(words[start + length - 1]).append(' ');
+          String candidate = phrase.toString();
+          if (candidate.length() > 3 && seen.add(candidate)) {
+            documentFrequency.merge(candidate, 1, Integer::sum);
+          }
+        }
+      }
+    }
+
+    int minSupport = Math.max(2, samples.size() / 100);
+    List<Map.Entry<String, Integer>> ranked = new ArrayList<>(documentFrequency.entrySet().stream()
+        .filter(entry -> entry.getValue() >= minSupport)
+        .toList());
+    ranked.sort(Comparator.comparingLong(TextDictionaryTrainer::score).reversed());
+
+    // ✅ Phrases already covered by a longer selected phrase add nothing
+    List<String> selected = new ArrayList<>();
+    int size = 0;
+    int limit = Math.min(maxBytes, MAX_DICTIONARY_BYTES);
+    for (Map.Entry<String, Integer> entry : ranked) {
+      String phrase = entry.getKey();
+      int bytes = phrase.getBytes(StandardCharsets.UTF_8).length;
+      if (size + bytes > limit) {
+        continue;
+      }
+      if (selected.stream().noneMatch(chosen -> chosen.contains(phrase))) {
+        selected.add(phrase);
+        size += bytes;
+      }
+    }
+
+    ByteArrayOutputStream dictionary = new ByteArrayOutputStream(size);
+    for (int i = selected.size() - 1; i >= 0; i--) {
+      dictionary.writeBytes(selected.get(i).getBytes(StandardCharsets.UTF_8));
+    }
+    return dictionary.toByteArray();
+  }
+
+  private static long score(Map.Entry<String, Integer> entry) {
+    return (long) (entry.getValue() - 1) * entry.getKey().length();
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: TextDictionaryTrainer <samples> <output.dict> [maxBytes]");
+      System.exit(1);
+    }
+    List<String> samples = Files.readAllLines(Path.of(args[0]), StandardCharsets.UTF_8);
+    int maxBytes = args.length > 2 ? Integer.parseInt(args[2]) : MAX_DICTIONARY_BYTES;
+    byte[] dictionary = train(samples, maxBytes);
+    Files.write(Path.of(args[1]), dictionary);
+    System.out.printf("Trained a %d byte dictionary from %d samples%n", dictionary.length, samples.size());
+  }
+}
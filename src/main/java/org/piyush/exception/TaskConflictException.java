@@ -0,0 +1,11 @@
+package org.piyush.exception;
+
+public class TaskConflictException extends RuntimeException {
+  public TaskConflictException(String message) {
+    super(message);
+  }
+
+  public TaskConflictException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
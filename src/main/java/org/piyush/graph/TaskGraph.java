@@ -0,0 +1,312 @@
+package org.piyush.graph;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable dependency graph over task ids in compressed sparse row form: ids are interned to {@code 0..n-1} and
+ * the successors of node {@code u} are {@code targets[offsets[u] .. offsets[u + 1])}. An edge {@code u -> v} means
+ * {@code u} has to finish before {@code v}. Apart from the id table the graph is a handful of primitive arrays, so
+ * its memory grows with the edge count, and every algorithm here is iterative and linear in nodes plus edges.
+ */
+public final class TaskGraph {
+  // ✅ Deadline of a node that is referenced but was not found
+  public static final long NO_DEADLINE = Long.MIN_VALUE;
+
+  private final String[] ids;
+  private final Map<String, Integer> index;
+  private final long[] deadlines;
+  private final int[] offsets;
+  private final int[] targets;
+
+  private TaskGraph(String[] ids, Map<String, Integer> index, long[] deadlines, int[] offsets, int[] targets) {
+    this.ids = ids;
+    this.index = index;
+    this.deadlines = deadlines;
+    this.offsets = offsets;
+    this.targets = targets;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int nodeCount() {
+    return ids.length;
+  }
+
+  public int edgeCount() {
+    return targets.length;
+  }
+
+  public String id(int node) {
+    return ids[node];
+  }
+
+  /**
+   * @return the node of {@code id}, or {@code -1} when it is not in the graph
+   */
+  public int node(String id) {
+    Integer node = index.get(id);
+    return node != null ? node : -1;
+  }
+
+  public long deadline(int node) {
+    return deadlines[node];
+  }
+
+  /**
+   * Kahn's algorithm over in-degree counts.
+   *
+   * @return every node in dependency order, or {@code null} when the graph has a cycle
+   */
+  public int[] topologicalOrder() {
+    int n = ids.length;
+    int[] inDegree = new int[n];
+    for (int target : targets) {
+      inDegree[target]++;
+    }
+    // ✅ The order array doubles as the queue: nodes are appended when ready and read in turn
+    int[] order = new int[n];
+    int tail = 0;
+    for (int node = 0; node < n; node++) {
+      if (inDegree[node] == 0) {
+        order[tail++] = node;
+      }
+    }
+    for (int head = 0; head < tail; head++) {
+      int node = order[head];
+      for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+        if (--inDegree[targets[e]] == 0) {
+          order[tail++] = targets[e];
+        }
+      }
+    }
+    return tail == n ? order : null;
+  }
+
+  /**
+   * Finds one cycle with an iterative three-colour depth-first search.
+   *
+   * @return the ids on the cycle with the first repeated at the end, or an empty list when there is none
+   */
+  public List<String> findCycle() {
+    int n = ids.length;
+    byte[] state = new byte[n];
+    int[] parent = new int[n];
+    int[] stack = new int[n];
+    int[] nextEdge = new int[n];
+    for (int root = 0; root < n; root++) {
+      if (state[root] != 0) {
+        continue;
+      }
+      int depth = 0;
+      stack[depth++] = root;
+      state[root] = 1;
+      parent[root] = -1;
+      nextEdge[root] = offsets[root];
+      while (depth > 0) {
+        int node = stack[depth - 1];
+        if (nextEdge[node] == offsets[node + 1]) {
+          state[node] = 2;
+          depth--;
+          continue;
+        }
+        int target = targets[nextEdge[node]++];
+        if (state[target] == 1) {
+          List<String> cycle = new ArrayList<>();
+          cycle.add(ids[target]);
+          for (int at = node; at != target; at = parent[at]) {
+            cycle.add(ids[at]);
+          }
+          cycle.add(ids[target]);
+          Collections.reverse(cycle);
+          return cycle;
+        }
+        if (state[target] == 0) {
+          state[target] = 1;
+          parent[target] = node;
+          nextEdge[target] = offsets[target];
+          stack[depth++] = target;
+        }
+      }
+    }
+    return List.of();
+  }
+
+  /**
+   * Breadth-first search from {@code from}, so the path found is a shortest one.
+   *
+   * @return the ids from {@code from} to {@code to}, or an empty list when {@code to} is not reachable
+   */
+  public List<String> path(String from, String to) {
+    int source = node(from);
+    int target = node(to);
+    if (source < 0 || target < 0) {
+      return List.of();
+    }
+    int[] parent = new int[ids.length];
+    Arrays.fill(parent, -1);
+    parent[source] = source;
+    int[] queue = new int[ids.length];
+    int tail = 0;
+    queue[tail++] = source;
+    for (int head = 0; head < tail && parent[target] < 0; head++) {
+      int node = queue[head];
+      for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+        if (parent[targets[e]] < 0) {
+          parent[targets[e]] = node;
+          queue[tail++] = targets[e];
+        }
+      }
+    }
+    if (parent[target] < 0) {
+      return List.of();
+    }
+    List<String> path = new ArrayList<>();
+    for (int at = target; at != source; at = parent[at]) {
+      path.add(ids[at]);
+    }
+    path.add(ids[source]);
+    Collections.reverse(path);
+    return path;
+  }
+
+  /**
+   * Earliest finish of every node: a task cannot finish before its own deadline, nor before any task it depends on
+   * has finished. The critical path is the chain of tasks that sets the latest earliest finish.
+   *
+   * @param order a {@link #topologicalOrder()} of this graph
+   */
+  public Schedule schedule(int[] order) {
+    int n = ids.length;
+    long[] finish = Arrays.copyOf(deadlines, n);
+    int[] predecessor = new int[n];
+    Arrays.fill(predecessor, -1);
+    for (int node : order) {
+      for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+        int target = targets[e];
+        if (finish[node] > finish[target]) {
+          finish[target] = finish[node];
+          predecessor[target] = node;
+        }
+      }
+    }
+    // ✅ On a tie the task furthest along the order ends the path, so the whole chain is reported
+    int last = -1;
+    for (int node : order) {
+      if (finish[node] != NO_DEADLINE && (last < 0 || finish[node] >= finish[last])) {
+        last = node;
+      }
+    }
+    int length = 0;
+    for (int at = last; at >= 0; at = predecessor[at]) {
+      length++;
+    }
+    int[] criticalPath = new int[length];
+    for (int at = last, i = length - 1; at >= 0; at = predecessor[at], i--) {
+      criticalPath[i] = at;
+    }
+    return new Schedule(finish, criticalPath);
+  }
+
+  /**
+   * @param earliestFinish epoch milliseconds per node, {@link #NO_DEADLINE} where nothing bounds it
+   * @param criticalPath   nodes from the first task of the chain to the one that finishes last
+   */
+  public record Schedule(long[] earliestFinish, int[] criticalPath) {
+
+    public Instant finish(int node) {
+      return earliestFinish[node] != NO_DEADLINE ? Instant.ofEpochMilli(earliestFinish[node]) : null;
+    }
+  }
+
+  /**
+   * Collects nodes and edges, interning ids as they are first seen. Edges are kept in two growable int arrays until
+   * {@link #build()} counting-sorts them by source into the CSR arrays. A builder builds one graph.
+   */
+  public static final class Builder {
+    private final Map<String, Integer> index = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+    private long[] deadlines = new long[16];
+    private int[] sources = new int[16];
+    private int[] edgeTargets = new int[16];
+    private int edges;
+
+    private Builder() {
+    }
+
+    /**
+     * @return the node of {@code id}, added without a deadline when it is new
+     */
+    public int intern(String id) {
+      Integer node = index.get(id);
+      if (node != null) {
+        return node;
+      }
+      int added = ids.size();
+      index.put(id, added);
+      ids.add(id);
+      if (added == deadlines.length) {
+        deadlines = Arrays.copyOf(deadlines, added * 2);
+      }
+      deadlines[added] = NO_DEADLINE;
+      return added;
+    }
+
+    public boolean contains(String id) {
+      return index.containsKey(id);
+    }
+
+    /**
+     * Records a deadline of {@code id}. A task stored with several deadlines keeps the earliest.
+     */
+    public Builder deadline(String id, Instant deadline) {
+      int node = intern(id);
+      long millis = deadline.toEpochMilli();
+      if (deadlines[node] == NO_DEADLINE || millis < deadlines[node]) {
+        deadlines[node] = millis;
+      }
+      return this;
+    }
+
+    public Builder edge(String from, String to) {
+      int source = intern(from);
+      int target = intern(to);
+      if (edges == sources.length) {
+        sources = Arrays.copyOf(sources, edges * 2);
+        edgeTargets = Arrays.copyOf(edgeTargets, edges * 2);
+      }
+      sources[edges] = source;
+      edgeTargets[edges] = target;
+      edges++;
+      return this;
+    }
+
+    public int nodeCount() {
+      return ids.size();
+    }
+
+    public TaskGraph build() {
+      int n = ids.size();
+      int[] offsets = new int[n + 1];
+      for (int e = 0; e < edges; e++) {
+        offsets[sources[e] + 1]++;
+      }
+      for (int node = 0; node < n; node++) {
+        offsets[node + 1] += offsets[node];
+      }
+      int[] targets = new int[edges];
+      int[] next = Arrays.copyOf(offsets, n);
+      for (int e = 0; e < edges; e++) {
+        targets[next[sources[e]]++] = edgeTargets[e];
+      }
+      return new TaskGraph(ids.toArray(new String[0]), index, Arrays.copyOf(deadlines, n), offsets, targets);
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package org.piyush.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.piyush.config.JacksonConfig;
+import org.piyush.service.TaskService;
+import org.piyush.utils.PageTokenUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stream entry point for the task API. The proxy event is read token by token, skipping the parts the router
+ * never looks at ({@code requestContext}, {@code multiValueHeaders}, ...), and the
+ * {@code {"statusCode", "headers", "body"}} envelope is written straight to the output stream. The {@code body}
+ * document is serialized once into a reusable UTF-8 buffer and escaped byte-for-byte into the envelope, instead of
+ * going through a response event that the runtime has to serialize again.
+ */
+public class StreamingTaskHandler implements RequestStreamHandler {
+
+  private static final Logger logger = LoggerFactory.getLogger(StreamingTaskHandler.class);
+  private static final byte[] INTERNAL_ERROR_BODY =
+      "{\"message\":\"Internal server error\"}".getBytes(StandardCharsets.UTF_8);
+  private static final ThreadLocal<BodyBuffer> BODY_BUFFER = ThreadLocal.withInitial(BodyBuffer::new);
+
+  private final TaskRouter taskRouter;
+  private final ObjectMapper objectMapper;
+  private final JsonFactory jsonFactory;
+
+  public StreamingTaskHandler() {
+    this(new TaskService());
+    PageTokenUtil.requireSecret();
+    TaskHandlerPriming.register();
+  }
+
+  public StreamingTaskHandler(TaskService taskService) {
+    this.objectMapper = JacksonConfig.getObjectMapper();
+    this.jsonFactory = objectMapper.getFactory();
+    this.taskRouter = new TaskRouter(taskService, objectMapper);
+  }
+
+  @Override
+  public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+    TaskResponse response;
+    try {
+      response = taskRouter.route(readRequest(input), context.getAwsRequestId());
+    } catch (JsonProcessingException e) {
+      logger.error("Malformed proxy event. RequestId: {}", context.getAwsRequestId(), e);
+      response = new TaskResponse(400, "Bad Request: Malformed request event", null);
+    }
+    writeResponse(response, output);
+  }
+
+  private APIGatewayProxyRequestEvent readRequest(InputStream input) throws IOException {
+    try (JsonParser parser = jsonFactory.createParser(input)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return null;
+      }
+
+      APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent();
+      boolean base64Encoded = false;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        JsonToken value = parser.nextToken();
+        switch (field) {
+          case "httpMethod" -> request.setHttpMethod(parser.getValueAsString());
+          case "path" -> request.setPath(parser.getValueAsString());
+          case "resource" -> request.setResource(parser.getValueAsString());
+          case "body" -> request.setBody(parser.getValueAsString());
+          case "isBase64Encoded" -> base64Encoded = value == JsonToken.VALUE_TRUE;
+          case "headers" -> request.setHeaders(readStringMap(parser));
+          case "pathParameters" -> request.setPathParameters(readStringMap(parser));
+          case "queryStringParameters" -> request.setQueryStringParameters(readStringMap(parser));
+          default -> parser.skipChildren();
+        }
+      }
+
+      if (base64Encoded && request.getBody() != null) {
+        request.setBody(new String(Base64.getDecoder().decode(request.getBody()), StandardCharsets.UTF_8));
+      }
+      return request;
+    }
+  }
+
+  private Map<String, String> readStringMap(JsonParser parser) throws IOException {
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      parser.skipChildren();
+      return null;
+    }
+    Map<String, String> values = new HashMap<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String key = parser.currentName();
+      parser.nextToken();
+      values.put(key, parser.getValueAsString());
+    }
+    return values;
+  }
+
+  private void writeResponse(TaskResponse response, OutputStream output) throws IOException {
+    BodyBuffer body = BODY_BUFFER.get();
+    body.reset();
+    int statusCode = response.getStatusCode();
+
+    try {
+      try {
+        writeBody(response, body);
+      } catch (IOException | RuntimeException e) {
+        // ✅ Same fallback as TaskHandler: a body that fails to serialize becomes a 500 envelope, not a broken stream
+        logger.error("Error serializing response body", e);
+        body.reset();
+        body.write(INTERNAL_ERROR_BODY);
+        statusCode = 500;
+      }
+      writeEnvelope(statusCode, body, output);
+    } finally {
+      body.release();
+    }
+  }
+
+  private void writeEnvelope(int statusCode, BodyBuffer body, OutputStream output) throws IOException {
+    try (JsonGenerator envelope = jsonFactory.createGenerator(output)) {
+      envelope.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      envelope.writeStartObject();
+      envelope.writeNumberField("statusCode", statusCode);
+      envelope.writeObjectFieldStart("headers");
+      for (Map.Entry<String, String> header : TaskResponse.HEADERS.entrySet()) {
+        envelope.writeStringField(header.getKey(), header.getValue());
+      }
+      envelope.writeEndObject();
+      envelope.writeFieldName("body");
+      // ✅ Escapes the UTF-8 body bytes straight into the output, no intermediate String
+      envelope.writeUTF8String(body.bytes(), 0, body.size());
+      envelope.writeEndObject();
+    }
+  }
+
+  private void writeBody(TaskResponse response, OutputStream output) throws IOException {
+    try (JsonGenerator body = jsonFactory.createGenerator(output)) {
+      body.writeStartObject();
+      if (response.getMessage() != null) {
+        body.writeStringField("message", response.getMessage());
+      }
+      if (response.getData() != null) {
+        body.writeFieldName("data");
+        objectMapper.writeValue(body, response.getData());
+      }
+      body.writeEndObject();
+    }
+  }
+
+  /**
+   * Per-thread scratch buffer for the serialized body, kept between invocations unless a response made it grow
+   * past {@link #MAX_RETAINED_BYTES}.
+   */
+  private static final class BodyBuffer extends ByteArrayOutputStream {
+    private static final int MAX_RETAINED_BYTES = 1 << 20;
+
+    BodyBuffer() {
+      super(16 * 1024);
+    }
+
+    byte[] bytes() {
+      return buf;
+    }
+
+    void release() {
+      if (buf.length > MAX_RETAINED_BYTES) {
+        BODY_BUFFER.remove();
+      }
+    }
+  }
+}
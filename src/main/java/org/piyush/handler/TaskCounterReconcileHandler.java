@@ -0,0 +1,35 @@
+package org.piyush.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.ScheduledEvent;
+import org.piyush.repositories.CounterReconciliation;
+import org.piyush.repositories.TaskCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scheduled job that checks the sharded task counters against a parallel scan of the task table and corrects any
+ * drift, such as changes the stream consumer skipped or replayed outside the idempotency window.
+ */
+public class TaskCounterReconcileHandler implements RequestHandler<ScheduledEvent, CounterReconciliation> {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskCounterReconcileHandler.class);
+
+  private final TaskCounterRepository counterRepository;
+
+  public TaskCounterReconcileHandler() {
+    this(new TaskCounterRepository());
+  }
+
+  public TaskCounterReconcileHandler(TaskCounterRepository counterRepository) {
+    this.counterRepository = counterRepository;
+  }
+
+  @Override
+  public CounterReconciliation handleRequest(ScheduledEvent event, Context context) {
+    CounterReconciliation reconciliation = counterRepository.reconcile();
+    logger.info("Counter reconciliation finished: {}. RequestId: {}", reconciliation, context.getAwsRequestId());
+    return reconciliation;
+  }
+}
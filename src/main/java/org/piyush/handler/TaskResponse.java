@@ -0,0 +1,20 @@
+package org.piyush.handler;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class TaskResponse {
+  public static final Map<String, String> HEADERS = Map.of(
+      "Access-Control-Allow-Origin", "*",
+      "Access-Control-Allow-Headers", "Content-Type,X-Amz-Date,Authorization,X-Api-Key,X-Amz-Security-Token,If-Match",
+      "Access-Control-Allow-Methods", "POST,GET,PUT,PATCH,DELETE",
+      "Content-Type", "application/json");
+
+  private final int statusCode;
+  private final String message;
+  private final Object data;
+}
@@ -0,0 +1,592 @@
+package org.piyush.handler;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.piyush.constant.TaskConstants;
+import org.piyush.constant.TaskStatus;
+import org.piyush.exception.TaskConflictException;
+import org.piyush.exception.TaskNotFoundException;
+import org.piyush.exception.TaskRepositoryException;
+import org.piyush.model.taskmanagement.BatchResult;
+import org.piyush.model.taskmanagement.DateRange;
+import org.piyush.model.taskmanagement.DependencyGraph;
+import org.piyush.model.taskmanagement.SubTask;
+import org.piyush.model.taskmanagement.SubTaskPage;
+import org.piyush.model.taskmanagement.SubTaskPatch;
+import org.piyush.model.taskmanagement.SubTaskResult;
+import org.piyush.model.taskmanagement.TaskCounts;
+import org.piyush.model.taskmanagement.TaskCreate;
+import org.piyush.model.taskmanagement.TaskFields;
+import org.piyush.model.taskmanagement.TaskKey;
+import org.piyush.model.taskmanagement.TaskPage;
+import org.piyush.model.taskmanagement.TaskPatch;
+import org.piyush.model.taskmanagement.TaskRead;
+import org.piyush.model.taskmanagement.TaskSearchCriteria;
+import org.piyush.model.taskmanagement.TaskSearchResult;
+import org.piyush.model.taskmanagement.TaskUpdate;
+import org.piyush.service.TaskService;
+import org.piyush.utils.ValidationUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Routes an API Gateway proxy request to the {@link TaskService} and produces a transport-neutral
+ * {@link TaskResponse}. Shared by {@link TaskHandler} and {@link StreamingTaskHandler}.
+ */
+class TaskRouter {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskRouter.class);
+
+  private static final String IS_REQUIRED = "Task_ID and Deadline is required";
+  private static final Pattern ACTION_PATTERN = Pattern.compile("(?:^|/)tasks:([A-Za-z]+)/?$");
+  private static final Pattern COLLECTION_PATTERN = Pattern.compile("(?:^|/)tasks/?$");
+  private static final Pattern SUB_TASKS_PATTERN = Pattern.compile("/subTasks(?:/(\\d+)(?::([A-Za-z]+))?)?/?$");
+  private static final Pattern DEPENDENCIES_PATTERN = Pattern.compile("/dependencies/?$");
+  private static final TypeReference<List<TaskCreate>> TASK_CREATE_LIST = new TypeReference<>() {
+  };
+  private static final TypeReference<List<TaskKey>> TASK_KEY_LIST = new TypeReference<>() {
+  };
+  private static final TypeReference<List<SubTask>> SUB_TASK_LIST = new TypeReference<>() {
+  };
+
+  private final TaskService taskService;
+  private final ObjectMapper objectMapper;
+
+  TaskRouter(TaskService taskService, ObjectMapper objectMapper) {
+    this.taskService = taskService;
+    this.objectMapper = objectMapper;
+  }
+
+  TaskResponse route(APIGatewayProxyRequestEvent input, String requestId) {
+    // ✅ Ensure input is not null
+    if (input == null) {
+      logger.error("Received null request. RequestId: {}", requestId);
+      return new TaskResponse(400, "Bad Request: No input provided", null);
+    }
+
+    logger.info("Processing {} request. RequestId: {}", input.getHttpMethod(), requestId);
+    try {
+
+      String httpMethod = input.getHttpMethod();
+      if (httpMethod == null) {
+        logger.error("HTTP Method is null. RequestId: {}", requestId);
+        return new TaskResponse(400, "Bad Request: Missing HTTP Method", null);
+      }
+
+      String action = extractAction(input);
+      if (action != null) {
+        return routeAction(httpMethod, action, input, requestId);
+      }
+
+      Matcher subTasks = matchSubTasks(input);
+      if (subTasks != null) {
+        return routeSubTasks(httpMethod, subTasks.group(1), subTasks.group(2), input, requestId);
+      }
+
+      // ✅ /tasks/{taskId}/dependencies: the graph is over task ids, so no deadline
+      if (matches(DEPENDENCIES_PATTERN, input)) {
+        return "GET".equals(httpMethod)
+            ? handleDependencies(input, requestId)
+            : new TaskResponse(405, "Method not allowed", null);
+      }
+
+      return switch (input.getHttpMethod()) {
+        case "POST" -> handleCreate(input, requestId);
+        case "GET" -> isCollection(input) ? handleList(input, requestId) : handleGet(input, requestId);
+        case "PUT" -> handleUpdate(input, requestId);
+        case "PATCH" -> handlePatch(input, requestId);
+        case "DELETE" -> handleDelete(input, requestId);
+        default -> new TaskResponse(405, "Method not allowed", null);
+      };
+    } catch (Exception e) {
+      logger.error("Error processing request. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  // ✅ Collection actions are addressed as /tasks:<action>
+  private TaskResponse routeAction(String httpMethod, String action, APIGatewayProxyRequestEvent input,
+                                   String requestId) {
+    return switch (httpMethod + " " + action) {
+      case "POST batch" -> handleBatchCreate(input, requestId);
+      case "POST batchGet" -> handleBatchGet(input, requestId);
+      case "POST search" -> handleSearch(input, requestId);
+      case "GET metrics" -> handleMetrics(requestId);
+      case "GET counts" -> handleCounts(input, requestId);
+      default -> new TaskResponse(405, "Method not allowed", null);
+    };
+  }
+
+  // ✅ Sub-tasks are addressed as /tasks/{taskId}/{deadline}/subTasks[/{index}[:complete]]; tasks that store them as
+  // separate items find the sub-task by the id in the body and ignore the index
+  private TaskResponse routeSubTasks(String httpMethod, String index, String action, APIGatewayProxyRequestEvent input,
+                                     String requestId) {
+    String route = httpMethod + (index != null ? " index" : "") + (action != null ? " " + action : "");
+    return switch (route) {
+      case "GET" -> handleListSubTasks(input, requestId);
+      case "POST" -> handleAppendSubTasks(input, requestId);
+      case "PATCH index" -> handlePatchSubTask(input, Integer.parseInt(index), requestId);
+      case "POST index complete" -> handleCompleteSubTask(input, Integer.parseInt(index), requestId);
+      default -> new TaskResponse(405, "Method not allowed", null);
+    };
+  }
+
+  private TaskResponse handleCreate(APIGatewayProxyRequestEvent input, String requestId) {
+    try {
+      TaskCreate taskCreate = objectMapper.readValue(input.getBody(), TaskCreate.class);
+      ValidationUtil.validate(taskCreate);
+      TaskRead result = taskService.createTask(taskCreate);
+      logger.info("Task created successfully with ID: {}. RequestId: {}", result.getId(), requestId);
+      return new TaskResponse(201, null, result);
+    } catch (Exception e) {
+      logger.error("Create task failed. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  private TaskResponse handleBatchCreate(APIGatewayProxyRequestEvent input, String requestId) {
+    try {
+      List<TaskCreate> taskCreates = objectMapper.readValue(input.getBody(), TASK_CREATE_LIST);
+      if (taskCreates == null || taskCreates.isEmpty()) {
+        return new TaskResponse(400, "At least one task is required", null);
+      }
+      if (taskCreates.size() > TaskConstants.BATCH_CREATE_MAX_ITEMS) {
+        return new TaskResponse(400, String.format("At most %d tasks can be created per request",
+            TaskConstants.BATCH_CREATE_MAX_ITEMS), null);
+      }
+
+      BatchResult<Void> result = taskService.createTasks(taskCreates);
+      logger.info("Batch create processed {} tasks ({} failed). RequestId: {}",
+          taskCreates.size(), result.getFailed(), requestId);
+      return new TaskResponse(result.getFailed() == 0 ? 201 : 207, null, result);
+    } catch (Exception e) {
+      logger.error("Batch create failed. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  private TaskResponse handleBatchGet(APIGatewayProxyRequestEvent input, String requestId) {
+    try {
+      List<TaskKey> keys = objectMapper.readValue(input.getBody(), TASK_KEY_LIST);
+      if (keys == null || keys.isEmpty()) {
+        return new TaskResponse(400, "At least one key is required", null);
+      }
+      if (keys.size() > TaskConstants.BATCH_GET_MAX_KEYS) {
+        return new TaskResponse(400, String.format("At most %d keys can be fetched per request",
+            TaskConstants.BATCH_GET_MAX_KEYS), null);
+      }
+      if (keys.stream().anyMatch(key -> key == null || key.getId() == null || key.getDeadline() == null)) {
+        return new TaskResponse(400, "Every key needs an id and a deadline", null);
+      }
+
+      BatchResult<TaskRead> result = taskService.getTasks(keys);
+      logger.info("Batch get found {} of {} tasks. RequestId: {}", result.getSucceeded(), keys.size(), requestId);
+      return new TaskResponse(200, null, result);
+    } catch (Exception e) {
+      logger.error("Batch get failed. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  private TaskResponse handleSearch(APIGatewayProxyRequestEvent input, String requestId) {
+    try {
+      TaskSearchCriteria criteria = input.getBody() == null || input.getBody().isBlank()
+          ? new TaskSearchCriteria()
+          : objectMapper.readValue(input.getBody(), TaskSearchCriteria.class);
+      DateRange range = criteria.getDateRange();
+      if (range != null && range.getFrom() != null && range.getTo() != null && range.getFrom().isAfter(range.getTo())) {
+        return new TaskResponse(400, "dateRange.from must not be after dateRange.to", null);
+      }
+
+      Map<String, String> query = input.getQueryStringParameters() != null ? input.getQueryStringParameters() : Map.of();
+      boolean explain = Boolean.parseBoolean(query.get("explain"));
+      TaskSearchResult result = taskService.searchTasks(criteria, explain, TaskFields.parse(query.get("fields")));
+      logger.info("Search via {} completed. RequestId: {}", result.getPlan().getAccessPath(), requestId);
+      return new TaskResponse(200, null, result);
+    } catch (Exception e) {
+      logger.error("Search failed. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  private TaskResponse handleMetrics(String requestId) {
+    try {
+      Map<String, Object> metrics = taskService.getMetrics();
+      logger.info("Metrics retrieved. RequestId: {}", requestId);
+      return new TaskResponse(200, null, metrics);
+    } catch (Exception e) {
+      logger.error("Retrieving metrics failed. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  // ✅ ?status=BLOCKED,PENDING&assignee=alice,bob; each takes a comma-separated list
+  private TaskResponse handleCounts(APIGatewayProxyRequestEvent input, String requestId) {
+    try {
+      Map<String, String> query = input.getQueryStringParameters() != null ? input.getQueryStringParameters() : Map.of();
+      List<TaskStatus> statuses = splitQuery(query.get("status")).stream()
+          .map(TaskRouter::parseStatus)
+          .toList();
+      TaskCounts counts = taskService.getTaskCounts(statuses, splitQuery(query.get("assignee")));
+      logger.info("Counts retrieved. RequestId: {}", requestId);
+      return new TaskResponse(200, null, counts);
+    } catch (Exception e) {
+      logger.error("Retrieving counts failed. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  private static List<String> splitQuery(String value) {
+    if (value == null || value.isBlank()) {
+      return List.of();
+    }
+    return Arrays.stream(value.split(","))
+        .map(String::trim)
+        .filter(part -> !part.isEmpty())
+        .distinct()
+        .toList();
+  }
+
+  private static TaskStatus parseStatus(String status) {
+    try {
+      return TaskStatus.valueOf(status.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(String.format("Unknown status [%s]; expected one of %s", status,
+          Arrays.toString(TaskStatus.values())));
+    }
+  }
+
+  private TaskResponse handleList(APIGatewayProxyRequestEvent input, String requestId) {
+    try {
+      Map<String, String> query = input.getQueryStringParameters() != null ? input.getQueryStringParameters() : Map.of();
+      int limit = parseLimit(query.get("limit"));
+      TaskPage page = taskService.listTasks(limit, query.get("pageToken"), TaskFields.parse(query.get("fields")));
+      logger.info("Listed {} tasks. RequestId: {}", page.getTasks().size(), requestId);
+      return new TaskResponse(200, null, page);
+    } catch (Exception e) {
+      logger.error("Listing tasks failed. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  private int parseLimit(String limit) {
+    if (limit == null) {
+      return TaskConstants.DEFAULT_PAGE_SIZE;
+    }
+    try {
+      int value = Integer.parseInt(limit);
+      if (value >= 1 && value <= TaskConstants.MAX_PAGE_SIZE) {
+        return value;
+      }
+    } catch (NumberFormatException e) {
+      // fall through to the range error below
+    }
+    throw new IllegalArgumentException(
+        String.format("limit must be a number between 1 and %d", TaskConstants.MAX_PAGE_SIZE));
+  }
+
+  private TaskResponse handleGet(APIGatewayProxyRequestEvent input, String requestId) {
+    try {
+      String taskId = extractTaskId(input);
+      String deadlineStr = extractDeadline(input);
+      if (taskId == null || deadlineStr == null) {
+        return new TaskResponse(400, IS_REQUIRED, null);
+      }
+
+      Instant deadline = Instant.parse(deadlineStr);
+      TaskFields fields = input.getQueryStringParameters() != null
+          ? TaskFields.parse(input.getQueryStringParameters().get("fields"))
+          : TaskFields.ALL;
+      TaskRead taskRead = taskService.getTask(taskId, deadline, fields);
+      logger.info("Task retrieved successfully with ID: {}. RequestId: {}", taskId, requestId);
+      return new TaskResponse(200, null, taskRead);
+    } catch (TaskNotFoundException e) {
+      return new TaskResponse(404, e.getMessage(), null); // ✅ Ensures correct error handling
+    } catch (Exception e) {
+      return handleError(e);
+    }
+  }
+
+  private TaskResponse handleUpdate(APIGatewayProxyRequestEvent input, String requestId) {
+    try {
+      String taskId = extractTaskId(input);
+      if (taskId == null) {
+        return new TaskResponse(400, IS_REQUIRED, null);
+      }
+
+      TaskUpdate taskUpdate = objectMapper.readValue(input.getBody(), TaskUpdate.class);
+      ValidationUtil.validate(taskUpdate);
+
+      if (!taskId.equals(taskUpdate.getId())) {
+        return new TaskResponse(400, "ID in URL does not match ID in the payload", null);
+      }
+
+      TaskRead updatedTask = taskService.updateTask(taskUpdate);
+
+      logger.info("Task updated successfully with ID: {}. RequestId: {}", updatedTask.getId(), requestId);
+      return new TaskResponse(200, null, updatedTask);
+    } catch (Exception e) {
+      logger.error("Error updating task. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  /**
+   * Applies the body as a JSON Merge Patch. An {@code If-Match} header carrying the task's version makes the
+   * update conditional on it; a different stored version is answered with 409.
+   */
+  private TaskResponse handlePatch(APIGatewayProxyRequestEvent input, String requestId) {
+    try {
+      String taskId = extractTaskId(input);
+      String deadlineStr = extractDeadline(input);
+      if (taskId == null || deadlineStr == null) {
+        return new TaskResponse(400, IS_REQUIRED, null);
+      }
+      if (input.getBody() == null || input.getBody().isBlank()) {
+        return new TaskResponse(400, "A merge patch body is required", null);
+      }
+
+      Instant deadline;
+      try {
+        deadline = Instant.parse(deadlineStr);
+      } catch (DateTimeParseException e) {
+        return new TaskResponse(400, "deadline must be an ISO-8601 instant", null);
+      }
+      TaskPatch patch = TaskPatch.fromMergePatch(objectMapper.readTree(input.getBody()), objectMapper);
+      if (patch.getId() != null && !taskId.equals(patch.getId())) {
+        return new TaskResponse(400, "ID in URL does not match ID in the payload", null);
+      }
+
+      TaskRead patchedTask = taskService.patchTask(taskId, deadline, patch, extractExpectedVersion(input));
+
+      logger.info("Task patched successfully with ID: {}. RequestId: {}", taskId, requestId);
+      return new TaskResponse(200, null, patchedTask);
+    } catch (Exception e) {
+      logger.error("Error patching task. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  private TaskResponse handleDependencies(APIGatewayProxyRequestEvent input, String requestId) {
+    try {
+      String taskId = extractTaskId(input);
+      if (taskId == null) {
+        return new TaskResponse(400, "Task_ID is required", null);
+      }
+      DependencyGraph graph = taskService.getDependencyGraph(taskId);
+      logger.info("Dependency graph of task {} has {} tasks. RequestId: {}", taskId, graph.getNodeCount(), requestId);
+      return new TaskResponse(200, null, graph);
+    } catch (Exception e) {
+      logger.error("Reading dependencies failed. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  private TaskResponse handleListSubTasks(APIGatewayProxyRequestEvent input, String requestId) {
+    try {
+      String taskId = extractTaskId(input);
+      Instant deadline = extractDeadlineInstant(input);
+      if (taskId == null || deadline == null) {
+        return new TaskResponse(400, IS_REQUIRED, null);
+      }
+      Map<String, String> query = input.getQueryStringParameters() != null ? input.getQueryStringParameters() : Map.of();
+      SubTaskPage page = taskService.listSubTasks(taskId, deadline, parseLimit(query.get("limit")),
+          query.get("pageToken"));
+      logger.info("Listed {} sub-tasks of task {}. RequestId: {}", page.getSubTasks().size(), taskId, requestId);
+      return new TaskResponse(200, null, page);
+    } catch (Exception e) {
+      logger.error("Listing sub-tasks failed. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  /**
+   * Body is one sub-task or an array of them; they are appended to the end of the list.
+   */
+  private TaskResponse handleAppendSubTasks(APIGatewayProxyRequestEvent input, String requestId) {
+    try {
+      String taskId = extractTaskId(input);
+      Instant deadline = extractDeadlineInstant(input);
+      if (taskId == null || deadline == null) {
+        return new TaskResponse(400, IS_REQUIRED, null);
+      }
+      if (input.getBody() == null || input.getBody().isBlank()) {
+        return new TaskResponse(400, "At least one sub-task is required", null);
+      }
+
+      JsonNode body = objectMapper.readTree(input.getBody());
+      List<SubTask> subTasks = body.isArray()
+          ? objectMapper.convertValue(body, SUB_TASK_LIST)
+          : List.of(objectMapper.treeToValue(body, SubTask.class));
+      List<SubTaskResult> appended = taskService.appendSubTasks(taskId, deadline, new ArrayList<>(subTasks),
+          extractExpectedVersion(input));
+
+      logger.info("Appended {} sub-tasks to task {}. RequestId: {}", appended.size(), taskId, requestId);
+      return new TaskResponse(201, null, appended);
+    } catch (Exception e) {
+      logger.error("Error appending sub-tasks. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  private TaskResponse handlePatchSubTask(APIGatewayProxyRequestEvent input, int index, String requestId) {
+    try {
+      String taskId = extractTaskId(input);
+      Instant deadline = extractDeadlineInstant(input);
+      if (taskId == null || deadline == null) {
+        return new TaskResponse(400, IS_REQUIRED, null);
+      }
+      if (input.getBody() == null || input.getBody().isBlank()) {
+        return new TaskResponse(400, "A merge patch body is required", null);
+      }
+
+      SubTaskPatch patch = SubTaskPatch.fromMergePatch(objectMapper.readTree(input.getBody()), objectMapper);
+      SubTaskResult result = taskService.patchSubTask(taskId, deadline, index, patch, extractExpectedVersion(input));
+
+      logger.info("Sub-task {} of task {} patched. RequestId: {}", index, taskId, requestId);
+      return new TaskResponse(200, null, result);
+    } catch (Exception e) {
+      logger.error("Error patching sub-task. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  // ✅ Body carries only the sub-task id, which guards against the list having shifted
+  private TaskResponse handleCompleteSubTask(APIGatewayProxyRequestEvent input, int index, String requestId) {
+    try {
+      String taskId = extractTaskId(input);
+      Instant deadline = extractDeadlineInstant(input);
+      if (taskId == null || deadline == null) {
+        return new TaskResponse(400, IS_REQUIRED, null);
+      }
+      JsonNode body = input.getBody() == null || input.getBody().isBlank()
+          ? null
+          : objectMapper.readTree(input.getBody());
+      if (body == null || !body.hasNonNull("id")) {
+        return new TaskResponse(400, "The sub-task id is required", null);
+      }
+
+      SubTaskResult result = taskService.patchSubTask(taskId, deadline, index,
+          SubTaskPatch.complete(body.get("id").asText()), extractExpectedVersion(input));
+
+      logger.info("Sub-task {} of task {} completed. RequestId: {}", index, taskId, requestId);
+      return new TaskResponse(200, null, result);
+    } catch (Exception e) {
+      logger.error("Error completing sub-task. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  private TaskResponse handleDelete(APIGatewayProxyRequestEvent input, String requestId) {
+    try {
+      String taskId = extractTaskId(input);
+      if (taskId == null) {
+        return new TaskResponse(400, IS_REQUIRED, null);
+      }
+
+      taskService.deleteTask(taskId);
+
+      logger.info("Task deleted successfully with ID: {}. RequestId: {}", taskId, requestId);
+      return new TaskResponse(204, null, null);
+    } catch (Exception e) {
+      logger.error("Error deleting task. RequestId: {}", requestId, e);
+      return handleError(e);
+    }
+  }
+
+  private String extractAction(APIGatewayProxyRequestEvent input) {
+    String path = input.getPath() != null ? input.getPath() : input.getResource();
+    if (path == null) {
+      return null;
+    }
+    Matcher matcher = ACTION_PATTERN.matcher(path);
+    return matcher.find() ? matcher.group(1) : null;
+  }
+
+  private Matcher matchSubTasks(APIGatewayProxyRequestEvent input) {
+    String path = input.getPath() != null ? input.getPath() : input.getResource();
+    if (path == null) {
+      return null;
+    }
+    Matcher matcher = SUB_TASKS_PATTERN.matcher(path);
+    return matcher.find() ? matcher : null;
+  }
+
+  private boolean matches(Pattern pattern, APIGatewayProxyRequestEvent input) {
+    String path = input.getPath() != null ? input.getPath() : input.getResource();
+    return path != null && pattern.matcher(path).find();
+  }
+
+  private boolean isCollection(APIGatewayProxyRequestEvent input) {
+    String path = input.getPath() != null ? input.getPath() : input.getResource();
+    return path != null && COLLECTION_PATTERN.matcher(path).find();
+  }
+
+  private String extractTaskId(APIGatewayProxyRequestEvent input) {
+    return input.getPathParameters() != null ? input.getPathParameters().get(TaskHandler.TASK_ID) : null;
+  }
+
+  private String extractDeadline(APIGatewayProxyRequestEvent input) {
+    return input.getPathParameters() != null ? input.getPathParameters().get("deadline") : null;
+  }
+
+  private Instant extractDeadlineInstant(APIGatewayProxyRequestEvent input) {
+    String deadline = extractDeadline(input);
+    if (deadline == null) {
+      return null;
+    }
+    try {
+      return Instant.parse(deadline);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("deadline must be an ISO-8601 instant");
+    }
+  }
+
+  // ✅ Accepts 3, "3" and W/"3"
+  private Long extractExpectedVersion(APIGatewayProxyRequestEvent input) {
+    if (input.getHeaders() == null) {
+      return null;
+    }
+    for (Map.Entry<String, String> header : input.getHeaders().entrySet()) {
+      if ("If-Match".equalsIgnoreCase(header.getKey()) && header.getValue() != null) {
+        String value = header.getValue().trim();
+        if (value.startsWith("W/")) {
+          value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        try {
+          return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("If-Match must carry the task version");
+        }
+      }
+    }
+    return null;
+  }
+
+  private TaskResponse handleError(Exception e) {
+    if (e instanceof TaskNotFoundException) {
+      return new TaskResponse(404, e.getMessage(), null); // ✅ Ensure missing task returns 404
+    } else if (e instanceof TaskConflictException) {
+      return new TaskResponse(409, e.getMessage(), null); // ✅ Stale If-Match version returns 409
+    } else if (e instanceof TaskRepositoryException) {
+      return new TaskResponse(400, e.getMessage(), null); // ✅ Ensure DB error returns 400
+    } else if (e instanceof IllegalArgumentException) {
+      return new TaskResponse(400, e.getMessage(), null); // ✅ Ensures missing parameters return 400
+    } else {
+      return new TaskResponse(500, "Internal server error", null); // ✅ Ensure unexpected errors return 500
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package org.piyush.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import org.piyush.config.ExecutorConfig;
+import org.piyush.projection.TaskProjectionPipeline;
+import org.piyush.projection.TaskProjector;
+import org.piyush.projection.TaskProjectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Consumer of the task table's stream. Each batch goes through a {@link TaskProjectionPipeline}, and the records it
+ * could not apply come back as batch item failures, so the event source mapping needs
+ * {@code FunctionResponseTypes: [ReportBatchItemFailures]}.
+ */
+public class TaskStreamHandler implements RequestHandler<DynamodbEvent, StreamsEventResponse> {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskStreamHandler.class);
+
+  private final TaskProjectionPipeline pipeline;
+
+  public TaskStreamHandler() {
+    this(TaskProjectors.fromEnvironment());
+  }
+
+  public TaskStreamHandler(List<TaskProjector> projectors) {
+    this.pipeline = new TaskProjectionPipeline(projectors, ExecutorConfig.streamExecutor());
+  }
+
+  @Override
+  public StreamsEventResponse handleRequest(DynamodbEvent event, Context context) {
+    if (event == null || event.getRecords() == null || event.getRecords().isEmpty()) {
+      return new StreamsEventResponse(List.of());
+    }
+    List<String> failures = pipeline.process(event.getRecords());
+    if (!failures.isEmpty()) {
+      logger.warn("{} of {} stream records failed. RequestId: {}", failures.size(), event.getRecords().size(),
+          context.getAwsRequestId());
+    }
+    return new StreamsEventResponse(failures.stream()
+        .map(StreamsEventResponse.BatchItemFailure::new)
+        .toList());
+  }
+}
@@ -2,11 +2,13 @@ package org.piyush.mapper;
 
 import lombok.Setter;
 import org.mapstruct.*;
+import org.piyush.constant.SubTaskLayout;
 import org.piyush.constant.TaskStatus;
 import org.piyush.model.taskmanagement.TaskProgress;
 import org.piyush.model.dynamodb.DbTask;
 import org.piyush.model.taskmanagement.SubTask;
 import org.piyush.model.taskmanagement.TaskCreate;
+import org.piyush.model.taskmanagement.TaskFields;
 import org.piyush.model.taskmanagement.TaskRead;
 import org.piyush.model.taskmanagement.TaskUpdate;
 import org.piyush.service.IdGenerator;
@@ -28,6 +30,11 @@ public abstract class TaskMapper {
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
   @Mapping(target = "version", ignore = true)
+  @Mapping(target = "subTaskLayout", ignore = true)
+  @Mapping(target = "totalSubTasks", ignore = true)
+  @Mapping(target = "completedSubTasks", ignore = true)
+  @Mapping(target = "progressUpdatedAt", ignore = true)
+  @Mapping(target = "statusShard", ignore = true)
   @Mapping(target = "subTasks", expression = "java(mapSubTasks(request.getSubTasks()))")
   public abstract DbTask mapCreateToDb(TaskCreate request);
 
@@ -37,10 +44,26 @@ public abstract class TaskMapper {
   @Mapping(target = "progress", expression = "java(calculateProgress(task))")
   public abstract TaskRead mapDbToRead(DbTask task);
 
+  /**
+   * Maps a task read with a projection. Progress is only set when it was asked for, and fields outside
+   * {@code fields} are left null.
+   */
+  @Mapping(target = "metadata.createdAt", source = "createdAt")
+  @Mapping(target = "metadata.updatedAt", source = "updatedAt")
+  @Mapping(target = "metadata.version", source = "version")
+  @Mapping(target = "progress",
+      expression = "java(fields.includes(TaskFields.Field.PROGRESS) ? calculateProgress(task) : null)")
+  public abstract TaskRead mapDbToRead(DbTask task, @Context TaskFields fields);
+
   @Mapping(target = "id", ignore = true)
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
   @Mapping(target = "version", ignore = true)
+  @Mapping(target = "subTaskLayout", ignore = true)
+  @Mapping(target = "totalSubTasks", ignore = true)
+  @Mapping(target = "completedSubTasks", ignore = true)
+  @Mapping(target = "progressUpdatedAt", ignore = true)
+  @Mapping(target = "statusShard", ignore = true)
   public abstract void mapUpdateToDb(TaskUpdate request, @MappingTarget DbTask task);
 
   @AfterMapping
@@ -50,7 +73,13 @@ public abstract class TaskMapper {
     }
   }
 
-  protected List<SubTask> mapSubTasks(List<SubTask> subTasks) {
+  @AfterMapping
+  protected void clearUnselected(@MappingTarget TaskRead read, @Context TaskFields fields) {
+    fields.clearUnselected(read);
+  }
+
+  // ✅ Also used for sub-tasks appended to an existing task
+  public List<SubTask> mapSubTasks(List<SubTask> subTasks) {
     return Optional.ofNullable(subTasks)
         .map(list -> list.stream()
             .map(this::mapSubTask)
@@ -68,7 +97,17 @@ public abstract class TaskMapper {
     return subTask;
   }
 
+  /**
+   * Progress from the stored counters. Tasks saved before the counters existed have it counted from their sub-tasks,
+   * dated by their last update; an ITEMS layout one whose sub-task items were not read gets none.
+   */
   protected TaskProgress calculateProgress(DbTask task) {
+    if (task.getTotalSubTasks() != null && task.getCompletedSubTasks() != null) {
+      return progress(task.getTotalSubTasks(), task.getCompletedSubTasks(), task.getProgressUpdatedAt());
+    }
+    if (task.getSubTasks() == null && SubTaskLayout.of(task) == SubTaskLayout.ITEMS) {
+      return null;
+    }
     int total = Optional.ofNullable(task.getSubTasks()).map(List::size).orElse(0);
     int completed = Optional.ofNullable(task.getSubTasks())
         .orElse(Collections.emptyList())
@@ -76,8 +115,11 @@ public abstract class TaskMapper {
         .filter(SubTask::getCompleted)
         .mapToInt(e -> 1)
         .sum();
+    return progress(total, completed, task.getUpdatedAt());
+  }
 
+  private static TaskProgress progress(int total, int completed, Instant lastUpdated) {
     double percentage = total > 0 ? ((double) completed / total) * 100 : 0;
-    return new TaskProgress(total, completed, percentage, Instant.now());
+    return new TaskProgress(total, completed, percentage, lastUpdated);
   }
 }
@@ -1,8 +1,10 @@
 package org.piyush.model.dynamodb;
 
 import org.piyush.constant.Priority;
+import org.piyush.constant.SubTaskLayout;
 import org.piyush.constant.TaskStatus;
-import org.piyush.converters.ListSubTaskConverter;
+import org.piyush.converters.CompressedTextConverter;
+import org.piyush.converters.SubTaskListConverter;
 import org.piyush.model.taskmanagement.SubTask;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.extensions.annotations.DynamoDbAutoGeneratedTimestampAttribute;
@@ -16,7 +18,8 @@ import java.util.List;
 
 @DynamoDbBean
 public class DbTask {
-  public static final TableSchema<DbTask> TABLE_SCHEMA = TableSchema.fromBean(DbTask.class);
+  // ✅ Static schema by default; see DbTaskTableSchema
+  public static final TableSchema<DbTask> TABLE_SCHEMA = DbTaskTableSchema.fromEnvironment();
 
   private String id;
   private String title;
@@ -25,8 +28,15 @@ public class DbTask {
   private Instant deadline;
   private List<String> labels = new ArrayList<>();
   private List<SubTask> subTasks = new ArrayList<>();
+  private SubTaskLayout subTaskLayout;
+  // ✅ Kept current on every write, so progress is read without the sub-tasks
+  private Integer totalSubTasks;
+  private Integer completedSubTasks;
+  private Instant progressUpdatedAt;
   private String assignee;
   private TaskStatus status;
+  // ✅ <status>#<shard>, key of StatusShardIndex; only written when TASK_STATUS_SHARDS is set
+  private String statusShard;
   private String parentTaskId;
   private List<String> dependentTaskIds = new ArrayList<>();
   private Instant createdAt;
@@ -45,6 +55,7 @@ public class DbTask {
   }
 
   @DynamoDbAttribute("description")
+  @DynamoDbConvertedBy(CompressedTextConverter.class)
   public String getDescription() {
     return description;
   }
@@ -57,6 +68,7 @@ public class DbTask {
   @DynamoDbSortKey
   @DynamoDbAttribute("deadline")
   @DynamoDbSecondaryPartitionKey(indexNames = {"DeadlineIndex"})
+  @DynamoDbSecondarySortKey(indexNames = {"StatusShardIndex"})
   public Instant getDeadline() {
     return deadline;
   }
@@ -67,11 +79,31 @@ public class DbTask {
   }
 
   @DynamoDbAttribute("subTasks")
-  @DynamoDbConvertedBy(ListSubTaskConverter.class)
+  @DynamoDbConvertedBy(SubTaskListConverter.class)
   public List<SubTask> getSubTasks() {
     return subTasks;
   }
 
+  @DynamoDbAttribute("subTaskLayout")
+  public SubTaskLayout getSubTaskLayout() {
+    return subTaskLayout;
+  }
+
+  @DynamoDbAttribute("totalSubTasks")
+  public Integer getTotalSubTasks() {
+    return totalSubTasks;
+  }
+
+  @DynamoDbAttribute("completedSubTasks")
+  public Integer getCompletedSubTasks() {
+    return completedSubTasks;
+  }
+
+  @DynamoDbAttribute("progressUpdatedAt")
+  public Instant getProgressUpdatedAt() {
+    return progressUpdatedAt;
+  }
+
   @DynamoDbAttribute("assignee")
   @DynamoDbSecondaryPartitionKey(indexNames = {"AssigneeIndex"})
   public String getAssignee() {
@@ -84,6 +116,12 @@ public class DbTask {
     return status;
   }
 
+  @DynamoDbAttribute("statusShard")
+  @DynamoDbSecondaryPartitionKey(indexNames = {"StatusShardIndex"})
+  public String getStatusShard() {
+    return statusShard;
+  }
+
   @DynamoDbAttribute("parentTaskId")
   public String getParentTaskId() {
     return parentTaskId;
@@ -139,6 +177,22 @@ public class DbTask {
     this.subTasks = subTasks;
   }
 
+  public void setSubTaskLayout(SubTaskLayout subTaskLayout) {
+    this.subTaskLayout = subTaskLayout;
+  }
+
+  public void setTotalSubTasks(Integer totalSubTasks) {
+    this.totalSubTasks = totalSubTasks;
+  }
+
+  public void setCompletedSubTasks(Integer completedSubTasks) {
+    this.completedSubTasks = completedSubTasks;
+  }
+
+  public void setProgressUpdatedAt(Instant progressUpdatedAt) {
+    this.progressUpdatedAt = progressUpdatedAt;
+  }
+
   public void setAssignee(String assignee) {
     this.assignee = assignee;
   }
@@ -147,6 +201,10 @@ public class DbTask {
     this.status = status;
   }
 
+  public void setStatusShard(String statusShard) {
+    this.statusShard = statusShard;
+  }
+
   public void setParentTaskId(String parentTaskId) {
     this.parentTaskId = parentTaskId;
   }
@@ -0,0 +1,132 @@
+package org.piyush.model.dynamodb;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.piyush.constant.Priority;
+import org.piyush.constant.SubTaskLayout;
+import org.piyush.constant.TaskStatus;
+import org.piyush.converters.CompressedTextConverter;
+import org.piyush.converters.SubTaskListConverter;
+import org.piyush.model.taskmanagement.SubTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.extensions.AutoGeneratedTimestampRecordExtension;
+import software.amazon.awssdk.enhanced.dynamodb.extensions.AutoGeneratedUuidExtension;
+import software.amazon.awssdk.enhanced.dynamodb.extensions.VersionedRecordExtension;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primarySortKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondarySortKey;
+
+/**
+ * Table schemas for {@link DbTask}. The static schema mirrors the bean annotations attribute for attribute, but is
+ * built from plain method references, so it skips the bean introspection and {@code LambdaMetafactory} accessor
+ * generation {@code TableSchema.fromBean} does on first use. The bean schema stays available for parity checks and
+ * can be selected with {@code DYNAMODB_TABLE_SCHEMA=bean}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DbTaskTableSchema {
+  private static final Logger logger = LoggerFactory.getLogger(DbTaskTableSchema.class);
+
+  public static final String BEAN = "bean";
+  public static final String STATIC = "static";
+
+  /**
+   * Schema chosen by the {@code DYNAMODB_TABLE_SCHEMA} system property or environment variable ({@code static}
+   * unless set).
+   */
+  public static TableSchema<DbTask> fromEnvironment() {
+    String selected = System.getProperty("DYNAMODB_TABLE_SCHEMA",
+        System.getenv().getOrDefault("DYNAMODB_TABLE_SCHEMA", STATIC)).toLowerCase(Locale.ROOT);
+    if (BEAN.equals(selected)) {
+      logger.info("Using reflective bean table schema for DbTask");
+      return bean();
+    }
+    return staticSchema();
+  }
+
+  public static TableSchema<DbTask> bean() {
+    return TableSchema.fromBean(DbTask.class);
+  }
+
+  public static StaticTableSchema<DbTask> staticSchema() {
+    return StaticTableSchema.builder(DbTask.class)
+        .newItemSupplier(DbTask::new)
+        .addAttribute(String.class, a -> a.name("id")
+            .getter(DbTask::getId)
+            .setter(DbTask::setId)
+            .tags(primaryPartitionKey(), AutoGeneratedUuidExtension.AttributeTags.autoGeneratedUuidAttribute()))
+        .addAttribute(String.class, a -> a.name("title")
+            .getter(DbTask::getTitle)
+            .setter(DbTask::setTitle))
+        .addAttribute(String.class, a -> a.name("description")
+            .getter(DbTask::getDescription)
+            .setter(DbTask::setDescription)
+            .attributeConverter(new CompressedTextConverter()))
+        .addAttribute(Priority.class, a -> a.name("priority")
+            .getter(DbTask::getPriority)
+            .setter(DbTask::setPriority))
+        .addAttribute(Instant.class, a -> a.name("deadline")
+            .getter(DbTask::getDeadline)
+            .setter(DbTask::setDeadline)
+            .tags(primarySortKey(), secondaryPartitionKey("DeadlineIndex"), secondarySortKey("StatusShardIndex")))
+        .addAttribute(EnhancedType.listOf(String.class), a -> a.name("labels")
+            .getter(DbTask::getLabels)
+            .setter(DbTask::setLabels))
+        .addAttribute(EnhancedType.listOf(SubTask.class), a -> a.name("subTasks")
+            .getter(DbTask::getSubTasks)
+            .setter(DbTask::setSubTasks)
+            .attributeConverter(new SubTaskListConverter()))
+        .addAttribute(SubTaskLayout.class, a -> a.name("subTaskLayout")
+            .getter(DbTask::getSubTaskLayout)
+            .setter(DbTask::setSubTaskLayout))
+        .addAttribute(Integer.class, a -> a.name("totalSubTasks")
+            .getter(DbTask::getTotalSubTasks)
+            .setter(DbTask::setTotalSubTasks))
+        .addAttribute(Integer.class, a -> a.name("completedSubTasks")
+            .getter(DbTask::getCompletedSubTasks)
+            .setter(DbTask::setCompletedSubTasks))
+        .addAttribute(Instant.class, a -> a.name("progressUpdatedAt")
+            .getter(DbTask::getProgressUpdatedAt)
+            .setter(DbTask::setProgressUpdatedAt))
+        .addAttribute(String.class, a -> a.name("assignee")
+            .getter(DbTask::getAssignee)
+            .setter(DbTask::setAssignee)
+            .tags(secondaryPartitionKey("AssigneeIndex")))
+        .addAttribute(TaskStatus.class, a -> a.name("status")
+            .getter(DbTask::getStatus)
+            .setter(DbTask::setStatus)
+            .tags(secondaryPartitionKey("StatusIndex")))
+        .addAttribute(String.class, a -> a.name("statusShard")
+            .getter(DbTask::getStatusShard)
+            .setter(DbTask::setStatusShard)
+            .tags(secondaryPartitionKey("StatusShardIndex")))
+        .addAttribute(String.class, a -> a.name("parentTaskId")
+            .getter(DbTask::getParentTaskId)
+            .setter(DbTask::setParentTaskId))
+        .addAttribute(EnhancedType.listOf(String.class), a -> a.name("dependentTaskIds")
+            .getter(DbTask::getDependentTaskIds)
+            .setter(DbTask::setDependentTaskIds))
+        .addAttribute(Instant.class, a -> a.name("createdAt")
+            .getter(DbTask::getCreatedAt)
+            .setter(DbTask::setCreatedAt)
+            .tags(AutoGeneratedTimestampRecordExtension.AttributeTags.autoGeneratedTimestampAttribute()))
+        .addAttribute(Instant.class, a -> a.name("updatedAt")
+            .getter(DbTask::getUpdatedAt)
+            .setter(DbTask::setUpdatedAt)
+            .tags(AutoGeneratedTimestampRecordExtension.AttributeTags.autoGeneratedTimestampAttribute()))
+        .addAttribute(Long.class, a -> a.name("version")
+            .getter(DbTask::getVersion)
+            .setter(DbTask::setVersion)
+            .tags(VersionedRecordExtension.AttributeTags.versionAttribute()))
+        .build();
+  }
+}
@@ -0,0 +1,16 @@
+package org.piyush.model.taskmanagement;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult<T> {
+  private int index;
+  private String id;
+  private int statusCode;
+  private String message;
+  private T data;
+}
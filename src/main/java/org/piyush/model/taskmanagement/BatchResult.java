@@ -0,0 +1,20 @@
+package org.piyush.model.taskmanagement;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class BatchResult<T> {
+  private int succeeded;
+  private int failed;
+  private List<BatchItemResult<T>> items;
+
+  public BatchResult(List<BatchItemResult<T>> items, int successStatus) {
+    this.items = items;
+    this.succeeded = (int) items.stream().filter(item -> item.getStatusCode() == successStatus).count();
+    this.failed = items.size() - succeeded;
+  }
+}
@@ -0,0 +1,25 @@
+package org.piyush.model.taskmanagement;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Everything downstream of a task: the tasks that depend on it or have it as a parent, transitively.
+ */
+@Data
+public class DependencyGraph {
+  private String taskId;
+  private int nodeCount;
+  private int edgeCount;
+  // ✅ Each task comes after every task it depends on
+  private List<String> order;
+  // ✅ The chain of tasks that sets projectedFinish, first to last
+  private List<String> criticalPath;
+  private Instant projectedFinish;
+  // ✅ Tasks that cannot finish by their deadline because something they depend on finishes later
+  private List<String> lateTaskIds;
+  // ✅ Referenced but not stored
+  private List<String> missingTaskIds;
+}
@@ -0,0 +1,12 @@
+package org.piyush.model.taskmanagement;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SubTaskPage {
+  private List<SubTask> subTasks;
+  // ✅ Pass back as pageToken to fetch the next page; absent on the last page
+  private String nextPageToken;
+}
@@ -0,0 +1,72 @@
+package org.piyush.model.taskmanagement;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A JSON Merge Patch of one sub-task, addressed by its position in the task's list. {@code id} is required and must
+ * match the sub-task stored at that position, so a list that shifted since the client read it is answered with a
+ * conflict instead of editing the wrong sub-task.
+ */
+@Data
+public class SubTaskPatch {
+  public static final Set<String> PATCHABLE_FIELDS = Set.of("title", "description", "completed", "dueDate",
+      "assignee");
+
+  private String id;
+  private String title;
+  private String description;
+  private Boolean completed;
+  private Instant dueDate;
+  private String assignee;
+
+  @JsonIgnore
+  private Set<String> setFields = new LinkedHashSet<>();
+
+  @JsonIgnore
+  private Set<String> removedFields = new LinkedHashSet<>();
+
+  public static SubTaskPatch fromMergePatch(JsonNode document, ObjectMapper objectMapper)
+      throws JsonProcessingException {
+    if (document == null || !document.isObject()) {
+      throw new IllegalArgumentException("A merge patch must be a JSON object");
+    }
+    Set<String> set = new LinkedHashSet<>();
+    Set<String> removed = new LinkedHashSet<>();
+    for (Iterator<String> names = document.fieldNames(); names.hasNext(); ) {
+      String name = names.next();
+      if ("id".equals(name)) {
+        continue;
+      }
+      if (!PATCHABLE_FIELDS.contains(name)) {
+        throw new IllegalArgumentException(String.format("Sub-task field [%s] cannot be patched", name));
+      }
+      (document.get(name).isNull() ? removed : set).add(name);
+    }
+    SubTaskPatch patch = objectMapper.treeToValue(document, SubTaskPatch.class);
+    if (patch.getId() == null || patch.getId().isBlank()) {
+      throw new IllegalArgumentException("The sub-task id is required");
+    }
+    patch.setFields = set;
+    patch.removedFields = removed;
+    if (patch.setFields.isEmpty() && patch.removedFields.isEmpty()) {
+      throw new IllegalArgumentException("A merge patch must change at least one field");
+    }
+    return patch;
+  }
+
+  // ✅ Marks the sub-task done; completedAt is stamped by the service
+  public static SubTaskPatch complete(String id) {
+    SubTaskPatch patch = new SubTaskPatch().setId(id).setCompleted(true);
+    patch.setFields.add("completed");
+    return patch;
+  }
+}
@@ -0,0 +1,19 @@
+package org.piyush.model.taskmanagement;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a sub-task write. Edits carry only the members they changed, so the rest of the list is never read back.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubTaskResult {
+  // ✅ Position in the list; null for sub-tasks stored as separate items
+  private Integer index;
+  private SubTask subTask;
+  // ✅ Task version after the write, for the next If-Match; null when the task item was not written
+  private Long version;
+}
@@ -0,0 +1,14 @@
+package org.piyush.model.taskmanagement;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Task counts read from the sharded counters, by status name and by assignee.
+ */
+@Data
+public class TaskCounts {
+  private Map<String, Long> byStatus;
+  private Map<String, Long> byAssignee;
+}
@@ -0,0 +1,121 @@
+package org.piyush.model.taskmanagement;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse field selection from a {@code ?fields=title,status} query parameter. {@code id} and {@code deadline} are
+ * the task key and always included; {@code metadata} reads the timestamps and version, and {@code progress} reads
+ * the stored progress counters.
+ */
+public final class TaskFields {
+  public static final TaskFields ALL = new TaskFields(EnumSet.allOf(Field.class));
+
+  private final Set<Field> fields;
+
+  private TaskFields(Set<Field> fields) {
+    this.fields = Collections.unmodifiableSet(fields);
+  }
+
+  public enum Field {
+    ID("id", List.of("id"), read -> {
+    }),
+    DEADLINE("deadline", List.of("deadline"), read -> {
+    }),
+    TITLE("title", List.of("title"), read -> read.setTitle(null)),
+    DESCRIPTION("description", List.of("description"), read -> read.setDescription(null)),
+    PRIORITY("priority", List.of("priority"), read -> read.setPriority(null)),
+    LABELS("labels", List.of("labels"), read -> read.setLabels(null)),
+    SUB_TASKS("subTasks", List.of("subTasks"), read -> read.setSubTasks(null)),
+    ASSIGNEE("assignee", List.of("assignee"), read -> read.setAssignee(null)),
+    STATUS("status", List.of("status"), read -> read.setStatus(null)),
+    PARENT_TASK_ID("parentTaskId", List.of("parentTaskId"), read -> read.setParentTaskId(null)),
+    DEPENDENT_TASK_IDS("dependentTaskIds", List.of("dependentTaskIds"), read -> read.setDependentTaskIds(null)),
+    METADATA("metadata", List.of("createdAt", "updatedAt", "version"), read -> read.setMetadata(null)),
+    PROGRESS("progress", List.of("totalSubTasks", "completedSubTasks", "progressUpdatedAt"),
+        read -> read.setProgress(null));
+
+    private final String name;
+    private final List<String> attributes;
+    private final Consumer<TaskRead> clear;
+
+    Field(String name, List<String> attributes, Consumer<TaskRead> clear) {
+      this.name = name;
+      this.attributes = attributes;
+      this.clear = clear;
+    }
+
+    public String getName() {
+      return name;
+    }
+  }
+
+  /**
+   * @param value comma-separated field names, or {@code null}/blank for every field
+   * @throws IllegalArgumentException when a name is not a task field
+   */
+  public static TaskFields parse(String value) {
+    if (value == null || value.isBlank()) {
+      return ALL;
+    }
+    Set<Field> selected = EnumSet.of(Field.ID, Field.DEADLINE);
+    for (String name : value.split(",")) {
+      String trimmed = name.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      selected.add(Arrays.stream(Field.values())
+          .filter(field -> field.name.equals(trimmed))
+          .findFirst()
+          .orElseThrow(() -> new IllegalArgumentException(String.format("Unknown field [%s]; expected one of %s",
+              trimmed, Arrays.stream(Field.values()).map(Field::getName).toList()))));
+    }
+    return selected.size() == Field.values().length ? ALL : new TaskFields(selected);
+  }
+
+  public boolean isAll() {
+    return fields.size() == Field.values().length;
+  }
+
+  public boolean includes(Field field) {
+    return fields.contains(field);
+  }
+
+  /**
+   * @return the DynamoDB attributes to project, or every attribute's name when all fields are selected
+   */
+  public Set<String> attributes() {
+    return fields.stream()
+        .flatMap(field -> field.attributes.stream())
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  // ✅ Unselected fields are nulled so the NON_NULL mapper leaves them out of the response
+  public void clearUnselected(TaskRead read) {
+    if (isAll()) {
+      return;
+    }
+    EnumSet.complementOf(EnumSet.copyOf(fields)).forEach(field -> field.clear.accept(read));
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof TaskFields that && fields.equals(that.fields);
+  }
+
+  @Override
+  public int hashCode() {
+    return fields.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return fields.stream().map(Field::getName).collect(Collectors.joining(","));
+  }
+}
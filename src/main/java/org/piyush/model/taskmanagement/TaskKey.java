@@ -0,0 +1,15 @@
+package org.piyush.model.taskmanagement;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskKey {
+  private String id;
+  private Instant deadline;
+}
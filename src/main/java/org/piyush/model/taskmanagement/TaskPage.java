@@ -0,0 +1,12 @@
+package org.piyush.model.taskmanagement;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskPage {
+  private List<TaskRead> tasks;
+  // ✅ Pass back as pageToken to fetch the next page; absent on the last page
+  private String nextPageToken;
+}
@@ -0,0 +1,71 @@
+package org.piyush.model.taskmanagement;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import org.piyush.constant.Priority;
+import org.piyush.constant.TaskStatus;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A JSON Merge Patch (RFC 7386) of a task. Members left out of the document are unchanged, members set to
+ * {@code null} are removed and any other value replaces the stored one. None of the task's attributes are objects,
+ * so arrays such as {@code subTasks} are replaced whole.
+ */
+@Data
+public class TaskPatch {
+  public static final Set<String> PATCHABLE_FIELDS = Set.of("title", "description", "priority", "labels",
+      "subTasks", "assignee", "status", "parentTaskId", "dependentTaskIds");
+
+  // ✅ Only accepted when it matches the id in the path
+  private String id;
+  private String title;
+  private String description;
+  private Priority priority;
+  private List<String> labels;
+  private List<SubTask> subTasks;
+  private String assignee;
+  private TaskStatus status;
+  private String parentTaskId;
+  private List<String> dependentTaskIds;
+
+  @JsonIgnore
+  private Set<String> setFields = new LinkedHashSet<>();
+
+  @JsonIgnore
+  private Set<String> removedFields = new LinkedHashSet<>();
+
+  public static TaskPatch fromMergePatch(JsonNode document, ObjectMapper objectMapper) throws JsonProcessingException {
+    if (document == null || !document.isObject()) {
+      throw new IllegalArgumentException("A merge patch must be a JSON object");
+    }
+    Set<String> set = new LinkedHashSet<>();
+    Set<String> removed = new LinkedHashSet<>();
+    for (Iterator<String> names = document.fieldNames(); names.hasNext(); ) {
+      String name = names.next();
+      if ("id".equals(name)) {
+        continue;
+      }
+      if ("deadline".equals(name)) {
+        throw new IllegalArgumentException("deadline is part of the task key and cannot be patched");
+      }
+      if (!PATCHABLE_FIELDS.contains(name)) {
+        throw new IllegalArgumentException(String.format("Field [%s] cannot be patched", name));
+      }
+      (document.get(name).isNull() ? removed : set).add(name);
+    }
+    TaskPatch patch = objectMapper.treeToValue(document, TaskPatch.class);
+    patch.setFields = set;
+    patch.removedFields = removed;
+    if (patch.setFields.isEmpty() && patch.removedFields.isEmpty()) {
+      throw new IllegalArgumentException("A merge patch must change at least one field");
+    }
+    return patch;
+  }
+}
@@ -15,7 +15,7 @@ public class TaskRead extends Task {
   private String id;
 
   private String parentTaskId;
-  private final List<String> dependentTaskIds = new ArrayList<>();
+  private List<String> dependentTaskIds = new ArrayList<>();
 
   @Valid
   private Metadata metadata;
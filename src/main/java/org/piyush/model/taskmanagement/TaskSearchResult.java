@@ -0,0 +1,12 @@
+package org.piyush.model.taskmanagement;
+
+import lombok.Data;
+import org.piyush.repositories.QueryPlan;
+
+import java.util.List;
+
+@Data
+public class TaskSearchResult {
+  private QueryPlan plan;
+  private List<TaskRead> tasks;
+}
@@ -0,0 +1,104 @@
+package org.piyush.projection;
+
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import com.amazonaws.services.lambda.runtime.events.models.dynamodb.StreamRecord;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.piyush.model.dynamodb.DbTask;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decodes stream records. The Lambda event has its own attribute value model, so images are copied into SDK
+ * attribute values first and then mapped with the {@link DbTask} table schema, converters included.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class StreamImages {
+  static final String PARTITION_KEY = "id";
+  static final String SORT_KEY = "deadline";
+
+  private static final TableSchema<DbTask> SCHEMA = DbTask.TABLE_SCHEMA;
+
+  /**
+   * @return the partition key of the record, or {@code null} when it has none
+   */
+  static String taskId(DynamodbStreamRecord record) {
+    StreamRecord stream = record.getDynamodb();
+    if (stream == null || stream.getKeys() == null) {
+      return null;
+    }
+    var id = stream.getKeys().get(PARTITION_KEY);
+    return id != null ? id.getS() : null;
+  }
+
+  static Map<String, AttributeValue> keys(DynamodbStreamRecord record) {
+    return toSdk(record.getDynamodb().getKeys());
+  }
+
+  static TaskChange decode(DynamodbStreamRecord record) {
+    StreamRecord stream = record.getDynamodb();
+    Map<String, AttributeValue> keys = keys(record);
+    return new TaskChange(
+        TaskChange.Type.valueOf(record.getEventName()),
+        keys.get(PARTITION_KEY).s(),
+        Instant.parse(keys.get(SORT_KEY).s()),
+        task(stream.getOldImage()),
+        task(stream.getNewImage()),
+        stream.getSequenceNumber(),
+        stream.getApproximateCreationDateTime() != null ? stream.getApproximateCreationDateTime().toInstant() : null);
+  }
+
+  private static DbTask task(
+      Map<String, com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue> image) {
+    return image != null ? SCHEMA.mapToItem(toSdk(image)) : null;
+  }
+
+  static Map<String, AttributeValue> toSdk(
+      Map<String, com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue> image) {
+    Map<String, AttributeValue> converted = new LinkedHashMap<>(image.size() * 2);
+    image.forEach((name, value) -> converted.put(name, toSdk(value)));
+    return converted;
+  }
+
+  static AttributeValue toSdk(com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue value) {
+    if (value.getS() != null) {
+      return AttributeValue.fromS(value.getS());
+    }
+    if (value.getN() != null) {
+      return AttributeValue.fromN(value.getN());
+    }
+    if (value.getB() != null) {
+      return AttributeValue.fromB(bytes(value.getB()));
+    }
+    if (value.getBOOL() != null) {
+      return AttributeValue.fromBool(value.getBOOL());
+    }
+    if (value.getSS() != null) {
+      return AttributeValue.fromSs(value.getSS());
+    }
+    if (value.getNS() != null) {
+      return AttributeValue.fromNs(value.getNS());
+    }
+    if (value.getBS() != null) {
+      return AttributeValue.fromBs(value.getBS().stream().map(StreamImages::bytes).toList());
+    }
+    if (value.getM() != null) {
+      return AttributeValue.fromM(toSdk(value.getM()));
+    }
+    if (value.getL() != null) {
+      return AttributeValue.fromL(value.getL().stream().map(StreamImages::toSdk).toList());
+    }
+    return AttributeValue.fromNul(true);
+  }
+
+  // ✅ Duplicate, so reading the bytes leaves the event's buffer where it was
+  private static SdkBytes bytes(ByteBuffer buffer) {
+    return SdkBytes.fromByteBuffer(buffer.duplicate());
+  }
+}
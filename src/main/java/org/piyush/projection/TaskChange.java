@@ -0,0 +1,17 @@
+package org.piyush.projection;
+
+import org.piyush.model.dynamodb.DbTask;
+
+import java.time.Instant;
+
+/**
+ * One change to a task item, decoded from a stream record through the {@link DbTask} schema. {@code newTask} is
+ * {@code null} for removals; {@code oldTask} is only set when the stream carries old images.
+ */
+public record TaskChange(Type type, String taskId, Instant deadline, DbTask oldTask, DbTask newTask,
+                         String sequenceNumber, Instant approximateCreationTime) {
+
+  public enum Type {
+    INSERT, MODIFY, REMOVE
+  }
+}
@@ -0,0 +1,52 @@
+package org.piyush.projection;
+
+import org.piyush.model.dynamodb.DbTask;
+import org.piyush.repositories.TaskCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maintains the status and assignee counters of {@link TaskCounterRepository}: the old image of a change is
+ * subtracted and the new one added. Changes and removals need the old image, so the stream has to carry
+ * {@code NEW_AND_OLD_IMAGES}; without it they are skipped and left to reconciliation. The stream sequence number is
+ * the idempotency token, but DynamoDB only honours it for ten minutes, while a failing shard's records are retried
+ * for up to 24 hours: a change replayed after that window is counted again. Counts can therefore drift, and the
+ * scheduled {@code TaskCounterReconcileHandler} corrects them.
+ */
+public class TaskCounterProjector implements TaskProjector {
+  private static final Logger logger = LoggerFactory.getLogger(TaskCounterProjector.class);
+
+  private final TaskCounterRepository counterRepository;
+
+  public TaskCounterProjector(TaskCounterRepository counterRepository) {
+    this.counterRepository = counterRepository;
+  }
+
+  @Override
+  public void apply(TaskChange change) {
+    if (change.type() != TaskChange.Type.INSERT && change.oldTask() == null) {
+      logger.warn("{} of task {} has no old image; counters are left to reconciliation", change.type(),
+          change.taskId());
+      return;
+    }
+    Map<String, Long> deltas = new LinkedHashMap<>();
+    count(deltas, change.oldTask(), -1);
+    count(deltas, change.newTask(), 1);
+    counterRepository.add(deltas, change.sequenceNumber());
+  }
+
+  private static void count(Map<String, Long> deltas, DbTask task, long delta) {
+    if (task == null) {
+      return;
+    }
+    if (task.getStatus() != null) {
+      deltas.merge(TaskCounterRepository.statusCounter(task.getStatus()), delta, Long::sum);
+    }
+    if (task.getAssignee() != null) {
+      deltas.merge(TaskCounterRepository.assigneeCounter(task.getAssignee()), delta, Long::sum);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package org.piyush.projection;
+
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import org.piyush.repositories.SubTaskItems;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Applies a batch of stream records to the projectors. Records are grouped by partition key: each task's records
+ * run in stream order on one thread, and different tasks run in parallel. When a record fails, the rest of its task's
+ * records are left for the retry and the record's sequence number is reported, so Lambda resumes the batch from the
+ * earliest failure. Sub-task items are not tasks and are skipped.
+ */
+public class TaskProjectionPipeline {
+  private static final Logger logger = LoggerFactory.getLogger(TaskProjectionPipeline.class);
+
+  private final List<TaskProjector> projectors;
+  private final ExecutorService executor;
+
+  public TaskProjectionPipeline(List<TaskProjector> projectors, ExecutorService executor) {
+    this.projectors = List.copyOf(projectors);
+    this.executor = executor;
+  }
+
+  /**
+   * @return the sequence numbers of the first failed record of each task, empty when the whole batch was applied
+   */
+  public List<String> process(List<DynamodbStreamRecord> records) {
+    List<String> failures = Collections.synchronizedList(new ArrayList<>());
+    Map<String, List<DynamodbStreamRecord>> byTask = new LinkedHashMap<>();
+    for (DynamodbStreamRecord record : records) {
+      String taskId = StreamImages.taskId(record);
+      if (taskId == null) {
+        logger.error("Stream record {} has no task id", record.getEventID());
+        failures.add(sequenceNumber(record));
+        continue;
+      }
+      byTask.computeIfAbsent(taskId, id -> new ArrayList<>()).add(record);
+    }
+
+    // ✅ A single task needs no hand-off to the executor
+    if (byTask.size() == 1) {
+      byTask.forEach((taskId, taskRecords) -> apply(taskId, taskRecords, failures));
+    } else {
+      CompletableFuture.allOf(byTask.entrySet().stream()
+              .map(entry -> CompletableFuture.runAsync(
+                  () -> apply(entry.getKey(), entry.getValue(), failures), executor))
+              .toArray(CompletableFuture[]::new))
+          .join();
+    }
+    logger.info("Projected {} stream records of {} tasks, {} failed", records.size(), byTask.size(),
+        failures.size());
+    return failures;
+  }
+
+  private void apply(String taskId, List<DynamodbStreamRecord> records, List<String> failures) {
+    for (int i = 0; i < records.size(); i++) {
+      DynamodbStreamRecord record = records.get(i);
+      try {
+        if (SubTaskItems.isSubTaskItem(StreamImages.keys(record))) {
+          continue;
+        }
+        TaskChange change = StreamImages.decode(record);
+        for (TaskProjector projector : projectors) {
+          projector.apply(change);
+        }
+      } catch (RuntimeException e) {
+        logger.error("Failed to project stream record {} of task {}; {} later records of the task wait for the "
+            + "retry", record.getEventID(), taskId, records.size() - i - 1, e);
+        failures.add(sequenceNumber(record));
+        return;
+      }
+    }
+  }
+
+  private static String sequenceNumber(DynamodbStreamRecord record) {
+    return record.getDynamodb() != null ? record.getDynamodb().getSequenceNumber() : null;
+  }
+}
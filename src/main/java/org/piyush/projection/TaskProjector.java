@@ -0,0 +1,15 @@
+package org.piyush.projection;
+
+/**
+ * Keeps a derived view (an aggregate, a counter, an index) up to date from task changes. Changes of one task arrive
+ * in stream order, but changes of different tasks are applied concurrently. A failed batch is retried from the
+ * earliest failed record, so a projector sees some changes again and has to apply them idempotently.
+ */
+@FunctionalInterface
+public interface TaskProjector {
+
+  /**
+   * @throws RuntimeException to fail the change; later changes of the same task are not applied until it is retried
+   */
+  void apply(TaskChange change);
+}
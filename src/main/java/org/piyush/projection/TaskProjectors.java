@@ -0,0 +1,56 @@
+package org.piyush.projection;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.piyush.repositories.TaskCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The built-in projectors, selected by name with {@code TASK_STREAM_PROJECTORS} (comma-separated, applied in that
+ * order).
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TaskProjectors {
+  private static final Logger logger = LoggerFactory.getLogger(TaskProjectors.class);
+
+  public static final String LOG = "log";
+  public static final String COUNTERS = "counters";
+
+  private static final Map<String, Supplier<TaskProjector>> BUILT_IN = Map.of(
+      LOG, () -> TaskProjectors::log,
+      COUNTERS, () -> new TaskCounterProjector(new TaskCounterRepository()));
+
+  public static List<TaskProjector> fromEnvironment() {
+    return named(System.getenv().getOrDefault("TASK_STREAM_PROJECTORS", COUNTERS));
+  }
+
+  /**
+   * @throws IllegalArgumentException for a name that is not a built-in projector
+   */
+  public static List<TaskProjector> named(String names) {
+    return Arrays.stream(names.split(","))
+        .map(name -> name.trim().toLowerCase(Locale.ROOT))
+        .filter(name -> !name.isEmpty())
+        .map(name -> {
+          Supplier<TaskProjector> projector = BUILT_IN.get(name);
+          if (projector == null) {
+            throw new IllegalArgumentException(String.format("Unknown task projector [%s]; expected one of %s",
+                name, BUILT_IN.keySet()));
+          }
+          return projector.get();
+        })
+        .toList();
+  }
+
+  private static void log(TaskChange change) {
+    logger.info("{} task {} ({}) at {}", change.type(), change.taskId(), change.deadline(),
+        change.sequenceNumber());
+  }
+}
@@ -0,0 +1,206 @@
+package org.piyush.repositories;
+
+import org.piyush.config.DynamoDbConfig;
+import org.piyush.constant.SubTaskLayout;
+import org.piyush.exception.TaskNotFoundException;
+import org.piyush.exception.TaskRepositoryException;
+import org.piyush.model.dynamodb.DbTask;
+import org.piyush.model.taskmanagement.TaskSearchCriteria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncIndex;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking reads of the task table on {@code DynamoDbEnhancedAsyncClient}. No method blocks the calling thread;
+ * failures complete the returned future with {@link TaskRepositoryException} or {@link TaskNotFoundException}, the
+ * same exceptions the synchronous repository throws.
+ * <p>
+ * Writes stay on {@link TaskRepository}, which keeps the task cache, the id filter and the status shard key up to
+ * date with them. Reads here go straight to the table, so they never see anything staler than it.
+ */
+public class AsyncTaskRepository {
+  private static final Logger logger = LoggerFactory.getLogger(AsyncTaskRepository.class);
+  private static final Duration STATISTICS_TTL = Duration.ofMinutes(5);
+
+  private final DynamoDbAsyncClient dynamoDbAsyncClient;
+  private final DynamoDbAsyncTable<DbTask> taskTable;
+  // ✅ Shards the planner may read from; 0 until TASK_STATUS_SHARD_READS is on, as in TaskRepository
+  private final int plannedStatusShards;
+  private volatile CompletableFuture<TableStatistics> statistics;
+  private volatile long statisticsExpireAtMillis;
+
+  public AsyncTaskRepository() {
+    this(DynamoDbConfig.dynamoDbAsyncClient(), DynamoDbConfig.dynamoDbEnhancedAsyncClient()
+        .table(DynamoDbConfig.tableName(), DbTask.TABLE_SCHEMA));
+  }
+
+  public AsyncTaskRepository(DynamoDbAsyncClient dynamoDbAsyncClient, DynamoDbAsyncTable<DbTask> taskTable) {
+    this(dynamoDbAsyncClient, taskTable, StatusShards.COUNT, StatusShards.READS);
+  }
+
+  AsyncTaskRepository(DynamoDbAsyncClient dynamoDbAsyncClient, DynamoDbAsyncTable<DbTask> taskTable,
+                      int statusShards, boolean statusShardReads) {
+    this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+    this.taskTable = taskTable;
+    this.plannedStatusShards = statusShardReads ? statusShards : 0;
+  }
+
+  public CompletableFuture<DbTask> findById(String taskId) {
+    return translate(collect(taskTable.query(QueryEnhancedRequest.builder()
+                .queryConditional(tasksOf(taskId))
+                .limit(1)
+                .build())
+            .items(), 1)
+            .thenApply(tasks -> {
+              if (tasks.isEmpty()) {
+                throw new TaskNotFoundException(String.format("Task not found with id [%s]", taskId));
+              }
+              return tasks.get(0);
+            })
+            .thenCompose(this::withSubTaskItems),
+        String.format("Failed to retrieve task with ID [%s]", taskId));
+  }
+
+  public CompletableFuture<DbTask> findByIdAndDeadline(String taskId, Instant deadline) {
+    String formattedDeadline = DateTimeFormatter.ISO_INSTANT.format(deadline);
+    return translate(taskTable.getItem(Key.builder()
+                .partitionValue(taskId)
+                .sortValue(formattedDeadline)
+                .build())
+            .thenApply(task -> {
+              if (task == null) {
+                throw new TaskNotFoundException(
+                    String.format("Task not found with id [%s] and deadline [%s]", taskId, formattedDeadline));
+              }
+              return task;
+            })
+            .thenCompose(this::withSubTaskItems),
+        String.format("Failed to retrieve task with ID [%s] and deadline [%s]", taskId, deadline));
+  }
+
+  // ✅ A single task is returned whole, as in TaskRepository: ITEMS tasks get their sub-task items read in
+  private CompletableFuture<DbTask> withSubTaskItems(DbTask task) {
+    if (SubTaskLayout.of(task) != SubTaskLayout.ITEMS) {
+      return CompletableFuture.completedFuture(task);
+    }
+    return subTaskItems(task.getId(), task.getDeadline()).thenApply(items -> {
+      task.setSubTasks(items.stream()
+          .map(SubTaskItems::fromItem)
+          .collect(Collectors.toCollection(ArrayList::new)));
+      return task;
+    });
+  }
+
+  private CompletableFuture<List<Map<String, AttributeValue>>> subTaskItems(String taskId, Instant deadline) {
+    List<Map<String, AttributeValue>> items = new ArrayList<>();
+    return dynamoDbAsyncClient.queryPaginator(r -> r.tableName(taskTable.tableName())
+            .keyConditionExpression("#pk = :pk AND begins_with(#sk, :prefix)")
+            .expressionAttributeNames(Map.of("#pk", SubTaskItems.PARTITION_KEY, "#sk", SubTaskItems.SORT_KEY))
+            .expressionAttributeValues(Map.of(":pk", AttributeValue.fromS(taskId), ":prefix",
+                AttributeValue.fromS(SubTaskItems.sortKeyPrefix(deadline)))))
+        .items()
+        .subscribe(items::add)
+        .thenApply(ignored -> items);
+  }
+
+  public CompletableFuture<QueryPlan> planSearch(TaskSearchCriteria criteria) {
+    return translate(tableStatistics()
+            .thenApply(stats -> new TaskQueryPlanner(() -> stats, plannedStatusShards).plan(criteria)),
+        "Failed to plan task search");
+  }
+
+  /**
+   * Runs a plan from {@link #planSearch}; multi-value index plans subscribe to every partition at once.
+   */
+  public CompletableFuture<List<DbTask>> search(QueryPlan plan, int limit) {
+    CompletableFuture<List<DbTask>> result;
+    if (plan.getAccessPath() == QueryPlan.AccessPath.SCAN) {
+      result = collect(taskTable.scan(ScanEnhancedRequest.builder()
+              .filterExpression(SubTaskItems.tasksOnly(plan.getFilter()))
+              .build())
+          .items(), limit);
+    } else {
+      DynamoDbAsyncIndex<DbTask> index = taskTable.index(plan.getIndexName());
+      List<CompletableFuture<List<DbTask>>> partitions = plan.getPartitionValues().stream()
+          .map(value -> collect(index.query(QueryEnhancedRequest.builder()
+                  .queryConditional(QueryConditional.keyEqualTo(k -> k.partitionValue(value)))
+                  .filterExpression(plan.getFilter())
+                  .build())
+              .flatMapIterable(page -> page.items()), limit))
+          .toList();
+      result = CompletableFuture.allOf(partitions.toArray(new CompletableFuture[0]))
+          .thenApply(ignored -> plan.getAccessPath() == QueryPlan.AccessPath.STATUS_SHARD_INDEX
+              ? StatusShards.mergeByDeadline(partitions.stream().map(CompletableFuture::join).toList(), limit)
+              : partitions.stream()
+                  .flatMap(partition -> partition.join().stream())
+                  .limit(limit)
+                  .toList());
+    }
+    return translate(result.thenApply(tasks -> {
+      logger.info("Search via {} returned {} tasks", plan.getAccessPath(), tasks.size());
+      return tasks;
+    }), "Failed to search tasks");
+  }
+
+  // ✅ Task sort keys are ISO instants, which sort before the SUB# keys of sub-task items
+  private static QueryConditional tasksOf(String taskId) {
+    return QueryConditional.sortLessThan(k -> k.partitionValue(taskId).sortValue(SubTaskItems.PREFIX));
+  }
+
+  private CompletableFuture<TableStatistics> tableStatistics() {
+    long now = System.currentTimeMillis();
+    CompletableFuture<TableStatistics> current = statistics;
+    if (current == null || now >= statisticsExpireAtMillis || current.isCompletedExceptionally()) {
+      current = dynamoDbAsyncClient.describeTable(r -> r.tableName(taskTable.tableName()))
+          .thenApply(response -> TableStatistics.from(response.table()));
+      statistics = current;
+      statisticsExpireAtMillis = now + STATISTICS_TTL.toMillis();
+    }
+    return current;
+  }
+
+  private static <T> CompletableFuture<List<T>> collect(SdkPublisher<T> publisher, int limit) {
+    // ✅ Reactive Streams delivers items one at a time, so a plain list is safe here
+    List<T> items = new ArrayList<>();
+    return publisher.limit(limit).subscribe(items::add).thenApply(ignored -> items);
+  }
+
+  // ✅ Maps SDK failures to the repository's exception, the way the synchronous repository does
+  private static <T> CompletableFuture<T> translate(CompletableFuture<T> future, String message) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    future.whenComplete((value, error) -> {
+      if (error == null) {
+        result.complete(value);
+        return;
+      }
+      Throwable cause = error;
+      while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+        cause = cause.getCause();
+      }
+      result.completeExceptionally(cause instanceof DynamoDbException
+          ? new TaskRepositoryException(message, cause)
+          : cause);
+    });
+    return result;
+  }
+}
@@ -0,0 +1,17 @@
+package org.piyush.repositories;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class CounterReconciliation {
+  private final long scannedTasks;
+  private final int counters;
+  // ✅ Amount added to each counter that had drifted, by counter key
+  private final Map<String, Long> corrections;
+}
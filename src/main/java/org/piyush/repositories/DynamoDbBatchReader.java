@@ -0,0 +1,111 @@
+package org.piyush.repositories;
+
+import org.piyush.exception.TaskRepositoryException;
+import org.piyush.utils.BackoffUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.RequestLimitExceededException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Reads any number of primary keys from one table as concurrent 100-key {@code BatchGetItem} calls, re-driving
+ * {@code UnprocessedKeys} with jittered exponential backoff. Duplicate keys are fetched once.
+ */
+public class DynamoDbBatchReader {
+  private static final Logger logger = LoggerFactory.getLogger(DynamoDbBatchReader.class);
+
+  public static final int MAX_BATCH_SIZE = 100;
+  private static final int MAX_ATTEMPTS = 8;
+  private static final Duration BASE_DELAY = Duration.ofMillis(50);
+  private static final Duration MAX_DELAY = Duration.ofSeconds(5);
+
+  private final DynamoDbClient dynamoDbClient;
+  private final Executor executor;
+
+  public DynamoDbBatchReader(DynamoDbClient dynamoDbClient, Executor executor) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.executor = executor;
+  }
+
+  /**
+   * @return the items found, in the same order as {@code keys}, with {@code null} where no item exists
+   */
+  public List<Map<String, AttributeValue>> getAll(String tableName, List<Map<String, AttributeValue>> keys) {
+    List<Map<String, AttributeValue>> unique = new ArrayList<>(new LinkedHashSet<>(keys));
+    Map<Map<String, AttributeValue>, Map<String, AttributeValue>> found = new ConcurrentHashMap<>();
+
+    List<CompletableFuture<Void>> chunks = new ArrayList<>();
+    for (int start = 0; start < unique.size(); start += MAX_BATCH_SIZE) {
+      List<Map<String, AttributeValue>> chunk = unique.subList(start, Math.min(start + MAX_BATCH_SIZE, unique.size()));
+      chunks.add(CompletableFuture.runAsync(() -> readChunk(tableName, chunk, found), executor));
+    }
+    try {
+      CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+
+    List<Map<String, AttributeValue>> results = new ArrayList<>(keys.size());
+    for (Map<String, AttributeValue> key : keys) {
+      results.add(found.get(key));
+    }
+    return results;
+  }
+
+  private void readChunk(String tableName, List<Map<String, AttributeValue>> chunk,
+                         Map<Map<String, AttributeValue>, Map<String, AttributeValue>> found) {
+    Set<String> keyAttributes = chunk.get(0).keySet();
+    List<Map<String, AttributeValue>> pending = chunk;
+
+    for (int attempt = 0; attempt < MAX_ATTEMPTS && !pending.isEmpty(); attempt++) {
+      if (attempt > 0) {
+        BackoffUtil.sleep(BackoffUtil.fullJitter(attempt, BASE_DELAY, MAX_DELAY));
+      }
+      try {
+        BatchGetItemResponse response = dynamoDbClient.batchGetItem(BatchGetItemRequest.builder()
+            .requestItems(Map.of(tableName, KeysAndAttributes.builder().keys(pending).build()))
+            .build());
+        for (Map<String, AttributeValue> item : response.responses().getOrDefault(tableName, List.of())) {
+          found.put(keyOf(item, keyAttributes), item);
+        }
+        KeysAndAttributes unprocessed = response.hasUnprocessedKeys()
+            ? response.unprocessedKeys().get(tableName)
+            : null;
+        pending = unprocessed != null ? unprocessed.keys() : List.of();
+        if (!pending.isEmpty()) {
+          logger.warn("{} keys unprocessed in batch read from {} (attempt {})", pending.size(), tableName, attempt + 1);
+        }
+      } catch (ProvisionedThroughputExceededException | RequestLimitExceededException e) {
+        logger.warn("Batch read from {} throttled (attempt {})", tableName, attempt + 1);
+      }
+    }
+
+    if (!pending.isEmpty()) {
+      throw new TaskRepositoryException(String.format(
+          "%d keys still unprocessed after %d attempts", pending.size(), MAX_ATTEMPTS));
+    }
+  }
+
+  private static Map<String, AttributeValue> keyOf(Map<String, AttributeValue> item, Set<String> keyAttributes) {
+    Map<String, AttributeValue> key = new HashMap<>();
+    keyAttributes.forEach(attribute -> key.put(attribute, item.get(attribute)));
+    return key;
+  }
+}
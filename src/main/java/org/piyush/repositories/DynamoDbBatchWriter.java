@@ -0,0 +1,101 @@
+package org.piyush.repositories;
+
+import org.piyush.utils.BackoffUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.RequestLimitExceededException;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Writes any number of {@link WriteRequest}s to one table as concurrent 25-item {@code BatchWriteItem} calls.
+ * {@code UnprocessedItems} and throttled calls are retried with jittered exponential backoff; whatever is still
+ * unwritten after the last attempt is reported back by its position in the input list.
+ */
+public class DynamoDbBatchWriter {
+  private static final Logger logger = LoggerFactory.getLogger(DynamoDbBatchWriter.class);
+
+  public static final int MAX_BATCH_SIZE = 25;
+  private static final int MAX_ATTEMPTS = 8;
+  private static final Duration BASE_DELAY = Duration.ofMillis(50);
+  private static final Duration MAX_DELAY = Duration.ofSeconds(5);
+
+  private final DynamoDbClient dynamoDbClient;
+  private final Executor executor;
+
+  public DynamoDbBatchWriter(DynamoDbClient dynamoDbClient, Executor executor) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.executor = executor;
+  }
+
+  /**
+   * @return failure reasons keyed by the index of the request in {@code requests}; empty when everything was written.
+   * A chunk that fails outright reports all of its requests, and the other chunks are unaffected.
+   */
+  public Map<Integer, String> writeAll(String tableName, List<WriteRequest> requests) {
+    Map<Integer, String> failures = new ConcurrentHashMap<>();
+    List<CompletableFuture<Void>> chunks = new ArrayList<>();
+    for (int start = 0; start < requests.size(); start += MAX_BATCH_SIZE) {
+      int chunkStart = start;
+      int chunkEnd = Math.min(start + MAX_BATCH_SIZE, requests.size());
+      chunks.add(CompletableFuture.runAsync(
+          () -> writeChunk(tableName, requests, chunkStart, chunkEnd, failures), executor));
+    }
+    CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+    return failures;
+  }
+
+  private void writeChunk(String tableName, List<WriteRequest> requests, int start, int end,
+                          Map<Integer, String> failures) {
+    Map<WriteRequest, Integer> pending = new HashMap<>();
+    for (int i = start; i < end; i++) {
+      pending.put(requests.get(i), i);
+    }
+
+    for (int attempt = 0; attempt < MAX_ATTEMPTS && !pending.isEmpty(); attempt++) {
+      try {
+        if (attempt > 0) {
+          BackoffUtil.sleep(BackoffUtil.fullJitter(attempt, BASE_DELAY, MAX_DELAY));
+        }
+        BatchWriteItemResponse response = dynamoDbClient.batchWriteItem(BatchWriteItemRequest.builder()
+            .requestItems(Map.of(tableName, List.copyOf(pending.keySet())))
+            .build());
+        List<WriteRequest> unprocessed = response.hasUnprocessedItems()
+            ? response.unprocessedItems().getOrDefault(tableName, List.of())
+            : List.of();
+        pending.keySet().retainAll(unprocessed);
+        if (!pending.isEmpty()) {
+          logger.warn("{} items unprocessed in batch write to {} (attempt {})", pending.size(), tableName, attempt + 1);
+        }
+      } catch (ProvisionedThroughputExceededException | RequestLimitExceededException e) {
+        logger.warn("Batch write to {} throttled (attempt {})", tableName, attempt + 1);
+      } catch (DynamoDbException e) {
+        logger.error("Batch write to {} failed", tableName, e);
+        pending.values().forEach(index -> failures.put(index, e.awsErrorDetails() != null
+            ? e.awsErrorDetails().errorMessage() : e.getMessage()));
+        return;
+      } catch (RuntimeException e) {
+        // ✅ Client-side failures (timeouts, interrupted backoff) stay with this chunk, so writeAll never throws
+        logger.error("Batch write to {} failed", tableName, e);
+        pending.values().forEach(index -> failures.put(index, String.valueOf(e.getMessage())));
+        return;
+      }
+    }
+
+    pending.values().forEach(index ->
+        failures.put(index, String.format("Item still unprocessed after %d attempts", MAX_ATTEMPTS)));
+  }
+}
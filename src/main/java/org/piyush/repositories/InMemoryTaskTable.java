@@ -0,0 +1,137 @@
+package org.piyush.repositories;
+
+import org.piyush.model.dynamodb.DbTask;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClientExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PageIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Table stand-in that keeps items in memory, used to drive the request path without a network call (priming,
+ * benchmarks). Items go through the real {@link TableSchema} in both directions, so attribute converters run exactly
+ * as they would against DynamoDB. Supports only what {@link TaskRepository}'s single-item operations need: put, get,
+ * partition-key query and delete.
+ */
+public class InMemoryTaskTable implements DynamoDbTable<DbTask> {
+
+  private final String tableName;
+  private final TableSchema<DbTask> tableSchema;
+  private final Map<Map<String, AttributeValue>, Map<String, AttributeValue>> items = new ConcurrentHashMap<>();
+
+  public InMemoryTaskTable(String tableName, TableSchema<DbTask> tableSchema) {
+    this.tableName = tableName;
+    this.tableSchema = tableSchema;
+  }
+
+  @Override
+  public void putItem(DbTask item) {
+    // ✅ Stands in for @DynamoDbAutoGeneratedUuid
+    if (item.getId() == null) {
+      item.setId(UUID.randomUUID().toString());
+    }
+    items.put(keyOf(item), tableSchema.itemToMap(item, true));
+  }
+
+  @Override
+  public DbTask getItem(Key key) {
+    Map<String, AttributeValue> item = items.get(key.keyMap(tableSchema, TableMetadata.primaryIndexName()));
+    return item != null ? tableSchema.mapToItem(item) : null;
+  }
+
+  @Override
+  public DbTask deleteItem(Key key) {
+    Map<String, AttributeValue> keyMap = key.keyMap(tableSchema, TableMetadata.primaryIndexName());
+    // ✅ A partition-only key removes the whole partition
+    List<Map<String, AttributeValue>> matches = items.keySet().stream()
+        .filter(stored -> stored.entrySet().containsAll(keyMap.entrySet()))
+        .toList();
+    DbTask deleted = null;
+    for (Map<String, AttributeValue> match : matches) {
+      Map<String, AttributeValue> item = items.remove(match);
+      if (item != null) {
+        deleted = tableSchema.mapToItem(item);
+      }
+    }
+    return deleted;
+  }
+
+  @Override
+  public DbTask deleteItem(DbTask keyItem) {
+    return deleteItem(keyFrom(keyItem));
+  }
+
+  @Override
+  public PageIterable<DbTask> query(QueryEnhancedRequest request) {
+    String partitionKey = tableSchema.tableMetadata().primaryPartitionKey();
+    Expression condition = request.queryConditional().expression(tableSchema, TableMetadata.primaryIndexName());
+    // ✅ The sort key part of the condition is ignored; the table never holds sub-task items
+    String partitionName = condition.expressionNames().entrySet().stream()
+        .filter(name -> partitionKey.equals(name.getValue()))
+        .findFirst()
+        .orElseThrow()
+        .getKey();
+    AttributeValue partitionValue = condition.expressionValues().get(":" + partitionName.substring(1));
+    List<DbTask> matches = new ArrayList<>();
+    items.values().stream()
+        .filter(item -> partitionValue.equals(item.get(partitionKey)))
+        .map(tableSchema::mapToItem)
+        .forEach(matches::add);
+    SdkIterable<Page<DbTask>> pages = () -> Collections.singletonList(
+        Page.builder(DbTask.class).items(matches).build()).iterator();
+    return PageIterable.create(pages);
+  }
+
+  @Override
+  public PageIterable<DbTask> query(Consumer<QueryEnhancedRequest.Builder> requestConsumer) {
+    QueryEnhancedRequest.Builder builder = QueryEnhancedRequest.builder();
+    requestConsumer.accept(builder);
+    return query(builder.build());
+  }
+
+  @Override
+  public DynamoDbEnhancedClientExtension mapperExtension() {
+    return null;
+  }
+
+  @Override
+  public TableSchema<DbTask> tableSchema() {
+    return tableSchema;
+  }
+
+  @Override
+  public String tableName() {
+    return tableName;
+  }
+
+  @Override
+  public Key keyFrom(DbTask item) {
+    return tableSchema.tableMetadata().primarySortKey().isPresent()
+        ? Key.builder().partitionValue(item.getId()).sortValue(tableSchema.attributeValue(item, "deadline")).build()
+        : Key.builder().partitionValue(item.getId()).build();
+  }
+
+  @Override
+  public DynamoDbIndex<DbTask> index(String indexName) {
+    throw new UnsupportedOperationException("Indexes are not supported by the in-memory table");
+  }
+
+  private Map<String, AttributeValue> keyOf(DbTask item) {
+    return keyFrom(item).keyMap(tableSchema, TableMetadata.primaryIndexName());
+  }
+}
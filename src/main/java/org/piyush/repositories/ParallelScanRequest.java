@@ -0,0 +1,25 @@
+package org.piyush.repositories;
+
+import lombok.Data;
+import org.piyush.config.ExecutorConfig;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+
+import java.util.List;
+
+/**
+ * Options for a {@link ParallelScanner} pass. Only {@code tableName} is required.
+ */
+@Data
+public class ParallelScanRequest {
+  private String tableName;
+  private int totalSegments = ExecutorConfig.scanThreads();
+  // ✅ Items per Scan call; null lets DynamoDB fill 1 MB pages
+  private Integer pageSize;
+  // ✅ Attributes to return; null returns whole items
+  private List<String> projection;
+  private Expression filter;
+  // ✅ Select COUNT: nothing is handed to the consumer, only the summary counts are filled
+  private boolean countOnly;
+  // ✅ Items buffered between the segment workers and the consumer before workers block
+  private int queueCapacity = 1000;
+}
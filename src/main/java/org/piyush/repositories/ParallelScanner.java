@@ -0,0 +1,270 @@
+package org.piyush.repositories;
+
+import org.piyush.utils.BackoffUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.RequestLimitExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.Select;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Scans a whole table as {@code TotalSegments} workers, each paging through its own {@code Segment}. Items are
+ * handed to the consumer on the calling thread through a bounded queue, so workers block instead of buffering when
+ * the consumer falls behind.
+ * <p>
+ * {@code TotalSegments} cannot change once a scan has started, so throttling is absorbed by the number of segments
+ * allowed to have a page in flight: halved on every throttle, raised by one after a run of successful pages.
+ */
+public class ParallelScanner {
+  private static final Logger logger = LoggerFactory.getLogger(ParallelScanner.class);
+
+  private static final int MAX_ATTEMPTS = 10;
+  private static final Duration BASE_DELAY = Duration.ofMillis(50);
+  private static final Duration MAX_DELAY = Duration.ofSeconds(5);
+  private static final long POLL_MILLIS = 50;
+
+  private final DynamoDbClient dynamoDbClient;
+  private final Executor executor;
+
+  public ParallelScanner(DynamoDbClient dynamoDbClient, Executor executor) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.executor = executor;
+  }
+
+  public ScanSummary scan(ParallelScanRequest request, Consumer<Map<String, AttributeValue>> consumer) {
+    int segments = request.getTotalSegments();
+    if (segments < 1) {
+      throw new IllegalArgumentException("totalSegments must be at least 1");
+    }
+
+    ScanState state = new ScanState(segments, request.getQueueCapacity());
+    CompletableFuture<?>[] workers = new CompletableFuture[segments];
+    for (int segment = 0; segment < segments; segment++) {
+      ScanRequest.Builder template = template(request, segment);
+      workers[segment] = CompletableFuture.runAsync(() -> scanSegment(template, state), executor)
+          .whenComplete((ignored, error) -> {
+            // ✅ allOf only completes once every segment has, so the first failure is recorded as it happens
+            if (error != null && state.failure.compareAndSet(null, error)) {
+              state.cancelled.set(true);
+            }
+          });
+    }
+    CompletableFuture<Void> all = CompletableFuture.allOf(workers);
+
+    try {
+      while (true) {
+        Throwable failure = state.failure.get();
+        if (failure != null) {
+          throw new CompletionException(failure);
+        }
+        Map<String, AttributeValue> item = state.queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (item != null) {
+          consumer.accept(item);
+        } else if (all.isDone() && state.queue.isEmpty()) {
+          break;
+        }
+      }
+      all.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while scanning " + request.getTableName(), e);
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause() instanceof CompletionException nested ? nested.getCause() : e.getCause();
+      throw cause instanceof RuntimeException runtime ? runtime : e;
+    } finally {
+      // ✅ Stops the remaining workers when the consumer or a segment failed
+      state.cancelled.set(true);
+      state.queue.clear();
+    }
+
+    ScanSummary summary = new ScanSummary(segments, state.pages.get(), state.scanned.get(), state.matched.get(),
+        state.throttles.get(), state.limit.lowest());
+    logger.info("Parallel scan of {} finished: {}", request.getTableName(), summary);
+    return summary;
+  }
+
+  private ScanRequest.Builder template(ParallelScanRequest request, int segment) {
+    ScanRequest.Builder builder = ScanRequest.builder()
+        .tableName(request.getTableName())
+        .segment(segment)
+        .totalSegments(request.getTotalSegments())
+        .limit(request.getPageSize());
+    Map<String, String> names = new HashMap<>();
+    Expression filter = request.getFilter();
+    if (filter != null) {
+      builder.filterExpression(filter.expression());
+      if (filter.expressionNames() != null) {
+        names.putAll(filter.expressionNames());
+      }
+      if (filter.expressionValues() != null && !filter.expressionValues().isEmpty()) {
+        builder.expressionAttributeValues(filter.expressionValues());
+      }
+    }
+    if (request.isCountOnly()) {
+      builder.select(Select.COUNT);
+    } else if (request.getProjection() != null && !request.getProjection().isEmpty()) {
+      builder.projectionExpression(String.join(", ", request.getProjection().stream()
+          .map(attribute -> {
+            names.put("#p_" + attribute, attribute);
+            return "#p_" + attribute;
+          })
+          .toList()));
+    }
+    if (!names.isEmpty()) {
+      builder.expressionAttributeNames(names);
+    }
+    return builder;
+  }
+
+  private void scanSegment(ScanRequest.Builder template, ScanState state) {
+    Map<String, AttributeValue> startKey = null;
+    int attempt = 0;
+    while (!state.cancelled.get()) {
+      ScanResponse response;
+      state.limit.acquire();
+      try {
+        response = dynamoDbClient.scan(template.exclusiveStartKey(startKey).build());
+      } catch (ProvisionedThroughputExceededException | RequestLimitExceededException e) {
+        state.limit.onThrottle();
+        state.throttles.incrementAndGet();
+        if (++attempt >= MAX_ATTEMPTS) {
+          throw e;
+        }
+        response = null;
+      } finally {
+        state.limit.release();
+      }
+
+      if (response == null) {
+        logger.warn("Scan segment throttled (attempt {}), {} segments now allowed in flight", attempt,
+            state.limit.current());
+        BackoffUtil.sleep(BackoffUtil.fullJitter(attempt, BASE_DELAY, MAX_DELAY));
+        continue;
+      }
+      state.limit.onSuccess();
+      attempt = 0;
+
+      state.pages.incrementAndGet();
+      state.scanned.addAndGet(response.scannedCount() != null ? response.scannedCount() : 0);
+      state.matched.addAndGet(response.count() != null ? response.count() : 0);
+      if (response.hasItems()) {
+        for (Map<String, AttributeValue> item : response.items()) {
+          if (!offer(state, item)) {
+            return;
+          }
+        }
+      }
+
+      if (!response.hasLastEvaluatedKey() || response.lastEvaluatedKey().isEmpty()) {
+        return;
+      }
+      startKey = response.lastEvaluatedKey();
+    }
+  }
+
+  // ✅ Blocks while the queue is full; gives up only when the scan was cancelled
+  private boolean offer(ScanState state, Map<String, AttributeValue> item) {
+    try {
+      while (!state.queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+        if (state.cancelled.get()) {
+          return false;
+        }
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while handing off scanned items", e);
+    }
+  }
+
+  private static final class ScanState {
+    private final BlockingQueue<Map<String, AttributeValue>> queue;
+    private final ConcurrencyLimit limit;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicLong pages = new AtomicLong();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong matched = new AtomicLong();
+    private final AtomicLong throttles = new AtomicLong();
+
+    ScanState(int segments, int queueCapacity) {
+      this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+      this.limit = new ConcurrencyLimit(segments);
+    }
+  }
+
+  /**
+   * Additive-increase / multiplicative-decrease cap on the number of Scan calls in flight.
+   */
+  static final class ConcurrencyLimit {
+    private final int max;
+    private int limit;
+    private int lowest;
+    private int inFlight;
+    private int successes;
+
+    ConcurrencyLimit(int max) {
+      this.max = max;
+      this.limit = max;
+      this.lowest = max;
+    }
+
+    synchronized void acquire() {
+      try {
+        while (inFlight >= limit) {
+          wait();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting to scan", e);
+      }
+      inFlight++;
+    }
+
+    synchronized void release() {
+      inFlight--;
+      notifyAll();
+    }
+
+    synchronized void onThrottle() {
+      limit = Math.max(1, limit / 2);
+      lowest = Math.min(lowest, limit);
+      successes = 0;
+    }
+
+    synchronized void onSuccess() {
+      if (limit < max && ++successes >= limit) {
+        limit++;
+        successes = 0;
+        notifyAll();
+      }
+    }
+
+    synchronized int current() {
+      return limit;
+    }
+
+    synchronized int lowest() {
+      return lowest;
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package org.piyush.repositories;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access path chosen by {@link TaskQueryPlanner} for a search, together with the predicates left for DynamoDB to
+ * filter and the estimates that decided it. Serialized as-is for {@code explain} requests.
+ */
+@Data
+public class QueryPlan {
+
+  public enum AccessPath {
+    ASSIGNEE_INDEX("AssigneeIndex"),
+    STATUS_INDEX("StatusIndex"),
+    STATUS_SHARD_INDEX(StatusShards.INDEX),
+    DEADLINE_INDEX("DeadlineIndex"),
+    SCAN(null);
+
+    private final String indexName;
+
+    AccessPath(String indexName) {
+      this.indexName = indexName;
+    }
+
+    public String getIndexName() {
+      return indexName;
+    }
+  }
+
+  private AccessPath accessPath;
+  // ✅ One index query per value, run in parallel; empty for a scan
+  private List<String> partitionValues;
+  private long estimatedItemsRead;
+  private double estimatedReadUnits;
+  // ✅ Estimated read units of every access path that was considered
+  private Map<AccessPath, Double> candidates;
+
+  @JsonIgnore
+  private Expression filter;
+
+  public String getIndexName() {
+    return accessPath != null ? accessPath.getIndexName() : null;
+  }
+
+  public String getFilterExpression() {
+    return filter != null ? filter.expression() : null;
+  }
+}
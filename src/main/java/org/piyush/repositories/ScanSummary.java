@@ -0,0 +1,18 @@
+package org.piyush.repositories;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class ScanSummary {
+  private final int totalSegments;
+  private final long pages;
+  private final long scannedCount;
+  private final long matchedCount;
+  private final long throttles;
+  // ✅ Lowest number of segments allowed in flight after throttling backed the scan off
+  private final int minConcurrency;
+}
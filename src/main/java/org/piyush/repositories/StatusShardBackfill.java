@@ -0,0 +1,19 @@
+package org.piyush.repositories;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Run as {@code StatusShardBackfill} with {@code TASK_STATUS_SHARDS} (and the usual table settings) set, once
+ * {@code StatusShardIndex} exists and the functions write shard keys. Status queries move to the index only when
+ * {@code TASK_STATUS_SHARD_READS=true} is set after it has finished. It can be run again at any time, e.g. after
+ * changing the shard count; tasks that already carry the right key are not written.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class StatusShardBackfill {
+
+  public static void main(String[] args) {
+    int updated = new TaskRepository().backfillStatusShards();
+    System.out.printf("Wrote the status shard key of %d tasks%n", updated);
+  }
+}
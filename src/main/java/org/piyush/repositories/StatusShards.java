@@ -0,0 +1,91 @@
+package org.piyush.repositories;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.piyush.constant.TaskStatus;
+import org.piyush.model.dynamodb.DbTask;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Write sharding of the status index. {@code StatusIndex} has one partition per status, so every write of a
+ * {@code PENDING} task lands in the same index partition. With {@code TASK_STATUS_SHARDS} set, tasks also carry
+ * {@code statusShard = <status>#<shard>}, with the shard taken from a hash of the id, and {@code StatusShardIndex}
+ * (partition {@code statusShard}, sort {@code deadline}) spreads each status over that many partitions. A status
+ * query then reads every shard in parallel and merges the shards, each already in deadline order.
+ * <p>
+ * Writes and reads are switched on separately, since the index only holds tasks written or backfilled under the
+ * current shard count: set {@code TASK_STATUS_SHARDS}, run {@link StatusShardBackfill}, then set
+ * {@code TASK_STATUS_SHARD_READS=true}. Changing the shard count takes the same steps with reads off.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class StatusShards {
+  static final String ATTRIBUTE = "statusShard";
+  static final String INDEX = "StatusShardIndex";
+  // ✅ 0 leaves statusShard unwritten and status queries on StatusIndex
+  static final int COUNT = Integer.parseInt(System.getenv().getOrDefault("TASK_STATUS_SHARDS", "0"));
+  // ✅ Reads stay on StatusIndex until the backfill has given every task its key under COUNT
+  static final boolean READS = Boolean.parseBoolean(System.getenv().getOrDefault("TASK_STATUS_SHARD_READS", "false"));
+
+  static String key(TaskStatus status, int shard) {
+    return status.name() + "#" + shard;
+  }
+
+  /**
+   * @return the index key of {@code task}, or {@code null} when sharding is off or the task has no status
+   */
+  static String keyOf(DbTask task, int shards) {
+    if (shards < 1 || task.getStatus() == null || task.getId() == null) {
+      return null;
+    }
+    return key(task.getStatus(), shard(task.getId(), shards));
+  }
+
+  static int shard(String id, int shards) {
+    // ✅ Spreads the high bits into the low ones, since ids often share long prefixes
+    int hash = id.hashCode();
+    return Math.floorMod(hash ^ (hash >>> 16), shards);
+  }
+
+  static List<String> keys(Collection<TaskStatus> statuses, int shards) {
+    List<String> keys = new ArrayList<>(statuses.size() * shards);
+    for (TaskStatus status : statuses) {
+      for (int shard = 0; shard < shards; shard++) {
+        keys.add(key(status, shard));
+      }
+    }
+    return keys;
+  }
+
+  /**
+   * K-way merge of lists that are each in deadline order.
+   *
+   * @return the first {@code limit} tasks across all lists, in deadline order
+   */
+  static List<DbTask> mergeByDeadline(List<List<DbTask>> sorted, int limit) {
+    Comparator<int[]> byDeadline = Comparator.comparing(
+        (int[] cursor) -> sorted.get(cursor[0]).get(cursor[1]).getDeadline(),
+        Comparator.nullsLast(Comparator.<Instant>naturalOrder()));
+    PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, sorted.size()), byDeadline);
+    for (int list = 0; list < sorted.size(); list++) {
+      if (!sorted.get(list).isEmpty()) {
+        heads.add(new int[]{list, 0});
+      }
+    }
+    List<DbTask> merged = new ArrayList<>(Math.min(limit, sorted.stream().mapToInt(List::size).sum()));
+    while (!heads.isEmpty() && merged.size() < limit) {
+      int[] head = heads.poll();
+      List<DbTask> list = sorted.get(head[0]);
+      merged.add(list.get(head[1]));
+      if (++head[1] < list.size()) {
+        heads.add(head);
+      }
+    }
+    return merged;
+  }
+}
@@ -0,0 +1,68 @@
+package org.piyush.repositories;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.piyush.converters.SubTaskListConverter;
+import org.piyush.model.taskmanagement.SubTask;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Item format of sub-tasks stored with {@link org.piyush.constant.SubTaskLayout#ITEMS}. Each sub-task is an item in
+ * its task's partition with the sort key {@code SUB#<deadline>#<subTaskId>}; the deadline keeps the sub-tasks of
+ * different deadlines of the same task id apart. The sub-task itself is one map attribute, so the items carry no
+ * {@code status} or {@code assignee} and stay out of those indexes.
+ * <p>
+ * Task sort keys are ISO instants, which all sort before {@code SUB#}, so a task-only query is a sort key range and a
+ * scan drops sub-task items with a {@code begins_with} filter.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SubTaskItems {
+  static final String PARTITION_KEY = "id";
+  static final String SORT_KEY = "deadline";
+  static final String SUB_TASK_ATTRIBUTE = "subTask";
+  static final String PREFIX = "SUB#";
+
+  // ✅ Placeholder names no task filter uses, so the expressions can be joined
+  private static final Expression TASKS_ONLY = Expression.builder()
+      .expression("NOT begins_with(#subTaskSortKey, :subTaskPrefix)")
+      .putExpressionName("#subTaskSortKey", SORT_KEY)
+      .putExpressionValue(":subTaskPrefix", AttributeValue.fromS(PREFIX))
+      .build();
+
+  static String sortKeyPrefix(Instant deadline) {
+    return PREFIX + DateTimeFormatter.ISO_INSTANT.format(deadline) + "#";
+  }
+
+  static Map<String, AttributeValue> key(String taskId, Instant deadline, String subTaskId) {
+    return Map.of(PARTITION_KEY, AttributeValue.fromS(taskId),
+        SORT_KEY, AttributeValue.fromS(sortKeyPrefix(deadline) + subTaskId));
+  }
+
+  static Map<String, AttributeValue> toItem(String taskId, Instant deadline, SubTask subTask) {
+    Map<String, AttributeValue> item = new LinkedHashMap<>(key(taskId, deadline, subTask.getId()));
+    item.put(SUB_TASK_ATTRIBUTE, SubTaskListConverter.toAttributeValue(subTask));
+    return item;
+  }
+
+  static SubTask fromItem(Map<String, AttributeValue> item) {
+    return SubTaskListConverter.fromAttributeValue(item.get(SUB_TASK_ATTRIBUTE));
+  }
+
+  public static boolean isSubTaskItem(Map<String, AttributeValue> key) {
+    AttributeValue sortKey = key.get(SORT_KEY);
+    return sortKey != null && sortKey.s() != null && sortKey.s().startsWith(PREFIX);
+  }
+
+  /**
+   * @return {@code filter} restricted to task items; only the restriction when {@code filter} is {@code null}
+   */
+  static Expression tasksOnly(Expression filter) {
+    return filter == null ? TASKS_ONLY : Expression.join(filter, TASKS_ONLY, " AND ");
+  }
+}
@@ -0,0 +1,47 @@
+package org.piyush.repositories;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.piyush.model.dynamodb.DbTask;
+import org.piyush.model.taskmanagement.SubTask;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The materialized progress counters of a task item. Whole-task writes recount them from the sub-task list; sub-task
+ * appends and toggles adjust them with {@code ADD} in the same write as the sub-task, so they never need a read.
+ * {@code progressUpdatedAt} only moves when a count does.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class SubTaskProgress {
+  static final String TOTAL = "totalSubTasks";
+  static final String COMPLETED = "completedSubTasks";
+  static final String UPDATED_AT = "progressUpdatedAt";
+  static final List<String> ATTRIBUTES = List.of(TOTAL, COMPLETED, UPDATED_AT);
+
+  /**
+   * Sets the counters of {@code task} from its sub-task list ({@code null} counts as empty).
+   *
+   * @return whether a count changed
+   */
+  static boolean record(DbTask task, Instant now) {
+    int total = task.getSubTasks() != null ? task.getSubTasks().size() : 0;
+    int completed = completed(task.getSubTasks());
+    if (Objects.equals(task.getTotalSubTasks(), total) && Objects.equals(task.getCompletedSubTasks(), completed)
+        && task.getProgressUpdatedAt() != null) {
+      return false;
+    }
+    task.setTotalSubTasks(total);
+    task.setCompletedSubTasks(completed);
+    task.setProgressUpdatedAt(now);
+    return true;
+  }
+
+  static int completed(List<SubTask> subTasks) {
+    return subTasks == null ? 0 : (int) subTasks.stream()
+        .filter(subTask -> Boolean.TRUE.equals(subTask.getCompleted()))
+        .count();
+  }
+}
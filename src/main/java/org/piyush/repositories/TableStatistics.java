@@ -0,0 +1,51 @@
+package org.piyush.repositories;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndexDescription;
+import software.amazon.awssdk.services.dynamodb.model.TableDescription;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Item counts and size reported by {@code DescribeTable}. DynamoDB refreshes these roughly every six hours, so
+ * they are only good for relative cost estimates.
+ */
+@Getter
+@AllArgsConstructor
+public class TableStatistics {
+  private static final long DEFAULT_ITEM_SIZE_BYTES = 1024;
+
+  private final long itemCount;
+  private final long sizeBytes;
+  // ✅ Only indexes that actually exist on the table are present
+  private final Map<String, Long> indexItemCounts;
+
+  public static TableStatistics describe(DynamoDbClient dynamoDbClient, String tableName) {
+    return from(dynamoDbClient.describeTable(r -> r.tableName(tableName)).table());
+  }
+
+  public static TableStatistics from(TableDescription table) {
+    Map<String, Long> indexItemCounts = new HashMap<>();
+    if (table.hasGlobalSecondaryIndexes()) {
+      for (GlobalSecondaryIndexDescription index : table.globalSecondaryIndexes()) {
+        indexItemCounts.put(index.indexName(), index.itemCount() != null ? index.itemCount() : 0L);
+      }
+    }
+    return new TableStatistics(valueOrZero(table.itemCount()), valueOrZero(table.tableSizeBytes()), indexItemCounts);
+  }
+
+  public boolean hasIndex(String indexName) {
+    return indexItemCounts.containsKey(indexName);
+  }
+
+  public long averageItemSizeBytes() {
+    return itemCount > 0 && sizeBytes > 0 ? Math.max(1, sizeBytes / itemCount) : DEFAULT_ITEM_SIZE_BYTES;
+  }
+
+  private static long valueOrZero(Long value) {
+    return value != null ? value : 0L;
+  }
+}
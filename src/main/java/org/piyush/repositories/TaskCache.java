@@ -0,0 +1,186 @@
+package org.piyush.repositories;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import org.piyush.model.dynamodb.DbTask;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded per-container cache of tasks keyed by {@code (id, deadline)}. Caffeine's W-TinyLFU admission keeps hot
+ * tasks when the cache is full, and entries expire after a TTL so writes from other containers are picked up.
+ * <p>
+ * Entries are stored as attribute maps and mapped to a fresh {@link DbTask} on every hit, so callers can mutate what
+ * they get back. Every entry carries the task's version; an entry is only replaced by one with the same or a higher
+ * version, so a slow read can't overwrite this container's newer write. Invalidating stamps the key (or the whole
+ * id) from a per-cache clock, in caches of their own so they neither count as hits nor take task slots: a load that
+ * started before the stamp is not cached over it, and an entry older than its id's stamp is treated as a miss.
+ * Entries are never rewritten just to keep them, since every write restarts their TTL.
+ */
+public class TaskCache {
+  private static final String VERSION_ATTRIBUTE = "version";
+
+  private final TableSchema<DbTask> schema;
+  private final Cache<Key, Entry> cache;
+  // ✅ Hits and misses are recorded here by hand, after an entry was checked against the invalidation stamps
+  private final ConcurrentStatsCounter statsCounter = new ConcurrentStatsCounter();
+  private final Cache<Key, Long> invalidatedKeys;
+  // ✅ Partition deletes don't know every deadline, so the id itself is stamped and checked on read
+  private final Cache<String, Long> invalidatedIds;
+  private final AtomicLong clock = new AtomicLong();
+  private final boolean enabled;
+
+  public TaskCache(TableSchema<DbTask> schema, long maximumSize, Duration ttl) {
+    this(schema, maximumSize, ttl, Ticker.systemTicker());
+  }
+
+  TaskCache(TableSchema<DbTask> schema, long maximumSize, Duration ttl, Ticker ticker) {
+    this.schema = schema;
+    this.enabled = maximumSize > 0;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(Math.max(0, maximumSize))
+        .expireAfterWrite(ttl)
+        .ticker(ticker)
+        .recordStats(() -> statsCounter)
+        .build();
+    this.invalidatedKeys = Caffeine.newBuilder()
+        .maximumSize(Math.max(0, maximumSize))
+        .expireAfterWrite(ttl)
+        .build();
+    this.invalidatedIds = Caffeine.newBuilder()
+        .maximumSize(Math.max(0, maximumSize))
+        .expireAfterWrite(ttl)
+        .build();
+  }
+
+  /**
+   * Sized by {@code TASK_CACHE_MAX_SIZE} (default 10000, 0 disables the cache) and {@code TASK_CACHE_TTL_SECONDS}
+   * (default 60).
+   */
+  public static TaskCache fromEnvironment(TableSchema<DbTask> schema) {
+    return new TaskCache(schema,
+        Long.parseLong(System.getenv().getOrDefault("TASK_CACHE_MAX_SIZE", "10000")),
+        Duration.ofSeconds(Long.parseLong(System.getenv().getOrDefault("TASK_CACHE_TTL_SECONDS", "60"))));
+  }
+
+  /**
+   * Returns the cached task, or loads it with {@code loader} and caches the result. Exceptions from the loader are
+   * not cached, and neither is a result the container invalidated while it was loading.
+   */
+  public DbTask get(String id, Instant deadline, Supplier<DbTask> loader) {
+    if (!enabled) {
+      return loader.get();
+    }
+    DbTask cached = getIfPresent(id, deadline);
+    if (cached != null) {
+      return cached;
+    }
+    long started = clock.get();
+    DbTask task = loader.get();
+    if (task != null) {
+      put(task, task.getVersion(), started);
+    }
+    return task;
+  }
+
+  /**
+   * @return the cached task, or {@code null} without loading it
+   */
+  public DbTask getIfPresent(String id, Instant deadline) {
+    if (!enabled) {
+      return null;
+    }
+    Key key = new Key(id, deadline);
+    // ✅ asMap().get records no stats, so an entry dropped below is not counted as a hit
+    Entry entry = cache.asMap().get(key);
+    if (entry != null && entry.stamp() < invalidatedAt(key)) {
+      cache.asMap().remove(key, entry);
+      entry = null;
+    }
+    if (entry == null) {
+      statsCounter.recordMisses(1);
+      return null;
+    }
+    statsCounter.recordHits(1);
+    return schema.mapToItem(entry.item());
+  }
+
+  /**
+   * Caches {@code task} as stored with {@code version} by a write that has completed, unless a higher version is
+   * already cached.
+   */
+  public void put(DbTask task, Long version) {
+    if (enabled) {
+      // ✅ Taken after the write, so it lands after every invalidation that came before it
+      put(task, version, clock.incrementAndGet());
+    }
+  }
+
+  private void put(DbTask task, Long version, long stamp) {
+    Key key = new Key(task.getId(), task.getDeadline());
+    Map<String, AttributeValue> item = new HashMap<>(schema.itemToMap(task, true));
+    if (version != null) {
+      item.put(VERSION_ATTRIBUTE, AttributeValue.fromN(Long.toString(version)));
+    }
+    Entry candidate = new Entry(item, version != null ? version : 0L, stamp);
+    ConcurrentMap<Key, Entry> entries = cache.asMap();
+    while (stamp >= invalidatedAt(key)) {
+      Entry cached = entries.get(key);
+      if (cached != null && cached.stamp() >= invalidatedAt(key) && cached.version() > candidate.version()) {
+        return;
+      }
+      if (cached == null ? entries.putIfAbsent(key, candidate) == null : entries.replace(key, cached, candidate)) {
+        // ✅ An invalidation stamps before it removes, so one that raced this put is seen here
+        if (stamp < invalidatedAt(key)) {
+          entries.remove(key, candidate);
+        }
+        return;
+      }
+    }
+  }
+
+  private long invalidatedAt(Key key) {
+    Long keyStamp = invalidatedKeys.getIfPresent(key);
+    Long idStamp = invalidatedIds.getIfPresent(key.id());
+    return Math.max(keyStamp != null ? keyStamp : 0L, idStamp != null ? idStamp : 0L);
+  }
+
+  public void invalidate(String id, Instant deadline) {
+    if (enabled) {
+      Key key = new Key(id, deadline);
+      invalidatedKeys.put(key, clock.incrementAndGet());
+      cache.invalidate(key);
+    }
+  }
+
+  // ✅ Partition deletes don't know the deadlines; entries of the id are dropped when next read
+  public void invalidateAll(String id) {
+    if (enabled) {
+      invalidatedIds.put(id, clock.incrementAndGet());
+    }
+  }
+
+  public TaskCacheStats stats() {
+    CacheStats stats = cache.stats();
+    return new TaskCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.estimatedSize(),
+        stats.hitRate());
+  }
+
+  private record Key(String id, Instant deadline) {
+  }
+
+  // ✅ stamp is the clock value when the load started, or right after the write for puts that follow one
+  private record Entry(Map<String, AttributeValue> item, long version, long stamp) {
+  }
+}
@@ -0,0 +1,17 @@
+package org.piyush.repositories;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class TaskCacheStats {
+  private final long hits;
+  private final long misses;
+  // ✅ Entries dropped for size or TTL; explicit invalidations are not counted
+  private final long evictions;
+  private final long size;
+  private final double hitRate;
+}
@@ -0,0 +1,203 @@
+package org.piyush.repositories;
+
+import org.piyush.config.DynamoDbConfig;
+import org.piyush.config.ExecutorConfig;
+import org.piyush.constant.TaskStatus;
+import org.piyush.exception.TaskRepositoryException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Task counts by status and by assignee, kept in their own table as sharded counters: counter {@code c} is the
+ * items {@code {counter: c, shard: 0..shards-1}}. Writes {@code ADD} to one shard, so a busy status spreads its
+ * writes over several items instead of throttling one, and reads sum every shard with one {@code BatchGetItem}.
+ * Counts are of task items, so a task stored with several deadlines counts once per deadline.
+ */
+public class TaskCounterRepository {
+  private static final Logger logger = LoggerFactory.getLogger(TaskCounterRepository.class);
+
+  public static final String COUNTER_ATTRIBUTE = "counter";
+  public static final String SHARD_ATTRIBUTE = "shard";
+  public static final String COUNT_ATTRIBUTE = "count";
+  private static final String STATUS_PREFIX = "status#";
+  private static final String ASSIGNEE_PREFIX = "assignee#";
+
+  private static final String TABLE_NAME =
+      System.getenv().getOrDefault("TASK_COUNTERS_TABLE_NAME", "task_counters");
+  private static final int SHARDS = Integer.parseInt(System.getenv().getOrDefault("TASK_COUNTER_SHARDS", "10"));
+
+  private final DynamoDbClient dynamoDbClient;
+  private final String tableName;
+  private final int shards;
+  private final String tasksTableName;
+  private final DynamoDbBatchReader batchReader;
+  private final ParallelScanner parallelScanner;
+
+  public TaskCounterRepository() {
+    this(DynamoDbConfig.dynamoDbClient(), TABLE_NAME, SHARDS, DynamoDbConfig.tableName());
+  }
+
+  public TaskCounterRepository(DynamoDbClient dynamoDbClient, String tableName, int shards, String tasksTableName) {
+    if (shards < 1) {
+      throw new IllegalArgumentException("shards must be at least 1");
+    }
+    this.dynamoDbClient = dynamoDbClient;
+    this.tableName = tableName;
+    this.shards = shards;
+    this.tasksTableName = tasksTableName;
+    this.batchReader = new DynamoDbBatchReader(dynamoDbClient, ExecutorConfig.ioExecutor());
+    this.parallelScanner = new ParallelScanner(dynamoDbClient, ExecutorConfig.scanExecutor());
+  }
+
+  public static String statusCounter(TaskStatus status) {
+    return STATUS_PREFIX + status.name();
+  }
+
+  public static String assigneeCounter(String assignee) {
+    return ASSIGNEE_PREFIX + assignee;
+  }
+
+  /**
+   * Adds every delta in one transaction. With a {@code token}, the shards are derived from it and it becomes the
+   * transaction's idempotency token, so repeating the same change within DynamoDB's ten-minute token window is a
+   * no-op instead of a second increment.
+   */
+  public void add(Map<String, Long> deltas, String token) {
+    List<TransactWriteItem> updates = new ArrayList<>();
+    deltas.forEach((counter, delta) -> {
+      if (delta != 0) {
+        int shard = token != null ? Math.floorMod((token + counter).hashCode(), shards)
+            : ThreadLocalRandom.current().nextInt(shards);
+        updates.add(TransactWriteItem.builder()
+            .update(u -> u.tableName(tableName)
+                .key(key(counter, shard))
+                .updateExpression("ADD #count :delta")
+                .expressionAttributeNames(Map.of("#count", COUNT_ATTRIBUTE))
+                .expressionAttributeValues(Map.of(":delta", AttributeValue.fromN(Long.toString(delta)))))
+            .build());
+      }
+    });
+    if (updates.isEmpty()) {
+      return;
+    }
+    TransactWriteItemsRequest.Builder request = TransactWriteItemsRequest.builder().transactItems(updates);
+    if (token != null) {
+      // ✅ Tokens are at most 36 characters; a name-based UUID fits any token
+      request.clientRequestToken(UUID.nameUUIDFromBytes(token.getBytes(StandardCharsets.UTF_8)).toString());
+    }
+    try {
+      dynamoDbClient.transactWriteItems(request.build());
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException(String.format("Failed to update counters %s", deltas.keySet()), e);
+    }
+  }
+
+  /**
+   * @return the count of every requested counter, {@code 0} for counters never written
+   */
+  public Map<String, Long> counts(Collection<String> counters) {
+    Set<String> requested = new LinkedHashSet<>(counters);
+    List<Map<String, AttributeValue>> keys = new ArrayList<>(requested.size() * shards);
+    for (String counter : requested) {
+      for (int shard = 0; shard < shards; shard++) {
+        keys.add(key(counter, shard));
+      }
+    }
+    Map<String, Long> counts = new LinkedHashMap<>();
+    requested.forEach(counter -> counts.put(counter, 0L));
+    for (Map<String, AttributeValue> item : batchReader.getAll(tableName, keys)) {
+      if (item != null) {
+        counts.merge(item.get(COUNTER_ATTRIBUTE).s(), count(item), Long::sum);
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * Recounts statuses and assignees with a parallel scan of the task table and adds the difference to every
+   * counter that drifted. Task writes that land during the scan can still leave a counter off by those writes; the
+   * next run picks them up.
+   */
+  public CounterReconciliation reconcile() {
+    Map<String, Long> actual = new HashMap<>();
+    ParallelScanRequest request = new ParallelScanRequest()
+        .setTableName(tasksTableName)
+        .setProjection(List.of("status", "assignee"))
+        .setFilter(SubTaskItems.tasksOnly(null));
+    ScanSummary summary;
+    Map<String, Long> stored = new HashMap<>();
+    try {
+      summary = parallelScanner.scan(request, item -> {
+        AttributeValue status = item.get("status");
+        if (status != null && status.s() != null) {
+          actual.merge(STATUS_PREFIX + status.s(), 1L, Long::sum);
+        }
+        AttributeValue assignee = item.get("assignee");
+        if (assignee != null && assignee.s() != null) {
+          actual.merge(assigneeCounter(assignee.s()), 1L, Long::sum);
+        }
+      });
+      parallelScanner.scan(new ParallelScanRequest().setTableName(tableName),
+          item -> stored.merge(item.get(COUNTER_ATTRIBUTE).s(), count(item), Long::sum));
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException("Failed to scan for counter reconciliation", e);
+    }
+
+    Set<String> counters = new LinkedHashSet<>(actual.keySet());
+    counters.addAll(stored.keySet());
+    Map<String, Long> corrections = new TreeMap<>();
+    for (String counter : counters) {
+      long drift = actual.getOrDefault(counter, 0L) - stored.getOrDefault(counter, 0L);
+      if (drift != 0) {
+        correct(counter, drift);
+        corrections.put(counter, drift);
+      }
+    }
+    logger.info("Reconciled {} counters against {} tasks; corrected {}", counters.size(), summary.getMatchedCount(),
+        corrections);
+    return new CounterReconciliation(summary.getMatchedCount(), counters.size(), corrections);
+  }
+
+  private void correct(String counter, long drift) {
+    try {
+      dynamoDbClient.updateItem(UpdateItemRequest.builder()
+          .tableName(tableName)
+          .key(key(counter, ThreadLocalRandom.current().nextInt(shards)))
+          .updateExpression("ADD #count :delta")
+          .expressionAttributeNames(Map.of("#count", COUNT_ATTRIBUTE))
+          .expressionAttributeValues(Map.of(":delta", AttributeValue.fromN(Long.toString(drift))))
+          .build());
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException(String.format("Failed to correct counter [%s]", counter), e);
+    }
+  }
+
+  private static Map<String, AttributeValue> key(String counter, int shard) {
+    return Map.of(COUNTER_ATTRIBUTE, AttributeValue.fromS(counter),
+        SHARD_ATTRIBUTE, AttributeValue.fromN(Integer.toString(shard)));
+  }
+
+  private static long count(Map<String, AttributeValue> item) {
+    AttributeValue count = item.get(COUNT_ATTRIBUTE);
+    return count != null && count.n() != null ? Long.parseLong(count.n()) : 0L;
+  }
+}
@@ -0,0 +1,170 @@
+package org.piyush.repositories;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of task ids. {@link #mightContain} never returns {@code false} for an id that was {@link #put}, and
+ * returns {@code true} for an absent id with roughly the false-positive rate the filter was sized for. Ids can't be
+ * removed, so deleted tasks stay "possibly present" until the filter is rebuilt.
+ * <p>
+ * Safe for concurrent use; the bit array is written with CAS, so a concurrent {@code put} is visible to every
+ * later {@code mightContain}.
+ */
+public final class TaskIdFilter {
+  private static final int MAGIC = 0x54494446;
+  private static final byte FORMAT_VERSION = 1;
+
+  private final AtomicLongArray words;
+  private final long bitSize;
+  private final int hashFunctions;
+  private final AtomicLong bitCount;
+  private final AtomicLong insertions;
+
+  private TaskIdFilter(long[] words, int hashFunctions, long bitCount, long insertions) {
+    this.words = new AtomicLongArray(words);
+    this.bitSize = (long) words.length * Long.SIZE;
+    this.hashFunctions = hashFunctions;
+    this.bitCount = new AtomicLong(bitCount);
+    this.insertions = new AtomicLong(insertions);
+  }
+
+  /**
+   * Sizes the filter for {@code expectedIds} ids at false-positive rate {@code fpp}: {@code -n ln p / (ln 2)^2}
+   * bits and {@code (m / n) ln 2} hash functions.
+   */
+  public static TaskIdFilter create(long expectedIds, double fpp) {
+    if (expectedIds < 1) {
+      throw new IllegalArgumentException("expectedIds must be at least 1");
+    }
+    if (fpp <= 0 || fpp >= 1) {
+      throw new IllegalArgumentException("fpp must be between 0 and 1");
+    }
+    long bits = Math.max(Long.SIZE, (long) Math.ceil(-expectedIds * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+    int words = Math.toIntExact((bits + Long.SIZE - 1) / Long.SIZE);
+    int hashes = Math.max(1, (int) Math.round((double) words * Long.SIZE / expectedIds * Math.log(2)));
+    return new TaskIdFilter(new long[words], hashes, 0, 0);
+  }
+
+  public boolean mightContain(String id) {
+    long h1 = hash(id);
+    long h2 = mix(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+    for (int i = 0; i < hashFunctions; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitSize);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return {@code true} if the id was not (possibly) present before
+   */
+  public boolean put(String id) {
+    long h1 = hash(id);
+    long h2 = mix(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+    boolean changed = false;
+    for (int i = 0; i < hashFunctions; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitSize);
+      if (setBit((int) (bit >>> 6), 1L << bit)) {
+        bitCount.incrementAndGet();
+        changed = true;
+      }
+    }
+    if (changed) {
+      insertions.incrementAndGet();
+    }
+    return changed;
+  }
+
+  private boolean setBit(int index, long mask) {
+    long word;
+    do {
+      word = words.get(index);
+      if ((word & mask) != 0) {
+        return false;
+      }
+    } while (!words.compareAndSet(index, word, word | mask));
+    return true;
+  }
+
+  public long bitSize() {
+    return bitSize;
+  }
+
+  public long sizeInBytes() {
+    return bitSize / Byte.SIZE;
+  }
+
+  public int hashFunctions() {
+    return hashFunctions;
+  }
+
+  // ✅ Ids whose put changed the filter; slightly under the real count once the filter fills up
+  public long approximateIdCount() {
+    return insertions.get();
+  }
+
+  // ✅ Probability that an absent id hits k set bits, from the share of bits actually set
+  public double estimatedFpp() {
+    return Math.pow((double) bitCount.get() / bitSize, hashFunctions);
+  }
+
+  public void writeTo(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeByte(FORMAT_VERSION);
+    data.writeInt(hashFunctions);
+    data.writeLong(insertions.get());
+    data.writeInt(words.length());
+    for (int i = 0; i < words.length(); i++) {
+      data.writeLong(words.get(i));
+    }
+    data.flush();
+  }
+
+  public static TaskIdFilter readFrom(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != MAGIC) {
+      throw new IOException("Not a task id filter snapshot");
+    }
+    byte version = data.readByte();
+    if (version != FORMAT_VERSION) {
+      throw new IOException("Unsupported task id filter snapshot version " + version);
+    }
+    int hashes = data.readInt();
+    long insertions = data.readLong();
+    long[] words = new long[data.readInt()];
+    long bitCount = 0;
+    for (int i = 0; i < words.length; i++) {
+      words[i] = data.readLong();
+      bitCount += Long.bitCount(words[i]);
+    }
+    return new TaskIdFilter(words, hashes, bitCount, insertions);
+  }
+
+  // ✅ FNV-1a over the chars, then a murmur3 finalizer to spread the low bits
+  private static long hash(String id) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < id.length(); i++) {
+      h ^= id.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    return mix(h);
+  }
+
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
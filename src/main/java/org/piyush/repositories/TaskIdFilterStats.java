@@ -0,0 +1,26 @@
+package org.piyush.repositories;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class TaskIdFilterStats {
+  private final boolean enabled;
+  // ✅ False until the first build or snapshot load; lookups are never short-circuited before that
+  private final boolean ready;
+  private final long approximateIdCount;
+  private final long sizeInBytes;
+  private final int hashFunctions;
+  private final double configuredFpp;
+  private final double estimatedFpp;
+  // ✅ Lookups answered as not found without calling DynamoDB
+  private final long shortCircuited;
+  // ✅ Deleted ids still reported as possibly present until the next rebuild
+  private final long deletedSinceBuild;
+  private final Instant builtAt;
+}
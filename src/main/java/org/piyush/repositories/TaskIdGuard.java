@@ -0,0 +1,252 @@
+package org.piyush.repositories;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Answers "does this task id definitely not exist?" from a {@link TaskIdFilter} so lookups of unknown ids can be
+ * rejected without a DynamoDB call.
+ * <p>
+ * The filter is built from a key-only parallel scan, kept up to date with this container's own saves, loaded from
+ * {@code snapshot} at cold start when one exists and rebuilt in the background once it is older than
+ * {@code refreshInterval}. Tasks created by other containers are only seen after the next rebuild, and until then
+ * lookups of them are answered as not found, so the guard is off unless {@code TASK_ID_FILTER_ENABLED=true}.
+ */
+public class TaskIdGuard {
+  private static final Logger logger = LoggerFactory.getLogger(TaskIdGuard.class);
+
+  // ✅ Rebuilds size the filter for growth so it doesn't fill up before the next one
+  private static final double GROWTH_FACTOR = 2.0;
+
+  private final Settings settings;
+  private final Consumer<Consumer<String>> idSource;
+  private final Executor executor;
+  private final AtomicReference<CompletableFuture<Void>> inFlight = new AtomicReference<>();
+  private final Queue<String> savedDuringBuild = new ConcurrentLinkedQueue<>();
+  private final AtomicLong shortCircuited = new AtomicLong();
+  private final AtomicLong deletedSinceBuild = new AtomicLong();
+  private volatile TaskIdFilter filter;
+  private volatile Instant builtAt;
+
+  /**
+   * @param idSource feeds every task id in the table to the given consumer
+   */
+  public TaskIdGuard(Settings settings, Consumer<Consumer<String>> idSource, Executor executor) {
+    this.settings = settings;
+    this.idSource = idSource;
+    this.executor = executor;
+    if (settings.enabled()) {
+      loadSnapshot();
+      refreshIfStale();
+    }
+  }
+
+  /**
+   * @param enabled         reject lookups of ids missing from the filter
+   * @param expectedIds     ids the first filter is sized for; rebuilds size for what the scan found
+   * @param fpp             target false-positive rate
+   * @param refreshInterval age after which the filter is rebuilt in the background
+   * @param snapshot        file the filter is loaded from at cold start and written to after each build, or null
+   */
+  public record Settings(boolean enabled, long expectedIds, double fpp, Duration refreshInterval, Path snapshot) {
+
+    /**
+     * {@code TASK_ID_FILTER_ENABLED} (default false), {@code TASK_ID_FILTER_EXPECTED_IDS} (default 100000),
+     * {@code TASK_ID_FILTER_FPP} (default 0.01), {@code TASK_ID_FILTER_REFRESH_SECONDS} (default 300) and
+     * {@code TASK_ID_FILTER_SNAPSHOT} (unset).
+     */
+    public static Settings fromEnvironment() {
+      String snapshot = System.getenv("TASK_ID_FILTER_SNAPSHOT");
+      return new Settings(
+          Boolean.parseBoolean(System.getenv().getOrDefault("TASK_ID_FILTER_ENABLED", "false")),
+          Long.parseLong(System.getenv().getOrDefault("TASK_ID_FILTER_EXPECTED_IDS", "100000")),
+          Double.parseDouble(System.getenv().getOrDefault("TASK_ID_FILTER_FPP", "0.01")),
+          Duration.ofSeconds(Long.parseLong(System.getenv().getOrDefault("TASK_ID_FILTER_REFRESH_SECONDS", "300"))),
+          snapshot == null || snapshot.isBlank() ? null : Path.of(snapshot));
+    }
+  }
+
+  /**
+   * @return true only when the id is certainly not in the table, as far as this container knows
+   */
+  public boolean definitelyAbsent(String id) {
+    TaskIdFilter current = filter;
+    if (!settings.enabled() || current == null || id == null) {
+      return false;
+    }
+    refreshIfStale();
+    if (current.mightContain(id)) {
+      return false;
+    }
+    shortCircuited.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Adds a task this container has just written. Called after the write, so a null id is logged and skipped rather
+   * than failing a save that already happened.
+   */
+  public void recordSaved(String id) {
+    if (id == null) {
+      logger.warn("Ignoring a saved task without an id; it stays unknown to the id filter until the next rebuild");
+      return;
+    }
+    TaskIdFilter current = filter;
+    if (current != null) {
+      current.put(id);
+    }
+    // ✅ The running scan may already have passed this id's segment; replayed into the new filter after the swap
+    if (inFlight.get() != null) {
+      savedDuringBuild.add(id);
+    }
+    // ✅ A swap since the first read may have drained the queue before the id got there
+    TaskIdFilter latest = filter;
+    if (latest != null && latest != current) {
+      latest.put(id);
+    }
+  }
+
+  public void recordDeleted(String id) {
+    if (filter != null) {
+      deletedSinceBuild.incrementAndGet();
+    }
+  }
+
+  /**
+   * Scans every task id into a new filter and swaps it in. Runs on the calling thread, after any build that is
+   * already running.
+   */
+  public TaskIdFilterStats rebuild() {
+    CompletableFuture<Void> build = new CompletableFuture<>();
+    while (!inFlight.compareAndSet(null, build)) {
+      CompletableFuture<Void> running = inFlight.get();
+      if (running != null) {
+        running.join();
+      }
+    }
+    run(build);
+    return stats();
+  }
+
+  private void run(CompletableFuture<Void> build) {
+    try {
+      build();
+    } finally {
+      inFlight.set(null);
+      // ✅ Ids queued after build() drained the queue, or by a failed build, go into whichever filter is current
+      TaskIdFilter current = filter;
+      String saved;
+      while ((saved = savedDuringBuild.poll()) != null) {
+        if (current != null) {
+          current.put(saved);
+        }
+      }
+      build.complete(null);
+    }
+  }
+
+  private void build() {
+    long started = System.nanoTime();
+    List<String> ids = new ArrayList<>();
+    idSource.accept(ids::add);
+    long expected = Math.max(settings.expectedIds(), (long) (ids.size() * GROWTH_FACTOR));
+    TaskIdFilter next = TaskIdFilter.create(expected, settings.fpp());
+    ids.forEach(next::put);
+    builtAt = Instant.now();
+    filter = next;
+    deletedSinceBuild.set(0);
+    String saved;
+    while ((saved = savedDuringBuild.poll()) != null) {
+      next.put(saved);
+    }
+    logger.info("Task id filter built from {} ids in {} ms: {} bytes, {} hash functions, estimated fpp {}",
+        ids.size(), Duration.ofNanos(System.nanoTime() - started).toMillis(), next.sizeInBytes(),
+        next.hashFunctions(), next.estimatedFpp());
+    writeSnapshot(next);
+  }
+
+  private void refreshIfStale() {
+    Instant built = builtAt;
+    if (built != null && built.plus(settings.refreshInterval()).isAfter(Instant.now())) {
+      return;
+    }
+    CompletableFuture<Void> build = new CompletableFuture<>();
+    if (!inFlight.compareAndSet(null, build)) {
+      return;
+    }
+    executor.execute(() -> {
+      try {
+        run(build);
+      } catch (RuntimeException e) {
+        logger.warn("Task id filter rebuild failed; keeping the previous filter", e);
+      }
+    });
+  }
+
+  private void loadSnapshot() {
+    Path path = settings.snapshot();
+    if (path == null || !Files.isReadable(path)) {
+      return;
+    }
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+      Instant snapshotBuiltAt = Instant.ofEpochMilli(new DataInputStream(in).readLong());
+      TaskIdFilter loaded = TaskIdFilter.readFrom(in);
+      builtAt = snapshotBuiltAt;
+      filter = loaded;
+      logger.info("Loaded task id filter snapshot from {} built at {}", path, snapshotBuiltAt);
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Ignoring unreadable task id filter snapshot {}", path, e);
+    }
+  }
+
+  // ✅ Written to a temp file and moved, so a cold start never reads a half-written snapshot
+  private void writeSnapshot(TaskIdFilter snapshot) {
+    Path path = settings.snapshot();
+    if (path == null) {
+      return;
+    }
+    try {
+      Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), "task-id-filter", ".tmp");
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+        new DataOutputStream(out).writeLong(builtAt.toEpochMilli());
+        snapshot.writeTo(out);
+      }
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Failed to write task id filter snapshot {}", path, e);
+    }
+  }
+
+  public TaskIdFilterStats stats() {
+    TaskIdFilter current = filter;
+    if (current == null) {
+      return new TaskIdFilterStats(settings.enabled(), false, 0, 0, 0, settings.fpp(), 0, shortCircuited.get(),
+          deletedSinceBuild.get(), null);
+    }
+    return new TaskIdFilterStats(settings.enabled(), true, current.approximateIdCount(), current.sizeInBytes(),
+        current.hashFunctions(), settings.fpp(), current.estimatedFpp(), shortCircuited.get(),
+        deletedSinceBuild.get(), builtAt);
+  }
+}
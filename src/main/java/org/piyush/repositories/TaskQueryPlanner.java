@@ -0,0 +1,221 @@
+package org.piyush.repositories;
+
+import org.piyush.constant.Priority;
+import org.piyush.constant.TaskStatus;
+import org.piyush.model.taskmanagement.DateRange;
+import org.piyush.model.taskmanagement.TaskSearchCriteria;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Picks the cheapest way to answer a {@link TaskSearchCriteria}: a query on {@code AssigneeIndex}, one query per
+ * status on {@code StatusIndex}, a query on {@code DeadlineIndex} (exact deadlines only, it has no sort key) or a
+ * scan. Every predicate the access path does not cover becomes part of the {@code FilterExpression}. With status
+ * shards the status queries go to {@code StatusShardIndex} instead, one per status and shard.
+ * <p>
+ * {@code DescribeTable} has no value distributions, so equality selectivity is a fixed guess for assignees and
+ * deadlines and a uniform split for statuses. When explicit statuses are given they win over
+ * {@code includeCompleted}; otherwise {@code includeCompleted=false} excludes {@code COMPLETED}.
+ */
+public class TaskQueryPlanner {
+
+  static final double ASSIGNEE_SELECTIVITY = 0.05;
+  static final double DEADLINE_SELECTIVITY = 0.001;
+  private static final double READ_UNIT_BYTES = 4096;
+  // ✅ Index queries and scans are eventually consistent: half a unit per 4 KB
+  private static final double UNITS_PER_READ = 0.5;
+
+  private final Supplier<TableStatistics> statistics;
+  private final int statusShards;
+
+  public TaskQueryPlanner(Supplier<TableStatistics> statistics) {
+    this(statistics, 0);
+  }
+
+  /**
+   * @param statusShards shard count to read {@code StatusShardIndex} with; 0 keeps status queries on
+   *                     {@code StatusIndex}
+   */
+  public TaskQueryPlanner(Supplier<TableStatistics> statistics, int statusShards) {
+    this.statistics = statistics;
+    this.statusShards = statusShards;
+  }
+
+  public QueryPlan plan(TaskSearchCriteria criteria) {
+    TableStatistics stats = statistics.get();
+    Set<TaskStatus> statuses = effectiveStatuses(criteria);
+
+    Map<QueryPlan.AccessPath, List<String>> partitions = new EnumMap<>(QueryPlan.AccessPath.class);
+    Map<QueryPlan.AccessPath, Long> estimates = new EnumMap<>(QueryPlan.AccessPath.class);
+
+    if (criteria.getAssignee() != null && stats.hasIndex(QueryPlan.AccessPath.ASSIGNEE_INDEX.getIndexName())) {
+      partitions.put(QueryPlan.AccessPath.ASSIGNEE_INDEX, List.of(criteria.getAssignee()));
+      estimates.put(QueryPlan.AccessPath.ASSIGNEE_INDEX,
+          scaled(indexCount(stats, QueryPlan.AccessPath.ASSIGNEE_INDEX), ASSIGNEE_SELECTIVITY));
+    }
+    if (statuses != null && !statuses.isEmpty() && statusShards > 0
+        && stats.hasIndex(QueryPlan.AccessPath.STATUS_SHARD_INDEX.getIndexName())) {
+      partitions.put(QueryPlan.AccessPath.STATUS_SHARD_INDEX, StatusShards.keys(statuses, statusShards));
+      estimates.put(QueryPlan.AccessPath.STATUS_SHARD_INDEX,
+          scaled(indexCount(stats, QueryPlan.AccessPath.STATUS_SHARD_INDEX),
+              (double) statuses.size() / TaskStatus.values().length));
+    } else if (statuses != null && !statuses.isEmpty()
+        && stats.hasIndex(QueryPlan.AccessPath.STATUS_INDEX.getIndexName())) {
+      partitions.put(QueryPlan.AccessPath.STATUS_INDEX, statuses.stream().map(TaskStatus::name).toList());
+      estimates.put(QueryPlan.AccessPath.STATUS_INDEX, scaled(indexCount(stats, QueryPlan.AccessPath.STATUS_INDEX),
+          (double) statuses.size() / TaskStatus.values().length));
+    }
+    DateRange range = criteria.getDateRange();
+    if (range != null && range.getFrom() != null && range.getFrom().equals(range.getTo())
+        && stats.hasIndex(QueryPlan.AccessPath.DEADLINE_INDEX.getIndexName())) {
+      partitions.put(QueryPlan.AccessPath.DEADLINE_INDEX,
+          List.of(DateTimeFormatter.ISO_INSTANT.format(range.getFrom())));
+      estimates.put(QueryPlan.AccessPath.DEADLINE_INDEX,
+          scaled(indexCount(stats, QueryPlan.AccessPath.DEADLINE_INDEX), DEADLINE_SELECTIVITY));
+    }
+    partitions.put(QueryPlan.AccessPath.SCAN, List.of());
+    estimates.put(QueryPlan.AccessPath.SCAN, stats.getItemCount());
+
+    Map<QueryPlan.AccessPath, Double> candidates = new EnumMap<>(QueryPlan.AccessPath.class);
+    QueryPlan.AccessPath best = null;
+    for (Map.Entry<QueryPlan.AccessPath, Long> estimate : estimates.entrySet()) {
+      double units = readUnits(estimate.getValue(), Math.max(1, partitions.get(estimate.getKey()).size()), stats);
+      candidates.put(estimate.getKey(), units);
+      // ✅ Enum order puts indexes before the scan, so ties go to an index
+      if (best == null || units < candidates.get(best)) {
+        best = estimate.getKey();
+      }
+    }
+
+    return new QueryPlan()
+        .setAccessPath(best)
+        .setPartitionValues(partitions.get(best))
+        .setEstimatedItemsRead(estimates.get(best))
+        .setEstimatedReadUnits(candidates.get(best))
+        .setCandidates(candidates)
+        .setFilter(filterFor(criteria, statuses, best));
+  }
+
+  private static Set<TaskStatus> effectiveStatuses(TaskSearchCriteria criteria) {
+    if (criteria.getStatuses() != null && criteria.getStatuses().length > 0) {
+      return new LinkedHashSet<>(Arrays.asList(criteria.getStatuses()));
+    }
+    if (criteria.isIncludeCompleted()) {
+      return null;
+    }
+    Set<TaskStatus> statuses = new LinkedHashSet<>(Arrays.asList(TaskStatus.values()));
+    statuses.remove(TaskStatus.COMPLETED);
+    return statuses;
+  }
+
+  private static Expression filterFor(TaskSearchCriteria criteria, Set<TaskStatus> statuses,
+                                      QueryPlan.AccessPath accessPath) {
+    FilterBuilder filter = new FilterBuilder();
+    if (criteria.getAssignee() != null && accessPath != QueryPlan.AccessPath.ASSIGNEE_INDEX) {
+      filter.equalTo("assignee", AttributeValue.fromS(criteria.getAssignee()));
+    }
+    if (statuses != null && accessPath != QueryPlan.AccessPath.STATUS_INDEX
+        && accessPath != QueryPlan.AccessPath.STATUS_SHARD_INDEX) {
+      filter.in("status", statuses.stream().map(status -> AttributeValue.fromS(status.name())).toList());
+    }
+    if (criteria.getPriorities() != null && criteria.getPriorities().length > 0) {
+      filter.in("priority", Arrays.stream(criteria.getPriorities())
+          .map(Priority::name)
+          .distinct()
+          .map(AttributeValue::fromS)
+          .toList());
+    }
+    if (criteria.getLabels() != null && criteria.getLabels().length > 0) {
+      filter.containsAny("labels", Arrays.stream(criteria.getLabels()).distinct().map(AttributeValue::fromS).toList());
+    }
+    DateRange range = criteria.getDateRange();
+    if (range != null && accessPath != QueryPlan.AccessPath.DEADLINE_INDEX) {
+      filter.between("deadline",
+          range.getFrom() != null ? AttributeValue.fromS(DateTimeFormatter.ISO_INSTANT.format(range.getFrom())) : null,
+          range.getTo() != null ? AttributeValue.fromS(DateTimeFormatter.ISO_INSTANT.format(range.getTo())) : null);
+    }
+    return filter.build();
+  }
+
+  private static long indexCount(TableStatistics stats, QueryPlan.AccessPath accessPath) {
+    return stats.getIndexItemCounts().getOrDefault(accessPath.getIndexName(), stats.getItemCount());
+  }
+
+  private static long scaled(long count, double selectivity) {
+    return (long) Math.ceil(count * selectivity);
+  }
+
+  private static double readUnits(long items, int requests, TableStatistics stats) {
+    // ✅ Every request is charged at least one read, even when it returns nothing
+    double reads = Math.max(requests, Math.ceil(items * stats.averageItemSizeBytes() / READ_UNIT_BYTES));
+    return reads * UNITS_PER_READ;
+  }
+
+  /**
+   * Joins predicates with {@code AND}, using generated placeholders so attribute names never clash with reserved
+   * words ({@code status} is one).
+   */
+  private static final class FilterBuilder {
+    private final List<String> clauses = new ArrayList<>();
+    private final Map<String, String> names = new HashMap<>();
+    private final Map<String, AttributeValue> values = new HashMap<>();
+
+    void equalTo(String attribute, AttributeValue value) {
+      clauses.add(name(attribute) + " = " + value(value));
+    }
+
+    void in(String attribute, List<AttributeValue> candidates) {
+      clauses.add(name(attribute) + " IN (" + String.join(", ", candidates.stream().map(this::value).toList()) + ")");
+    }
+
+    void containsAny(String attribute, List<AttributeValue> candidates) {
+      String name = name(attribute);
+      List<String> contains = candidates.stream().map(value -> "contains(" + name + ", " + value(value) + ")").toList();
+      clauses.add(contains.size() == 1 ? contains.get(0) : "(" + String.join(" OR ", contains) + ")");
+    }
+
+    void between(String attribute, AttributeValue from, AttributeValue to) {
+      if (from != null && to != null) {
+        clauses.add(name(attribute) + " BETWEEN " + value(from) + " AND " + value(to));
+      } else if (from != null) {
+        clauses.add(name(attribute) + " >= " + value(from));
+      } else if (to != null) {
+        clauses.add(name(attribute) + " <= " + value(to));
+      }
+    }
+
+    Expression build() {
+      if (clauses.isEmpty()) {
+        return null;
+      }
+      return Expression.builder()
+          .expression(String.join(" AND ", clauses))
+          .expressionNames(names)
+          .expressionValues(values)
+          .build();
+    }
+
+    private String name(String attribute) {
+      String placeholder = "#" + attribute;
+      names.put(placeholder, attribute);
+      return placeholder;
+    }
+
+    private String value(AttributeValue value) {
+      String placeholder = ":v" + values.size();
+      values.put(placeholder, value);
+      return placeholder;
+    }
+  }
+}
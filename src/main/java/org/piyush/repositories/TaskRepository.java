@@ -1,60 +1,985 @@
 package org.piyush.repositories;
 
 import org.piyush.config.DynamoDbConfig;
+import org.piyush.config.ExecutorConfig;
+import org.piyush.constant.SubTaskLayout;
+import org.piyush.constant.TaskStatus;
+import org.piyush.converters.SubTaskListConverter;
+import org.piyush.exception.TaskConflictException;
 import org.piyush.exception.TaskNotFoundException;
 import org.piyush.exception.TaskRepositoryException;
 import org.piyush.model.dynamodb.DbTask;
+import org.piyush.model.taskmanagement.SubTask;
+import org.piyush.model.taskmanagement.SubTaskResult;
+import org.piyush.model.taskmanagement.TaskFields;
+import org.piyush.model.taskmanagement.TaskKey;
+import org.piyush.model.taskmanagement.TaskSearchCriteria;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public class TaskRepository {
   private static final Logger logger = LoggerFactory.getLogger(TaskRepository.class);
   private static final String TABLE_NAME = System.getenv().getOrDefault("DYNAMODB_TABLE_NAME", "task_management");
+  private static final Duration STATISTICS_TTL = Duration.ofMinutes(5);
+  private static final String VERSION_ATTRIBUTE = "version";
+  private static final String UPDATED_AT_ATTRIBUTE = "updatedAt";
+  private static final String SUB_TASKS_ATTRIBUTE = "subTasks";
+  private static final String LAYOUT_ATTRIBUTE = "subTaskLayout";
+  private static final String PARENT_TASK_ID_ATTRIBUTE = "parentTaskId";
+  private static final String DEPENDENT_TASK_IDS_ATTRIBUTE = "dependentTaskIds";
+  private static final String STATUS_ATTRIBUTE = "status";
+  // ✅ Start key of an embedded sub-task page: the position in the list
+  private static final String OFFSET_KEY = "offset";
+  private static final SubTaskListConverter SUB_TASK_CONVERTER = new SubTaskListConverter();
+  private static final int MAX_TRANSACTION_ITEMS = 100;
+  private static final DeleteMode DELETE_MODE =
+      DeleteMode.valueOf(System.getenv().getOrDefault("TASK_DELETE_MODE", "batch").toUpperCase(Locale.ROOT));
+  private final DynamoDbClient dynamoDbClient;
   private final DynamoDbTable<DbTask> taskTable;
+  private final DynamoDbBatchWriter batchWriter;
+  private final DynamoDbBatchReader batchReader;
+  private final ParallelScanner parallelScanner;
+  private final TaskQueryPlanner queryPlanner;
+  private final Executor queryExecutor;
+  private final TaskCache taskCache;
+  private final TaskIdGuard idGuard;
+  private final int statusShards;
+  private volatile TableStatistics statistics;
+  private volatile long statisticsExpireAtMillis;
+
+  public enum DeleteMode {
+    BATCH, TRANSACTIONAL
+  }
 
   public TaskRepository() {
-    this.taskTable = DynamoDbConfig.dynamoDbEnhancedClient()
-        .table(TABLE_NAME, TableSchema.fromBean(DbTask.class));
+    this(DynamoDbConfig.dynamoDbClient(), DynamoDbConfig.dynamoDbEnhancedClient()
+        .table(TABLE_NAME, DbTask.TABLE_SCHEMA));
   }
 
   // New constructor for testing
   public TaskRepository(DynamoDbTable<DbTask> taskTable) {
+    this(DynamoDbConfig.dynamoDbClient(), taskTable);
+  }
+
+  public TaskRepository(DynamoDbClient dynamoDbClient, DynamoDbTable<DbTask> taskTable) {
+    this(dynamoDbClient, taskTable, TaskIdGuard.Settings.fromEnvironment());
+  }
+
+  TaskRepository(DynamoDbClient dynamoDbClient, DynamoDbTable<DbTask> taskTable, TaskIdGuard.Settings idGuardSettings) {
+    this(dynamoDbClient, taskTable, idGuardSettings, StatusShards.COUNT, StatusShards.READS);
+  }
+
+  TaskRepository(DynamoDbClient dynamoDbClient, DynamoDbTable<DbTask> taskTable, TaskIdGuard.Settings idGuardSettings,
+                 int statusShards, boolean statusShardReads) {
+    this.dynamoDbClient = dynamoDbClient;
     this.taskTable = taskTable;
+    this.batchWriter = new DynamoDbBatchWriter(dynamoDbClient, ExecutorConfig.ioExecutor());
+    this.batchReader = new DynamoDbBatchReader(dynamoDbClient, ExecutorConfig.ioExecutor());
+    this.parallelScanner = new ParallelScanner(dynamoDbClient, ExecutorConfig.scanExecutor());
+    this.queryPlanner = new TaskQueryPlanner(this::tableStatistics, statusShardReads ? statusShards : 0);
+    this.queryExecutor = ExecutorConfig.ioExecutor();
+    this.taskCache = TaskCache.fromEnvironment(taskTable.tableSchema());
+    this.idGuard = new TaskIdGuard(idGuardSettings, this::scanIds, ExecutorConfig.ioExecutor());
+    this.statusShards = statusShards;
   }
 
+  /**
+   * Saves a task. An {@link SubTaskLayout#ITEMS} task keeps its sub-tasks out of the task item: a new one is created
+   * together with its sub-task items in one transaction, an existing one has its sub-task items replaced. The
+   * progress counters are recounted from the sub-task list.
+   */
   public DbTask save(DbTask task) {
+    if (task.getId() == null) {
+      // ✅ Set before the write, not by @DynamoDbAutoGeneratedUuid, so the shard key, cache and id filter see it
+      task.setId(UUID.randomUUID().toString());
+    }
+    SubTaskProgress.record(task, Instant.now());
+    task.setStatusShard(StatusShards.keyOf(task, statusShards));
+    if (SubTaskLayout.of(task) == SubTaskLayout.ITEMS) {
+      return task.getVersion() == null ? createWithSubTaskItems(task) : saveWithSubTaskItems(task);
+    }
     try {
       taskTable.putItem(task);
+      taskCache.put(task, writtenVersion(task));
+      idGuard.recordSaved(task.getId());
       logger.info("Task saved successfully with ID: {}", task.getId());
       return task;
     } catch (DynamoDbException e) {
+      // ✅ A failed conditional write means the cached copy may be the stale one
+      taskCache.invalidate(task.getId(), task.getDeadline());
       throw new TaskRepositoryException(String.format("Failed to save task with ID [%s]", task.getId()), e);
     }
   }
 
+  private DbTask createWithSubTaskItems(DbTask task) {
+    List<SubTask> subTasks = task.getSubTasks() != null ? task.getSubTasks() : List.of();
+    if (subTasks.size() >= MAX_TRANSACTION_ITEMS) {
+      throw new IllegalArgumentException(String.format(
+          "A task can be created with at most %d sub-tasks; append the rest once it exists", MAX_TRANSACTION_ITEMS - 1));
+    }
+    prepareForInsert(task, Instant.now());
+    List<TransactWriteItem> writes = new ArrayList<>(subTasks.size() + 1);
+    writes.add(TransactWriteItem.builder()
+        .put(p -> p.tableName(taskTable.tableName())
+            .item(taskItem(task))
+            .conditionExpression("attribute_not_exists(#pk)")
+            .expressionAttributeNames(Map.of("#pk", SubTaskItems.PARTITION_KEY)))
+        .build());
+    subTasks.forEach(subTask -> writes.add(TransactWriteItem.builder()
+        .put(p -> p.tableName(taskTable.tableName())
+            .item(SubTaskItems.toItem(task.getId(), task.getDeadline(), subTask)))
+        .build()));
+    try {
+      dynamoDbClient.transactWriteItems(r -> r.transactItems(writes));
+    } catch (TransactionCanceledException e) {
+      if (failedCondition(e.hasCancellationReasons() ? e.cancellationReasons() : List.of())) {
+        throw new TaskConflictException(String.format("Task [%s] already exists", task.getId()), e);
+      }
+      throw new TaskRepositoryException(String.format("Failed to save task with ID [%s]", task.getId()), e);
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException(String.format("Failed to save task with ID [%s]", task.getId()), e);
+    }
+    idGuard.recordSaved(task.getId());
+    logger.info("Task saved with ID: {} and {} sub-task items", task.getId(), subTasks.size());
+    return task;
+  }
+
+  // ✅ Not atomic: a failure part way leaves the task item saved and its sub-task items partly replaced
+  private DbTask saveWithSubTaskItems(DbTask task) {
+    List<SubTask> subTasks = task.getSubTasks();
+    try {
+      task.setSubTasks(null);
+      taskTable.putItem(task);
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException(String.format("Failed to save task with ID [%s]", task.getId()), e);
+    } finally {
+      task.setSubTasks(subTasks);
+      taskCache.invalidate(task.getId(), task.getDeadline());
+    }
+    replaceSubTaskItems(task.getId(), task.getDeadline(), subTasks != null ? subTasks : List.of());
+    logger.info("Task saved successfully with ID: {}", task.getId());
+    return task;
+  }
+
+  private Map<String, AttributeValue> taskItem(DbTask task) {
+    Map<String, AttributeValue> item = new HashMap<>(taskTable.tableSchema().itemToMap(task, true));
+    item.remove(SUB_TASKS_ATTRIBUTE);
+    return item;
+  }
+
+  // ✅ Puts every sub-task and deletes the items of the ones no longer listed
+  private void replaceSubTaskItems(String taskId, Instant deadline, List<SubTask> subTasks) {
+    Set<Map<String, AttributeValue>> stale = new HashSet<>(queryKeys(taskId, SubTaskItems.sortKeyPrefix(deadline)));
+    List<WriteRequest> requests = new ArrayList<>();
+    for (SubTask subTask : subTasks) {
+      stale.remove(SubTaskItems.key(taskId, deadline, subTask.getId()));
+      requests.add(WriteRequest.builder()
+          .putRequest(p -> p.item(SubTaskItems.toItem(taskId, deadline, subTask)))
+          .build());
+    }
+    stale.forEach(key -> requests.add(WriteRequest.builder().deleteRequest(d -> d.key(key)).build()));
+    Map<Integer, String> failures = batchWriter.writeAll(taskTable.tableName(), requests);
+    if (!failures.isEmpty()) {
+      throw new TaskRepositoryException(String.format("Failed to write %d of %d sub-task items of task [%s]: %s",
+          failures.size(), requests.size(), taskId, failures.values().iterator().next()));
+    }
+  }
+
+  /**
+   * Inserts new tasks with chunked {@code BatchWriteItem} calls. Batch writes cannot carry the condition the
+   * version extension adds, so the insert defaults it would apply (id, timestamps, first version) are set here.
+   * Tasks are always stored with {@link SubTaskLayout#EMBEDDED} sub-tasks: a task and its sub-task items cannot be
+   * reported as one batch entry, and reads handle either layout.
+   *
+   * @return failure reasons keyed by the index of the task in {@code tasks}
+   */
+  public Map<Integer, String> saveAll(List<DbTask> tasks) {
+    Instant now = Instant.now();
+    List<WriteRequest> requests = new ArrayList<>(tasks.size());
+    for (DbTask task : tasks) {
+      prepareForInsert(task, now);
+      task.setSubTaskLayout(null);
+      SubTaskProgress.record(task, now);
+      task.setStatusShard(StatusShards.keyOf(task, statusShards));
+      requests.add(WriteRequest.builder()
+          .putRequest(p -> p.item(taskTable.tableSchema().itemToMap(task, true)))
+          .build());
+    }
+    Map<Integer, String> failures = batchWriter.writeAll(taskTable.tableName(), requests);
+    for (int i = 0; i < tasks.size(); i++) {
+      if (!failures.containsKey(i)) {
+        taskCache.put(tasks.get(i), tasks.get(i).getVersion());
+        idGuard.recordSaved(tasks.get(i).getId());
+      }
+    }
+    logger.info("Batch saved {} of {} tasks", tasks.size() - failures.size(), tasks.size());
+    return failures;
+  }
+
+  /**
+   * Applies a partial update as one {@code UpdateItem}: {@code SET} for the attributes in {@code setAttributes}
+   * (values taken from {@code changes}), {@code REMOVE} for {@code removeAttributes}, plus a new
+   * {@code updatedAt} and the next {@code version}. Only the changed attributes are sent, and the stored task comes
+   * back from the same call.
+   * <p>
+   * Setting or removing {@code subTasks} sets the progress counters to match. On an {@link SubTaskLayout#ITEMS} task
+   * it updates the task item without them and then replaces its sub-task items.
+   *
+   * @param changes         carries the key and the new values
+   * @param expectedVersion version the caller last read; null skips the check
+   * @throws TaskNotFoundException if no task has that key
+   * @throws TaskConflictException if the stored version is not {@code expectedVersion}
+   */
+  public DbTask update(DbTask changes, Collection<String> setAttributes, Collection<String> removeAttributes,
+                       Long expectedVersion) {
+    String taskId = changes.getId();
+    if (idGuard.definitelyAbsent(taskId)) {
+      throw new TaskNotFoundException(String.format("Task not found with id [%s]", taskId));
+    }
+    TableSchema<DbTask> schema = taskTable.tableSchema();
+    TableMetadata metadata = schema.tableMetadata();
+    String partitionKey = metadata.primaryPartitionKey();
+    String sortKey = metadata.primarySortKey().orElseThrow();
+    boolean replacesSubTasks = setAttributes.contains(SUB_TASKS_ATTRIBUTE)
+        || removeAttributes.contains(SUB_TASKS_ATTRIBUTE);
+
+    changes.setUpdatedAt(Instant.now());
+    List<String> setWithProgress = new ArrayList<>(setAttributes);
+    if (replacesSubTasks) {
+      if (!setAttributes.contains(SUB_TASKS_ATTRIBUTE)) {
+        changes.setSubTasks(null);
+      }
+      changes.setProgressUpdatedAt(null);
+      SubTaskProgress.record(changes, changes.getUpdatedAt());
+      setWithProgress.addAll(SubTaskProgress.ATTRIBUTES);
+    }
+    // ✅ The shard key follows the status; the retry below passes it back in, so only add it once
+    List<String> removeWithShard = new ArrayList<>(removeAttributes);
+    if (statusShards > 0 && !setAttributes.contains(StatusShards.ATTRIBUTE)) {
+      if (setAttributes.contains(STATUS_ATTRIBUTE)) {
+        changes.setStatusShard(StatusShards.keyOf(changes, statusShards));
+        setWithProgress.add(StatusShards.ATTRIBUTE);
+      } else if (removeAttributes.contains(STATUS_ATTRIBUTE) && !removeAttributes.contains(StatusShards.ATTRIBUTE)) {
+        removeWithShard.add(StatusShards.ATTRIBUTE);
+      }
+    }
+    List<String> setNames = new ArrayList<>(setWithProgress);
+    setNames.add(UPDATED_AT_ATTRIBUTE);
+    Map<String, AttributeValue> newValues = schema.itemToMap(changes, setNames);
+
+    Map<String, String> names = new HashMap<>();
+    Map<String, AttributeValue> values = new HashMap<>();
+    List<String> assignments = new ArrayList<>();
+    for (String attribute : setNames) {
+      names.put("#" + attribute, attribute);
+      values.put(":" + attribute, newValues.get(attribute));
+      assignments.add("#" + attribute + " = :" + attribute);
+    }
+    names.put("#" + VERSION_ATTRIBUTE, VERSION_ATTRIBUTE);
+    values.put(":zero", AttributeValue.fromN("0"));
+    values.put(":one", AttributeValue.fromN("1"));
+    assignments.add("#version = if_not_exists(#version, :zero) + :one");
+    StringBuilder expression = new StringBuilder("SET ").append(String.join(", ", assignments));
+    if (!removeWithShard.isEmpty()) {
+      expression.append(" REMOVE ").append(String.join(", ", removeWithShard.stream()
+          .map(attribute -> {
+            names.put("#" + attribute, attribute);
+            return "#" + attribute;
+          })
+          .toList()));
+    }
+
+    names.put("#" + partitionKey, partitionKey);
+    String condition = "attribute_exists(#" + partitionKey + ")";
+    if (replacesSubTasks) {
+      condition += " AND " + notItemsLayout(names, values);
+    }
+    if (expectedVersion != null) {
+      values.put(":expectedVersion", AttributeValue.fromN(expectedVersion.toString()));
+      condition += " AND #version = :expectedVersion";
+    }
+
+    try {
+      UpdateItemResponse response = dynamoDbClient.updateItem(UpdateItemRequest.builder()
+          .tableName(taskTable.tableName())
+          .key(schema.itemToMap(changes, List.of(partitionKey, sortKey)))
+          .updateExpression(expression.toString())
+          .conditionExpression(condition)
+          .expressionAttributeNames(names)
+          .expressionAttributeValues(values)
+          .returnValues(ReturnValue.ALL_NEW)
+          // ✅ Tells a version mismatch (item returned) apart from a missing task (nothing returned)
+          .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+          .build());
+      DbTask updated = schema.mapToItem(response.attributes());
+      taskCache.put(updated, updated.getVersion());
+      logger.info("Task updated in place with ID: {} ({} set, {} removed)", taskId, setAttributes.size(),
+          removeAttributes.size());
+      return withoutSubTaskItems(updated);
+    } catch (ConditionalCheckFailedException e) {
+      taskCache.invalidate(taskId, changes.getDeadline());
+      if (replacesSubTasks && e.hasItem() && isItemsLayout(e.item())) {
+        DbTask updated = update(changes, withoutSubTasks(setWithProgress), withoutSubTasks(removeWithShard),
+            expectedVersion);
+        replaceSubTaskItems(taskId, changes.getDeadline(),
+            setAttributes.contains(SUB_TASKS_ATTRIBUTE) ? changes.getSubTasks() : List.of());
+        return updated;
+      }
+      if (e.hasItem() && !e.item().isEmpty()) {
+        AttributeValue stored = e.item().get(VERSION_ATTRIBUTE);
+        throw new TaskConflictException(String.format("Task [%s] is at version %s, not %d", taskId,
+            stored != null ? stored.n() : "none", expectedVersion), e);
+      }
+      throw new TaskNotFoundException(String.format("Task not found with id [%s] and deadline [%s]", taskId,
+          DateTimeFormatter.ISO_INSTANT.format(changes.getDeadline())), e);
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException(String.format("Failed to update task with ID [%s]", taskId), e);
+    }
+  }
+
+  private static List<String> withoutSubTasks(Collection<String> attributes) {
+    return attributes.stream().filter(attribute -> !SUB_TASKS_ATTRIBUTE.equals(attribute)).toList();
+  }
+
+  // ✅ Condition that fails on ITEMS tasks, whose item must not get a sub-task list
+  private static String notItemsLayout(Map<String, String> names, Map<String, AttributeValue> values) {
+    names.put("#subTaskLayout", LAYOUT_ATTRIBUTE);
+    values.put(":itemsLayout", AttributeValue.fromS(SubTaskLayout.ITEMS.name()));
+    return "(attribute_not_exists(#subTaskLayout) OR #subTaskLayout <> :itemsLayout)";
+  }
+
+  private static boolean isItemsLayout(Map<String, AttributeValue> item) {
+    AttributeValue layout = item.get(LAYOUT_ATTRIBUTE);
+    return layout != null && SubTaskLayout.ITEMS.name().equals(layout.s());
+  }
+
+  // ✅ Layouts never change, so a cached task settles it without a failed conditional write
+  private boolean cachedAsItems(String taskId, Instant deadline) {
+    DbTask cached = taskCache.getIfPresent(taskId, deadline);
+    return cached != null && SubTaskLayout.of(cached) == SubTaskLayout.ITEMS;
+  }
+
+  /**
+   * Appends sub-tasks. Embedded lists grow with {@code list_append} without being read first; an
+   * {@link SubTaskLayout#ITEMS} task gets one new item per sub-task and only its progress counters are written.
+   *
+   * @return the appended sub-tasks with their positions in the list (no position or version for items)
+   */
+  public List<SubTaskResult> appendSubTasks(String taskId, Instant deadline, List<SubTask> subTasks,
+                                            Long expectedVersion) {
+    if (cachedAsItems(taskId, deadline)) {
+      return appendSubTaskItems(taskId, deadline, subTasks, expectedVersion);
+    }
+    Map<String, String> names = new HashMap<>();
+    Map<String, AttributeValue> values = new HashMap<>();
+    values.put(":appended", SUB_TASK_CONVERTER.transformFrom(subTasks));
+    values.put(":empty", AttributeValue.fromL(List.of()));
+    List<String> assignments = new ArrayList<>();
+    assignments.add("#subTasks = list_append(if_not_exists(#subTasks, :empty), :appended)");
+
+    Map<String, AttributeValue> updated = updateSubTasks(taskId, deadline, assignments, List.of(), null, names,
+        values, expectedVersion, String.format("Sub-tasks could not be appended to task [%s]", taskId),
+        subTasks.size(), SubTaskProgress.completed(subTasks));
+    if (updated == null) {
+      return appendSubTaskItems(taskId, deadline, subTasks, expectedVersion);
+    }
+    int first = updated.get(SUB_TASKS_ATTRIBUTE).l().size() - subTasks.size();
+    Long version = Long.valueOf(updated.get(VERSION_ATTRIBUTE).n());
+    logger.info("Appended {} sub-tasks to task {} at index {}", subTasks.size(), taskId, first);
+    return IntStream.range(0, subTasks.size())
+        .mapToObj(i -> new SubTaskResult(first + i, subTasks.get(i), version))
+        .toList();
+  }
+
+  /**
+   * Sets and removes members of the sub-task at {@code index} with document paths such as
+   * {@code subTasks[3].completed}, so only the changed members are sent. The write is conditional on the sub-task at
+   * that position still having {@code changes.getId()}. On an {@link SubTaskLayout#ITEMS} task the sub-task is found
+   * by id alone and {@code index} is not used.
+   * <p>
+   * Setting {@code completed} first assumes it flips, conditional on the stored value, and moves
+   * {@code completedSubTasks} by one in the same write. If it already had that value the write is repeated without
+   * the counter.
+   */
+  public SubTaskResult updateSubTask(String taskId, Instant deadline, int index, SubTask changes,
+                                     Collection<String> setFields, Collection<String> removeFields,
+                                     Long expectedVersion) {
+    if (cachedAsItems(taskId, deadline)) {
+      return updateSubTaskItem(taskId, deadline, changes, setFields, removeFields, expectedVersion);
+    }
+    String path = "#subTasks[" + index + "]";
+    Map<String, String> names = new HashMap<>();
+    Map<String, AttributeValue> values = new HashMap<>();
+    Map<String, AttributeValue> newValues = SubTaskListConverter.toAttributeValue(changes).m();
+    List<String> assignments = new ArrayList<>();
+    for (String field : setFields) {
+      names.put("#st_" + field, field);
+      values.put(":st_" + field, newValues.get(field));
+      assignments.add(path + ".#st_" + field + " = :st_" + field);
+    }
+    List<String> removals = new ArrayList<>();
+    for (String field : removeFields) {
+      names.put("#st_" + field, field);
+      removals.add(path + ".#st_" + field);
+    }
+    names.put("#st_id", SubTaskListConverter.ID);
+    values.put(":st_id", AttributeValue.fromS(changes.getId()));
+
+    String subTaskCondition = path + ".#st_id = :st_id";
+    String conflictMessage = String.format("Sub-task at index %d of task [%s] is not [%s]", index, taskId,
+        changes.getId());
+    Map<String, AttributeValue> updated;
+    if (setFields.contains(SubTaskListConverter.COMPLETED)) {
+      String completed = path + ".#st_" + SubTaskListConverter.COMPLETED;
+      try {
+        updated = updateSubTasks(taskId, deadline, assignments, removals,
+            subTaskCondition + " AND " + completed + " <> :st_completed", new HashMap<>(names), new HashMap<>(values),
+            expectedVersion, conflictMessage, 0, Boolean.TRUE.equals(changes.getCompleted()) ? 1 : -1);
+      } catch (TaskConflictException e) {
+        updated = updateSubTasks(taskId, deadline, assignments, removals,
+            subTaskCondition + " AND " + completed + " = :st_completed", names, values, expectedVersion,
+            conflictMessage, 0, 0);
+      }
+    } else {
+      updated = updateSubTasks(taskId, deadline, assignments, removals, subTaskCondition, names, values,
+          expectedVersion, conflictMessage, 0, 0);
+    }
+    if (updated == null) {
+      return updateSubTaskItem(taskId, deadline, changes, setFields, removeFields, expectedVersion);
+    }
+    logger.info("Sub-task {} of task {} updated ({} set, {} removed)", index, taskId, setFields.size(),
+        removeFields.size());
+    return new SubTaskResult(index, changes, Long.valueOf(updated.get(VERSION_ATTRIBUTE).n()));
+  }
+
+  /**
+   * Bumps the version like update(), and adds {@code addedTotal} and {@code addedCompleted} to the progress counters
+   * when either is non-zero. A legacy JSON-string list fails the type check, and a list without counters fails the
+   * counter check; either is migrated once.
+   *
+   * @return the updated attributes, or {@code null} when the task keeps its sub-tasks as items
+   */
+  private Map<String, AttributeValue> updateSubTasks(String taskId, Instant deadline, List<String> assignments,
+                                                     List<String> removals, String subTaskCondition,
+                                                     Map<String, String> names, Map<String, AttributeValue> values,
+                                                     Long expectedVersion, String conflictMessage, int addedTotal,
+                                                     int addedCompleted) {
+    String formattedDeadline = DateTimeFormatter.ISO_INSTANT.format(deadline);
+    if (idGuard.definitelyAbsent(taskId)) {
+      throw new TaskNotFoundException(
+          String.format("Task not found with id [%s] and deadline [%s]", taskId, formattedDeadline));
+    }
+    TableSchema<DbTask> schema = taskTable.tableSchema();
+    String partitionKey = schema.tableMetadata().primaryPartitionKey();
+    Map<String, AttributeValue> key = Key.builder().partitionValue(taskId).sortValue(formattedDeadline).build()
+        .keyMap(schema, TableMetadata.primaryIndexName());
+
+    names.put("#subTasks", SUB_TASKS_ATTRIBUTE);
+    names.put("#" + partitionKey, partitionKey);
+    names.put("#version", VERSION_ATTRIBUTE);
+    names.put("#updatedAt", UPDATED_AT_ATTRIBUTE);
+    values.put(":zero", AttributeValue.fromN("0"));
+    values.put(":one", AttributeValue.fromN("1"));
+    values.put(":now", AttributeValue.fromS(Instant.now().toString()));
+    values.put(":listType", AttributeValue.fromS("L"));
+    List<String> sets = new ArrayList<>(assignments);
+    sets.add("#version = if_not_exists(#version, :zero) + :one");
+    sets.add("#updatedAt = :now");
+    String condition = "attribute_exists(#" + partitionKey + ")"
+        + " AND (attribute_not_exists(#subTasks) OR attribute_type(#subTasks, :listType))"
+        + " AND " + notItemsLayout(names, values);
+    String additions = "";
+    if (addedTotal != 0 || addedCompleted != 0) {
+      names.put("#totalSubTasks", SubTaskProgress.TOTAL);
+      names.put("#completedSubTasks", SubTaskProgress.COMPLETED);
+      names.put("#progressUpdatedAt", SubTaskProgress.UPDATED_AT);
+      values.put(":addedTotal", AttributeValue.fromN(Integer.toString(addedTotal)));
+      values.put(":addedCompleted", AttributeValue.fromN(Integer.toString(addedCompleted)));
+      sets.add("#progressUpdatedAt = :now");
+      additions = " ADD #totalSubTasks :addedTotal, #completedSubTasks :addedCompleted";
+      // ✅ ADD starts a missing counter at zero, which is only right when there are no sub-tasks yet
+      condition += " AND (attribute_exists(#totalSubTasks) OR attribute_not_exists(#subTasks))";
+    }
+    String expression = "SET " + String.join(", ", sets)
+        + (removals.isEmpty() ? "" : " REMOVE " + String.join(", ", removals)) + additions;
+    if (subTaskCondition != null) {
+      condition += " AND " + subTaskCondition;
+    }
+    if (expectedVersion != null) {
+      values.put(":expectedVersion", AttributeValue.fromN(expectedVersion.toString()));
+      condition += " AND #version = :expectedVersion";
+    }
+
+    for (int attempt = 0; ; attempt++) {
+      try {
+        UpdateItemResponse response = dynamoDbClient.updateItem(UpdateItemRequest.builder()
+            .tableName(taskTable.tableName())
+            .key(key)
+            .updateExpression(expression)
+            .conditionExpression(condition)
+            .expressionAttributeNames(names)
+            .expressionAttributeValues(values)
+            .returnValues(ReturnValue.UPDATED_NEW)
+            .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+            .build());
+        taskCache.invalidate(taskId, deadline);
+        return response.attributes();
+      } catch (ConditionalCheckFailedException e) {
+        taskCache.invalidate(taskId, deadline);
+        if (!e.hasItem() || e.item().isEmpty()) {
+          throw new TaskNotFoundException(
+              String.format("Task not found with id [%s] and deadline [%s]", taskId, formattedDeadline), e);
+        }
+        if (isItemsLayout(e.item())) {
+          return null;
+        }
+        AttributeValue stored = e.item().get(SUB_TASKS_ATTRIBUTE);
+        if (attempt == 0 && (SubTaskListConverter.isLegacy(stored)
+            || stored != null && !e.item().containsKey(SubTaskProgress.TOTAL))) {
+          migrateSubTasks(key, stored);
+          continue;
+        }
+        AttributeValue storedVersion = e.item().get(VERSION_ATTRIBUTE);
+        if (expectedVersion != null && (storedVersion == null || !expectedVersion.toString().equals(storedVersion.n()))) {
+          throw new TaskConflictException(String.format("Task [%s] is at version %s, not %d", taskId,
+              storedVersion != null ? storedVersion.n() : "none", expectedVersion), e);
+        }
+        throw new TaskConflictException(conflictMessage, e);
+      } catch (DynamoDbException e) {
+        throw new TaskRepositoryException(String.format("Failed to update sub-tasks of task [%s]", taskId), e);
+      }
+    }
+  }
+
+  /**
+   * Rewrites a stored sub-task list in the native form with its progress counters. Conditional on the stored value,
+   * so a concurrent write is never overwritten; the caller retries either way.
+   *
+   * @return whether the item was migrated
+   */
+  private boolean migrateSubTasks(Map<String, AttributeValue> key, AttributeValue stored) {
+    List<SubTask> subTasks = stored != null ? SUB_TASK_CONVERTER.transformTo(stored) : List.of();
+    Map<String, String> names = new HashMap<>(Map.of("#subTasks", SUB_TASKS_ATTRIBUTE,
+        "#totalSubTasks", SubTaskProgress.TOTAL, "#completedSubTasks", SubTaskProgress.COMPLETED,
+        "#progressUpdatedAt", SubTaskProgress.UPDATED_AT));
+    Map<String, AttributeValue> values = new HashMap<>(Map.of(
+        ":total", AttributeValue.fromN(Integer.toString(subTasks.size())),
+        ":completed", AttributeValue.fromN(Integer.toString(SubTaskProgress.completed(subTasks))),
+        ":now", AttributeValue.fromS(Instant.now().toString())));
+    String counters = "#totalSubTasks = :total, #completedSubTasks = :completed, #progressUpdatedAt = :now";
+    UpdateItemRequest.Builder request = UpdateItemRequest.builder()
+        .tableName(taskTable.tableName())
+        .key(key);
+    if (stored != null) {
+      values.put(":native", SUB_TASK_CONVERTER.transformFrom(subTasks));
+      values.put(":stored", stored);
+      request.updateExpression("SET #subTasks = :native, " + counters)
+          .conditionExpression("#subTasks = :stored");
+    } else {
+      request.updateExpression("SET " + counters)
+          .conditionExpression("attribute_exists(#pk) AND attribute_not_exists(#subTasks)");
+      names.put("#pk", SubTaskItems.PARTITION_KEY);
+    }
+    try {
+      dynamoDbClient.updateItem(request
+          .expressionAttributeNames(names)
+          .expressionAttributeValues(values)
+          .build());
+      logger.info("Migrated sub-task list of {} to a native list with progress counters", key);
+      return true;
+    } catch (ConditionalCheckFailedException e) {
+      logger.info("Sub-task list of {} changed before it could be migrated", key);
+      return false;
+    }
+  }
+
+  // ✅ Each transaction re-checks the task, so a chunk never lands on a deleted or changed task
+  private List<SubTaskResult> appendSubTaskItems(String taskId, Instant deadline, List<SubTask> subTasks,
+                                                 Long expectedVersion) {
+    int chunkSize = MAX_TRANSACTION_ITEMS - 1;
+    for (int from = 0; from < subTasks.size(); from += chunkSize) {
+      List<SubTask> chunk = subTasks.subList(from, Math.min(from + chunkSize, subTasks.size()));
+      List<TransactWriteItem> writes = new ArrayList<>();
+      writes.add(taskCheck(taskId, deadline, expectedVersion, chunk.size(), SubTaskProgress.completed(chunk)));
+      chunk.forEach(subTask ->
+          writes.add(TransactWriteItem.builder()
+              .put(p -> p.tableName(taskTable.tableName())
+                  .item(SubTaskItems.toItem(taskId, deadline, subTask))
+                  .conditionExpression("attribute_not_exists(#pk)")
+                  .expressionAttributeNames(Map.of("#pk", SubTaskItems.PARTITION_KEY)))
+              .build()));
+      writeSubTaskItems(taskId, deadline, writes, expectedVersion, e -> new TaskConflictException(
+          String.format("A sub-task appended to task [%s] already exists", taskId), e));
+      taskCache.invalidate(taskId, deadline);
+    }
+    logger.info("Appended {} sub-task items to task {}", subTasks.size(), taskId);
+    return subTasks.stream()
+        .map(subTask -> new SubTaskResult(null, subTask, null))
+        .toList();
+  }
+
+  private SubTaskResult updateSubTaskItem(String taskId, Instant deadline, SubTask changes,
+                                          Collection<String> setFields, Collection<String> removeFields,
+                                          Long expectedVersion) {
+    Map<String, String> names = new HashMap<>();
+    Map<String, AttributeValue> values = new HashMap<>();
+    Map<String, AttributeValue> newValues = SubTaskListConverter.toAttributeValue(changes).m();
+    names.put("#pk", SubTaskItems.PARTITION_KEY);
+    names.put("#subTask", SubTaskItems.SUB_TASK_ATTRIBUTE);
+    names.put("#st_id", SubTaskListConverter.ID);
+    values.put(":st_id", AttributeValue.fromS(changes.getId()));
+    // ✅ Rewriting the id keeps SET non-empty when the patch only removes members
+    List<String> assignments = new ArrayList<>(List.of("#subTask.#st_id = :st_id"));
+    for (String field : setFields) {
+      names.put("#st_" + field, field);
+      values.put(":st_" + field, newValues.get(field));
+      assignments.add("#subTask.#st_" + field + " = :st_" + field);
+    }
+    List<String> removals = new ArrayList<>();
+    for (String field : removeFields) {
+      names.put("#st_" + field, field);
+      removals.add("#subTask.#st_" + field);
+    }
+    String expression = "SET " + String.join(", ", assignments)
+        + (removals.isEmpty() ? "" : " REMOVE " + String.join(", ", removals));
+    Update update = Update.builder()
+        .tableName(taskTable.tableName())
+        .key(SubTaskItems.key(taskId, deadline, changes.getId()))
+        .updateExpression(expression)
+        .conditionExpression("attribute_exists(#pk)")
+        .expressionAttributeNames(names)
+        .expressionAttributeValues(values)
+        .build();
+
+    if (setFields.contains(SubTaskListConverter.COMPLETED)) {
+      String completed = "#subTask.#st_" + SubTaskListConverter.COMPLETED;
+      try {
+        writeSubTaskItem(taskId, deadline, update.toBuilder()
+                .conditionExpression("attribute_exists(#pk) AND " + completed + " <> :st_completed")
+                .build(), changes.getId(), expectedVersion, Boolean.TRUE.equals(changes.getCompleted()) ? 1 : -1);
+      } catch (TaskNotFoundException e) {
+        // ✅ Already at that value (or gone): written again without moving the counter
+        writeSubTaskItem(taskId, deadline, update.toBuilder()
+            .conditionExpression("attribute_exists(#pk) AND " + completed + " = :st_completed")
+            .build(), changes.getId(), expectedVersion, 0);
+      }
+    } else {
+      writeSubTaskItem(taskId, deadline, update, changes.getId(), expectedVersion, 0);
+    }
+    logger.info("Sub-task item {} of task {} updated ({} set, {} removed)", changes.getId(), taskId,
+        setFields.size(), removeFields.size());
+    return new SubTaskResult(null, changes, null);
+  }
+
+  // ✅ A lone sub-task item write needs no transaction; a version check or counter change makes it one
+  private void writeSubTaskItem(String taskId, Instant deadline, Update update, String subTaskId,
+                                Long expectedVersion, int addedCompleted) {
+    String notFound = String.format("Sub-task [%s] not found in task [%s]", subTaskId, taskId);
+    if (expectedVersion != null || addedCompleted != 0) {
+      writeSubTaskItems(taskId, deadline, List.of(taskCheck(taskId, deadline, expectedVersion, 0, addedCompleted),
+          TransactWriteItem.builder().update(update).build()), expectedVersion,
+          e -> new TaskNotFoundException(notFound, e));
+      if (addedCompleted != 0) {
+        taskCache.invalidate(taskId, deadline);
+      }
+      return;
+    }
+    try {
+      dynamoDbClient.updateItem(UpdateItemRequest.builder()
+          .tableName(update.tableName())
+          .key(update.key())
+          .updateExpression(update.updateExpression())
+          .conditionExpression(update.conditionExpression())
+          .expressionAttributeNames(update.expressionAttributeNames())
+          .expressionAttributeValues(update.expressionAttributeValues())
+          .build());
+    } catch (ConditionalCheckFailedException e) {
+      throw new TaskNotFoundException(notFound, e);
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException(String.format("Failed to update sub-tasks of task [%s]", taskId), e);
+    }
+  }
+
+  /**
+   * Checks the task item inside the transaction. With a non-zero {@code addedTotal} or {@code addedCompleted} it
+   * becomes an update of the progress counters; the version is never bumped.
+   */
+  private TransactWriteItem taskCheck(String taskId, Instant deadline, Long expectedVersion, int addedTotal,
+                                      int addedCompleted) {
+    Map<String, String> names = new HashMap<>();
+    Map<String, AttributeValue> values = new HashMap<>();
+    names.put("#pk", SubTaskItems.PARTITION_KEY);
+    names.put("#subTaskLayout", LAYOUT_ATTRIBUTE);
+    values.put(":itemsLayout", AttributeValue.fromS(SubTaskLayout.ITEMS.name()));
+    String condition = "attribute_exists(#pk) AND #subTaskLayout = :itemsLayout";
+    if (expectedVersion != null) {
+      names.put("#version", VERSION_ATTRIBUTE);
+      values.put(":expectedVersion", AttributeValue.fromN(expectedVersion.toString()));
+      condition += " AND #version = :expectedVersion";
+    }
+    String checked = condition;
+    if (addedTotal != 0 || addedCompleted != 0) {
+      names.put("#totalSubTasks", SubTaskProgress.TOTAL);
+      names.put("#completedSubTasks", SubTaskProgress.COMPLETED);
+      names.put("#progressUpdatedAt", SubTaskProgress.UPDATED_AT);
+      values.put(":addedTotal", AttributeValue.fromN(Integer.toString(addedTotal)));
+      values.put(":addedCompleted", AttributeValue.fromN(Integer.toString(addedCompleted)));
+      values.put(":now", AttributeValue.fromS(Instant.now().toString()));
+      return TransactWriteItem.builder()
+          .update(u -> u.tableName(taskTable.tableName())
+              .key(taskKey(taskId, deadline))
+              .updateExpression("SET #progressUpdatedAt = :now"
+                  + " ADD #totalSubTasks :addedTotal, #completedSubTasks :addedCompleted")
+              .conditionExpression(checked)
+              .expressionAttributeNames(names)
+              .expressionAttributeValues(values)
+              .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD))
+          .build();
+    }
+    return TransactWriteItem.builder()
+        .conditionCheck(c -> c.tableName(taskTable.tableName())
+            .key(taskKey(taskId, deadline))
+            .conditionExpression(checked)
+            .expressionAttributeNames(names)
+            .expressionAttributeValues(values)
+            .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD))
+        .build();
+  }
+
+  /**
+   * Runs {@code writes}, whose first item is the {@link #taskCheck}. A failed task check is reported as a missing task
+   * or a version conflict; a failed condition on a sub-task item goes through {@code itemFailure}.
+   */
+  private void writeSubTaskItems(String taskId, Instant deadline, List<TransactWriteItem> writes,
+                                 Long expectedVersion, Function<Throwable, RuntimeException> itemFailure) {
+    try {
+      dynamoDbClient.transactWriteItems(r -> r.transactItems(writes));
+    } catch (TransactionCanceledException e) {
+      List<CancellationReason> reasons = e.hasCancellationReasons() ? e.cancellationReasons() : List.of();
+      if (!reasons.isEmpty() && failedCondition(reasons.subList(0, 1))) {
+        CancellationReason task = reasons.get(0);
+        if (!task.hasItem() || task.item().isEmpty()) {
+          throw new TaskNotFoundException(String.format("Task not found with id [%s] and deadline [%s]", taskId,
+              DateTimeFormatter.ISO_INSTANT.format(deadline)), e);
+        }
+        AttributeValue storedVersion = task.item().get(VERSION_ATTRIBUTE);
+        throw new TaskConflictException(String.format("Task [%s] is at version %s, not %d", taskId,
+            storedVersion != null ? storedVersion.n() : "none", expectedVersion), e);
+      }
+      if (failedCondition(reasons)) {
+        throw itemFailure.apply(e);
+      }
+      throw new TaskRepositoryException(String.format("Failed to update sub-tasks of task [%s]", taskId), e);
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException(String.format("Failed to update sub-tasks of task [%s]", taskId), e);
+    }
+  }
+
+  private static boolean failedCondition(List<CancellationReason> reasons) {
+    return reasons.stream().anyMatch(reason -> "ConditionalCheckFailed".equals(reason.code()));
+  }
+
+  /**
+   * Reads one page of a task's sub-tasks in either layout. {@link SubTaskLayout#ITEMS} pages are a key range query
+   * ordered by sub-task id; embedded pages are cut from the list in the task item.
+   *
+   * @param exclusiveStartKey {@code lastEvaluatedKey} of the previous page, or {@code null} for the first page
+   */
+  public Page<SubTask> findSubTasks(String taskId, Instant deadline, int limit,
+                                    Map<String, AttributeValue> exclusiveStartKey) {
+    String formattedDeadline = DateTimeFormatter.ISO_INSTANT.format(deadline);
+    if (idGuard.definitelyAbsent(taskId)) {
+      throw new TaskNotFoundException(
+          String.format("Task not found with id [%s] and deadline [%s]", taskId, formattedDeadline));
+    }
+    try {
+      DbTask task = taskCache.get(taskId, deadline, () -> taskTable.getItem(Key.builder()
+          .partitionValue(taskId)
+          .sortValue(formattedDeadline)
+          .build()));
+      if (task == null) {
+        throw new TaskNotFoundException(
+            String.format("Task not found with id [%s] and deadline [%s]", taskId, formattedDeadline));
+      }
+      if (SubTaskLayout.of(task) == SubTaskLayout.EMBEDDED) {
+        List<SubTask> subTasks = task.getSubTasks();
+        int from = exclusiveStartKey != null ? offset(exclusiveStartKey, subTasks.size()) : 0;
+        int to = Math.min(from + limit, subTasks.size());
+        return subTaskPage(subTasks.subList(from, to),
+            to < subTasks.size() ? Map.of(OFFSET_KEY, AttributeValue.fromN(Integer.toString(to))) : null);
+      }
+
+      String prefix = SubTaskItems.sortKeyPrefix(deadline);
+      if (exclusiveStartKey != null && !(taskId.equals(exclusiveStartKey.get(SubTaskItems.PARTITION_KEY).s())
+          && SubTaskItems.isSubTaskItem(exclusiveStartKey)
+          && exclusiveStartKey.get(SubTaskItems.SORT_KEY).s().startsWith(prefix))) {
+        throw new IllegalArgumentException("Invalid page token");
+      }
+      QueryResponse response = dynamoDbClient.query(QueryRequest.builder()
+          .tableName(taskTable.tableName())
+          .keyConditionExpression("#pk = :pk AND begins_with(#sk, :prefix)")
+          .expressionAttributeNames(Map.of("#pk", SubTaskItems.PARTITION_KEY, "#sk", SubTaskItems.SORT_KEY))
+          .expressionAttributeValues(Map.of(":pk", AttributeValue.fromS(taskId), ":prefix",
+              AttributeValue.fromS(prefix)))
+          .limit(limit)
+          .exclusiveStartKey(exclusiveStartKey)
+          .build());
+      logger.info("Retrieved page of {} sub-task items of task {}", response.count(), taskId);
+      return subTaskPage(response.items().stream().map(SubTaskItems::fromItem).toList(),
+          response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()
+              ? response.lastEvaluatedKey()
+              : null);
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException(String.format("Failed to retrieve sub-tasks of task [%s]", taskId), e);
+    }
+  }
+
+  // ✅ The page builder copies the key, so the last page must leave it unset rather than null
+  private static Page<SubTask> subTaskPage(List<SubTask> subTasks, Map<String, AttributeValue> lastEvaluatedKey) {
+    Page.Builder<SubTask> page = Page.builder(SubTask.class).items(subTasks);
+    if (lastEvaluatedKey != null) {
+      page.lastEvaluatedKey(lastEvaluatedKey);
+    }
+    return page.build();
+  }
+
+  private static int offset(Map<String, AttributeValue> startKey, int size) {
+    AttributeValue offset = startKey.get(OFFSET_KEY);
+    int value = offset != null && offset.n() != null ? Integer.parseInt(offset.n()) : -1;
+    if (value < 0 || value > size) {
+      throw new IllegalArgumentException("Invalid page token");
+    }
+    return value;
+  }
+
+  // ✅ A single task is returned whole: ITEMS tasks get their sub-task items read in
+  private DbTask withSubTaskItems(DbTask task) {
+    if (task != null && SubTaskLayout.of(task) == SubTaskLayout.ITEMS) {
+      task.setSubTasks(dynamoDbClient.queryPaginator(QueryRequest.builder()
+              .tableName(taskTable.tableName())
+              .keyConditionExpression("#pk = :pk AND begins_with(#sk, :prefix)")
+              .expressionAttributeNames(Map.of("#pk", SubTaskItems.PARTITION_KEY, "#sk", SubTaskItems.SORT_KEY))
+              .expressionAttributeValues(Map.of(":pk", AttributeValue.fromS(task.getId()), ":prefix",
+                  AttributeValue.fromS(SubTaskItems.sortKeyPrefix(task.getDeadline()))))
+              .build())
+          .items()
+          .stream()
+          .map(SubTaskItems::fromItem)
+          .collect(Collectors.toCollection(ArrayList::new)));
+    }
+    return task;
+  }
+
+  // ✅ Tasks read in bulk don't get their sub-task items; null tells the mapper they were not loaded
+  private static DbTask withoutSubTaskItems(DbTask task) {
+    if (task != null && SubTaskLayout.of(task) == SubTaskLayout.ITEMS) {
+      task.setSubTasks(null);
+    }
+    return task;
+  }
+
+  // ✅ Sub-task item keys are read with the plain client, since they don't map to DbTask
+  private List<Map<String, AttributeValue>> queryKeys(String taskId, String sortKeyPrefix) {
+    return dynamoDbClient.queryPaginator(QueryRequest.builder()
+            .tableName(taskTable.tableName())
+            .keyConditionExpression("#pk = :pk AND begins_with(#sk, :prefix)")
+            .projectionExpression("#pk, #sk")
+            .expressionAttributeNames(Map.of("#pk", SubTaskItems.PARTITION_KEY, "#sk", SubTaskItems.SORT_KEY))
+            .expressionAttributeValues(Map.of(":pk", AttributeValue.fromS(taskId), ":prefix",
+                AttributeValue.fromS(sortKeyPrefix)))
+            .build())
+        .items()
+        .stream()
+        .toList();
+  }
+
+  private Map<String, AttributeValue> taskKey(String taskId, Instant deadline) {
+    return Key.builder().partitionValue(taskId).sortValue(DateTimeFormatter.ISO_INSTANT.format(deadline)).build()
+        .keyMap(taskTable.tableSchema(), TableMetadata.primaryIndexName());
+  }
+
+  // ✅ The version extension writes the next version without updating the object that was saved
+  private Long writtenVersion(DbTask task) {
+    if (taskTable.mapperExtension() == null) {
+      return task.getVersion();
+    }
+    return task.getVersion() == null ? 1L : task.getVersion() + 1;
+  }
+
+  private void prepareForInsert(DbTask task, Instant now) {
+    if (task.getId() == null) {
+      task.setId(UUID.randomUUID().toString());
+    }
+    task.setCreatedAt(now);
+    task.setUpdatedAt(now);
+    task.setVersion(1L);
+  }
+
   public DbTask findById(String taskId) {
+    if (idGuard.definitelyAbsent(taskId)) {
+      throw new TaskNotFoundException(String.format("Task not found with id [%s]", taskId));
+    }
     try {
       // Scan the table for the specific ID since we don't know the deadline
       Iterator<DbTask> results = taskTable.query(r -> r
-          .queryConditional(QueryConditional.keyEqualTo(k -> k
-              .partitionValue(taskId)))
+          .queryConditional(tasksOf(taskId))
       ).items().iterator();
 
       if (results.hasNext()) {
         DbTask task = results.next();
         logger.info("Task retrieved successfully with ID: {}", taskId);
-        return task;
+        return withSubTaskItems(task);
       } else {
         throw new TaskNotFoundException(String.format("Task not found with id [%s]", taskId));
       }
@@ -65,6 +990,10 @@ public class TaskRepository {
 
   // Get a task by both ID and deadline (more efficient)
   public DbTask findByIdAndDeadline(String taskId, Instant deadline) {
+    if (idGuard.definitelyAbsent(taskId)) {
+      throw new TaskNotFoundException(String.format("Task not found with id [%s] and deadline [%s]", taskId,
+          DateTimeFormatter.ISO_INSTANT.format(deadline)));
+    }
     try {
       // ✅ Ensure the format exactly matches DynamoDB stored format
       String formattedDeadline = DateTimeFormatter.ISO_INSTANT.format(deadline);
@@ -72,14 +1001,14 @@ public class TaskRepository {
 
       logger.info("🔍 Querying task with ID: {} and formatted deadline: {}", taskId, formattedDeadline);
 
-      DbTask task = taskTable.getItem(Key.builder()
+      DbTask task = taskCache.get(taskId, deadline, () -> taskTable.getItem(Key.builder()
           .partitionValue(taskId)
           .sortValue(formattedDeadline) // 🔥 Use exact format stored in DynamoDB
-          .build());
+          .build()));
 
       if (task != null) {
         logger.info("✅ Task retrieved successfully with ID: {} and deadline: {}", taskId, formattedDeadline);
-        return task;
+        return withSubTaskItems(task);
       } else {
         logger.warn("❌ Task not found with ID [{}] and deadline [{}]", taskId, formattedDeadline);
         throw new TaskNotFoundException(
@@ -92,21 +1021,334 @@ public class TaskRepository {
     }
   }
 
+  /**
+   * Reads only the attributes behind {@code fields} with a {@code ProjectionExpression}. A cached full task is
+   * returned as is; projected items are never cached, since the cache must only hold whole tasks.
+   */
+  public DbTask findByIdAndDeadline(String taskId, Instant deadline, TaskFields fields) {
+    if (fields.isAll()) {
+      return findByIdAndDeadline(taskId, deadline);
+    }
+    String formattedDeadline = DateTimeFormatter.ISO_INSTANT.format(deadline);
+    if (idGuard.definitelyAbsent(taskId)) {
+      throw new TaskNotFoundException(
+          String.format("Task not found with id [%s] and deadline [%s]", taskId, formattedDeadline));
+    }
+    DbTask cached = taskCache.getIfPresent(taskId, deadline);
+    try {
+      if (cached != null) {
+        return withSubTaskItems(cached);
+      }
+      Map<String, String> names = projectionNames(projection(fields));
+      TableSchema<DbTask> schema = taskTable.tableSchema();
+      GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
+          .tableName(taskTable.tableName())
+          .key(Key.builder().partitionValue(taskId).sortValue(formattedDeadline).build()
+              .keyMap(schema, TableMetadata.primaryIndexName()))
+          .projectionExpression(String.join(",", names.keySet()))
+          .expressionAttributeNames(names)
+          .build());
+      if (!response.hasItem() || response.item().isEmpty()) {
+        throw new TaskNotFoundException(
+            String.format("Task not found with id [%s] and deadline [%s]", taskId, formattedDeadline));
+      }
+      logger.info("Task retrieved with ID: {} and deadline: {} projecting [{}]", taskId, formattedDeadline, fields);
+      DbTask task = withSubTaskItems(schema.mapToItem(response.item()));
+      countLegacyProgress(List.of(task), fields);
+      return task;
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException(
+          String.format("Failed to retrieve task with ID [%s] and deadline [%s]", taskId, deadline), e);
+    }
+  }
+
+  /**
+   * A {@code progress} projection reads only the counters. Tasks stored before the counters existed have their
+   * sub-task list and layout read in as well, in one batch, so the mapper can count progress from them; ITEMS
+   * tasks among them are left without sub-tasks and so without progress.
+   */
+  private void countLegacyProgress(List<DbTask> tasks, TaskFields fields) {
+    if (fields.isAll() || !fields.includes(TaskFields.Field.PROGRESS) || fields.includes(TaskFields.Field.SUB_TASKS)) {
+      return;
+    }
+    List<DbTask> legacy = tasks.stream()
+        .filter(task -> task.getTotalSubTasks() == null || task.getCompletedSubTasks() == null)
+        .toList();
+    if (legacy.isEmpty()) {
+      return;
+    }
+    TableSchema<DbTask> schema = taskTable.tableSchema();
+    List<Map<String, AttributeValue>> items = batchReader.getAll(taskTable.tableName(), legacy.stream()
+        .map(task -> taskKey(task.getId(), task.getDeadline()))
+        .toList());
+    for (int i = 0; i < legacy.size(); i++) {
+      DbTask task = legacy.get(i);
+      if (items.get(i) == null) {
+        continue;
+      }
+      DbTask stored = schema.mapToItem(items.get(i));
+      task.setSubTaskLayout(stored.getSubTaskLayout());
+      task.setSubTasks(stored.getSubTasks());
+      withoutSubTaskItems(task);
+    }
+  }
+
+  // ✅ Whether subTasks can be read from the task item depends on the layout, so it comes along with them
+  private static List<String> projection(TaskFields fields) {
+    if (fields.isAll()) {
+      return null;
+    }
+    List<String> attributes = new ArrayList<>(fields.attributes());
+    if (attributes.contains(SUB_TASKS_ATTRIBUTE)) {
+      attributes.add(LAYOUT_ATTRIBUTE);
+    }
+    return attributes;
+  }
+
+  // ✅ Placeholders for every projected attribute, since status and others are DynamoDB reserved words
+  private static Map<String, String> projectionNames(List<String> attributes) {
+    Map<String, String> names = new LinkedHashMap<>();
+    for (String attribute : attributes) {
+      names.put("#p" + names.size(), attribute);
+    }
+    return names;
+  }
+
+  /**
+   * Fetches many tasks by primary key with chunked {@code BatchGetItem} calls.
+   *
+   * @return tasks in the same order as {@code keys}, with {@code null} for keys that have no item
+   */
+  public List<DbTask> findAllByKeys(List<TaskKey> keys) {
+    try {
+      TableSchema<DbTask> schema = taskTable.tableSchema();
+      List<Map<String, AttributeValue>> keyMaps = keys.stream()
+          .map(key -> Key.builder()
+              .partitionValue(key.getId())
+              .sortValue(DateTimeFormatter.ISO_INSTANT.format(key.getDeadline()))
+              .build()
+              .keyMap(schema, TableMetadata.primaryIndexName()))
+          .toList();
+
+      List<Map<String, AttributeValue>> items = batchReader.getAll(taskTable.tableName(), keyMaps);
+      List<DbTask> tasks = new ArrayList<>(items.size());
+      items.forEach(item -> tasks.add(item != null ? withoutSubTaskItems(schema.mapToItem(item)) : null));
+      logger.info("Batch retrieved {} of {} requested tasks", tasks.stream().filter(Objects::nonNull).count(),
+          keys.size());
+      return tasks;
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException(String.format("Failed to batch retrieve %d tasks", keys.size()), e);
+    }
+  }
+
   // Find all tasks for a given ID ordered by deadline
   public List<DbTask> findAllByIdOrderByDeadline(String taskId) {
+    if (idGuard.definitelyAbsent(taskId)) {
+      return List.of();
+    }
     return taskTable.query(r -> r
-            .queryConditional(QueryConditional.keyEqualTo(k -> k
-                .partitionValue(taskId))))
+            .queryConditional(tasksOf(taskId)))
         .items()
         .stream()
+        .map(TaskRepository::withoutSubTaskItems)
         .toList();
   }
 
+  /**
+   * Reads the dependency attributes of every deadline of each id, with one concurrent query per id; ids alone are no
+   * primary key, so {@code BatchGetItem} cannot be used. Ids the id filter rules out are not queried.
+   *
+   * @return the tasks found, with only {@code id}, {@code deadline}, {@code parentTaskId} and
+   * {@code dependentTaskIds} set
+   */
+  public List<DbTask> findDependencyLinks(Collection<String> taskIds) {
+    List<String> projection = List.of(SubTaskItems.PARTITION_KEY, SubTaskItems.SORT_KEY, PARENT_TASK_ID_ATTRIBUTE,
+        DEPENDENT_TASK_IDS_ATTRIBUTE);
+    try {
+      List<CompletableFuture<List<DbTask>>> queries = taskIds.stream()
+          .filter(taskId -> !idGuard.definitelyAbsent(taskId))
+          .map(taskId -> CompletableFuture.supplyAsync(() -> taskTable.query(QueryEnhancedRequest.builder()
+                  .queryConditional(tasksOf(taskId))
+                  .attributesToProject(projection)
+                  .build())
+              .items()
+              .stream()
+              .toList(), queryExecutor))
+          .toList();
+      return queries.stream()
+          .flatMap(query -> query.join().stream())
+          .toList();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof DynamoDbException cause
+          ? new TaskRepositoryException("Failed to read task dependencies", cause)
+          : e;
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException("Failed to read task dependencies", e);
+    }
+  }
+
+  // ✅ Task sort keys are ISO instants, which sort before the SUB# keys of sub-task items
+  private static QueryConditional tasksOf(String taskId) {
+    return QueryConditional.sortLessThan(k -> k.partitionValue(taskId).sortValue(SubTaskItems.PREFIX));
+  }
+
+  public QueryPlan planSearch(TaskSearchCriteria criteria) {
+    try {
+      return queryPlanner.plan(criteria);
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException("Failed to plan task search", e);
+    }
+  }
+
+  /**
+   * Runs a plan from {@link #planSearch}. Multi-value index plans query every partition in parallel; at most
+   * {@code limit} tasks are returned.
+   */
+  public List<DbTask> search(QueryPlan plan, int limit) {
+    return search(plan, limit, TaskFields.ALL);
+  }
+
+  /**
+   * Runs the plan, reading only the attributes behind {@code fields}. The filter is applied before the projection,
+   * so it may reference attributes that are not returned.
+   */
+  public List<DbTask> search(QueryPlan plan, int limit, TaskFields fields) {
+    List<String> projection = projection(fields);
+    try {
+      List<DbTask> tasks;
+      if (plan.getAccessPath() == QueryPlan.AccessPath.SCAN) {
+        tasks = taskTable.scan(ScanEnhancedRequest.builder()
+                .filterExpression(SubTaskItems.tasksOnly(plan.getFilter()))
+                .attributesToProject(projection)
+                .build())
+            .items()
+            .stream()
+            .limit(limit)
+            .map(TaskRepository::withoutSubTaskItems)
+            .toList();
+      } else {
+        DynamoDbIndex<DbTask> index = taskTable.index(plan.getIndexName());
+        List<CompletableFuture<List<DbTask>>> partitions = plan.getPartitionValues().stream()
+            .map(value -> CompletableFuture.supplyAsync(() -> index.query(QueryEnhancedRequest.builder()
+                    .queryConditional(QueryConditional.keyEqualTo(k -> k.partitionValue(value)))
+                    .filterExpression(plan.getFilter())
+                    .attributesToProject(projection)
+                    .build())
+                .stream()
+                .flatMap(page -> page.items().stream())
+                .limit(limit)
+                .toList(), queryExecutor))
+            .toList();
+        // ✅ Each status shard comes back in deadline order, so the shards merge into one ordered result
+        tasks = (plan.getAccessPath() == QueryPlan.AccessPath.STATUS_SHARD_INDEX
+            ? StatusShards.mergeByDeadline(partitions.stream().map(CompletableFuture::join).toList(), limit).stream()
+            : partitions.stream().flatMap(partition -> partition.join().stream()).limit(limit))
+            .map(TaskRepository::withoutSubTaskItems)
+            .toList();
+      }
+      countLegacyProgress(tasks, fields);
+      logger.info("Search via {} returned {} tasks", plan.getAccessPath(), tasks.size());
+      return tasks;
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof DynamoDbException cause
+          ? new TaskRepositoryException("Failed to search tasks", cause)
+          : e;
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException("Failed to search tasks", e);
+    }
+  }
+
+  // ✅ DescribeTable counts only refresh every few hours, no need to ask on every search
+  private TableStatistics tableStatistics() {
+    long now = System.currentTimeMillis();
+    TableStatistics current = statistics;
+    if (current == null || now >= statisticsExpireAtMillis) {
+      current = TableStatistics.describe(dynamoDbClient, taskTable.tableName());
+      statistics = current;
+      statisticsExpireAtMillis = now + STATISTICS_TTL.toMillis();
+    }
+    return current;
+  }
+
+  /**
+   * Reads one page of at most {@code limit} tasks, starting after {@code exclusiveStartKey} (or at the beginning
+   * when it is {@code null}). The page's {@code lastEvaluatedKey} is {@code null} once the table is exhausted.
+   */
+  public Page<DbTask> findPage(int limit, Map<String, AttributeValue> exclusiveStartKey) {
+    return findPage(limit, exclusiveStartKey, TaskFields.ALL);
+  }
+
+  public Page<DbTask> findPage(int limit, Map<String, AttributeValue> exclusiveStartKey, TaskFields fields) {
+    try {
+      // ✅ Limit counts the sub-task items the filter drops, so a page can come back short
+      Page<DbTask> page = taskTable.scan(ScanEnhancedRequest.builder()
+              .limit(limit)
+              .exclusiveStartKey(exclusiveStartKey)
+              .filterExpression(SubTaskItems.tasksOnly(null))
+              .attributesToProject(projection(fields))
+              .build())
+          .iterator()
+          .next();
+      page.items().forEach(TaskRepository::withoutSubTaskItems);
+      countLegacyProgress(page.items(), fields);
+      logger.info("Retrieved page of {} tasks", page.items().size());
+      return page;
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException("Failed to retrieve tasks", e);
+    }
+  }
+
+  /**
+   * Lazily iterates the whole table; pages of {@code pageSize} are fetched as the stream is consumed, so only one
+   * page is held at a time. Close the stream or stop consuming it to stop reading.
+   */
+  public Stream<DbTask> streamAll(int pageSize) {
+    return taskTable.scan(ScanEnhancedRequest.builder()
+            .limit(pageSize)
+            .filterExpression(SubTaskItems.tasksOnly(null))
+            .build())
+        .items()
+        .stream()
+        .map(TaskRepository::withoutSubTaskItems);
+  }
+
+  /**
+   * Full-table pass using a segmented parallel scan. {@code consumer} is called on the calling thread, one task at
+   * a time; with a projection only the projected attributes are populated. The table name is filled in here.
+   */
+  public ScanSummary scanAll(ParallelScanRequest request, Consumer<DbTask> consumer) {
+    try {
+      TableSchema<DbTask> schema = taskTable.tableSchema();
+      request.setTableName(taskTable.tableName());
+      request.setFilter(SubTaskItems.tasksOnly(request.getFilter()));
+      return parallelScanner.scan(request, item -> consumer.accept(withoutSubTaskItems(schema.mapToItem(item))));
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException("Failed to scan tasks", e);
+    }
+  }
+
+  /**
+   * Counts the tasks matching {@code filter} (all tasks when {@code null}) with a parallel {@code Select COUNT}
+   * scan, without transferring any items.
+   */
+  public long countAll(Expression filter) {
+    ParallelScanRequest request = new ParallelScanRequest()
+        .setFilter(filter)
+        .setCountOnly(true);
+    return scanAll(request, task -> {
+    }).getMatchedCount();
+  }
+
+  /**
+   * @deprecated loads the entire table into memory; use {@link #findPage} or {@link #streamAll} instead
+   */
+  @Deprecated
   public List<DbTask> findAll() {
     try {
-      List<DbTask> tasks = taskTable.scan()
+      List<DbTask> tasks = taskTable.scan(r -> r.filterExpression(SubTaskItems.tasksOnly(null)))
           .items()
           .stream()
+          .map(TaskRepository::withoutSubTaskItems)
           .toList();
       logger.info("Retrieved {} tasks from the table.", tasks.size());
       return tasks;
@@ -115,13 +1357,117 @@ public class TaskRepository {
     }
   }
 
-  public void deleteById(String taskId) {
+  public int deleteAllById(String taskId) {
+    return deleteAllById(taskId, DELETE_MODE);
+  }
+
+  /**
+   * Deletes every deadline stored under {@code taskId}, with the sub-task items of any ITEMS layout deadline: one
+   * keys-only query, then the deletes.
+   * <ul>
+   *   <li>{@link DeleteMode#BATCH}: concurrent 25-key {@code BatchWriteItem} calls with unprocessed-item retry. Items
+   *   that still fail are reported in the exception; the rest stay deleted.</li>
+   *   <li>{@link DeleteMode#TRANSACTIONAL}: one {@code TransactWriteItems} call, so either every item goes or none
+   *   does. Limited to {@value #MAX_TRANSACTION_ITEMS} items.</li>
+   * </ul>
+   *
+   * @return the number of items deleted; 0 when the task doesn't exist
+   */
+  public int deleteAllById(String taskId, DeleteMode mode) {
+    if (idGuard.definitelyAbsent(taskId)) {
+      return 0;
+    }
+    List<Map<String, AttributeValue>> keys;
     try {
-      taskTable.deleteItem(Key.builder().partitionValue(taskId).build());
-      logger.info("Task deleted successfully with ID: {}", taskId);
+      keys = findKeysById(taskId);
     } catch (DynamoDbException e) {
       throw new TaskRepositoryException(String.format("Failed to delete task with ID [%s]", taskId), e);
     }
+    if (keys.isEmpty()) {
+      return 0;
+    }
+    try {
+      if (mode == DeleteMode.TRANSACTIONAL) {
+        deleteTransactionally(taskId, keys);
+      } else if (keys.size() == 1) {
+        // ✅ A lone item doesn't need a batch call
+        taskTable.deleteItem(Key.builder()
+            .partitionValue(taskId)
+            .sortValue(keys.get(0).get(SubTaskItems.SORT_KEY).s())
+            .build());
+      } else {
+        deleteInBatches(taskId, keys);
+      }
+      logger.info("Task deleted successfully with ID: {} ({} items)", taskId, keys.size());
+      return keys.size();
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException(String.format("Failed to delete task with ID [%s]", taskId), e);
+    } finally {
+      // ✅ Also after a partial failure: some of the cached deadlines may be gone
+      taskCache.invalidateAll(taskId);
+      idGuard.recordDeleted(taskId);
+    }
+  }
+
+  // ✅ Keys of the task items, then of the sub-task items of those with the ITEMS layout
+  private List<Map<String, AttributeValue>> findKeysById(String taskId) {
+    TableSchema<DbTask> schema = taskTable.tableSchema();
+    TableMetadata metadata = schema.tableMetadata();
+    List<Map<String, AttributeValue>> keys = new ArrayList<>();
+    taskTable.query(QueryEnhancedRequest.builder()
+            .queryConditional(tasksOf(taskId))
+            .attributesToProject(metadata.primaryPartitionKey(), metadata.primarySortKey().orElseThrow(),
+                LAYOUT_ATTRIBUTE)
+            .build())
+        .items()
+        .forEach(task -> {
+          keys.add(taskTable.keyFrom(task).keyMap(schema, TableMetadata.primaryIndexName()));
+          if (SubTaskLayout.of(task) == SubTaskLayout.ITEMS) {
+            keys.addAll(queryKeys(taskId, SubTaskItems.sortKeyPrefix(task.getDeadline())));
+          }
+        });
+    return keys;
+  }
+
+  private void deleteInBatches(String taskId, List<Map<String, AttributeValue>> keys) {
+    List<WriteRequest> requests = keys.stream()
+        .map(key -> WriteRequest.builder()
+            .deleteRequest(d -> d.key(key))
+            .build())
+        .toList();
+    Map<Integer, String> failures = batchWriter.writeAll(taskTable.tableName(), requests);
+    if (!failures.isEmpty()) {
+      throw new TaskRepositoryException(String.format("Failed to delete %d of %d items of task [%s]: %s",
+          failures.size(), keys.size(), taskId, failures.values().iterator().next()));
+    }
+  }
+
+  private void deleteTransactionally(String taskId, List<Map<String, AttributeValue>> keys) {
+    if (keys.size() > MAX_TRANSACTION_ITEMS) {
+      throw new IllegalArgumentException(String.format(
+          "Task [%s] has %d items; transactional deletes support at most %d", taskId, keys.size(),
+          MAX_TRANSACTION_ITEMS));
+    }
+    String partitionKey = taskTable.tableSchema().tableMetadata().primaryPartitionKey();
+    List<TransactWriteItem> deletes = keys.stream()
+        .map(key -> TransactWriteItem.builder()
+            .delete(d -> d.tableName(taskTable.tableName())
+                .key(key)
+                .conditionExpression("attribute_exists(#pk)")
+                .expressionAttributeNames(Map.of("#pk", partitionKey)))
+            .build())
+        .toList();
+    try {
+      dynamoDbClient.transactWriteItems(r -> r.transactItems(deletes));
+    } catch (TransactionCanceledException e) {
+      boolean changed = e.hasCancellationReasons() && e.cancellationReasons().stream()
+          .anyMatch(reason -> "ConditionalCheckFailed".equals(reason.code()));
+      if (changed) {
+        throw new TaskConflictException(
+            String.format("Task [%s] changed while it was being deleted; nothing was deleted", taskId), e);
+      }
+      throw e;
+    }
   }
 
   public void deleteById(String taskId, Instant deadline) {
@@ -131,10 +1477,154 @@ public class TaskRepository {
           .sortValue(deadline.toString()) // Add the sort key here
           .build();
 
-      taskTable.deleteItem(key);
+      DbTask deleted = taskTable.deleteItem(key);
+      if (deleted != null && SubTaskLayout.of(deleted) == SubTaskLayout.ITEMS) {
+        List<Map<String, AttributeValue>> subTaskKeys = queryKeys(taskId, SubTaskItems.sortKeyPrefix(deadline));
+        if (!subTaskKeys.isEmpty()) {
+          deleteInBatches(taskId, subTaskKeys);
+        }
+      }
+      taskCache.invalidate(taskId, deadline);
+      idGuard.recordDeleted(taskId);
       logger.info("Task deleted successfully with ID: {}", taskId);
     } catch (DynamoDbException e) {
       throw new TaskRepositoryException(String.format("Failed to delete task with ID [%s]", taskId), e);
     }
   }
+
+  public TaskCacheStats cacheStats() {
+    return taskCache.stats();
+  }
+
+  public TaskIdFilterStats idFilterStats() {
+    return idGuard.stats();
+  }
+
+  /**
+   * Writes the progress counters of tasks stored before they existed, found with a parallel scan. Each write is
+   * conditional on what was counted, so it is safe to run alongside traffic and to re-run.
+   *
+   * @return the number of tasks given counters
+   */
+  public int backfillProgress() {
+    String partitionKey = taskTable.tableSchema().tableMetadata().primaryPartitionKey();
+    String sortKey = taskTable.tableSchema().tableMetadata().primarySortKey().orElseThrow();
+    ParallelScanRequest request = new ParallelScanRequest()
+        .setTableName(taskTable.tableName())
+        .setProjection(List.of(partitionKey, sortKey, SUB_TASKS_ATTRIBUTE, LAYOUT_ATTRIBUTE))
+        .setFilter(SubTaskItems.tasksOnly(Expression.builder()
+            .expression("attribute_not_exists(#totalSubTasks)")
+            .putExpressionName("#totalSubTasks", SubTaskProgress.TOTAL)
+            .build()));
+    int[] backfilled = {0};
+    try {
+      parallelScanner.scan(request, item -> {
+        Map<String, AttributeValue> key = Map.of(partitionKey, item.get(partitionKey), sortKey, item.get(sortKey));
+        if (isItemsLayout(item) ? countSubTaskItems(key) : migrateSubTasks(key, item.get(SUB_TASKS_ATTRIBUTE))) {
+          taskCache.invalidate(key.get(partitionKey).s(), Instant.parse(key.get(sortKey).s()));
+          backfilled[0]++;
+        }
+      });
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException("Failed to backfill progress counters", e);
+    }
+    logger.info("Backfilled progress counters of {} tasks", backfilled[0]);
+    return backfilled[0];
+  }
+
+  /**
+   * Writes {@code statusShard} on every task where it is missing or stale: tasks written before status sharding was
+   * turned on, or under a different shard count. Each write is conditional on the status the key was derived from,
+   * so a task whose status changed meanwhile is left to the write that changed it.
+   *
+   * @return the number of tasks updated
+   */
+  public int backfillStatusShards() {
+    if (statusShards < 1) {
+      throw new IllegalStateException("Status sharding is off; set TASK_STATUS_SHARDS first");
+    }
+    String partitionKey = taskTable.tableSchema().tableMetadata().primaryPartitionKey();
+    String sortKey = taskTable.tableSchema().tableMetadata().primarySortKey().orElseThrow();
+    ParallelScanRequest request = new ParallelScanRequest()
+        .setTableName(taskTable.tableName())
+        .setProjection(List.of(partitionKey, sortKey, STATUS_ATTRIBUTE, StatusShards.ATTRIBUTE))
+        .setFilter(SubTaskItems.tasksOnly(Expression.builder()
+            .expression("attribute_exists(#status)")
+            .putExpressionName("#status", STATUS_ATTRIBUTE)
+            .build()));
+    int[] backfilled = {0};
+    try {
+      parallelScanner.scan(request, item -> {
+        String status = item.get(STATUS_ATTRIBUTE).s();
+        String expected = StatusShards.key(TaskStatus.valueOf(status),
+            StatusShards.shard(item.get(partitionKey).s(), statusShards));
+        AttributeValue stored = item.get(StatusShards.ATTRIBUTE);
+        if (stored != null && expected.equals(stored.s())) {
+          return;
+        }
+        Map<String, AttributeValue> key = Map.of(partitionKey, item.get(partitionKey), sortKey, item.get(sortKey));
+        try {
+          dynamoDbClient.updateItem(UpdateItemRequest.builder()
+              .tableName(taskTable.tableName())
+              .key(key)
+              .updateExpression("SET #statusShard = :statusShard")
+              .conditionExpression("#status = :status")
+              .expressionAttributeNames(Map.of("#statusShard", StatusShards.ATTRIBUTE, "#status", STATUS_ATTRIBUTE))
+              .expressionAttributeValues(Map.of(":statusShard", AttributeValue.fromS(expected),
+                  ":status", AttributeValue.fromS(status)))
+              .build());
+          taskCache.invalidate(key.get(partitionKey).s(), Instant.parse(key.get(sortKey).s()));
+          backfilled[0]++;
+        } catch (ConditionalCheckFailedException e) {
+          logger.debug("Status of task {} changed during the backfill; skipped", key.get(partitionKey).s());
+        }
+      });
+    } catch (DynamoDbException e) {
+      throw new TaskRepositoryException("Failed to backfill status shards", e);
+    }
+    logger.info("Backfilled the status shard of {} tasks", backfilled[0]);
+    return backfilled[0];
+  }
+
+  // ✅ Sub-task items written before counters existed; skipped if a counter appeared meanwhile
+  private boolean countSubTaskItems(Map<String, AttributeValue> key) {
+    DbTask task = new DbTask();
+    task.setId(key.get(SubTaskItems.PARTITION_KEY).s());
+    task.setDeadline(Instant.parse(key.get(SubTaskItems.SORT_KEY).s()));
+    task.setSubTaskLayout(SubTaskLayout.ITEMS);
+    List<SubTask> subTasks = withSubTaskItems(task).getSubTasks();
+    try {
+      dynamoDbClient.updateItem(UpdateItemRequest.builder()
+          .tableName(taskTable.tableName())
+          .key(key)
+          .updateExpression("SET #totalSubTasks = :total, #completedSubTasks = :completed, #progressUpdatedAt = :now")
+          .conditionExpression("attribute_exists(#pk) AND attribute_not_exists(#totalSubTasks)")
+          .expressionAttributeNames(Map.of("#pk", SubTaskItems.PARTITION_KEY, "#totalSubTasks", SubTaskProgress.TOTAL,
+              "#completedSubTasks", SubTaskProgress.COMPLETED, "#progressUpdatedAt", SubTaskProgress.UPDATED_AT))
+          .expressionAttributeValues(Map.of(
+              ":total", AttributeValue.fromN(Integer.toString(subTasks.size())),
+              ":completed", AttributeValue.fromN(Integer.toString(SubTaskProgress.completed(subTasks))),
+              ":now", AttributeValue.fromS(Instant.now().toString())))
+          .build());
+      return true;
+    } catch (ConditionalCheckFailedException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Rebuilds the task id filter now instead of waiting for its refresh interval.
+   */
+  public TaskIdFilterStats rebuildIdFilter() {
+    return idGuard.rebuild();
+  }
+
+  // ✅ Key-only scan: the partition key is all the filter needs
+  private void scanIds(Consumer<String> consumer) {
+    String partitionKey = taskTable.tableSchema().tableMetadata().primaryPartitionKey();
+    ParallelScanRequest request = new ParallelScanRequest()
+        .setTableName(taskTable.tableName())
+        .setProjection(List.of(partitionKey));
+    parallelScanner.scan(request, item -> consumer.accept(item.get(partitionKey).s()));
+  }
 }
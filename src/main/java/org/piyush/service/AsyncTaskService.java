@@ -0,0 +1,48 @@
+package org.piyush.service;
+
+import org.mapstruct.factory.Mappers;
+import org.piyush.constant.TaskConstants;
+import org.piyush.mapper.TaskMapper;
+import org.piyush.model.taskmanagement.*;
+import org.piyush.repositories.AsyncTaskRepository;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read operations of {@link TaskService} on top of {@link AsyncTaskRepository}. A task's sub-task items and the
+ * partitions of a search are read on the SDK's completion threads, so no request thread waits between them. Writes
+ * go through {@link TaskService}.
+ */
+public class AsyncTaskService {
+  private final AsyncTaskRepository taskRepository;
+  private final TaskMapper taskMapper;
+
+  public AsyncTaskService() {
+    this(new AsyncTaskRepository(), Mappers.getMapper(TaskMapper.class));
+  }
+
+  public AsyncTaskService(AsyncTaskRepository taskRepository, TaskMapper taskMapper) {
+    this.taskRepository = taskRepository;
+    this.taskMapper = taskMapper;
+  }
+
+  public CompletableFuture<TaskRead> getTask(String taskId) {
+    return taskRepository.findById(taskId).thenApply(taskMapper::mapDbToRead);
+  }
+
+  public CompletableFuture<TaskRead> getTask(String taskId, Instant deadline) {
+    return taskRepository.findByIdAndDeadline(taskId, deadline).thenApply(taskMapper::mapDbToRead);
+  }
+
+  public CompletableFuture<TaskSearchResult> searchTasks(TaskSearchCriteria criteria, boolean explain) {
+    return taskRepository.planSearch(criteria).thenCompose(plan -> {
+      TaskSearchResult result = new TaskSearchResult().setPlan(plan);
+      if (explain) {
+        return CompletableFuture.completedFuture(result);
+      }
+      return taskRepository.search(plan, TaskConstants.SEARCH_MAX_RESULTS)
+          .thenApply(tasks -> result.setTasks(tasks.stream().map(taskMapper::mapDbToRead).toList()));
+    });
+  }
+}
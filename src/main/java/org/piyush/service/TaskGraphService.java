@@ -0,0 +1,169 @@
+package org.piyush.service;
+
+import org.piyush.exception.TaskConflictException;
+import org.piyush.exception.TaskNotFoundException;
+import org.piyush.graph.TaskGraph;
+import org.piyush.model.dynamodb.DbTask;
+import org.piyush.model.taskmanagement.DependencyGraph;
+import org.piyush.repositories.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads {@code parentTaskId} and {@code dependentTaskIds} as a dependency graph: a task has to finish before the
+ * tasks in its {@code dependentTaskIds} and before its parent. Graphs are loaded downstream from a task one level
+ * at a time, each level read with concurrent queries, and built into a {@link TaskGraph}.
+ */
+public class TaskGraphService {
+  private static final Logger logger = LoggerFactory.getLogger(TaskGraphService.class);
+  private static final int MAX_NODES = Integer.parseInt(
+      System.getenv().getOrDefault("TASK_GRAPH_MAX_NODES", "200000"));
+
+  private final TaskRepository taskRepository;
+  private final int maxNodes;
+
+  public TaskGraphService(TaskRepository taskRepository) {
+    this(taskRepository, MAX_NODES);
+  }
+
+  public TaskGraphService(TaskRepository taskRepository, int maxNodes) {
+    this.taskRepository = taskRepository;
+    this.maxNodes = maxNodes;
+  }
+
+  /**
+   * Orders everything downstream of {@code taskId} and works out when it can finish.
+   *
+   * @throws TaskNotFoundException if no task has that id
+   * @throws TaskConflictException if the dependencies form a cycle
+   */
+  public DependencyGraph analyze(String taskId) {
+    Closure closure = load(List.of(taskId), null);
+    if (!closure.found().contains(taskId)) {
+      throw new TaskNotFoundException(String.format("Task not found with id [%s]", taskId));
+    }
+    TaskGraph graph = closure.graph();
+    int[] order = graph.topologicalOrder();
+    if (order == null) {
+      throw new TaskConflictException(String.format("Dependencies of task [%s] form a cycle: %s", taskId,
+          String.join(" -> ", graph.findCycle())));
+    }
+    TaskGraph.Schedule schedule = graph.schedule(order);
+
+    List<String> late = new ArrayList<>();
+    List<String> missing = new ArrayList<>();
+    for (int node = 0; node < graph.nodeCount(); node++) {
+      if (graph.deadline(node) == TaskGraph.NO_DEADLINE) {
+        missing.add(graph.id(node));
+      } else if (schedule.earliestFinish()[node] > graph.deadline(node)) {
+        late.add(graph.id(node));
+      }
+    }
+    int[] criticalPath = schedule.criticalPath();
+    DependencyGraph result = new DependencyGraph();
+    result.setTaskId(taskId);
+    result.setNodeCount(graph.nodeCount());
+    result.setEdgeCount(graph.edgeCount());
+    result.setOrder(ids(graph, order));
+    result.setCriticalPath(ids(graph, criticalPath));
+    result.setProjectedFinish(criticalPath.length > 0 ? schedule.finish(criticalPath[criticalPath.length - 1]) : null);
+    result.setLateTaskIds(late);
+    result.setMissingTaskIds(missing);
+    logger.info("Dependency graph of task {}: {} tasks, {} edges, {} late", taskId, graph.nodeCount(),
+        graph.edgeCount(), late.size());
+    return result;
+  }
+
+  /**
+   * Checks that making {@code taskId} finish before each of {@code successors} closes no cycle, which it does when
+   * {@code taskId} is already downstream of one of them. Loading stops as soon as {@code taskId} is reached.
+   *
+   * @throws TaskConflictException naming the cycle the new edges would close
+   */
+  public void checkNewEdges(String taskId, Collection<String> successors) {
+    if (successors.isEmpty()) {
+      return;
+    }
+    if (successors.contains(taskId)) {
+      throw new TaskConflictException(String.format("Task [%s] cannot depend on itself", taskId));
+    }
+    TaskGraph graph = load(successors, taskId).graph();
+    if (graph.node(taskId) < 0) {
+      return;
+    }
+    for (String successor : successors) {
+      List<String> path = graph.path(successor, taskId);
+      if (!path.isEmpty()) {
+        throw new TaskConflictException(String.format("Task [%s] already depends on [%s]; this would close the "
+            + "cycle %s -> %s", taskId, successor, taskId, String.join(" -> ", path)));
+      }
+    }
+  }
+
+  /**
+   * Ids a task has to finish before: its dependents and its parent.
+   */
+  public static Set<String> successors(DbTask task) {
+    Set<String> successors = new LinkedHashSet<>();
+    if (task.getDependentTaskIds() != null) {
+      task.getDependentTaskIds().stream()
+          .filter(id -> id != null && !id.isBlank())
+          .forEach(successors::add);
+    }
+    if (task.getParentTaskId() != null && !task.getParentTaskId().isBlank()) {
+      successors.add(task.getParentTaskId());
+    }
+    return successors;
+  }
+
+  // ✅ Breadth-first by level, so each level's ids go to the repository together
+  private Closure load(Collection<String> roots, String stopAt) {
+    TaskGraph.Builder builder = TaskGraph.builder();
+    Set<String> found = new HashSet<>();
+    List<String> frontier = new ArrayList<>(new LinkedHashSet<>(roots));
+    frontier.forEach(builder::intern);
+    int levels = 0;
+    while (!frontier.isEmpty() && (stopAt == null || !builder.contains(stopAt))) {
+      // ✅ A task stored with several deadlines is one node with the union of their edges
+      Map<String, Set<String>> successorsById = new LinkedHashMap<>();
+      for (DbTask task : taskRepository.findDependencyLinks(frontier)) {
+        found.add(task.getId());
+        builder.deadline(task.getId(), task.getDeadline());
+        successorsById.computeIfAbsent(task.getId(), id -> new LinkedHashSet<>()).addAll(successors(task));
+      }
+      List<String> next = new ArrayList<>();
+      successorsById.forEach((id, successors) -> successors.forEach(successor -> {
+        if (!builder.contains(successor)) {
+          next.add(successor);
+        }
+        builder.edge(id, successor);
+      }));
+      if (builder.nodeCount() > maxNodes) {
+        throw new IllegalArgumentException(String.format(
+            "The dependency graph has more than %d tasks; set TASK_GRAPH_MAX_NODES to allow more", maxNodes));
+      }
+      frontier = next;
+      levels++;
+    }
+    TaskGraph graph = builder.build();
+    logger.info("Loaded {} tasks and {} edges in {} levels", graph.nodeCount(), graph.edgeCount(), levels);
+    return new Closure(graph, found);
+  }
+
+  private static List<String> ids(TaskGraph graph, int[] nodes) {
+    return Arrays.stream(nodes).mapToObj(graph::id).toList();
+  }
+
+  private record Closure(TaskGraph graph, Set<String> found) {
+  }
+}
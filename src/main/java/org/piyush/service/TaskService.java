@@ -1,58 +1,404 @@
 package org.piyush.service;
 
 import org.mapstruct.factory.Mappers;
+import org.piyush.constant.SubTaskLayout;
+import org.piyush.constant.TaskConstants;
+import org.piyush.constant.TaskStatus;
+import org.piyush.exception.TaskNotFoundException;
 import org.piyush.mapper.TaskMapper;
 import org.piyush.model.dynamodb.DbTask;
 import org.piyush.model.taskmanagement.*;
+import org.piyush.repositories.QueryPlan;
+import org.piyush.repositories.TaskCounterRepository;
 import org.piyush.repositories.TaskRepository;
+import org.piyush.utils.PageTokenUtil;
+import org.piyush.utils.SingleFlight;
+import org.piyush.utils.ValidationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 public class TaskService {
   private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
   private final TaskRepository taskRepository;
   private final TaskMapper taskMapper;
+  // ✅ Applies to tasks created one at a time; batch creates always embed their sub-tasks
+  private final SubTaskLayout subTaskLayout;
+  // ✅ Updates that add a dependency are checked against it for cycles
+  private final TaskGraphService taskGraphService;
+  private final TaskCounterRepository taskCounterRepository;
+  // ✅ Concurrent reads of the same task and fields share one repository call; bounded by TASK_READ_COALESCE_WAIT_MS
+  private final SingleFlight<ReadKey, DbTask> taskReads = new SingleFlight<>(Duration.ofMillis(
+      Long.parseLong(System.getenv().getOrDefault("TASK_READ_COALESCE_WAIT_MS", "1000"))));
 
   // ✅ Default constructor for AWS Lambda compatibility
   public TaskService() {
     this.taskRepository = new TaskRepository(); // Ensure TaskRepository has a default constructor
     this.taskMapper = Mappers.getMapper(TaskMapper.class); // Ensure TaskMapper has a default constructor
+    this.taskMapper.setIdGenerator(new IdGenerator());
+    this.subTaskLayout = SubTaskLayout.fromEnvironment();
+    this.taskGraphService = new TaskGraphService(taskRepository);
+    this.taskCounterRepository = new TaskCounterRepository();
   }
 
   public TaskService(TaskRepository taskRepository, TaskMapper taskMapper) {
+    this(taskRepository, taskMapper, SubTaskLayout.fromEnvironment());
+  }
+
+  public TaskService(TaskRepository taskRepository, TaskMapper taskMapper, SubTaskLayout subTaskLayout) {
+    this(taskRepository, taskMapper, subTaskLayout, new TaskCounterRepository());
+  }
+
+  public TaskService(TaskRepository taskRepository, TaskMapper taskMapper, SubTaskLayout subTaskLayout,
+                     TaskCounterRepository taskCounterRepository) {
     this.taskRepository = taskRepository;
     this.taskMapper = taskMapper;
+    this.subTaskLayout = subTaskLayout;
+    this.taskGraphService = new TaskGraphService(taskRepository);
+    this.taskCounterRepository = taskCounterRepository;
   }
 
   public TaskRead createTask(TaskCreate taskCreate) {
     logger.info("Creating a new task with title: {}", taskCreate.getTitle());
     DbTask dbTask = taskMapper.mapCreateToDb(taskCreate);
+    if (subTaskLayout == SubTaskLayout.ITEMS) {
+      dbTask.setSubTaskLayout(SubTaskLayout.ITEMS);
+    }
     DbTask savedTask = taskRepository.save(dbTask);
     logger.info("Task created successfully with ID: {}", savedTask.getId());
     return taskMapper.mapDbToRead(savedTask);
   }
 
+  /**
+   * Validates and maps every payload in parallel, then writes the valid ones with batched puts. Invalid or
+   * unwritten payloads are reported per item instead of failing the whole batch. Batch-created tasks embed their
+   * sub-tasks whatever {@code TASK_SUB_TASK_LAYOUT} says; see {@link TaskRepository#saveAll}.
+   */
+  public BatchResult<Void> createTasks(List<TaskCreate> taskCreates) {
+    logger.info("Creating {} tasks in batch", taskCreates.size());
+    int size = taskCreates.size();
+    DbTask[] mapped = new DbTask[size];
+    String[] errors = new String[size];
+    int[] statusCodes = new int[size];
+    IntStream.range(0, size).parallel().forEach(i -> {
+      try {
+        ValidationUtil.validate(taskCreates.get(i));
+        mapped[i] = taskMapper.mapCreateToDb(taskCreates.get(i));
+      } catch (IllegalArgumentException e) {
+        errors[i] = e.getMessage();
+        statusCodes[i] = 400;
+      } catch (RuntimeException e) {
+        logger.error("Mapping task {} of the batch failed", i, e);
+        errors[i] = e.getMessage();
+        statusCodes[i] = 500;
+      }
+    });
+
+    List<DbTask> valid = new ArrayList<>(size);
+    List<Integer> validIndexes = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      if (mapped[i] != null) {
+        valid.add(mapped[i]);
+        validIndexes.add(i);
+      }
+    }
+
+    Map<Integer, String> writeFailures = valid.isEmpty() ? Map.of() : taskRepository.saveAll(valid);
+
+    List<BatchItemResult<Void>> items = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      items.add(new BatchItemResult<>(i, null, statusCodes[i], errors[i], null));
+    }
+    for (int v = 0; v < valid.size(); v++) {
+      BatchItemResult<Void> item = items.get(validIndexes.get(v));
+      item.setId(valid.get(v).getId());
+      String failure = writeFailures.get(v);
+      item.setStatusCode(failure == null ? 201 : 500);
+      item.setMessage(failure);
+    }
+
+    BatchResult<Void> result = new BatchResult<>(items, 201);
+    logger.info("Batch create finished: {} created, {} failed", result.getSucceeded(), result.getFailed());
+    return result;
+  }
+
   public TaskRead getTask(String taskId) {
-    DbTask dbTask = taskRepository.findById(taskId);
+    DbTask dbTask = taskReads.execute(new ReadKey(taskId, null, TaskFields.ALL),
+        () -> taskRepository.findById(taskId));
     return taskMapper.mapDbToRead(dbTask);
   }
 
   public TaskRead getTask(String taskId, Instant deadline) {
-    DbTask dbTask = taskRepository.findByIdAndDeadline(taskId, deadline);
-    return taskMapper.mapDbToRead(dbTask);
+    return getTask(taskId, deadline, TaskFields.ALL);
+  }
+
+  /**
+   * Reads only the attributes behind {@code fields}; the others are left out of the result.
+   */
+  public TaskRead getTask(String taskId, Instant deadline, TaskFields fields) {
+    DbTask dbTask = taskReads.execute(new ReadKey(taskId, deadline, fields),
+        () -> taskRepository.findByIdAndDeadline(taskId, deadline, fields));
+    return taskMapper.mapDbToRead(dbTask, fields);
+  }
+
+  /**
+   * @return one result per key, in request order; keys without a task are marked 404
+   */
+  public BatchResult<TaskRead> getTasks(List<TaskKey> keys) {
+    List<DbTask> tasks = taskRepository.findAllByKeys(keys);
+    List<BatchItemResult<TaskRead>> items = new ArrayList<>(keys.size());
+    for (int i = 0; i < keys.size(); i++) {
+      DbTask task = tasks.get(i);
+      items.add(task != null
+          ? new BatchItemResult<>(i, task.getId(), 200, null, taskMapper.mapDbToRead(task))
+          : new BatchItemResult<>(i, keys.get(i).getId(), 404, "Task not found", null));
+    }
+    return new BatchResult<>(items, 200);
   }
 
   public TaskRead updateTask(TaskUpdate taskUpdate) {
     DbTask existingTask = taskRepository.findById(taskUpdate.getId());
+    Set<String> existingSuccessors = TaskGraphService.successors(existingTask);
     taskMapper.mapUpdateToDb(taskUpdate, existingTask);
+    Set<String> addedSuccessors = TaskGraphService.successors(existingTask);
+    addedSuccessors.removeAll(existingSuccessors);
+    taskGraphService.checkNewEdges(existingTask.getId(), addedSuccessors);
     DbTask updatedTask = taskRepository.save(existingTask);
     logger.info("Task with ID [{}] updated successfully.", updatedTask.getId());
     return taskMapper.mapDbToRead(updatedTask);
   }
 
+  /**
+   * Applies a merge patch with a single conditional write, without reading the task first.
+   *
+   * @param expectedVersion version the client last read, or null to apply the patch whatever the stored version
+   */
+  public TaskRead patchTask(String taskId, Instant deadline, TaskPatch patch, Long expectedVersion) {
+    validatePatch(patch);
+    DbTask changes = new DbTask();
+    changes.setId(taskId);
+    changes.setDeadline(deadline);
+    changes.setTitle(patch.getTitle());
+    changes.setDescription(patch.getDescription());
+    changes.setPriority(patch.getPriority());
+    changes.setLabels(patch.getLabels());
+    if (patch.getSubTasks() != null) {
+      patch.getSubTasks().stream()
+          .filter(subTask -> subTask.getCompleted() == null)
+          .forEach(subTask -> subTask.setCompleted(false));
+    }
+    changes.setSubTasks(patch.getSubTasks());
+    changes.setAssignee(patch.getAssignee());
+    changes.setStatus(patch.getStatus());
+    changes.setParentTaskId(patch.getParentTaskId());
+    changes.setDependentTaskIds(patch.getDependentTaskIds());
+    taskGraphService.checkNewEdges(taskId, TaskGraphService.successors(changes));
+
+    DbTask updatedTask = taskRepository.update(changes, patch.getSetFields(), patch.getRemovedFields(),
+        expectedVersion);
+    logger.info("Task with ID [{}] patched: {} set, {} removed.", taskId, patch.getSetFields(),
+        patch.getRemovedFields());
+    return taskMapper.mapDbToRead(updatedTask);
+  }
+
+  /**
+   * Appends sub-tasks without reading or rewriting the ones already stored. Sub-tasks without an id get one.
+   */
+  public List<SubTaskResult> appendSubTasks(String taskId, Instant deadline, List<SubTask> subTasks,
+                                            Long expectedVersion) {
+    if (subTasks == null || subTasks.isEmpty()) {
+      throw new IllegalArgumentException("At least one sub-task is required");
+    }
+    subTasks.forEach(ValidationUtil::validate);
+    List<SubTask> appended = taskMapper.mapSubTasks(subTasks);
+    appended.forEach(subTask -> {
+      if (subTask.getCompleted() == null) {
+        subTask.setCompleted(false);
+      }
+      if (Boolean.TRUE.equals(subTask.getCompleted()) && subTask.getCompletedAt() == null) {
+        subTask.setCompletedAt(Instant.now());
+      }
+    });
+    return taskRepository.appendSubTasks(taskId, deadline, appended, expectedVersion);
+  }
+
+  /**
+   * Reads one page of a task's sub-tasks, in whichever layout the task stores them.
+   *
+   * @param pageToken token from the previous page, or {@code null} for the first page
+   */
+  public SubTaskPage listSubTasks(String taskId, Instant deadline, int limit, String pageToken) {
+    Page<SubTask> page = taskRepository.findSubTasks(taskId, deadline, limit, PageTokenUtil.decode(pageToken));
+    logger.info("Listed {} sub-tasks of task [{}]", page.items().size(), taskId);
+    return new SubTaskPage()
+        .setSubTasks(page.items())
+        .setNextPageToken(PageTokenUtil.encode(page.lastEvaluatedKey()));
+  }
+
+  /**
+   * Applies a merge patch to the sub-task at {@code index} with one conditional write. Completing a sub-task stamps
+   * {@code completedAt}; reopening it clears it.
+   */
+  public SubTaskResult patchSubTask(String taskId, Instant deadline, int index, SubTaskPatch patch,
+                                    Long expectedVersion) {
+    if (index < 0) {
+      throw new IllegalArgumentException("Sub-task index must not be negative");
+    }
+    List<String> messages = new ArrayList<>();
+    if (patch.getSetFields().contains("title") && (patch.getTitle() == null || patch.getTitle().isBlank())) {
+      messages.add("SubTask title is mandatory");
+    } else if (patch.getTitle() != null && patch.getTitle().length() > TaskConstants.TITLE_MAX_LENGTH) {
+      messages.add(String.format("size must be between 0 and %d", TaskConstants.TITLE_MAX_LENGTH));
+    }
+    if (patch.getRemovedFields().contains("title")) {
+      messages.add("SubTask title is mandatory");
+    }
+    if (patch.getDescription() != null && patch.getDescription().length() > TaskConstants.DESCRIPTION_MAX_LENGTH) {
+      messages.add(String.format("size must be between 0 and %d", TaskConstants.DESCRIPTION_MAX_LENGTH));
+    }
+    if (!messages.isEmpty()) {
+      throw new IllegalArgumentException("Validation failed: " + String.join("; ", messages) + ";");
+    }
+
+    Set<String> set = new LinkedHashSet<>(patch.getSetFields());
+    Set<String> removed = new LinkedHashSet<>(patch.getRemovedFields());
+    SubTask changes = new SubTask()
+        .setId(patch.getId())
+        .setTitle(patch.getTitle())
+        .setDescription(patch.getDescription())
+        .setDueDate(patch.getDueDate())
+        .setAssignee(patch.getAssignee())
+        .setCompleted(Boolean.TRUE.equals(patch.getCompleted()));
+    // ✅ completed is never absent on a stored sub-task, so null reopens it
+    if (set.contains("completed") || removed.remove("completed")) {
+      set.add("completed");
+      if (changes.getCompleted()) {
+        changes.setCompletedAt(Instant.now());
+        set.add("completedAt");
+      } else {
+        removed.add("completedAt");
+      }
+    }
+
+    SubTaskResult result = taskRepository.updateSubTask(taskId, deadline, index, changes, set, removed,
+        expectedVersion);
+    logger.info("Sub-task {} of task [{}] patched: {} set, {} removed.", index, taskId, set, removed);
+    return result;
+  }
+
+  // ✅ Same rules as a full update, applied only to the fields the patch touches
+  private void validatePatch(TaskPatch patch) {
+    List<String> messages = new ArrayList<>();
+    if (patch.getRemovedFields().contains("title")
+        || patch.getSetFields().contains("title") && patch.getTitle().isBlank()) {
+      messages.add("Title is mandatory");
+    } else if (patch.getTitle() != null && patch.getTitle().length() > TaskConstants.TITLE_MAX_LENGTH) {
+      messages.add(String.format("size must be between 0 and %d", TaskConstants.TITLE_MAX_LENGTH));
+    }
+    if (patch.getDescription() != null && patch.getDescription().length() > TaskConstants.DESCRIPTION_MAX_LENGTH) {
+      messages.add(String.format("size must be between 0 and %d", TaskConstants.DESCRIPTION_MAX_LENGTH));
+    }
+    if (patch.getRemovedFields().contains("priority")) {
+      messages.add("Priority is mandatory");
+    }
+    if (!messages.isEmpty()) {
+      throw new IllegalArgumentException("Validation failed: " + String.join("; ", messages) + ";");
+    }
+    if (patch.getSubTasks() != null) {
+      patch.getSubTasks().forEach(ValidationUtil::validate);
+    }
+  }
+
+  /**
+   * Plans the search against the cheapest index and, unless {@code explain} is set, runs it. Explain results carry
+   * only the plan.
+   */
+  public TaskSearchResult searchTasks(TaskSearchCriteria criteria, boolean explain) {
+    return searchTasks(criteria, explain, TaskFields.ALL);
+  }
+
+  public TaskSearchResult searchTasks(TaskSearchCriteria criteria, boolean explain, TaskFields fields) {
+    QueryPlan plan = taskRepository.planSearch(criteria);
+    logger.info("Search planned via {} (~{} read units)", plan.getAccessPath(), plan.getEstimatedReadUnits());
+    TaskSearchResult result = new TaskSearchResult().setPlan(plan);
+    if (!explain) {
+      result.setTasks(taskRepository.search(plan, TaskConstants.SEARCH_MAX_RESULTS, fields).stream()
+          .map(task -> taskMapper.mapDbToRead(task, fields))
+          .toList());
+    }
+    return result;
+  }
+
+  /**
+   * @param pageToken token from the previous page, or {@code null} for the first page
+   */
+  public TaskPage listTasks(int limit, String pageToken) {
+    return listTasks(limit, pageToken, TaskFields.ALL);
+  }
+
+  public TaskPage listTasks(int limit, String pageToken, TaskFields fields) {
+    Page<DbTask> page = taskRepository.findPage(limit, PageTokenUtil.decode(pageToken), fields);
+    logger.info("Listed {} tasks", page.items().size());
+    return new TaskPage()
+        .setTasks(page.items().stream().map(task -> taskMapper.mapDbToRead(task, fields)).toList())
+        .setNextPageToken(PageTokenUtil.encode(page.lastEvaluatedKey()));
+  }
+
+  /**
+   * Orders the tasks downstream of {@code taskId} and finds the chain that decides when they can all finish.
+   */
+  public DependencyGraph getDependencyGraph(String taskId) {
+    return taskGraphService.analyze(taskId);
+  }
+
+  /**
+   * Counts read from the sharded counters; every status when none is asked for. Assignees are counted only on
+   * request, since the set of assignees is open-ended.
+   */
+  public TaskCounts getTaskCounts(List<TaskStatus> statuses, List<String> assignees) {
+    if (assignees.size() > TaskConstants.COUNT_MAX_ASSIGNEES) {
+      throw new IllegalArgumentException(
+          String.format("At most %d assignees can be counted at once", TaskConstants.COUNT_MAX_ASSIGNEES));
+    }
+    List<TaskStatus> counted = statuses.isEmpty() ? List.of(TaskStatus.values()) : statuses;
+    List<String> counters = new ArrayList<>(counted.size() + assignees.size());
+    counted.forEach(status -> counters.add(TaskCounterRepository.statusCounter(status)));
+    assignees.forEach(assignee -> counters.add(TaskCounterRepository.assigneeCounter(assignee)));
+    Map<String, Long> counts = taskCounterRepository.counts(counters);
+
+    Map<String, Long> byStatus = new LinkedHashMap<>();
+    counted.forEach(status -> byStatus.put(status.name(), counts.get(TaskCounterRepository.statusCounter(status))));
+    Map<String, Long> byAssignee = new LinkedHashMap<>();
+    assignees.forEach(assignee -> byAssignee.put(assignee,
+        counts.get(TaskCounterRepository.assigneeCounter(assignee))));
+    return new TaskCounts().setByStatus(byStatus).setByAssignee(byAssignee);
+  }
+
+  /**
+   * Per-container counters, keyed by component.
+   */
+  public Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new LinkedHashMap<>();
+    metrics.put("taskCache", taskRepository.cacheStats());
+    metrics.put("taskIdFilter", taskRepository.idFilterStats());
+    metrics.put("taskReadCoalescing", taskReads.stats());
+    return metrics;
+  }
+
+  /**
+   * @deprecated loads every task into memory; use {@link #listTasks} instead
+   */
+  @Deprecated
   public List<TaskRead> getAllTasks() {
     List<DbTask> tasks = taskRepository.findAll();
     logger.info("Retrieved {} tasks from the repository", tasks.size());
@@ -61,9 +407,17 @@ public class TaskService {
         .toList();
   }
 
+  /**
+   * Deletes every deadline stored under {@code taskId}.
+   */
   public void deleteTask(String taskId) {
-    taskRepository.findAllByIdOrderByDeadline(taskId);
-    taskRepository.deleteById(taskId);
-    logger.info("Task with ID [{}] deleted successfully.", taskId);
+    int deleted = taskRepository.deleteAllById(taskId);
+    if (deleted == 0) {
+      throw new TaskNotFoundException(String.format("Task not found with id [%s]", taskId));
+    }
+    logger.info("Task with ID [{}] deleted successfully ({} items).", taskId, deleted);
+  }
+
+  private record ReadKey(String id, Instant deadline, TaskFields fields) {
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package org.piyush.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BackoffUtil {
+
+  /**
+   * Exponential backoff with full jitter: a random delay in {@code [0, min(cap, base * 2^attempt)]}.
+   */
+  public static Duration fullJitter(int attempt, Duration base, Duration cap) {
+    long ceiling = Math.min(cap.toMillis(), base.toMillis() << Math.min(attempt, 20));
+    return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+  }
+
+  public static void sleep(Duration delay) {
+    try {
+      Thread.sleep(delay.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while backing off", e);
+    }
+  }
+}
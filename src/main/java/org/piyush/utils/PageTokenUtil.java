@@ -0,0 +1,152 @@
+package org.piyush.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.piyush.config.JacksonConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Turns a {@code LastEvaluatedKey} into an opaque continuation token and back. The token is the base64url key
+ * followed by an HMAC-SHA256 of it, so clients cannot hand-craft a start key. {@code PAGE_TOKEN_SECRET} is required
+ * so tokens stay valid across Lambda instances; a random per-instance key is only used locally, in tests, or when
+ * {@code PAGE_TOKEN_EPHEMERAL_SECRET=true} opts into it.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class PageTokenUtil {
+  private static final Logger logger = LoggerFactory.getLogger(PageTokenUtil.class);
+
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final TypeReference<Map<String, Map<String, String>>> KEY_TYPE = new TypeReference<>() {
+  };
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private static final class SecretHolder {
+    private static final SecretKeySpec secret = loadSecret();
+
+    private static SecretKeySpec loadSecret() {
+      String configured = System.getenv("PAGE_TOKEN_SECRET");
+      if (configured != null && !configured.isBlank()) {
+        return new SecretKeySpec(configured.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+      }
+      if (!ephemeralSecretAllowed()) {
+        throw new IllegalStateException("PAGE_TOKEN_SECRET is not set; page tokens would not be valid across "
+            + "instances. Set it, or PAGE_TOKEN_EPHEMERAL_SECRET=true to sign with a per-instance key");
+      }
+      logger.warn("PAGE_TOKEN_SECRET is not set; page tokens are only valid on this instance");
+      byte[] random = new byte[32];
+      new SecureRandom().nextBytes(random);
+      return new SecretKeySpec(random, ALGORITHM);
+    }
+
+    private static boolean ephemeralSecretAllowed() {
+      return Boolean.parseBoolean(System.getenv().getOrDefault("PAGE_TOKEN_EPHEMERAL_SECRET", "false"))
+          || Boolean.parseBoolean(System.getenv().getOrDefault("IS_LOCAL", "false"))
+          || System.getProperty("IS_TEST") != null;
+    }
+  }
+
+  /**
+   * Loads the signing key now, so a missing {@code PAGE_TOKEN_SECRET} fails the function's initialization instead of
+   * the first paginated request.
+   *
+   * @throws IllegalStateException if the secret is missing and a per-instance key was not opted into
+   */
+  public static void requireSecret() {
+    Objects.requireNonNull(SecretHolder.secret);
+  }
+
+  /**
+   * @return a signed token for {@code lastEvaluatedKey}, or {@code null} when there is no further page
+   */
+  public static String encode(Map<String, AttributeValue> lastEvaluatedKey) {
+    if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+      return null;
+    }
+    Map<String, Map<String, String>> key = new LinkedHashMap<>();
+    lastEvaluatedKey.forEach((name, value) -> key.put(name, toJson(name, value)));
+    try {
+      byte[] payload = JacksonConfig.getObjectMapper().writeValueAsBytes(key);
+      return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to encode page token", e);
+    }
+  }
+
+  /**
+   * @return the exclusive start key carried by {@code token}, or {@code null} for a blank token
+   * @throws IllegalArgumentException if the token is malformed or was not issued by this service
+   */
+  public static Map<String, AttributeValue> decode(String token) {
+    if (token == null || token.isBlank()) {
+      return null;
+    }
+    int separator = token.indexOf('.');
+    if (separator < 0) {
+      throw new IllegalArgumentException("Invalid page token");
+    }
+    try {
+      byte[] payload = DECODER.decode(token.substring(0, separator));
+      byte[] signature = DECODER.decode(token.substring(separator + 1));
+      if (!MessageDigest.isEqual(sign(payload), signature)) {
+        throw new IllegalArgumentException("Invalid page token");
+      }
+      ObjectMapper mapper = JacksonConfig.getObjectMapper();
+      Map<String, AttributeValue> key = new LinkedHashMap<>();
+      mapper.readValue(payload, KEY_TYPE).forEach((name, value) -> key.put(name, fromJson(value)));
+      return key;
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid page token", e);
+    }
+  }
+
+  private static byte[] sign(byte[] payload) {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(SecretHolder.secret);
+      return mac.doFinal(payload);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to sign page token", e);
+    }
+  }
+
+  // ✅ Key attributes can only be strings, numbers or binary
+  private static Map<String, String> toJson(String name, AttributeValue value) {
+    if (value.s() != null) {
+      return Map.of("S", value.s());
+    } else if (value.n() != null) {
+      return Map.of("N", value.n());
+    } else if (value.b() != null) {
+      return Map.of("B", ENCODER.encodeToString(value.b().asByteArray()));
+    }
+    throw new IllegalStateException(String.format("Unsupported key attribute type for [%s]", name));
+  }
+
+  private static AttributeValue fromJson(Map<String, String> value) {
+    if (value.containsKey("S")) {
+      return AttributeValue.fromS(value.get("S"));
+    } else if (value.containsKey("N")) {
+      return AttributeValue.fromN(value.get("N"));
+    } else if (value.containsKey("B")) {
+      return AttributeValue.fromB(SdkBytes.fromByteArray(DECODER.decode(value.get("B"))));
+    }
+    throw new IllegalArgumentException("Invalid page token");
+  }
+}
@@ -0,0 +1,77 @@
+package org.piyush.utils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the loader, callers arriving while it is in
+ * flight wait for and share its result, or its exception. Nothing is kept once the call completes, so this is not a
+ * cache.
+ * <p>
+ * A waiter gives up after {@code maxWait} and runs the loader itself, so one slow call can't hold every caller for
+ * the same key.
+ */
+public class SingleFlight<K, V> {
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final Duration maxWait;
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+
+  public SingleFlight(Duration maxWait) {
+    this.maxWait = maxWait;
+  }
+
+  public V execute(K key, Supplier<V> loader) {
+    calls.increment();
+    CompletableFuture<V> call = new CompletableFuture<>();
+    CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+    if (running == null) {
+      return load(key, call, loader);
+    }
+
+    coalesced.increment();
+    try {
+      return running.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      timeouts.increment();
+      return loader.get();
+    } catch (ExecutionException e) {
+      // ✅ Waiters see the leader's own exception, so it maps to the same response
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for an in-flight call", e);
+    }
+  }
+
+  private V load(K key, CompletableFuture<V> call, Supplier<V> loader) {
+    try {
+      V value = loader.get();
+      call.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      call.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, call);
+    }
+  }
+
+  public SingleFlightStats stats() {
+    return new SingleFlightStats(calls.sum(), coalesced.sum(), timeouts.sum(), inFlight.size());
+  }
+}
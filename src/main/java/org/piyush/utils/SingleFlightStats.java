@@ -0,0 +1,17 @@
+package org.piyush.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class SingleFlightStats {
+  private final long calls;
+  // ✅ Calls that waited on another caller's load instead of running their own
+  private final long coalesced;
+  // ✅ Coalesced calls that gave up waiting and loaded themselves
+  private final long timeouts;
+  private final int inFlight;
+}
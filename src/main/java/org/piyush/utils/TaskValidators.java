@@ -0,0 +1,132 @@
+package org.piyush.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.piyush.constant.TaskConstants;
+import org.piyush.model.taskmanagement.SubTask;
+import org.piyush.model.taskmanagement.Task;
+import org.piyush.model.taskmanagement.TaskCreate;
+import org.piyush.model.taskmanagement.TaskUpdate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Plain-Java checks for the constraints declared on {@link Task}, {@link TaskCreate}, {@link TaskUpdate} and
+ * {@link SubTask}, with the messages Hibernate Validator reports for them (English default messages where the
+ * annotation has none). Any constraint added to those models must be added here as well;
+ * {@code TaskValidatorsTest} compares both for every field.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class TaskValidators {
+  static final String NOT_NULL = "must not be null";
+  static final String TITLE_SIZE = sizeMessage(TaskConstants.TITLE_MAX_LENGTH);
+  static final String DESCRIPTION_SIZE = sizeMessage(TaskConstants.DESCRIPTION_MAX_LENGTH);
+
+  private static final Map<Class<?>, BiConsumer<Object, Violations>> VALIDATORS = Map.of(
+      TaskCreate.class, (object, violations) -> validateTask((Task) object, violations),
+      TaskUpdate.class, (object, violations) -> validateUpdate((TaskUpdate) object, violations),
+      Task.class, (object, violations) -> validateTask((Task) object, violations),
+      SubTask.class, (object, violations) -> validateSubTask((SubTask) object, violations));
+
+  /**
+   * @return the violation messages, or {@code null} when the object's class has no hand-written validator
+   */
+  static List<String> validate(Object object, boolean failFast) {
+    BiConsumer<Object, Violations> validator = VALIDATORS.get(object.getClass());
+    if (validator == null) {
+      return null;
+    }
+    Violations violations = new Violations(failFast);
+    validator.accept(object, violations);
+    return violations.messages();
+  }
+
+  private static void validateUpdate(TaskUpdate update, Violations violations) {
+    if (update.getId() == null) {
+      violations.add(NOT_NULL);
+    }
+    validateTask(update, violations);
+  }
+
+  private static void validateTask(Task task, Violations violations) {
+    if (isBlank(task.getTitle())) {
+      violations.add("Title is mandatory");
+    }
+    if (task.getTitle() != null && task.getTitle().length() > TaskConstants.TITLE_MAX_LENGTH) {
+      violations.add(TITLE_SIZE);
+    }
+    if (task.getDescription() != null && task.getDescription().length() > TaskConstants.DESCRIPTION_MAX_LENGTH) {
+      violations.add(DESCRIPTION_SIZE);
+    }
+    if (task.getPriority() == null) {
+      violations.add("Priority is mandatory");
+    }
+    if (task.getDeadline() != null && task.getDeadline().isBefore(Instant.now())) {
+      violations.add("Deadline cannot be in the past");
+    }
+    // ✅ @Valid cascades into every non-null element
+    if (task.getSubTasks() != null) {
+      for (SubTask subTask : task.getSubTasks()) {
+        if (violations.isDone()) {
+          return;
+        }
+        if (subTask != null) {
+          validateSubTask(subTask, violations);
+        }
+      }
+    }
+  }
+
+  private static void validateSubTask(SubTask subTask, Violations violations) {
+    if (isBlank(subTask.getTitle())) {
+      violations.add("SubTask title is mandatory");
+    }
+    if (subTask.getTitle() != null && subTask.getTitle().length() > TaskConstants.TITLE_MAX_LENGTH) {
+      violations.add(TITLE_SIZE);
+    }
+    if (subTask.getDescription() != null
+        && subTask.getDescription().length() > TaskConstants.DESCRIPTION_MAX_LENGTH) {
+      violations.add(DESCRIPTION_SIZE);
+    }
+  }
+
+  // ✅ Same rule as @NotBlank: null, empty or only whitespace
+  private static boolean isBlank(String value) {
+    return value == null || value.trim().isEmpty();
+  }
+
+  private static String sizeMessage(int max) {
+    return "size must be between 0 and " + max;
+  }
+
+  private static final class Violations {
+    private final boolean failFast;
+    private List<String> messages;
+
+    Violations(boolean failFast) {
+      this.failFast = failFast;
+    }
+
+    void add(String message) {
+      if (isDone()) {
+        return;
+      }
+      if (messages == null) {
+        messages = new ArrayList<>(2);
+      }
+      messages.add(message);
+    }
+
+    boolean isDone() {
+      return failFast && messages != null;
+    }
+
+    List<String> messages() {
+      return messages != null ? messages : List.of();
+    }
+  }
+}
@@ -1,28 +1,72 @@
 package org.piyush.utils;
 
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
-import jakarta.validation.ValidatorFactory;
-import jakarta.validation.ConstraintViolation;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import org.hibernate.validator.HibernateValidator;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
+/**
+ * Validates request payloads. The task models are checked by {@link TaskValidators}; anything else, or every type
+ * when {@code VALIDATION_PROVIDER=hibernate}, goes through Hibernate Validator, which is only bootstrapped the first
+ * time it is needed. {@code VALIDATION_FAIL_FAST=true} makes {@link #validate(Object)} stop at the first violation.
+ */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ValidationUtil {
-  private static final ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-  private static final Validator validator = factory.getValidator();
+  private static final boolean USE_HIBERNATE = "hibernate".equals(setting("VALIDATION_PROVIDER", "generated"));
+  private static final boolean FAIL_FAST = Boolean.parseBoolean(setting("VALIDATION_FAIL_FAST", "false"));
+
+  // ✅ Loaded on first use only, so the EL and reflection bootstrap stays off the cold start
+  private static final class HibernateHolder {
+    private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private static final Validator failFastValidator = Validation.byProvider(HibernateValidator.class)
+        .configure()
+        .failFast(true)
+        .buildValidatorFactory()
+        .getValidator();
+  }
 
   public static <T> void validate(T object) {
-    Set<ConstraintViolation<T>> violations = validator.validate(object);
-    if (!violations.isEmpty()) {
+    validate(object, FAIL_FAST);
+  }
+
+  /**
+   * @param failFast report only the first violation instead of all of them
+   */
+  public static <T> void validate(T object, boolean failFast) {
+    if (object == null) {
+      throw new IllegalArgumentException("Validation failed: payload is required");
+    }
+    List<String> messages = USE_HIBERNATE ? null : TaskValidators.validate(object, failFast);
+    if (messages == null) {
+      messages = validateWithHibernate(object, failFast);
+    }
+    if (!messages.isEmpty()) {
       StringBuilder errorMessages = new StringBuilder();
-      for (ConstraintViolation<T> violation : violations) {
-        errorMessages.append(violation.getMessage()).append("; ");
+      for (String message : messages) {
+        errorMessages.append(message).append("; ");
       }
       throw new IllegalArgumentException("Validation failed: " + errorMessages.toString().trim());
     }
   }
-}
 
+  static <T> List<String> validateWithHibernate(T object, boolean failFast) {
+    Validator validator = failFast ? HibernateHolder.failFastValidator : HibernateHolder.validator;
+    Set<ConstraintViolation<T>> violations = validator.validate(object);
+    List<String> messages = new ArrayList<>(violations.size());
+    for (ConstraintViolation<T> violation : violations) {
+      messages.add(violation.getMessage());
+    }
+    return messages;
+  }
+
+  private static String setting(String name, String defaultValue) {
+    return System.getProperty(name, System.getenv().getOrDefault(name, defaultValue)).toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,68 @@
+package org.piyush.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.piyush.constant.Priority;
+import org.piyush.constant.TaskStatus;
+import org.piyush.model.dynamodb.DbTask;
+import org.piyush.model.dynamodb.DbTaskTableSchema;
+import org.piyush.model.taskmanagement.SubTask;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state per-item mapping cost of the reflective bean schema vs the hand-built static schema, the cost a
+ * large scan pays per item. Run with {@code -prof gc} to compare allocation; {@link DbTaskTableSchemaStartupBenchmark}
+ * covers the cold cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class DbTaskTableSchemaBenchmark {
+
+  private static final Instant DEADLINE = Instant.parse("2099-02-18T10:00:00Z");
+
+  @Param({DbTaskTableSchema.BEAN, DbTaskTableSchema.STATIC})
+  private String schemaType;
+
+  private TableSchema<DbTask> schema;
+  private DbTask task;
+  private Map<String, AttributeValue> item;
+
+  @Setup
+  public void setup() {
+    schema = DbTaskTableSchema.BEAN.equals(schemaType) ? DbTaskTableSchema.bean() : DbTaskTableSchema.staticSchema();
+    task = new DbTask();
+    task.setId("task-1");
+    task.setTitle("Benchmark task");
+    task.setDescription("A task used to compare table schemas");
+    task.setPriority(Priority.HIGH);
+    task.setDeadline(DEADLINE);
+    task.setLabels(List.of("benchmark", "schema"));
+    task.setSubTasks(List.of(new SubTask("st-1", "Sub-task", false, DEADLINE, null, "owner", null)));
+    task.setAssignee("owner");
+    task.setStatus(TaskStatus.PENDING);
+    task.setDependentTaskIds(List.of("task-2", "task-3"));
+    task.setCreatedAt(DEADLINE);
+    task.setUpdatedAt(DEADLINE);
+    task.setVersion(1L);
+    item = schema.itemToMap(task, true);
+  }
+
+  @Benchmark
+  public Map<String, AttributeValue> itemToMap() {
+    return schema.itemToMap(task, true);
+  }
+
+  @Benchmark
+  public DbTask mapToItem() {
+    return schema.mapToItem(item);
+  }
+}
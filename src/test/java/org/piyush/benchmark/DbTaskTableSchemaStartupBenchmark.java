@@ -0,0 +1,44 @@
+package org.piyush.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.piyush.constant.Priority;
+import org.piyush.model.dynamodb.DbTask;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold cost of the {@link DbTask} table schema in a fresh JVM: initializing {@code DbTask.TABLE_SCHEMA} and mapping
+ * the first item, the part of a Lambda init the schema choice affects. Each fork measures exactly one call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class DbTaskTableSchemaStartupBenchmark {
+
+  @Benchmark
+  @Fork(value = 20, jvmArgsAppend = {"-Dorg.slf4j.simpleLogger.defaultLogLevel=warn", "-DDYNAMODB_TABLE_SCHEMA=bean"})
+  public Map<String, AttributeValue> beanSchema() {
+    return firstItem();
+  }
+
+  @Benchmark
+  @Fork(value = 20, jvmArgsAppend = {"-Dorg.slf4j.simpleLogger.defaultLogLevel=warn", "-DDYNAMODB_TABLE_SCHEMA=static"})
+  public Map<String, AttributeValue> staticSchema() {
+    return firstItem();
+  }
+
+  // ✅ Creating the first DbTask runs its static initializer, so schema construction is inside the measurement
+  private static Map<String, AttributeValue> firstItem() {
+    DbTask task = new DbTask();
+    task.setId("task-1");
+    task.setTitle("First task");
+    task.setPriority(Priority.MEDIUM);
+    task.setDeadline(Instant.parse("2099-02-18T10:00:00Z"));
+    return DbTask.TABLE_SCHEMA.itemToMap(task, true);
+  }
+}
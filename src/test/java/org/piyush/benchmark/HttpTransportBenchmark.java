@@ -0,0 +1,118 @@
+package org.piyush.benchmark;
+
+import com.amazonaws.services.dynamodbv2.local.main.ServerRunner;
+import com.amazonaws.services.dynamodbv2.local.server.DynamoDBProxyServer;
+import org.openjdk.jmh.annotations.*;
+import org.piyush.config.HttpClientConfig;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
+import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.ListTablesResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Synchronous HTTP transports against an in-process DynamoDB Local.
+ * <ul>
+ *   <li>{@code coldStart}: building the client and completing its first call in a fresh JVM, one call per fork.
+ *   DynamoDB Local is started in setup and touches no SDK v2 classes, so the SDK's own class loading is
+ *   included.</li>
+ *   <li>{@code getItem}: steady-state latency distribution of a small GetItem; read {@code p0.50} and
+ *   {@code p0.99}.</li>
+ * </ul>
+ * Loopback hides most network differences (TLS, connection reuse under loss), so treat the steady-state numbers as
+ * per-request client overhead.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dorg.slf4j.simpleLogger.defaultLogLevel=warn",
+    "-Dsqlite4java.library.path=target/native-libs"})
+public class HttpTransportBenchmark {
+
+  private static final String PORT = "8010";
+  private static final String TABLE = "transport_benchmark";
+
+  @Param({"APACHE", "URL_CONNECTION", "CRT"})
+  private HttpClientConfig.Transport transport;
+
+  private DynamoDBProxyServer server;
+
+  @Setup
+  public void startServer() throws Exception {
+    server = ServerRunner.createServerFromCommandLineArgs(new String[]{"-inMemory", "-port", PORT});
+    server.start();
+  }
+
+  @TearDown
+  public void stopServer() throws Exception {
+    server.stop();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1)
+  @Fork(value = 10, jvmArgsAppend = {"-Dorg.slf4j.simpleLogger.defaultLogLevel=warn",
+      "-Dsqlite4java.library.path=target/native-libs"})
+  public ListTablesResponse coldStart() {
+    try (DynamoDbClient client = client(transport)) {
+      return client.listTables();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public GetItemResponse getItem(Steady steady) {
+    return steady.client.getItem(r -> r.tableName(TABLE).key(steady.key));
+  }
+
+  @State(Scope.Benchmark)
+  public static class Steady {
+    private DynamoDbClient client;
+    private final Map<String, AttributeValue> key = Map.of("id", AttributeValue.fromS("task-1"));
+
+    @Setup
+    public void setup(HttpTransportBenchmark benchmark) {
+      client = client(benchmark.transport);
+      client.createTable(r -> r.tableName(TABLE)
+          .keySchema(KeySchemaElement.builder().attributeName("id").keyType(KeyType.HASH).build())
+          .attributeDefinitions(AttributeDefinition.builder()
+              .attributeName("id")
+              .attributeType(ScalarAttributeType.S)
+              .build())
+          .billingMode(BillingMode.PAY_PER_REQUEST));
+      client.putItem(r -> r.tableName(TABLE).item(Map.of(
+          "id", AttributeValue.fromS("task-1"),
+          "title", AttributeValue.fromS("Transport benchmark"),
+          "status", AttributeValue.fromS("PENDING"))));
+    }
+
+    @TearDown
+    public void tearDown() {
+      client.close();
+    }
+  }
+
+  private static DynamoDbClient client(HttpClientConfig.Transport transport) {
+    return DynamoDbClient.builder()
+        .httpClient(HttpClientConfig.httpClient(transport))
+        .overrideConfiguration(HttpClientConfig.overrideConfiguration())
+        .endpointOverride(URI.create("http://localhost:" + PORT))
+        .region(Region.US_EAST_1)
+        .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("dummy", "dummy")))
+        .build();
+  }
+}
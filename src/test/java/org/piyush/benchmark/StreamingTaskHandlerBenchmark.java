@@ -0,0 +1,178 @@
+package org.piyush.benchmark;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.piyush.config.JacksonConfig;
+import org.piyush.constant.Priority;
+import org.piyush.handler.StreamingTaskHandler;
+import org.piyush.handler.TaskHandler;
+import org.piyush.model.taskmanagement.Metadata;
+import org.piyush.model.taskmanagement.SubTask;
+import org.piyush.model.taskmanagement.TaskProgress;
+import org.piyush.model.taskmanagement.TaskRead;
+import org.piyush.service.TaskService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET of a large {@link TaskRead} through both entry points. The POJO path includes what the Lambda runtime does
+ * around {@link TaskHandler}: binding the whole proxy event and serializing the response event (and its already
+ * serialized body) a second time. Run with {@code -prof gc} to compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class StreamingTaskHandlerBenchmark {
+
+  private static final Instant DEADLINE = Instant.parse("2099-02-18T10:00:00Z");
+
+  @Param({"10", "300"})
+  private int subTasks;
+
+  private byte[] event;
+  private ObjectMapper runtimeMapper;
+  private TaskHandler taskHandler;
+  private StreamingTaskHandler streamingTaskHandler;
+  private final Context context = new BenchmarkContext();
+  // ✅ Stands in for the runtime's response buffer, reused so its growth isn't charged to either handler
+  private final ByteArrayOutputStream output = new ByteArrayOutputStream(1 << 20);
+
+  @Setup
+  public void setup() throws IOException {
+    TaskRead taskRead = largeTask(subTasks);
+    TaskService taskService = new TaskService(null, null) {
+      @Override
+      public TaskRead getTask(String taskId, Instant deadline) {
+        return taskRead;
+      }
+    };
+    taskHandler = new TaskHandler(taskService);
+    streamingTaskHandler = new StreamingTaskHandler(taskService);
+    runtimeMapper = JacksonConfig.getObjectMapper().copy()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    event = runtimeMapper.writeValueAsBytes(new APIGatewayProxyRequestEvent()
+        .withHttpMethod("GET")
+        .withResource("/tasks/{taskId}/{deadline}")
+        .withPath("/tasks/task-1/" + DEADLINE)
+        .withHeaders(Map.of("Accept", "application/json", "User-Agent", "benchmark"))
+        .withPathParameters(Map.of("taskId", "task-1", "deadline", DEADLINE.toString()))
+        .withRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext()
+            .withRequestId("request-1")
+            .withStage("prod")
+            .withIdentity(new APIGatewayProxyRequestEvent.RequestIdentity().withSourceIp("127.0.0.1"))));
+  }
+
+  @Benchmark
+  public int pojoHandler() throws IOException {
+    output.reset();
+    APIGatewayProxyRequestEvent request = runtimeMapper.readValue(event, APIGatewayProxyRequestEvent.class);
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, context);
+    runtimeMapper.writeValue(output, response);
+    return output.size();
+  }
+
+  @Benchmark
+  public int streamingHandler() throws IOException {
+    output.reset();
+    streamingTaskHandler.handleRequest(new ByteArrayInputStream(event), output, context);
+    return output.size();
+  }
+
+  private static TaskRead largeTask(int subTaskCount) {
+    List<SubTask> subTasks = new ArrayList<>(subTaskCount);
+    for (int i = 0; i < subTaskCount; i++) {
+      subTasks.add(new SubTask()
+          .setId("st-" + i)
+          .setTitle("Sub-task number " + i)
+          .setDescription("Description of sub-task " + i + " with \"quotes\" and a\nline break")
+          .setAssignee("user-" + (i % 7))
+          .setDueDate(DEADLINE)
+          .setCompleted(i % 3 == 0));
+    }
+    return (TaskRead) new TaskRead()
+        .setId("task-1")
+        .setMetadata(new Metadata())
+        .setProgress(new TaskProgress(subTaskCount, subTaskCount / 3, 33.3, DEADLINE))
+        .setTitle("Large task")
+        .setDescription("A task with many sub-tasks".repeat(10))
+        .setPriority(Priority.HIGH)
+        .setDeadline(DEADLINE)
+        .setLabels(List.of("benchmark", "large"))
+        .setSubTasks(subTasks)
+        .setAssignee("owner");
+  }
+
+  private static final class BenchmarkContext implements Context {
+    @Override
+    public String getAwsRequestId() {
+      return "benchmark-request";
+    }
+
+    @Override
+    public String getLogGroupName() {
+      return null;
+    }
+
+    @Override
+    public String getLogStreamName() {
+      return null;
+    }
+
+    @Override
+    public String getFunctionName() {
+      return null;
+    }
+
+    @Override
+    public String getFunctionVersion() {
+      return null;
+    }
+
+    @Override
+    public String getInvokedFunctionArn() {
+      return null;
+    }
+
+    @Override
+    public CognitoIdentity getIdentity() {
+      return null;
+    }
+
+    @Override
+    public ClientContext getClientContext() {
+      return null;
+    }
+
+    @Override
+    public int getRemainingTimeInMillis() {
+      return 0;
+    }
+
+    @Override
+    public int getMemoryLimitInMB() {
+      return 0;
+    }
+
+    @Override
+    public LambdaLogger getLogger() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package org.piyush.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.piyush.graph.TaskGraph;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The dependency graph engine on synthetic project DAGs: tasks in layers of {@code width}, each depending on up to
+ * {@code fanIn} random tasks of the layers before it, with deadlines that mostly grow layer by layer. {@code build}
+ * interns the ids and lays out the CSR arrays; {@code analyze} is what a dependency request runs once the graph is
+ * loaded. Setup prints the retained size of the built graph per edge.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class TaskGraphBenchmark {
+
+  private static final Instant START = Instant.parse("2099-01-01T00:00:00Z");
+
+  @Param({"10000", "100000"})
+  private int nodes;
+
+  @Param({"3"})
+  private int fanIn;
+
+  private final int width = 500;
+  private String[] ids;
+  private Instant[] deadlines;
+  private int[] edgeSources;
+  private int[] edgeTargets;
+  private TaskGraph graph;
+  private int[] order;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    ids = new String[nodes];
+    deadlines = new Instant[nodes];
+    for (int i = 0; i < nodes; i++) {
+      ids[i] = "task-" + Long.toHexString(random.nextLong()) + "-" + i;
+      deadlines[i] = START.plusSeconds(3600L * (i / width) + random.nextInt(7200));
+    }
+    int edges = 0;
+    edgeSources = new int[nodes * fanIn];
+    edgeTargets = new int[nodes * fanIn];
+    for (int i = width; i < nodes; i++) {
+      for (int k = 0; k < fanIn; k++) {
+        edgeSources[edges] = random.nextInt(i - i % width);
+        edgeTargets[edges] = i;
+        edges++;
+      }
+    }
+    edgeSources = Arrays.copyOf(edgeSources, edges);
+    edgeTargets = Arrays.copyOf(edgeTargets, edges);
+    graph = build();
+    order = graph.topologicalOrder();
+
+    Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    long before = runtime.totalMemory() - runtime.freeMemory();
+    List<TaskGraph> retained = List.of(build(), build(), build(), build());
+    System.gc();
+    long after = runtime.totalMemory() - runtime.freeMemory();
+    System.out.printf("%n[%d nodes, %d edges] about %d bytes per edge retained (%d graphs)%n", nodes, edges,
+        (after - before) / retained.size() / edges, retained.size());
+  }
+
+  @Benchmark
+  public TaskGraph build() {
+    TaskGraph.Builder builder = TaskGraph.builder();
+    for (int i = 0; i < ids.length; i++) {
+      builder.deadline(ids[i], deadlines[i]);
+    }
+    for (int e = 0; e < edgeSources.length; e++) {
+      builder.edge(ids[edgeSources[e]], ids[edgeTargets[e]]);
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public int[] topologicalOrder() {
+    return graph.topologicalOrder();
+  }
+
+  @Benchmark
+  public List<String> findCycle() {
+    return graph.findCycle();
+  }
+
+  @Benchmark
+  public TaskGraph.Schedule schedule() {
+    return graph.schedule(order);
+  }
+
+  @Benchmark
+  public TaskGraph.Schedule analyze() {
+    TaskGraph built = build();
+    return built.schedule(built.topologicalOrder());
+  }
+}
@@ -0,0 +1,125 @@
+package org.piyush.benchmark;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.piyush.config.DynamoDbConfig;
+import org.piyush.handler.TaskHandler;
+import org.piyush.handler.TaskHandlerPriming;
+import org.piyush.mapper.TaskMapper;
+import org.piyush.model.dynamodb.DbTask;
+import org.piyush.repositories.InMemoryTaskTable;
+import org.piyush.repositories.TaskRepository;
+import org.piyush.service.IdGenerator;
+import org.piyush.service.TaskService;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the first create response in a fresh JVM, with and without the round trip
+ * {@link TaskHandlerPriming} runs before a checkpoint. Every fork is a new JVM and measures exactly one request, so
+ * the score is what the first invocation after a SnapStart restore pays for class loading and initialization the
+ * snapshot did not capture. The table is in memory, so network set-up is not part of either number.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 20, jvmArgsAppend = {"-Dorg.slf4j.simpleLogger.defaultLogLevel=warn", "-DIS_TEST=true"})
+public class TaskHandlerStartupBenchmark {
+
+  @Param({"false", "true"})
+  private boolean primed;
+
+  private TaskHandler taskHandler;
+  private APIGatewayProxyRequestEvent request;
+  private final Context context = new BenchmarkContext();
+
+  @Setup
+  public void setup() throws Exception {
+    if (primed) {
+      TaskHandlerPriming.prime();
+    }
+    // ✅ Handler construction is init-phase work in both cases; only the first request is timed
+    TaskMapper taskMapper = Mappers.getMapper(TaskMapper.class);
+    taskMapper.setIdGenerator(new IdGenerator());
+    taskHandler = new TaskHandler(new TaskService(
+        new TaskRepository(DynamoDbConfig.dynamoDbClient(),
+            new InMemoryTaskTable("task_management", DbTask.TABLE_SCHEMA)), taskMapper));
+    String deadline = Instant.now().plus(7, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS).toString();
+    request = new APIGatewayProxyRequestEvent()
+        .withHttpMethod("POST")
+        .withPath("/tasks")
+        .withBody("{\"title\":\"First request\",\"priority\":\"MEDIUM\",\"deadline\":\"" + deadline + "\","
+            + "\"subTasks\":[{\"title\":\"Sub-task\",\"completed\":false,\"dueDate\":\"" + deadline + "\"}]}");
+  }
+
+  @Benchmark
+  public int firstCreate() {
+    return taskHandler.handleRequest(request, context).getStatusCode();
+  }
+
+  private static final class BenchmarkContext implements Context {
+    @Override
+    public String getAwsRequestId() {
+      return "startup-benchmark";
+    }
+
+    @Override
+    public String getLogGroupName() {
+      return null;
+    }
+
+    @Override
+    public String getLogStreamName() {
+      return null;
+    }
+
+    @Override
+    public String getFunctionName() {
+      return null;
+    }
+
+    @Override
+    public String getFunctionVersion() {
+      return null;
+    }
+
+    @Override
+    public String getInvokedFunctionArn() {
+      return null;
+    }
+
+    @Override
+    public CognitoIdentity getIdentity() {
+      return null;
+    }
+
+    @Override
+    public ClientContext getClientContext() {
+      return null;
+    }
+
+    @Override
+    public int getRemainingTimeInMillis() {
+      return 0;
+    }
+
+    @Override
+    public int getMemoryLimitInMB() {
+      return 0;
+    }
+
+    @Override
+    public LambdaLogger getLogger() {
+      return null;
+    }
+  }
+}
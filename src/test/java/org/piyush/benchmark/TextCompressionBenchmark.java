@@ -0,0 +1,184 @@
+package org.piyush.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.piyush.constant.Priority;
+import org.piyush.constant.TaskStatus;
+import org.piyush.converters.TextCompression;
+import org.piyush.converters.TextDictionaryTrainer;
+import org.piyush.model.dynamodb.DbTask;
+import org.piyush.model.dynamodb.DbTaskTableSchema;
+import org.piyush.model.taskmanagement.SubTask;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost and payoff of compressing {@code description} and sub-task descriptions on a synthetic corpus of task items.
+ * Setup prints the average stored item size and the read (4 KB) and write (1 KB) units per item for each codec; the
+ * benchmarks measure encoding and decoding the text attributes of one item. The dictionary is trained on a separate
+ * half of the corpus, as it would be trained on existing items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class TextCompressionBenchmark {
+
+  private static final int CORPUS_SIZE = 2000;
+  private static final Instant DEADLINE = Instant.parse("2099-02-18T10:00:00Z");
+  private static final String[] PHRASES = {
+      "Investigate the failing nightly deployment", "of the billing service", "and roll back the release",
+      "if the error rate stays above the threshold", "Follow up with the customer", "about the invoice discrepancy",
+      "Update the runbook", "with the new escalation steps", "Review the pull request", "for the payment gateway",
+      "Coordinate with the platform team", "before the maintenance window", "Capture a heap dump",
+      "and attach it to the incident ticket", "Migrate the reporting jobs", "to the new data warehouse",
+      "Verify the alarms", "on the production dashboard", "Write integration tests", "for the retry logic",
+      "Confirm the SLA", "with the account manager", "Rotate the API keys", "used by the mobile app"};
+
+  @Param({"none", "deflate", "dictionary"})
+  private String codec;
+
+  private TextCompression compression;
+  private final List<DbTask> corpus = new ArrayList<>();
+  private final List<List<AttributeValue>> stored = new ArrayList<>();
+  private int next;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    List<String> trainingSamples = new ArrayList<>();
+    for (int i = 0; i < CORPUS_SIZE; i++) {
+      corpus.add(task(random, i));
+      trainingSamples.add(text(random, 80, 500));
+    }
+    Map<Integer, byte[]> dictionaries = "dictionary".equals(codec)
+        ? Map.of(1, TextDictionaryTrainer.train(trainingSamples, TextDictionaryTrainer.MAX_DICTIONARY_BYTES))
+        : Map.of();
+    compression = new TextCompression("none".equals(codec) ? 0 : 128, 6, dictionaries);
+
+    TableSchema<DbTask> schema = DbTaskTableSchema.staticSchema();
+    long totalBytes = 0;
+    long readUnits = 0;
+    long writeUnits = 0;
+    for (DbTask task : corpus) {
+      stored.add(encodeText(task));
+      long size = itemSize(storedItem(schema, task));
+      totalBytes += size;
+      readUnits += (size + 4095) / 4096;
+      writeUnits += (size + 1023) / 1024;
+    }
+    System.out.printf("%n[%s] average item %d bytes, %.2f read units, %.2f write units%n", codec,
+        totalBytes / CORPUS_SIZE, (double) readUnits / CORPUS_SIZE, (double) writeUnits / CORPUS_SIZE);
+  }
+
+  @Benchmark
+  public List<AttributeValue> encode() {
+    return encodeText(corpus.get(next++ % CORPUS_SIZE));
+  }
+
+  @Benchmark
+  public int decode() {
+    int length = 0;
+    for (AttributeValue value : stored.get(next++ % CORPUS_SIZE)) {
+      length += compression.decode(value).length();
+    }
+    return length;
+  }
+
+  private List<AttributeValue> encodeText(DbTask task) {
+    List<AttributeValue> values = new ArrayList<>();
+    values.add(compression.encode(task.getDescription()));
+    task.getSubTasks().forEach(subTask -> values.add(compression.encode(subTask.getDescription())));
+    return values;
+  }
+
+  // ✅ The item as written, with the text attributes encoded by the codec under test
+  private Map<String, AttributeValue> storedItem(TableSchema<DbTask> schema, DbTask task) {
+    Map<String, AttributeValue> item = new HashMap<>(schema.itemToMap(task, true));
+    item.put("description", compression.encode(task.getDescription()));
+    List<AttributeValue> subTasks = new ArrayList<>();
+    for (AttributeValue subTask : item.get("subTasks").l()) {
+      Map<String, AttributeValue> fields = new HashMap<>(subTask.m());
+      if (fields.containsKey("description")) {
+        fields.put("description", compression.encode(TextCompression.shared().decode(fields.get("description"))));
+      }
+      subTasks.add(AttributeValue.fromM(fields));
+    }
+    item.put("subTasks", AttributeValue.fromL(subTasks));
+    return item;
+  }
+
+  // ✅ DynamoDB's item size rules: attribute names plus values, 3 bytes per list or map and 1 per element
+  private static long itemSize(Map<String, AttributeValue> item) {
+    long size = 0;
+    for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+      size += attribute.getKey().getBytes(StandardCharsets.UTF_8).length + valueSize(attribute.getValue());
+    }
+    return size;
+  }
+
+  private static long valueSize(AttributeValue value) {
+    if (value.s() != null) {
+      return value.s().getBytes(StandardCharsets.UTF_8).length;
+    }
+    if (value.n() != null) {
+      return value.n().length() / 2 + 1;
+    }
+    if (value.b() != null) {
+      return value.b().asByteArrayUnsafe().length;
+    }
+    if (value.hasL()) {
+      return 3 + value.l().stream().mapToLong(element -> 1 + valueSize(element)).sum();
+    }
+    if (value.hasM()) {
+      return 3 + itemSize(value.m()) + value.m().size();
+    }
+    return 1;
+  }
+
+  private static DbTask task(Random random, int i) {
+    DbTask task = new DbTask();
+    task.setId("task-" + i);
+    task.setTitle("Task " + i);
+    task.setDescription(text(random, 80, 500));
+    task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+    task.setDeadline(DEADLINE);
+    task.setLabels(List.of("ops", "billing"));
+    List<SubTask> subTasks = new ArrayList<>();
+    for (int s = random.nextInt(13); s > 0; s--) {
+      subTasks.add(new SubTask("st-" + i + "-" + s, "Sub-task " + s, random.nextBoolean(), DEADLINE,
+          text(random, 40, 300), "owner", null));
+    }
+    task.setSubTasks(subTasks);
+    task.setAssignee("owner-" + random.nextInt(20));
+    task.setStatus(TaskStatus.PENDING);
+    task.setCreatedAt(DEADLINE);
+    task.setUpdatedAt(DEADLINE);
+    task.setVersion(1L);
+    return task;
+  }
+
+  // ✅ Phrases drawn from a small vocabulary with ticket numbers, like real task text
+  private static String text(Random random, int minLength, int maxLength) {
+    int length = minLength + random.nextInt(maxLength - minLength);
+    StringBuilder text = new StringBuilder();
+    while (text.length() < length) {
+      text.append(PHRASES[random.nextInt(PHRASES.length)]);
+      if (random.nextInt(4) == 0) {
+        text.append(" (ticket ").append(1000 + random.nextInt(9000)).append(')');
+      }
+      text.append(random.nextInt(3) == 0 ? ". " : " ");
+    }
+    return text.substring(0, length).trim();
+  }
+}
@@ -0,0 +1,60 @@
+package org.piyush.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.piyush.constant.Priority;
+import org.piyush.model.taskmanagement.SubTask;
+import org.piyush.model.taskmanagement.TaskCreate;
+import org.piyush.utils.ValidationUtil;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of a bulk create payload (valid tasks with sub-tasks) through {@link ValidationUtil}, hand-written
+ * validators vs Hibernate Validator. Run with {@code -prof gc} to compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ValidationBenchmark {
+
+  private List<TaskCreate> payload;
+
+  @Setup
+  public void setup() {
+    Instant deadline = Instant.now().plus(30, ChronoUnit.DAYS);
+    payload = new ArrayList<>(1000);
+    for (int i = 0; i < 1000; i++) {
+      payload.add((TaskCreate) new TaskCreate()
+          .setTitle("Task " + i)
+          .setDescription("Bulk task number " + i)
+          .setPriority(Priority.MEDIUM)
+          .setDeadline(deadline)
+          .setSubTasks(List.of(new SubTask().setTitle("First"), new SubTask().setTitle("Second"))));
+    }
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = {"-Dorg.slf4j.simpleLogger.defaultLogLevel=warn", "-DVALIDATION_PROVIDER=generated"})
+  public int generated() {
+    return validateAll();
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = {"-Dorg.slf4j.simpleLogger.defaultLogLevel=warn", "-DVALIDATION_PROVIDER=hibernate"})
+  public int hibernate() {
+    return validateAll();
+  }
+
+  private int validateAll() {
+    for (TaskCreate taskCreate : payload) {
+      ValidationUtil.validate(taskCreate);
+    }
+    return payload.size();
+  }
+}
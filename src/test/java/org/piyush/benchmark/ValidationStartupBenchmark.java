@@ -0,0 +1,38 @@
+package org.piyush.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.piyush.constant.Priority;
+import org.piyush.model.taskmanagement.TaskCreate;
+import org.piyush.utils.ValidationUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the first {@link ValidationUtil#validate} call in a fresh JVM, hand-written validators vs Hibernate
+ * Validator. Each fork measures exactly one call, so the Hibernate score includes its EL and metadata bootstrap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class ValidationStartupBenchmark {
+
+  @Benchmark
+  @Fork(value = 20, jvmArgsAppend = {"-Dorg.slf4j.simpleLogger.defaultLogLevel=warn", "-DVALIDATION_PROVIDER=generated"})
+  public TaskCreate generated() {
+    return firstValidation();
+  }
+
+  @Benchmark
+  @Fork(value = 20, jvmArgsAppend = {"-Dorg.slf4j.simpleLogger.defaultLogLevel=warn", "-DVALIDATION_PROVIDER=hibernate"})
+  public TaskCreate hibernate() {
+    return firstValidation();
+  }
+
+  private static TaskCreate firstValidation() {
+    TaskCreate taskCreate = (TaskCreate) new TaskCreate().setTitle("First task").setPriority(Priority.HIGH);
+    ValidationUtil.validate(taskCreate);
+    return taskCreate;
+  }
+}
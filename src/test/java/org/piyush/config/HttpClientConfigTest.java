@@ -0,0 +1,43 @@
+package org.piyush.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.piyush.repositories.base.DynamoDBBaseRepositoryTest;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpClientConfigTest extends DynamoDBBaseRepositoryTest {
+
+  @Test
+  void transport_ParsesConfiguredNames() {
+    assertThat(HttpClientConfig.Transport.from("apache")).isEqualTo(HttpClientConfig.Transport.APACHE);
+    assertThat(HttpClientConfig.Transport.from("url-connection")).isEqualTo(HttpClientConfig.Transport.URL_CONNECTION);
+    assertThat(HttpClientConfig.Transport.from(" CRT ")).isEqualTo(HttpClientConfig.Transport.CRT);
+    assertThatThrownBy(() -> HttpClientConfig.Transport.from("netty"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Unknown DYNAMODB_HTTP_CLIENT [netty]");
+  }
+
+  @ParameterizedTest
+  @EnumSource(HttpClientConfig.Transport.class)
+  void httpClient_EveryTransportReachesDynamoDbLocal(HttpClientConfig.Transport transport) {
+    try (DynamoDbClient client = DynamoDbClient.builder()
+        .httpClient(HttpClientConfig.httpClient(transport))
+        .overrideConfiguration(HttpClientConfig.overrideConfiguration())
+        .endpointOverride(URI.create("http://localhost:8000"))
+        .region(Region.US_EAST_1)
+        .credentialsProvider(StaticCredentialsProvider.create(
+            AwsBasicCredentials.create("DUMMYIDEXAMPLE", "DUMMYEXAMPLEKEY")))
+        .build()) {
+      assertThat(client.listTables().sdkHttpResponse().isSuccessful()).isTrue();
+    }
+  }
+}
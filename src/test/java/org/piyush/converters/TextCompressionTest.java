@@ -0,0 +1,63 @@
+package org.piyush.converters;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextCompressionTest {
+  private static final String LONG_TEXT = ("Investigate the failing nightly deployment of the billing service and "
+      + "roll back the release if the error rate stays above the threshold. ").repeat(4);
+
+  private final TextCompression compression = new TextCompression(128, 6, Map.of());
+
+  @Test
+  void encode_KeepsShortTextAsString() {
+    assertThat(compression.encode("Short description").s()).isEqualTo("Short description");
+    assertThat(new TextCompression(0, 6, Map.of()).encode(LONG_TEXT).s()).isEqualTo(LONG_TEXT);
+    assertThat(compression.decode(AttributeValue.fromS("Stored before compression"))).isEqualTo(
+        "Stored before compression");
+  }
+
+  @Test
+  void encode_DeflatesLongTextBehindHeaderByte() {
+    AttributeValue encoded = compression.encode(LONG_TEXT);
+
+    byte[] stored = encoded.b().asByteArray();
+    assertThat(stored[0]).isEqualTo((byte) 0x10);
+    assertThat(stored.length).isLessThan(LONG_TEXT.length() / 2);
+    assertThat(compression.decode(encoded)).isEqualTo(LONG_TEXT);
+  }
+
+  @Test
+  void encode_UsesHighestDictionaryAndRecordsItsId() {
+    List<String> samples = IntStream.range(0, 50)
+        .mapToObj(i -> "Follow up with customer " + i + " about the billing service deployment and the error rate")
+        .toList();
+    byte[] dictionary = TextDictionaryTrainer.train(samples, 4096);
+    TextCompression withDictionary = new TextCompression(32, 6, Map.of(1, new byte[]{'x'}, 2, dictionary));
+    String text = "Follow up with customer 77 about the billing service deployment and the error rate today";
+
+    AttributeValue encoded = withDictionary.encode(text);
+
+    assertThat(new String(dictionary)).contains("billing service deployment");
+    assertThat(encoded.b().asByteArray()[0]).isEqualTo((byte) 0x12);
+    assertThat(encoded.b().asByteArray().length)
+        .isLessThan(new TextCompression(32, 6, Map.of()).encode(text).b().asByteArray().length / 2);
+    assertThat(withDictionary.decode(encoded)).isEqualTo(text);
+    assertThatThrownBy(() -> compression.decode(encoded)).hasMessageContaining("dictionary 2 is not available");
+  }
+
+  @Test
+  void decode_RejectsUnknownHeader() {
+    AttributeValue unknown = AttributeValue.fromB(SdkBytes.fromByteArray(new byte[]{0x20, 1, 2, 3}));
+
+    assertThatThrownBy(() -> compression.decode(unknown)).hasMessageContaining("header 0x20");
+  }
+}
@@ -0,0 +1,87 @@
+package org.piyush.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskGraphTest {
+  private static final Instant DAY_1 = Instant.parse("2099-01-01T00:00:00Z");
+  private static final Instant DAY_2 = Instant.parse("2099-01-02T00:00:00Z");
+  private static final Instant DAY_3 = Instant.parse("2099-01-03T00:00:00Z");
+  private static final Instant DAY_5 = Instant.parse("2099-01-05T00:00:00Z");
+
+  @Test
+  void topologicalOrder_PutsEveryTaskAfterItsDependencies() {
+    TaskGraph graph = TaskGraph.builder()
+        .edge("design", "build")
+        .edge("design", "docs")
+        .edge("build", "release")
+        .edge("docs", "release")
+        .build();
+
+    List<String> order = Arrays.stream(graph.topologicalOrder()).mapToObj(graph::id).toList();
+
+    assertThat(graph.nodeCount()).isEqualTo(4);
+    assertThat(graph.edgeCount()).isEqualTo(4);
+    assertThat(order).hasSize(4).startsWith("design").endsWith("release");
+    assertThat(graph.findCycle()).isEmpty();
+  }
+
+  @Test
+  void findCycle_ReturnsTheClosedPath() {
+    TaskGraph graph = TaskGraph.builder()
+        .edge("a", "b")
+        .edge("b", "c")
+        .edge("c", "a")
+        .edge("c", "d")
+        .build();
+
+    assertThat(graph.topologicalOrder()).isNull();
+    assertThat(graph.findCycle()).containsExactly("a", "b", "c", "a");
+    assertThat(TaskGraph.builder().edge("self", "self").build().findCycle()).containsExactly("self", "self");
+  }
+
+  @Test
+  void path_FindsShortestChain() {
+    TaskGraph graph = TaskGraph.builder()
+        .edge("a", "b")
+        .edge("b", "c")
+        .edge("c", "d")
+        .edge("a", "d")
+        .build();
+
+    assertThat(graph.path("a", "d")).containsExactly("a", "d");
+    assertThat(graph.path("b", "d")).containsExactly("b", "c", "d");
+    assertThat(graph.path("d", "a")).isEmpty();
+    assertThat(graph.path("a", "unknown")).isEmpty();
+  }
+
+  @Test
+  void schedule_PushesFinishPastLateDependencies() {
+    TaskGraph graph = TaskGraph.builder()
+        .deadline("design", DAY_3)
+        .deadline("design", DAY_5)
+        .deadline("build", DAY_2)
+        .deadline("review", DAY_1)
+        .deadline("release", DAY_2)
+        .edge("design", "build")
+        .edge("review", "build")
+        .edge("build", "release")
+        .edge("release", "missing")
+        .build();
+
+    TaskGraph.Schedule schedule = graph.schedule(graph.topologicalOrder());
+
+    // ✅ The earliest of design's two deadlines counts
+    assertThat(schedule.finish(graph.node("design"))).isEqualTo(DAY_3);
+    assertThat(schedule.finish(graph.node("build"))).isEqualTo(DAY_3);
+    assertThat(schedule.finish(graph.node("release"))).isEqualTo(DAY_3);
+    assertThat(graph.deadline(graph.node("missing"))).isEqualTo(TaskGraph.NO_DEADLINE);
+    assertThat(Arrays.stream(schedule.criticalPath()).mapToObj(graph::id))
+        .containsExactly("design", "build", "release", "missing");
+  }
+}
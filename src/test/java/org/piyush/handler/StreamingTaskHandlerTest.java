@@ -0,0 +1,142 @@
+package org.piyush.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.piyush.config.JacksonConfig;
+import org.piyush.exception.TaskNotFoundException;
+import org.piyush.model.taskmanagement.SubTask;
+import org.piyush.model.taskmanagement.TaskFields;
+import org.piyush.model.taskmanagement.TaskRead;
+import org.piyush.service.TaskService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StreamingTaskHandlerTest {
+
+  private static final String TEST_ID = "test-id";
+  private static final Instant TEST_DEADLINE = Instant.parse("2099-02-18T10:00:00Z");
+
+  private final ObjectMapper objectMapper = JacksonConfig.getObjectMapper();
+
+  @Mock
+  private TaskService taskService;
+
+  private StreamingTaskHandler handler;
+
+  @BeforeEach
+  void setup() {
+    handler = new StreamingTaskHandler(taskService);
+  }
+
+  @Test
+  void handleRequest_GetWritesEnvelopeWithEscapedBody() throws IOException {
+    TaskRead taskRead = (TaskRead) new TaskRead()
+        .setId(TEST_ID)
+        .setTitle("Quote \" backslash \\ newline \n tab \t")
+        .setSubTasks(List.of(new SubTask().setId("st-1").setTitle("Sub \u0001 task")));
+    when(taskService.getTask(TEST_ID, TEST_DEADLINE, TaskFields.ALL)).thenReturn(taskRead);
+
+    JsonNode response = invoke("""
+        {"resource":"/tasks/{taskId}/{deadline}","httpMethod":"GET",
+         "headers":{"Accept":"application/json"},
+         "multiValueHeaders":{"Accept":["application/json"]},
+         "pathParameters":{"taskId":"test-id","deadline":"2099-02-18T10:00:00Z"},
+         "requestContext":{"requestId":"abc","identity":{"sourceIp":"127.0.0.1"}},
+         "body":null,"isBase64Encoded":false}
+        """);
+
+    assertThat(response.get("statusCode").asInt()).isEqualTo(200);
+    assertThat(response.get("headers").get("Content-Type").asText()).isEqualTo("application/json");
+
+    JsonNode body = objectMapper.readTree(response.get("body").asText());
+    assertThat(body.get("data").get("id").asText()).isEqualTo(TEST_ID);
+    assertThat(body.get("data").get("title").asText()).isEqualTo(taskRead.getTitle());
+    assertThat(body.get("data").get("subTasks").get(0).get("title").asText()).isEqualTo("Sub \u0001 task");
+  }
+
+  @Test
+  void handleRequest_DecodesBase64Body() throws IOException {
+    TaskRead created = (TaskRead) new TaskRead().setId(TEST_ID).setTitle("Created");
+    when(taskService.createTask(any())).thenReturn(created);
+    String payload = "{\"title\":\"Created\",\"priority\":\"LOW\",\"deadline\":\"2099-02-18T10:00:00Z\"}";
+    String encoded = Base64.getEncoder().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+
+    JsonNode response = invoke("{\"httpMethod\":\"POST\",\"isBase64Encoded\":true,\"body\":\"" + encoded + "\"}");
+
+    assertThat(response.get("statusCode").asInt()).isEqualTo(201);
+    verify(taskService).createTask(argThat(task -> "Created".equals(task.getTitle())));
+  }
+
+  @Test
+  void handleRequest_NotFoundWritesMessage() throws IOException {
+    when(taskService.getTask(TEST_ID, TEST_DEADLINE, TaskFields.ALL)).thenThrow(new TaskNotFoundException("Task not found"));
+
+    JsonNode response = invoke("""
+        {"httpMethod":"GET","pathParameters":{"taskId":"test-id","deadline":"2099-02-18T10:00:00Z"}}
+        """);
+
+    assertThat(response.get("statusCode").asInt()).isEqualTo(404);
+    assertThat(objectMapper.readTree(response.get("body").asText()).get("message").asText())
+        .isEqualTo("Task not found");
+  }
+
+  @Test
+  void handleRequest_UnserializableBodyWritesInternalServerError() throws IOException {
+    TaskRead taskRead = new TaskRead() {
+      @Override
+      public String getTitle() {
+        throw new IllegalStateException("boom");
+      }
+    };
+    when(taskService.getTask(TEST_ID, TEST_DEADLINE, TaskFields.ALL)).thenReturn(taskRead);
+
+    JsonNode response = invoke("""
+        {"httpMethod":"GET","pathParameters":{"taskId":"test-id","deadline":"2099-02-18T10:00:00Z"}}
+        """);
+
+    assertThat(response.get("statusCode").asInt()).isEqualTo(500);
+    assertThat(response.get("headers").get("Content-Type").asText()).isEqualTo("application/json");
+    assertThat(objectMapper.readTree(response.get("body").asText()).get("message").asText())
+        .isEqualTo("Internal server error");
+  }
+
+  @Test
+  void handleRequest_MalformedEventReturnsBadRequest() throws IOException {
+    JsonNode response = invoke("{\"httpMethod\":");
+
+    assertThat(response.get("statusCode").asInt()).isEqualTo(400);
+    verifyNoInteractions(taskService);
+  }
+
+  @Test
+  void handleRequest_EmptyEventReturnsBadRequest() throws IOException {
+    JsonNode response = invoke("");
+
+    assertThat(response.get("statusCode").asInt()).isEqualTo(400);
+    assertThat(response.get("body").asText()).contains("No input provided");
+  }
+
+  private JsonNode invoke(String event) throws IOException {
+    Context context = mock(Context.class);
+    when(context.getAwsRequestId()).thenReturn("test-request-id");
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    handler.handleRequest(new ByteArrayInputStream(event.getBytes(StandardCharsets.UTF_8)), output, context);
+    return objectMapper.readTree(output.toByteArray());
+  }
+}
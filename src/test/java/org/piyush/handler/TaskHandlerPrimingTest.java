@@ -0,0 +1,55 @@
+package org.piyush.handler;
+
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.piyush.config.DynamoDbConfig;
+import org.piyush.constant.Priority;
+import org.piyush.mapper.TaskMapper;
+import org.piyush.model.dynamodb.DbTask;
+import org.piyush.repositories.InMemoryTaskTable;
+import org.piyush.repositories.TaskRepository;
+import org.piyush.service.IdGenerator;
+import org.piyush.service.TaskService;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskHandlerPrimingTest {
+
+  @Test
+  void prime_RunsFullRoundTripAgainstInMemoryTable() throws Exception {
+    InMemoryTaskTable table = new InMemoryTaskTable("task_management", DbTask.TABLE_SCHEMA);
+    TaskMapper taskMapper = Mappers.getMapper(TaskMapper.class);
+    taskMapper.setIdGenerator(new IdGenerator());
+    TaskHandler handler = new TaskHandler(new TaskService(
+        new TaskRepository(DynamoDbConfig.dynamoDbClient(), table), taskMapper));
+
+    assertThat(TaskHandlerPriming.prime(handler)).isTrue();
+  }
+
+  @Test
+  void inMemoryTable_RoundTripsThroughSchema() {
+    InMemoryTaskTable table = new InMemoryTaskTable("task_management", DbTask.TABLE_SCHEMA);
+    Instant deadline = Instant.parse("2099-01-01T00:00:00Z");
+    DbTask task = new DbTask();
+    task.setId("task-1");
+    task.setTitle("Title");
+    task.setPriority(Priority.HIGH);
+    task.setDeadline(deadline);
+    table.putItem(task);
+    DbTask later = new DbTask();
+    later.setId("task-1");
+    later.setDeadline(deadline.plusSeconds(60));
+    table.putItem(later);
+
+    DbTask found = table.getItem(Key.builder().partitionValue("task-1").sortValue(deadline.toString()).build());
+    assertThat(found.getTitle()).isEqualTo("Title");
+    assertThat(found.getPriority()).isEqualTo(Priority.HIGH);
+
+    table.deleteItem(Key.builder().partitionValue("task-1").build());
+    assertThat(table.getItem(Key.builder().partitionValue("task-1").sortValue(deadline.toString()).build()))
+        .isNull();
+  }
+}
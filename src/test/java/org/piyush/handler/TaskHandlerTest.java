@@ -16,16 +16,34 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.piyush.config.JacksonConfig;
 import org.piyush.constant.Priority;
+import org.piyush.constant.TaskConstants;
+import org.piyush.constant.TaskStatus;
+import org.piyush.exception.TaskConflictException;
 import org.piyush.exception.TaskNotFoundException;
 import org.piyush.exception.TaskRepositoryException;
+import org.piyush.model.taskmanagement.BatchItemResult;
+import org.piyush.model.taskmanagement.BatchResult;
+import org.piyush.model.taskmanagement.DependencyGraph;
+import org.piyush.model.taskmanagement.SubTask;
+import org.piyush.model.taskmanagement.SubTaskPage;
+import org.piyush.model.taskmanagement.SubTaskResult;
+import org.piyush.model.taskmanagement.TaskCounts;
 import org.piyush.model.taskmanagement.TaskCreate;
+import org.piyush.model.taskmanagement.TaskFields;
+import org.piyush.model.taskmanagement.TaskKey;
+import org.piyush.model.taskmanagement.TaskPage;
 import org.piyush.model.taskmanagement.TaskRead;
+import org.piyush.model.taskmanagement.TaskSearchResult;
 import org.piyush.model.taskmanagement.TaskUpdate;
+import org.piyush.repositories.QueryPlan;
+import org.piyush.repositories.TaskCacheStats;
 import org.piyush.service.TaskService;
 
 import java.lang.reflect.Field;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,7 +54,7 @@ class TaskHandlerTest {
 
   private static final String TEST_ID = "test-id";
   private static final String TEST_TITLE = "Test Task";
-  private static final Instant TEST_DEADLINE = Instant.parse("2025-02-18T10:00:00Z");
+  private static final Instant TEST_DEADLINE = Instant.parse("2099-02-18T10:00:00Z");
 
   @Mock
   private TaskService taskService;
@@ -123,6 +141,294 @@ class TaskHandlerTest {
     verify(taskService).deleteTask(TEST_ID);
   }
 
+  @Test
+  void handleRequest_BatchCreateReportsPartialFailure() throws JsonProcessingException {
+    TaskCreate taskCreate = (TaskCreate) new TaskCreate()
+        .setTitle(TEST_TITLE)
+        .setPriority(Priority.LOW);
+    BatchResult<Void> result = new BatchResult<>(List.of(
+        new BatchItemResult<>(0, TEST_ID, 201, null, null),
+        new BatchItemResult<>(1, null, 400, "Validation failed: Title is mandatory;", null)), 201);
+
+    APIGatewayProxyRequestEvent request = createApiRequest("POST", List.of(taskCreate, new TaskCreate()))
+        .withPath("/tasks:batch");
+    when(taskService.createTasks(anyList())).thenReturn(result);
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(207);
+    assertThat(response.getBody()).contains("\"succeeded\":1", "\"failed\":1", "Title is mandatory");
+    verify(taskService, never()).createTask(any());
+  }
+
+  @Test
+  void handleRequest_BatchCreateRejectsEmptyPayload() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+        .withHttpMethod("POST")
+        .withPath("/tasks:batch")
+        .withBody("[]");
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(400);
+    verifyNoInteractions(taskService);
+  }
+
+  @Test
+  void handleRequest_BatchGetReturnsPerKeyResults() throws JsonProcessingException {
+    TaskRead taskRead = (TaskRead) new TaskRead().setId(TEST_ID).setTitle(TEST_TITLE);
+    BatchResult<TaskRead> result = new BatchResult<>(List.of(
+        new BatchItemResult<>(0, TEST_ID, 200, null, taskRead),
+        new BatchItemResult<>(1, "missing-id", 404, "Task not found", null)), 200);
+
+    APIGatewayProxyRequestEvent request = createApiRequest("POST", List.of(
+        new TaskKey(TEST_ID, TEST_DEADLINE), new TaskKey("missing-id", TEST_DEADLINE)))
+        .withPath("/tasks:batchGet");
+    when(taskService.getTasks(anyList())).thenReturn(result);
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).contains("\"succeeded\":1", "\"failed\":1", TEST_TITLE, "Task not found");
+    verify(taskService).getTasks(List.of(new TaskKey(TEST_ID, TEST_DEADLINE), new TaskKey("missing-id", TEST_DEADLINE)));
+  }
+
+  @Test
+  void handleRequest_BatchGetRejectsKeyWithoutDeadline() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+        .withHttpMethod("POST")
+        .withPath("/tasks:batchGet")
+        .withBody("[{\"id\":\"test-id\"}]");
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(400);
+    verifyNoInteractions(taskService);
+  }
+
+  @Test
+  void handleRequest_SearchExplainReturnsPlan() {
+    QueryPlan plan = new QueryPlan()
+        .setAccessPath(QueryPlan.AccessPath.ASSIGNEE_INDEX)
+        .setPartitionValues(List.of("alice"))
+        .setEstimatedReadUnits(2.5);
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+        .withHttpMethod("POST")
+        .withPath("/tasks:search")
+        .withQueryStringParameters(Map.of("explain", "true"))
+        .withBody("{\"assignee\":\"alice\",\"priorities\":[\"HIGH\"]}");
+    when(taskService.searchTasks(any(), eq(true), eq(TaskFields.ALL))).thenReturn(new TaskSearchResult().setPlan(plan));
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).contains("\"accessPath\":\"ASSIGNEE_INDEX\"", "\"indexName\":\"AssigneeIndex\"");
+    verify(taskService).searchTasks(argThat(criteria -> "alice".equals(criteria.getAssignee())
+        && criteria.getPriorities().length == 1), eq(true), eq(TaskFields.ALL));
+  }
+
+  @Test
+  void handleRequest_PatchAppliesMergePatch() {
+    APIGatewayProxyRequestEvent request = createPatchRequest("{\"title\":\"Patched\",\"assignee\":null}")
+        .withHeaders(Map.of("if-match", "W/\"3\""));
+    when(taskService.patchTask(eq(TEST_ID), eq(TEST_DEADLINE), any(), eq(3L)))
+        .thenReturn((TaskRead) new TaskRead().setId(TEST_ID).setTitle("Patched"));
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).contains("\"title\":\"Patched\"");
+    verify(taskService).patchTask(eq(TEST_ID), eq(TEST_DEADLINE), argThat(patch ->
+        patch.getSetFields().equals(Set.of("title")) && patch.getRemovedFields().equals(Set.of("assignee"))), eq(3L));
+  }
+
+  @Test
+  void handleRequest_AppendSubTasksAcceptsObjectOrArray() {
+    APIGatewayProxyRequestEvent request = createSubTaskRequest("POST", "", "{\"title\":\"Subtask\"}");
+    when(taskService.appendSubTasks(eq(TEST_ID), eq(TEST_DEADLINE), any(), isNull()))
+        .thenReturn(List.of(new SubTaskResult(2, new SubTask().setId("st-3").setTitle("Subtask"), 4L)));
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+    taskHandler.handleRequest(createSubTaskRequest("POST", "/", "[{\"title\":\"A\"},{\"title\":\"B\"}]"),
+        createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(201);
+    assertThat(response.getBody()).contains("\"index\":2", "\"version\":4", "st-3");
+    verify(taskService).appendSubTasks(eq(TEST_ID), eq(TEST_DEADLINE),
+        argThat(subTasks -> subTasks.size() == 1), isNull());
+    verify(taskService).appendSubTasks(eq(TEST_ID), eq(TEST_DEADLINE),
+        argThat(subTasks -> subTasks.size() == 2), isNull());
+  }
+
+  @Test
+  void handleRequest_ListSubTasksReturnsPage() {
+    APIGatewayProxyRequestEvent request = createSubTaskRequest("GET", "", null)
+        .withQueryStringParameters(Map.of("limit", "2", "pageToken", "token"));
+    when(taskService.listSubTasks(TEST_ID, TEST_DEADLINE, 2, "token")).thenReturn(new SubTaskPage()
+        .setSubTasks(List.of(new SubTask().setId("st-1").setTitle("Subtask")))
+        .setNextPageToken("next"));
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).contains("st-1", "\"nextPageToken\":\"next\"");
+  }
+
+  @Test
+  void handleRequest_DependenciesReturnsGraph() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+        .withHttpMethod("GET")
+        .withPath("/tasks/" + TEST_ID + "/dependencies")
+        .withPathParameters(Map.of("taskId", TEST_ID));
+    when(taskService.getDependencyGraph(TEST_ID)).thenReturn(new DependencyGraph()
+        .setTaskId(TEST_ID)
+        .setNodeCount(2)
+        .setCriticalPath(List.of(TEST_ID, "task-2")));
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+    APIGatewayProxyResponseEvent wrongMethod = taskHandler.handleRequest(request.withHttpMethod("POST"),
+        createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).contains("\"criticalPath\":[\"" + TEST_ID + "\",\"task-2\"]");
+    assertThat(wrongMethod.getStatusCode()).isEqualTo(405);
+  }
+
+  @Test
+  void handleRequest_CountsParsesStatusesAndAssignees() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+        .withHttpMethod("GET")
+        .withPath("/tasks:counts")
+        .withQueryStringParameters(Map.of("status", "blocked, PENDING", "assignee", "alice,bob"));
+    when(taskService.getTaskCounts(List.of(TaskStatus.BLOCKED, TaskStatus.PENDING), List.of("alice", "bob")))
+        .thenReturn(new TaskCounts()
+            .setByStatus(Map.of("BLOCKED", 4L))
+            .setByAssignee(Map.of("alice", 2L)));
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+    APIGatewayProxyResponseEvent unknown = taskHandler.handleRequest(request
+        .withQueryStringParameters(Map.of("status", "DONE")), createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).contains("\"byStatus\":{\"BLOCKED\":4}");
+    assertThat(unknown.getStatusCode()).isEqualTo(400);
+  }
+
+  @Test
+  void handleRequest_CompleteSubTaskRequiresSubTaskId() {
+    APIGatewayProxyRequestEvent request = createSubTaskRequest("POST", "/3:complete", "{\"id\":\"st-1\"}");
+    when(taskService.patchSubTask(eq(TEST_ID), eq(TEST_DEADLINE), eq(3), any(), isNull()))
+        .thenThrow(new TaskConflictException("Sub-task at index 3 of task [test-id] is not [st-1]"));
+
+    APIGatewayProxyResponseEvent conflict = taskHandler.handleRequest(request, createMockContext());
+    APIGatewayProxyResponseEvent missingId = taskHandler.handleRequest(
+        createSubTaskRequest("POST", "/3:complete", "{}"), createMockContext());
+    APIGatewayProxyResponseEvent wrongMethod = taskHandler.handleRequest(
+        createSubTaskRequest("DELETE", "/3", null), createMockContext());
+
+    assertThat(conflict.getStatusCode()).isEqualTo(409);
+    verify(taskService).patchSubTask(eq(TEST_ID), eq(TEST_DEADLINE), eq(3), argThat(patch ->
+        "st-1".equals(patch.getId()) && patch.getCompleted()), isNull());
+    assertThat(missingId.getStatusCode()).isEqualTo(400);
+    assertThat(wrongMethod.getStatusCode()).isEqualTo(405);
+  }
+
+  @Test
+  void handleRequest_PatchStaleVersionReturnsConflict() {
+    APIGatewayProxyRequestEvent request = createPatchRequest("{\"title\":\"Patched\"}")
+        .withHeaders(Map.of("If-Match", "1"));
+    when(taskService.patchTask(eq(TEST_ID), eq(TEST_DEADLINE), any(), eq(1L)))
+        .thenThrow(new TaskConflictException("Task [test-id] is at version 2, not 1"));
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(409);
+    assertThat(response.getBody()).contains("version 2");
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideInvalidPatches")
+  void handleRequest_PatchRejectsInvalidDocument(String body, String expectedMessage) {
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(createPatchRequest(body), createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(400);
+    assertThat(response.getBody()).contains(expectedMessage);
+    verifyNoInteractions(taskService);
+  }
+
+  @Test
+  void handleRequest_MetricsReturnsCacheStats() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+        .withHttpMethod("GET")
+        .withPath("/tasks:metrics");
+    when(taskService.getMetrics()).thenReturn(Map.of("taskCache", new TaskCacheStats(3, 1, 0, 2, 0.75)));
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).contains("\"hits\":3", "\"misses\":1", "\"hitRate\":0.75");
+  }
+
+  @Test
+  void handleRequest_ListReturnsPage() {
+    TaskPage page = new TaskPage()
+        .setTasks(List.of((TaskRead) new TaskRead().setId(TEST_ID)))
+        .setNextPageToken("next-token");
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+        .withHttpMethod("GET")
+        .withPath("/tasks")
+        .withQueryStringParameters(Map.of("limit", "1", "pageToken", "token"));
+    when(taskService.listTasks(1, "token", TaskFields.ALL)).thenReturn(page);
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).contains("\"nextPageToken\":\"next-token\"", TEST_ID);
+  }
+
+  @Test
+  void handleRequest_ListPassesRequestedFields() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+        .withHttpMethod("GET")
+        .withPath("/tasks")
+        .withQueryStringParameters(Map.of("fields", "title, status"));
+    when(taskService.listTasks(TaskConstants.DEFAULT_PAGE_SIZE, null, TaskFields.parse("title,status")))
+        .thenReturn(new TaskPage().setTasks(List.of((TaskRead) new TaskRead().setId(TEST_ID).setStatus(null))));
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).contains(TEST_ID).doesNotContain("\"status\"");
+  }
+
+  @Test
+  void handleRequest_GetRejectsUnknownField() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+        .withHttpMethod("GET")
+        .withPathParameters(Map.of("taskId", TEST_ID, "deadline", TEST_DEADLINE.toString()))
+        .withQueryStringParameters(Map.of("fields", "title,secret"));
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(400);
+    assertThat(response.getBody()).contains("Unknown field [secret]");
+    verifyNoInteractions(taskService);
+  }
+
+  @Test
+  void handleRequest_ListRejectsOutOfRangeLimit() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+        .withHttpMethod("GET")
+        .withPath("/tasks")
+        .withQueryStringParameters(Map.of("limit", "0"));
+
+    APIGatewayProxyResponseEvent response = taskHandler.handleRequest(request, createMockContext());
+
+    assertThat(response.getStatusCode()).isEqualTo(400);
+    assertThat(response.getBody()).contains("limit must be a number between 1 and");
+    verifyNoInteractions(taskService);
+  }
+
   // VALIDATION SCENARIOS
 
   @ParameterizedTest
@@ -257,12 +563,37 @@ class TaskHandlerTest {
 
   private static Stream<Arguments> provideValidationTestCases() {
     return Stream.of(
-        Arguments.of("PATCH", 405, "Method not allowed"),
+        Arguments.of("PATCH", 400, "Task_ID and Deadline is required"),
         Arguments.of("GET", 400, "Task_ID and Deadline is required"),
         Arguments.of("DELETE", 400, "Task_ID and Deadline is required")
     );
   }
 
+  private static Stream<Arguments> provideInvalidPatches() {
+    return Stream.of(
+        Arguments.of("[]", "must be a JSON object"),
+        Arguments.of("{}", "at least one field"),
+        Arguments.of("{\"deadline\":\"2099-01-01T00:00:00Z\"}", "cannot be patched"),
+        Arguments.of("{\"version\":5}", "Field [version] cannot be patched"),
+        Arguments.of("{\"id\":\"other-id\",\"title\":\"Patched\"}", "does not match")
+    );
+  }
+
+  private APIGatewayProxyRequestEvent createSubTaskRequest(String method, String suffix, String body) {
+    return new APIGatewayProxyRequestEvent()
+        .withHttpMethod(method)
+        .withPath("/tasks/" + TEST_ID + "/" + TEST_DEADLINE + "/subTasks" + suffix)
+        .withPathParameters(Map.of("taskId", TEST_ID, "deadline", TEST_DEADLINE.toString()))
+        .withBody(body);
+  }
+
+  private APIGatewayProxyRequestEvent createPatchRequest(String body) {
+    return new APIGatewayProxyRequestEvent()
+        .withHttpMethod("PATCH")
+        .withPathParameters(Map.of("taskId", TEST_ID, "deadline", TEST_DEADLINE.toString()))
+        .withBody(body);
+  }
+
   private static Stream<Arguments> provideErrorScenarios() {
     return Stream.of(
         // ✅ Missing task should return 404
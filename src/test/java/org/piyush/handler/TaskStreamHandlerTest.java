@@ -0,0 +1,235 @@
+package org.piyush.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import com.amazonaws.services.lambda.runtime.events.models.dynamodb.StreamRecord;
+import org.junit.jupiter.api.Test;
+import org.piyush.config.DynamoDbConfig;
+import org.piyush.constant.Priority;
+import org.piyush.constant.TaskStatus;
+import org.piyush.model.dynamodb.DbTask;
+import org.piyush.projection.TaskChange;
+import org.piyush.repositories.TaskRepository;
+import org.piyush.repositories.TaskTableTestHelper;
+import org.piyush.repositories.base.DynamoDBBaseRepositoryTest;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.Record;
+import software.amazon.awssdk.services.dynamodb.model.ShardIteratorType;
+import software.amazon.awssdk.services.dynamodb.model.StreamViewType;
+import software.amazon.awssdk.services.dynamodb.streams.DynamoDbStreamsClient;
+
+import java.net.URI;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskStreamHandlerTest extends DynamoDBBaseRepositoryTest {
+
+  private static final Instant DEADLINE = Instant.parse("2099-01-01T00:00:00Z");
+
+  @Test
+  void handleRequest_AppliesChangesOfEachTaskInStreamOrder() {
+    Map<String, List<TaskChange>> applied = new ConcurrentHashMap<>();
+    TaskStreamHandler handler = new TaskStreamHandler(List.of(
+        change -> applied.computeIfAbsent(change.taskId(), id -> Collections.synchronizedList(new ArrayList<>()))
+            .add(change)));
+
+    StreamsEventResponse response = handler.handleRequest(event(
+        taskRecord("INSERT", "task-a", "1", "First", "PENDING"),
+        taskRecord("INSERT", "task-b", "2", "Other", "PENDING"),
+        subTaskRecord("task-a", "3"),
+        taskRecord("MODIFY", "task-a", "4", "First", "IN_PROGRESS"),
+        removeRecord("task-b", "5")), createMockContext());
+
+    assertTrue(response.getBatchItemFailures().isEmpty());
+    List<TaskChange> taskA = applied.get("task-a");
+    assertEquals(List.of("1", "4"), taskA.stream().map(TaskChange::sequenceNumber).toList());
+    assertEquals(TaskChange.Type.MODIFY, taskA.get(1).type());
+    assertEquals(TaskStatus.IN_PROGRESS, taskA.get(1).newTask().getStatus());
+    assertEquals("First", taskA.get(1).newTask().getTitle());
+    assertEquals(DEADLINE, taskA.get(1).deadline());
+    List<TaskChange> taskB = applied.get("task-b");
+    assertEquals(TaskChange.Type.REMOVE, taskB.get(1).type());
+    assertNull(taskB.get(1).newTask());
+  }
+
+  @Test
+  void handleRequest_ReportsFirstFailureOfATaskAndHoldsBackItsLaterRecords() {
+    List<String> applied = Collections.synchronizedList(new ArrayList<>());
+    TaskStreamHandler handler = new TaskStreamHandler(List.of(change -> {
+      if (change.sequenceNumber().equals("2")) {
+        throw new IllegalStateException("projection unavailable");
+      }
+      applied.add(change.sequenceNumber());
+    }));
+
+    StreamsEventResponse response = handler.handleRequest(event(
+        taskRecord("INSERT", "task-a", "1", "First", "PENDING"),
+        taskRecord("MODIFY", "task-a", "2", "First", "IN_PROGRESS"),
+        taskRecord("MODIFY", "task-a", "3", "First", "COMPLETED"),
+        taskRecord("INSERT", "task-b", "4", "Other", "PENDING")), createMockContext());
+
+    assertEquals(List.of("2"), response.getBatchItemFailures().stream()
+        .map(StreamsEventResponse.BatchItemFailure::getItemIdentifier)
+        .toList());
+    assertTrue(applied.containsAll(List.of("1", "4")));
+    assertFalse(applied.contains("3"));
+  }
+
+  @Test
+  void handleRequest_ProjectsRecordsReadFromTheLocalStream() {
+    String tableName = "task_management_stream";
+    DynamoDbTable<DbTask> table = TaskTableTestHelper.createTaskTable(tableName);
+    String streamArn = DynamoDbConfig.dynamoDbClient().updateTable(r -> r.tableName(tableName)
+            .streamSpecification(s -> s.streamEnabled(true).streamViewType(StreamViewType.NEW_IMAGE)))
+        .tableDescription().latestStreamArn();
+    TaskRepository repository = new TaskRepository(table);
+    DbTask task = new DbTask();
+    task.setId("stream-task");
+    task.setTitle("Streamed");
+    task.setPriority(Priority.HIGH);
+    task.setStatus(TaskStatus.PENDING);
+    task.setDeadline(Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS));
+    repository.save(task);
+    DbTask stored = repository.findByIdAndDeadline(task.getId(), task.getDeadline());
+    stored.setStatus(TaskStatus.COMPLETED);
+    repository.save(stored);
+    repository.deleteAllById(task.getId());
+
+    List<TaskChange> applied = Collections.synchronizedList(new ArrayList<>());
+    StreamsEventResponse response = new TaskStreamHandler(List.of(applied::add))
+        .handleRequest(readStream(streamArn), createMockContext());
+
+    assertTrue(response.getBatchItemFailures().isEmpty());
+    assertEquals(List.of(TaskChange.Type.INSERT, TaskChange.Type.MODIFY, TaskChange.Type.REMOVE),
+        applied.stream().map(TaskChange::type).toList());
+    assertEquals(TaskStatus.COMPLETED, applied.get(1).newTask().getStatus());
+    assertEquals(task.getDeadline(), applied.get(2).deadline());
+  }
+
+  private static DynamodbEvent readStream(String streamArn) {
+    try (DynamoDbStreamsClient streams = DynamoDbStreamsClient.builder()
+        .endpointOverride(URI.create("http://localhost:8000"))
+        .region(Region.US_EAST_1)
+        .credentialsProvider(StaticCredentialsProvider.create(
+            AwsBasicCredentials.create("DUMMYIDEXAMPLE", "DUMMYEXAMPLEKEY")))
+        .build()) {
+      List<DynamodbEvent.DynamodbStreamRecord> records = new ArrayList<>();
+      streams.describeStream(r -> r.streamArn(streamArn)).streamDescription().shards().forEach(shard -> {
+        String iterator = streams.getShardIterator(r -> r.streamArn(streamArn).shardId(shard.shardId())
+            .shardIteratorType(ShardIteratorType.TRIM_HORIZON)).shardIterator();
+        streams.getRecords(r -> r.shardIterator(iterator)).records()
+            .forEach(record -> records.add(toLambda(record)));
+      });
+      DynamodbEvent event = new DynamodbEvent();
+      event.setRecords(records);
+      return event;
+    }
+  }
+
+  private static DynamodbEvent.DynamodbStreamRecord toLambda(Record record) {
+    StreamRecord stream = new StreamRecord()
+        .withKeys(toLambda(record.dynamodb().keys()))
+        .withSequenceNumber(record.dynamodb().sequenceNumber());
+    if (record.dynamodb().hasNewImage()) {
+      stream.setNewImage(toLambda(record.dynamodb().newImage()));
+    }
+    DynamodbEvent.DynamodbStreamRecord converted = new DynamodbEvent.DynamodbStreamRecord();
+    converted.setEventID(record.eventID());
+    converted.setEventName(record.eventNameAsString());
+    converted.setDynamodb(stream);
+    return converted;
+  }
+
+  private static Map<String, com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue> toLambda(
+      Map<String, AttributeValue> image) {
+    Map<String, com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue> converted =
+        new LinkedHashMap<>();
+    image.forEach((name, value) -> converted.put(name, toLambda(value)));
+    return converted;
+  }
+
+  private static com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue toLambda(
+      AttributeValue value) {
+    var converted = new com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue();
+    switch (value.type()) {
+      case S -> converted.setS(value.s());
+      case N -> converted.setN(value.n());
+      case B -> converted.setB(value.b().asByteBuffer());
+      case BOOL -> converted.setBOOL(value.bool());
+      case SS -> converted.setSS(value.ss());
+      case NS -> converted.setNS(value.ns());
+      case BS -> converted.setBS(value.bs().stream().map(bytes -> bytes.asByteBuffer()).toList());
+      case M -> converted.setM(toLambda(value.m()));
+      case L -> converted.setL(value.l().stream().map(TaskStreamHandlerTest::toLambda).toList());
+      default -> converted.setNULL(true);
+    }
+    return converted;
+  }
+
+  private static DynamodbEvent event(DynamodbEvent.DynamodbStreamRecord... records) {
+    DynamodbEvent event = new DynamodbEvent();
+    event.setRecords(List.of(records));
+    return event;
+  }
+
+  private static DynamodbEvent.DynamodbStreamRecord taskRecord(String eventName, String id, String sequenceNumber,
+                                                               String title, String status) {
+    Map<String, com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue> image =
+        new LinkedHashMap<>(keys(id, DEADLINE.toString()));
+    image.put("title", lambdaString(title));
+    image.put("status", lambdaString(status));
+    image.put("priority", lambdaString("HIGH"));
+    DynamodbEvent.DynamodbStreamRecord record = removeRecord(id, sequenceNumber);
+    record.setEventName(eventName);
+    record.getDynamodb().setNewImage(image);
+    return record;
+  }
+
+  private static DynamodbEvent.DynamodbStreamRecord subTaskRecord(String id, String sequenceNumber) {
+    DynamodbEvent.DynamodbStreamRecord record = removeRecord(id, sequenceNumber);
+    record.setEventName("INSERT");
+    record.getDynamodb().setKeys(keys(id, "SUB#" + DEADLINE + "#sub-1"));
+    return record;
+  }
+
+  private static DynamodbEvent.DynamodbStreamRecord removeRecord(String id, String sequenceNumber) {
+    DynamodbEvent.DynamodbStreamRecord record = new DynamodbEvent.DynamodbStreamRecord();
+    record.setEventID("event-" + sequenceNumber);
+    record.setEventName("REMOVE");
+    record.setDynamodb(new StreamRecord()
+        .withKeys(keys(id, DEADLINE.toString()))
+        .withSequenceNumber(sequenceNumber));
+    return record;
+  }
+
+  private static Map<String, com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue> keys(
+      String id, String deadline) {
+    return Map.of("id", lambdaString(id), "deadline", lambdaString(deadline));
+  }
+
+  private static com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue lambdaString(
+      String value) {
+    return new com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue().withS(value);
+  }
+
+  private static Context createMockContext() {
+    Context mockContext = mock(Context.class);
+    when(mockContext.getAwsRequestId()).thenReturn("test-request-id");
+    return mockContext;
+  }
+}
@@ -6,11 +6,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.piyush.constant.Priority;
+import org.piyush.constant.SubTaskLayout;
 import org.piyush.constant.TaskStatus;
 import org.piyush.model.taskmanagement.TaskProgress;
 import org.piyush.model.dynamodb.DbTask;
 import org.piyush.model.taskmanagement.SubTask;
 import org.piyush.model.taskmanagement.TaskCreate;
+import org.piyush.model.taskmanagement.TaskFields;
 import org.piyush.model.taskmanagement.TaskRead;
 import org.piyush.model.taskmanagement.TaskUpdate;
 import org.piyush.service.IdGenerator;
@@ -77,6 +79,33 @@ class TaskMapperTest {
     verify(idGenerator, never()).generateSubTaskId();
   }
 
+  @Test
+  void mapDbToRead_WithFields_LeavesUnselectedFieldsNull() {
+    DbTask dbTask = getDbTask();
+    dbTask.setSubTasks(List.of(
+        new SubTask().setId("st-1").setCompleted(true),
+        new SubTask().setId("st-2").setCompleted(false)));
+
+    TaskRead titleOnly = mapper.mapDbToRead(dbTask, TaskFields.parse("title"));
+    TaskRead withProgress = mapper.mapDbToRead(dbTask, TaskFields.parse("title,progress"));
+
+    assertThat(titleOnly.getId()).isEqualTo("task-1");
+    assertThat(titleOnly.getDeadline()).isEqualTo(FIXED_TIME);
+    assertThat(titleOnly.getTitle()).isEqualTo("Test Task");
+    assertThat(titleOnly.getDescription()).isNull();
+    assertThat(titleOnly.getLabels()).isNull();
+    assertThat(titleOnly.getSubTasks()).isNull();
+    assertThat(titleOnly.getStatus()).isNull();
+    assertThat(titleOnly.getMetadata()).isNull();
+    assertThat(titleOnly.getProgress()).isNull();
+    assertThat(withProgress.getProgress().getCompletedSubTasks()).isEqualTo(1);
+    assertThat(withProgress.getSubTasks()).isNull();
+    assertThat(mapper.mapDbToRead(dbTask, TaskFields.ALL))
+        .usingRecursiveComparison()
+        .ignoringFields("progress.lastUpdated")
+        .isEqualTo(mapper.mapDbToRead(dbTask));
+  }
+
   @Test
   void mapUpdateToDb() {
     DbTask existingTask = getExistingTask();
@@ -177,6 +206,20 @@ class TaskMapperTest {
         .isEmpty();
   }
 
+  @Test
+  void calculateProgress_UsesStoredCountersWithoutSubTasks() {
+    DbTask counted = new DbTask();
+    counted.setId("task-1");
+    counted.setSubTasks(null);
+    counted.setSubTaskLayout(SubTaskLayout.ITEMS);
+    counted.setTotalSubTasks(12);
+    counted.setCompletedSubTasks(3);
+    counted.setProgressUpdatedAt(FIXED_TIME);
+
+    assertThat(mapper.mapDbToRead(counted, TaskFields.parse("progress")).getProgress())
+        .isEqualTo(new TaskProgress(12, 3, 25.0, FIXED_TIME));
+  }
+
   @Test
   void calculateProgress_ShouldHandleNullOrEmptySubTasks() {
     DbTask nullSubTasksTask = new DbTask();
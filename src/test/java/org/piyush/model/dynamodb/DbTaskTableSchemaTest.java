@@ -0,0 +1,78 @@
+package org.piyush.model.dynamodb;
+
+import org.junit.jupiter.api.Test;
+import org.piyush.constant.Priority;
+import org.piyush.constant.TaskStatus;
+import org.piyush.model.taskmanagement.SubTask;
+import software.amazon.awssdk.enhanced.dynamodb.IndexMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DbTaskTableSchemaTest {
+  private final TableSchema<DbTask> bean = DbTaskTableSchema.bean();
+  private final TableSchema<DbTask> staticSchema = DbTaskTableSchema.staticSchema();
+
+  @Test
+  void staticSchema_WritesSameItemAsBeanSchema() {
+    DbTask task = fullTask();
+
+    Map<String, AttributeValue> expected = bean.itemToMap(task, true);
+    Map<String, AttributeValue> actual = staticSchema.itemToMap(task, true);
+
+    assertThat(actual).isEqualTo(expected);
+    assertThat(staticSchema.attributeNames()).containsExactlyInAnyOrderElementsOf(bean.attributeNames());
+  }
+
+  @Test
+  void staticSchema_ReadsBeanItemBack() {
+    Map<String, AttributeValue> item = bean.itemToMap(fullTask(), false);
+
+    DbTask fromStatic = staticSchema.mapToItem(item);
+    DbTask fromBean = bean.mapToItem(item);
+
+    assertThat(fromStatic).usingRecursiveComparison().isEqualTo(fromBean);
+  }
+
+  @Test
+  void staticSchema_HasSameKeysIndexesAndExtensionMetadata() {
+    TableMetadata expected = bean.tableMetadata();
+    TableMetadata actual = staticSchema.tableMetadata();
+
+    assertThat(actual.primaryPartitionKey()).isEqualTo(expected.primaryPartitionKey());
+    assertThat(actual.primarySortKey()).isEqualTo(expected.primarySortKey());
+    assertThat(actual.indices().stream().map(IndexMetadata::name))
+        .containsExactlyInAnyOrderElementsOf(expected.indices().stream().map(IndexMetadata::name).toList());
+    // ✅ Version, timestamp and UUID tags are stored as custom metadata read by the extensions
+    assertThat(actual.customMetadata()).isEqualTo(expected.customMetadata());
+  }
+
+  private static DbTask fullTask() {
+    Instant deadline = Instant.parse("2099-02-18T10:00:00Z");
+    DbTask task = new DbTask();
+    task.setId("task-1");
+    task.setTitle("Title");
+    task.setDescription("Description");
+    task.setPriority(Priority.HIGH);
+    task.setDeadline(deadline);
+    task.setLabels(List.of("a", "b"));
+    task.setSubTasks(List.of(new SubTask("st-1", "Sub-task", true, deadline, "desc", "owner", deadline)));
+    task.setTotalSubTasks(1);
+    task.setCompletedSubTasks(1);
+    task.setProgressUpdatedAt(deadline);
+    task.setAssignee("owner");
+    task.setStatus(TaskStatus.IN_PROGRESS);
+    task.setParentTaskId("parent-1");
+    task.setDependentTaskIds(List.of("task-2"));
+    task.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+    task.setUpdatedAt(Instant.parse("2024-01-02T00:00:00Z"));
+    task.setVersion(3L);
+    return task;
+  }
+}
@@ -0,0 +1,59 @@
+package org.piyush.projection;
+
+import org.junit.jupiter.api.Test;
+import org.piyush.constant.TaskStatus;
+import org.piyush.model.dynamodb.DbTask;
+import org.piyush.repositories.TaskCounterRepository;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class TaskCounterProjectorTest {
+
+  private final TaskCounterRepository counters = mock(TaskCounterRepository.class);
+  private final TaskCounterProjector projector = new TaskCounterProjector(counters);
+
+  @Test
+  void apply_MovesCountsFromOldImageToNewImage() {
+    projector.apply(change(TaskChange.Type.MODIFY, task(TaskStatus.PENDING, "alice"), task(TaskStatus.BLOCKED, "alice")));
+
+    verify(counters).add(Map.of(
+        TaskCounterRepository.statusCounter(TaskStatus.PENDING), -1L,
+        TaskCounterRepository.statusCounter(TaskStatus.BLOCKED), 1L,
+        TaskCounterRepository.assigneeCounter("alice"), 0L), "7");
+  }
+
+  @Test
+  void apply_CountsInsertsAndRemovals() {
+    projector.apply(change(TaskChange.Type.INSERT, null, task(TaskStatus.PENDING, null)));
+    projector.apply(change(TaskChange.Type.REMOVE, task(TaskStatus.COMPLETED, "bob"), null));
+
+    verify(counters).add(Map.of(TaskCounterRepository.statusCounter(TaskStatus.PENDING), 1L), "7");
+    verify(counters).add(Map.of(TaskCounterRepository.statusCounter(TaskStatus.COMPLETED), -1L,
+        TaskCounterRepository.assigneeCounter("bob"), -1L), "7");
+  }
+
+  @Test
+  void apply_SkipsChangesWithoutOldImage() {
+    projector.apply(change(TaskChange.Type.MODIFY, null, task(TaskStatus.BLOCKED, "alice")));
+
+    verify(counters, never()).add(any(), anyString());
+  }
+
+  private static TaskChange change(TaskChange.Type type, DbTask oldTask, DbTask newTask) {
+    return new TaskChange(type, "task-1", Instant.parse("2099-01-01T00:00:00Z"), oldTask, newTask, "7", null);
+  }
+
+  private static DbTask task(TaskStatus status, String assignee) {
+    DbTask task = new DbTask();
+    task.setStatus(status);
+    task.setAssignee(assignee);
+    return task;
+  }
+}
@@ -0,0 +1,138 @@
+package org.piyush.repositories;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.piyush.config.DynamoDbConfig;
+import org.piyush.constant.Priority;
+import org.piyush.constant.SubTaskLayout;
+import org.piyush.constant.TaskStatus;
+import org.piyush.exception.TaskNotFoundException;
+import org.piyush.model.dynamodb.DbTask;
+import org.piyush.model.taskmanagement.SubTask;
+import org.piyush.model.taskmanagement.TaskSearchCriteria;
+import org.piyush.repositories.base.DynamoDBBaseRepositoryTest;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncTaskRepositoryTest extends DynamoDBBaseRepositoryTest {
+
+  private static DynamoDbTable<DbTask> taskTable;
+  private AsyncTaskRepository repository;
+  // ✅ Writes go through the synchronous repository; this one only reads
+  private TaskRepository writer;
+
+  @BeforeAll
+  static void initializeTable() {
+    taskTable = TaskTableTestHelper.createTaskTable(TABLE_NAME);
+    TaskTableTestHelper.waitForTableToBecomeActive(taskTable);
+  }
+
+  @BeforeEach
+  void setUp() {
+    repository = new AsyncTaskRepository(DynamoDbConfig.dynamoDbAsyncClient(),
+        DynamoDbConfig.dynamoDbEnhancedAsyncClient().table(TABLE_NAME, DbTask.TABLE_SCHEMA));
+    writer = new TaskRepository(taskTable);
+    TaskTableTestHelper.deleteAllItems(TABLE_NAME);
+  }
+
+  @Test
+  void shouldRetrieveSavedTask() {
+    DbTask task = createSampleTask(UUID.randomUUID().toString(), Instant.now().plus(1, ChronoUnit.DAYS));
+
+    writer.save(task);
+
+    assertEquals(task.getTitle(), repository.findById(task.getId()).join().getTitle());
+    assertEquals(task.getId(), repository.findByIdAndDeadline(task.getId(), task.getDeadline()).join().getId());
+  }
+
+  @Test
+  void shouldReadSubTasksOfItemsLayoutTaskFromItems() {
+    DbTask task = createSampleTask(UUID.randomUUID().toString(), Instant.now().plus(1, ChronoUnit.DAYS)
+        .truncatedTo(ChronoUnit.SECONDS));
+    task.setSubTaskLayout(SubTaskLayout.ITEMS);
+    task.setSubTasks(List.of(subTask("st-1"), subTask("st-2")));
+    writer.save(task);
+
+    DbTask read = repository.findById(task.getId()).join();
+    DbTask byDeadline = repository.findByIdAndDeadline(task.getId(), task.getDeadline()).join();
+
+    assertEquals(List.of("st-1", "st-2"), read.getSubTasks().stream().map(SubTask::getId).toList());
+    assertEquals(List.of("st-1", "st-2"), byDeadline.getSubTasks().stream().map(SubTask::getId).toList());
+  }
+
+  @Test
+  void shouldCompleteWithNotFound() {
+    CompletionException exception = assertThrows(CompletionException.class,
+        () -> repository.findById("missing-id").join());
+
+    assertInstanceOf(TaskNotFoundException.class, exception.getCause());
+  }
+
+  @Test
+  void shouldReadStatusShardsOnlyWhenEnabled() {
+    TaskRepository shardedWriter = new TaskRepository(DynamoDbConfig.dynamoDbClient(), taskTable,
+        TaskIdGuard.Settings.fromEnvironment(), 4, true);
+    IntStream.range(0, 6).forEach(i -> shardedWriter.save(createSampleTask(UUID.randomUUID().toString(),
+        Instant.now().plus(1, ChronoUnit.DAYS).plusSeconds(i))));
+    TaskSearchCriteria pending = new TaskSearchCriteria().setStatuses(new TaskStatus[]{TaskStatus.PENDING});
+    DynamoDbAsyncTable<DbTask> asyncTable = DynamoDbConfig.dynamoDbEnhancedAsyncClient()
+        .table(TABLE_NAME, DbTask.TABLE_SCHEMA);
+
+    QueryPlan unsharded = new AsyncTaskRepository(DynamoDbConfig.dynamoDbAsyncClient(), asyncTable, 4, false)
+        .planSearch(pending).join();
+    AsyncTaskRepository sharded = new AsyncTaskRepository(DynamoDbConfig.dynamoDbAsyncClient(), asyncTable, 4, true);
+    assertTrue(sharded.planSearch(pending).join().getCandidates()
+        .containsKey(QueryPlan.AccessPath.STATUS_SHARD_INDEX));
+    List<DbTask> found = sharded.search(new QueryPlan()
+        .setAccessPath(QueryPlan.AccessPath.STATUS_SHARD_INDEX)
+        .setPartitionValues(StatusShards.keys(List.of(TaskStatus.PENDING), 4)), 10).join();
+
+    assertFalse(unsharded.getCandidates().containsKey(QueryPlan.AccessPath.STATUS_SHARD_INDEX));
+    assertEquals(6, found.size());
+  }
+
+  @Test
+  void shouldSearchAcrossStatusPartitions() {
+    DbTask blocked = createSampleTask(UUID.randomUUID().toString(), Instant.now().plus(1, ChronoUnit.DAYS));
+    blocked.setStatus(TaskStatus.BLOCKED);
+    DbTask inReview = createSampleTask(UUID.randomUUID().toString(), Instant.now().plus(1, ChronoUnit.DAYS));
+    inReview.setStatus(TaskStatus.IN_REVIEW);
+    writer.save(blocked);
+    writer.save(inReview);
+    writer.save(createSampleTask(UUID.randomUUID().toString(), Instant.now().plus(1, ChronoUnit.DAYS)));
+
+    QueryPlan plan = repository.planSearch(new TaskSearchCriteria()
+        .setStatuses(new TaskStatus[]{TaskStatus.BLOCKED, TaskStatus.IN_REVIEW})).join();
+    List<DbTask> tasks = repository.search(plan, 10).join();
+
+    assertEquals(2, tasks.size());
+  }
+
+  private DbTask createSampleTask(String id, Instant deadline) {
+    DbTask task = new DbTask();
+    task.setId(id);
+    task.setTitle("Sample Task");
+    task.setPriority(Priority.HIGH);
+    task.setDeadline(deadline);
+    task.setStatus(TaskStatus.PENDING);
+    return task;
+  }
+
+  private static SubTask subTask(String id) {
+    SubTask subTask = new SubTask();
+    subTask.setId(id);
+    subTask.setTitle("Sub-task " + id);
+    subTask.setCompleted(false);
+    return subTask;
+  }
+}
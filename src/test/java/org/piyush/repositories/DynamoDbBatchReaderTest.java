@@ -0,0 +1,100 @@
+package org.piyush.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.piyush.exception.TaskRepositoryException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DynamoDbBatchReaderTest {
+  private static final String TABLE = "task_management";
+
+  @Mock
+  private DynamoDbClient dynamoDbClient;
+
+  @Test
+  void getAll_SplitsIntoChunksOf100AndDeduplicates() {
+    when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class))).thenAnswer(invocation -> found(invocation.getArgument(0)));
+    DynamoDbBatchReader reader = new DynamoDbBatchReader(dynamoDbClient, Runnable::run);
+    List<Map<String, AttributeValue>> keys = new java.util.ArrayList<>(keys(250));
+    keys.add(key(0));
+
+    List<Map<String, AttributeValue>> items = reader.getAll(TABLE, keys);
+
+    assertThat(items).hasSize(251);
+    assertThat(items.get(250)).containsEntry("title", AttributeValue.fromS("Task 0"));
+    verify(dynamoDbClient, times(3)).batchGetItem(any(BatchGetItemRequest.class));
+  }
+
+  @Test
+  void getAll_RetriesUnprocessedKeysAndKeepsRequestOrder() {
+    List<Map<String, AttributeValue>> keys = keys(3);
+    when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+        .thenReturn(BatchGetItemResponse.builder()
+            .responses(Map.of(TABLE, List.of(item(2))))
+            .unprocessedKeys(Map.of(TABLE, KeysAndAttributes.builder().keys(keys.get(0)).build()))
+            .build())
+        .thenReturn(BatchGetItemResponse.builder()
+            .responses(Map.of(TABLE, List.of(item(0))))
+            .build());
+    DynamoDbBatchReader reader = new DynamoDbBatchReader(dynamoDbClient, Runnable::run);
+
+    List<Map<String, AttributeValue>> items = reader.getAll(TABLE, keys);
+
+    assertThat(items.get(0)).isEqualTo(item(0));
+    assertThat(items.get(1)).isNull();
+    assertThat(items.get(2)).isEqualTo(item(2));
+    ArgumentCaptor<BatchGetItemRequest> captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+    verify(dynamoDbClient, times(2)).batchGetItem(captor.capture());
+    assertThat(captor.getAllValues().get(1).requestItems().get(TABLE).keys()).containsExactly(keys.get(0));
+  }
+
+  @Test
+  void getAll_FailsWhenKeysStayUnprocessed() {
+    List<Map<String, AttributeValue>> keys = keys(1);
+    when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class))).thenReturn(BatchGetItemResponse.builder()
+        .unprocessedKeys(Map.of(TABLE, KeysAndAttributes.builder().keys(keys).build()))
+        .build());
+    DynamoDbBatchReader reader = new DynamoDbBatchReader(dynamoDbClient, Runnable::run);
+
+    assertThatThrownBy(() -> reader.getAll(TABLE, keys))
+        .isInstanceOf(TaskRepositoryException.class)
+        .hasMessageContaining("unprocessed");
+  }
+
+  private static BatchGetItemResponse found(BatchGetItemRequest request) {
+    List<Map<String, AttributeValue>> items = request.requestItems().get(TABLE).keys().stream()
+        .map(key -> item(Integer.parseInt(key.get("id").s().substring("task-".length()))))
+        .toList();
+    return BatchGetItemResponse.builder().responses(Map.of(TABLE, items)).build();
+  }
+
+  private static List<Map<String, AttributeValue>> keys(int count) {
+    return IntStream.range(0, count).mapToObj(DynamoDbBatchReaderTest::key).toList();
+  }
+
+  private static Map<String, AttributeValue> key(int i) {
+    return Map.of("id", AttributeValue.fromS("task-" + i), "deadline", AttributeValue.fromS("2099-02-18T10:00:00Z"));
+  }
+
+  private static Map<String, AttributeValue> item(int i) {
+    return Map.of("id", AttributeValue.fromS("task-" + i), "deadline", AttributeValue.fromS("2099-02-18T10:00:00Z"),
+        "title", AttributeValue.fromS("Task " + i));
+  }
+}
@@ -0,0 +1,93 @@
+package org.piyush.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DynamoDbBatchWriterTest {
+  private static final String TABLE = "task_management";
+
+  @Mock
+  private DynamoDbClient dynamoDbClient;
+
+  @Test
+  void writeAll_SplitsIntoChunksOf25() {
+    when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(BatchWriteItemResponse.builder().build());
+    DynamoDbBatchWriter writer = new DynamoDbBatchWriter(dynamoDbClient, Runnable::run);
+
+    Map<Integer, String> failures = writer.writeAll(TABLE, requests(60));
+
+    assertThat(failures).isEmpty();
+    verify(dynamoDbClient, times(3)).batchWriteItem(any(BatchWriteItemRequest.class));
+  }
+
+  @Test
+  void writeAll_RetriesUnprocessedItems() {
+    List<WriteRequest> requests = requests(3);
+    when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+        .thenReturn(BatchWriteItemResponse.builder()
+            .unprocessedItems(Map.of(TABLE, List.of(requests.get(1))))
+            .build())
+        .thenReturn(BatchWriteItemResponse.builder().build());
+    DynamoDbBatchWriter writer = new DynamoDbBatchWriter(dynamoDbClient, Runnable::run);
+
+    Map<Integer, String> failures = writer.writeAll(TABLE, requests);
+
+    assertThat(failures).isEmpty();
+    ArgumentCaptor<BatchWriteItemRequest> captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+    verify(dynamoDbClient, times(2)).batchWriteItem(captor.capture());
+    assertThat(captor.getAllValues().get(1).requestItems().get(TABLE)).containsExactly(requests.get(1));
+  }
+
+  @Test
+  void writeAll_ReportsFailedChunkByIndex() {
+    when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+        .thenReturn(BatchWriteItemResponse.builder().build())
+        .thenThrow(DynamoDbException.builder().message("Simulated failure").build());
+    DynamoDbBatchWriter writer = new DynamoDbBatchWriter(dynamoDbClient, Runnable::run);
+
+    Map<Integer, String> failures = writer.writeAll(TABLE, requests(30));
+
+    assertThat(failures).containsOnlyKeys(25, 26, 27, 28, 29);
+    assertThat(failures.get(25)).contains("Simulated failure");
+  }
+
+  @Test
+  void writeAll_ReportsClientFailureOfChunkWithoutThrowing() {
+    when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+        .thenThrow(SdkClientException.create("Read timed out"))
+        .thenReturn(BatchWriteItemResponse.builder().build());
+    DynamoDbBatchWriter writer = new DynamoDbBatchWriter(dynamoDbClient, Runnable::run);
+
+    Map<Integer, String> failures = writer.writeAll(TABLE, requests(30));
+
+    assertThat(failures).hasSize(25).containsKeys(0, 24);
+    assertThat(failures.get(0)).contains("Read timed out");
+  }
+
+  private static List<WriteRequest> requests(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> WriteRequest.builder()
+            .putRequest(p -> p.item(Map.of("id", AttributeValue.fromS("task-" + i))))
+            .build())
+        .toList();
+  }
+}
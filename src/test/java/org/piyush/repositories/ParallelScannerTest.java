@@ -0,0 +1,145 @@
+package org.piyush.repositories;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelScannerTest {
+  private static final String TABLE = "task_management";
+
+  @Mock
+  private DynamoDbClient dynamoDbClient;
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void scan_PagesEverySegmentThroughBoundedQueue() {
+    // ✅ Two pages of 5 items per segment
+    when(dynamoDbClient.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+      ScanRequest request = invocation.getArgument(0);
+      boolean firstPage = request.exclusiveStartKey() == null || request.exclusiveStartKey().isEmpty();
+      return page(request.segment(), firstPage ? 0 : 5, firstPage);
+    });
+    List<Map<String, AttributeValue>> consumed = new ArrayList<>();
+
+    ScanSummary summary = new ParallelScanner(dynamoDbClient, executor).scan(new ParallelScanRequest()
+        .setTableName(TABLE)
+        .setTotalSegments(4)
+        .setQueueCapacity(2)
+        .setProjection(List.of("id", "status")), consumed::add);
+
+    assertThat(consumed).hasSize(40);
+    assertThat(summary.getPages()).isEqualTo(8);
+    assertThat(summary.getMatchedCount()).isEqualTo(40);
+    ArgumentCaptor<ScanRequest> captor = ArgumentCaptor.forClass(ScanRequest.class);
+    verify(dynamoDbClient, times(8)).scan(captor.capture());
+    assertThat(captor.getAllValues()).extracting(ScanRequest::segment).containsOnly(0, 1, 2, 3);
+    assertThat(captor.getAllValues().get(0).totalSegments()).isEqualTo(4);
+    assertThat(captor.getAllValues().get(0).projectionExpression()).isEqualTo("#p_id, #p_status");
+  }
+
+  @Test
+  void scan_BacksOffConcurrencyWhenThrottled() {
+    AtomicInteger calls = new AtomicInteger();
+    when(dynamoDbClient.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+      if (calls.incrementAndGet() <= 2) {
+        throw ProvisionedThroughputExceededException.builder().message("Throttled").build();
+      }
+      ScanRequest request = invocation.getArgument(0);
+      return page(request.segment(), 0, false);
+    });
+
+    ScanSummary summary = new ParallelScanner(dynamoDbClient, executor).scan(new ParallelScanRequest()
+        .setTableName(TABLE)
+        .setTotalSegments(4)
+        .setFilter(Expression.builder()
+            .expression("#status = :status")
+            .putExpressionName("#status", "status")
+            .putExpressionValue(":status", AttributeValue.fromS("PENDING"))
+            .build()), item -> {
+    });
+
+    assertThat(summary.getThrottles()).isEqualTo(2);
+    assertThat(summary.getMinConcurrency()).isLessThan(4);
+    assertThat(summary.getMatchedCount()).isEqualTo(20);
+  }
+
+  @Test
+  void scan_PropagatesSegmentFailure() {
+    when(dynamoDbClient.scan(any(ScanRequest.class)))
+        .thenThrow(DynamoDbException.builder().message("Simulated failure").build());
+
+    assertThatThrownBy(() -> new ParallelScanner(dynamoDbClient, executor).scan(new ParallelScanRequest()
+        .setTableName(TABLE)
+        .setTotalSegments(2), item -> {
+    }))
+        .isInstanceOf(DynamoDbException.class)
+        .hasMessageContaining("Simulated failure");
+  }
+
+  @Test
+  void scan_StopsOtherSegmentsOnFirstFailure() {
+    // ✅ Segment 0 fails at once; the others would page forever unless the scan is cancelled
+    when(dynamoDbClient.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+      ScanRequest request = invocation.getArgument(0);
+      if (request.segment() == 0) {
+        throw DynamoDbException.builder().message("Simulated failure").build();
+      }
+      return page(request.segment(), 0, true);
+    });
+
+    assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+        assertThatThrownBy(() -> new ParallelScanner(dynamoDbClient, executor).scan(new ParallelScanRequest()
+            .setTableName(TABLE)
+            .setTotalSegments(3)
+            .setQueueCapacity(2), item -> {
+        }))
+            .isInstanceOf(DynamoDbException.class)
+            .hasMessageContaining("Simulated failure"));
+  }
+
+  private static ScanResponse page(int segment, int offset, boolean hasMore) {
+    List<Map<String, AttributeValue>> items = IntStream.range(offset, offset + 5)
+        .mapToObj(i -> Map.of("id", AttributeValue.fromS("task-" + segment + "-" + i)))
+        .toList();
+    ScanResponse.Builder response = ScanResponse.builder()
+        .items(items)
+        .count(items.size())
+        .scannedCount(items.size());
+    if (hasMore) {
+      response.lastEvaluatedKey(items.get(items.size() - 1));
+    }
+    return response.build();
+  }
+}
@@ -0,0 +1,160 @@
+package org.piyush.repositories;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.piyush.config.DynamoDbConfig;
+import org.piyush.constant.Priority;
+import org.piyush.constant.TaskStatus;
+import org.piyush.mapper.TaskMapper;
+import org.piyush.model.dynamodb.DbTask;
+import org.piyush.model.taskmanagement.TaskCreate;
+import org.piyush.model.taskmanagement.TaskRead;
+import org.piyush.model.taskmanagement.TaskSearchCriteria;
+import org.piyush.repositories.base.DynamoDBBaseRepositoryTest;
+import org.piyush.service.TaskService;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatusShardsTest extends DynamoDBBaseRepositoryTest {
+
+  private static final int SHARDS = 4;
+  private static final Instant START = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+
+  private static DynamoDbTable<DbTask> taskTable;
+  private TaskRepository repository;
+
+  @BeforeAll
+  static void initializeTable() {
+    taskTable = TaskTableTestHelper.createTaskTable(TABLE_NAME);
+    TaskTableTestHelper.waitForTableToBecomeActive(taskTable);
+  }
+
+  @BeforeEach
+  void setUp() {
+    TaskTableTestHelper.deleteAllItems(TABLE_NAME);
+    repository = sharded(SHARDS);
+  }
+
+  @Test
+  void mergeByDeadline_InterleavesSortedShards() {
+    List<DbTask> merged = StatusShards.mergeByDeadline(List.of(
+        List.of(task(1), task(4), task(6)), List.of(), List.of(task(2), task(3)), List.of(task(5))), 5);
+
+    assertEquals(List.of(1L, 2L, 3L, 4L, 5L), merged.stream()
+        .map(task -> task.getDeadline().getEpochSecond() - START.getEpochSecond()).toList());
+  }
+
+  @Test
+  void shouldSearchEveryShardInDeadlineOrder() {
+    List<DbTask> pending = IntStream.range(0, 12).mapToObj(StatusShardsTest::task).toList();
+    pending.forEach(repository::save);
+    DbTask completed = task(20);
+    completed.setStatus(TaskStatus.COMPLETED);
+    repository.save(completed);
+
+    QueryPlan plan = repository.planSearch(new TaskSearchCriteria()
+        .setStatuses(new TaskStatus[]{TaskStatus.PENDING}));
+    // ✅ A table this small is cheaper to scan, so the shard path is taken explicitly
+    assertTrue(plan.getCandidates().containsKey(QueryPlan.AccessPath.STATUS_SHARD_INDEX));
+    List<DbTask> found = repository.search(new QueryPlan()
+        .setAccessPath(QueryPlan.AccessPath.STATUS_SHARD_INDEX)
+        .setPartitionValues(StatusShards.keys(List.of(TaskStatus.PENDING), SHARDS)), 5);
+
+    assertEquals(pending.stream().sorted(Comparator.comparing(DbTask::getDeadline)).limit(5).map(DbTask::getId)
+        .toList(), found.stream().map(DbTask::getId).toList());
+    assertTrue(pending.stream().map(task -> rawItem(task).get(StatusShards.ATTRIBUTE).s())
+        .distinct().count() > 1);
+  }
+
+  @Test
+  void shouldShardTasksCreatedWithoutAnId() {
+    TaskService service = new TaskService(repository, Mappers.getMapper(TaskMapper.class));
+    TaskCreate create = new TaskCreate();
+    create.setTitle("Created").setPriority(Priority.MEDIUM).setStatus(TaskStatus.PENDING).setDeadline(START);
+
+    TaskRead created = service.createTask(create);
+
+    assertNotNull(created.getId());
+    assertEquals(StatusShards.key(TaskStatus.PENDING, StatusShards.shard(created.getId(), SHARDS)),
+        rawItem(created.getId(), START).get(StatusShards.ATTRIBUTE).s());
+  }
+
+  @Test
+  void shouldMoveShardKeyWithStatus() {
+    DbTask task = task(1);
+    repository.save(task);
+    DbTask changes = new DbTask();
+    changes.setId(task.getId());
+    changes.setDeadline(task.getDeadline());
+    changes.setStatus(TaskStatus.BLOCKED);
+
+    repository.update(changes, List.of("status"), List.of(), null);
+    String moved = rawItem(task).get(StatusShards.ATTRIBUTE).s();
+    repository.update(changes, List.of(), List.of("status"), null);
+
+    assertEquals(StatusShards.key(TaskStatus.BLOCKED, StatusShards.shard(task.getId(), SHARDS)), moved);
+    assertFalse(rawItem(task).containsKey(StatusShards.ATTRIBUTE));
+  }
+
+  @Test
+  void shouldKeepStatusReadsOnStatusIndexUntilEnabled() {
+    QueryPlan plan = sharded(SHARDS, false).planSearch(new TaskSearchCriteria()
+        .setStatuses(new TaskStatus[]{TaskStatus.PENDING}));
+
+    assertFalse(plan.getCandidates().containsKey(QueryPlan.AccessPath.STATUS_SHARD_INDEX));
+    assertTrue(plan.getCandidates().containsKey(QueryPlan.AccessPath.STATUS_INDEX));
+  }
+
+  @Test
+  void shouldBackfillTasksWrittenWithoutShards() {
+    List<DbTask> tasks = IntStream.range(0, 6).mapToObj(StatusShardsTest::task).toList();
+    tasks.forEach(sharded(0)::save);
+    assertFalse(rawItem(tasks.get(0)).containsKey(StatusShards.ATTRIBUTE));
+
+    assertEquals(6, repository.backfillStatusShards());
+    assertEquals(0, repository.backfillStatusShards());
+    assertEquals(6, repository.search(repository.planSearch(new TaskSearchCriteria()
+        .setStatuses(new TaskStatus[]{TaskStatus.PENDING})), 10).size());
+    assertThrows(IllegalStateException.class, () -> sharded(0).backfillStatusShards());
+  }
+
+  private static TaskRepository sharded(int shards) {
+    return sharded(shards, true);
+  }
+
+  private static TaskRepository sharded(int shards, boolean reads) {
+    return new TaskRepository(DynamoDbConfig.dynamoDbClient(), taskTable, TaskIdGuard.Settings.fromEnvironment(),
+        shards, reads);
+  }
+
+  private static DbTask task(int offsetSeconds) {
+    DbTask task = new DbTask();
+    task.setId(UUID.randomUUID().toString());
+    task.setTitle("Task " + offsetSeconds);
+    task.setPriority(Priority.MEDIUM);
+    task.setStatus(TaskStatus.PENDING);
+    task.setDeadline(START.plusSeconds(offsetSeconds));
+    return task;
+  }
+
+  private static Map<String, AttributeValue> rawItem(DbTask task) {
+    return rawItem(task.getId(), task.getDeadline());
+  }
+
+  private static Map<String, AttributeValue> rawItem(String id, Instant deadline) {
+    return DynamoDbConfig.dynamoDbClient().getItem(r -> r.tableName(TABLE_NAME)
+        .key(Map.of("id", AttributeValue.fromS(id), "deadline", AttributeValue.fromS(deadline.toString())))).item();
+  }
+}
@@ -0,0 +1,157 @@
+package org.piyush.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.piyush.constant.Priority;
+import org.piyush.model.dynamodb.DbTask;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskCacheTest {
+  private static final Instant DEADLINE = Instant.parse("2099-01-01T00:00:00Z");
+
+  private final TaskCache cache = new TaskCache(DbTask.TABLE_SCHEMA, 100, Duration.ofMinutes(1));
+
+  @Test
+  void get_LoadsOnceThenServesCopies() {
+    AtomicInteger loads = new AtomicInteger();
+
+    DbTask first = cache.get("task-1", DEADLINE, () -> {
+      loads.incrementAndGet();
+      return task("task-1", "Title", 1L);
+    });
+    first.setTitle("Mutated by caller");
+    DbTask second = cache.get("task-1", DEADLINE, () -> {
+      loads.incrementAndGet();
+      return task("task-1", "Reloaded", 1L);
+    });
+
+    assertThat(loads).hasValue(1);
+    assertThat(second.getTitle()).isEqualTo("Title");
+    assertThat(cache.stats().getHits()).isEqualTo(1);
+    assertThat(cache.stats().getMisses()).isEqualTo(1);
+  }
+
+  @Test
+  void put_KeepsHigherVersion() {
+    cache.put(task("task-1", "Written", 3L), 3L);
+    cache.put(task("task-1", "Stale read", 2L), 2L);
+
+    DbTask cached = cache.get("task-1", DEADLINE, () -> null);
+
+    assertThat(cached.getTitle()).isEqualTo("Written");
+    assertThat(cached.getVersion()).isEqualTo(3L);
+  }
+
+  @Test
+  void put_StoresWrittenVersionOnCachedCopy() {
+    cache.put(task("task-1", "Saved", 1L), 2L);
+
+    assertThat(cache.get("task-1", DEADLINE, () -> null).getVersion()).isEqualTo(2L);
+  }
+
+  @Test
+  void invalidateAll_DropsEveryDeadlineOfTask() {
+    cache.put(task("task-1", "First", 1L), 1L);
+    cache.put(withDeadline(task("task-1", "Second", 1L), DEADLINE.plusSeconds(60)), 1L);
+    cache.put(task("task-2", "Other", 1L), 1L);
+
+    cache.invalidateAll("task-1");
+
+    assertThat(cache.getIfPresent("task-1", DEADLINE)).isNull();
+    assertThat(cache.getIfPresent("task-1", DEADLINE.plusSeconds(60))).isNull();
+    assertThat(cache.get("task-2", DEADLINE, () -> null).getTitle()).isEqualTo("Other");
+  }
+
+  @Test
+  void invalidate_DropsLoadThatStartedBeforeIt() {
+    cache.put(task("task-1", "Old", 1L), 1L);
+    cache.invalidate("task-1", DEADLINE);
+
+    // ✅ The loader read version 1, then this container wrote and invalidated before the load was cached
+    DbTask loaded = cache.get("task-1", DEADLINE, () -> {
+      cache.invalidate("task-1", DEADLINE);
+      return task("task-1", "Old", 1L);
+    });
+    DbTask reloaded = cache.get("task-1", DEADLINE, () -> task("task-1", "New", 2L));
+
+    assertThat(loaded.getTitle()).isEqualTo("Old");
+    assertThat(reloaded.getTitle()).isEqualTo("New");
+    assertThat(cache.get("task-1", DEADLINE, () -> null).getTitle()).isEqualTo("New");
+  }
+
+  @Test
+  void invalidateAll_DropsLoadOfUncachedDeadlineThatStartedBeforeIt() {
+    cache.get("task-1", DEADLINE, () -> {
+      cache.invalidateAll("task-1");
+      return task("task-1", "Deleted", 1L);
+    });
+
+    assertThat(cache.getIfPresent("task-1", DEADLINE)).isNull();
+  }
+
+  @Test
+  void put_AfterWriteReplacesTombstone() {
+    cache.invalidate("task-1", DEADLINE);
+    cache.put(task("task-1", "Written", 2L), 3L);
+
+    assertThat(cache.getIfPresent("task-1", DEADLINE).getVersion()).isEqualTo(3L);
+  }
+
+  @Test
+  void invalidate_CountsLookupAsMiss() {
+    cache.put(task("task-1", "Cached", 1L), 1L);
+    cache.invalidate("task-1", DEADLINE);
+    cache.put(task("task-2", "Other", 1L), 1L);
+    cache.invalidateAll("task-2");
+
+    assertThat(cache.getIfPresent("task-1", DEADLINE)).isNull();
+    assertThat(cache.getIfPresent("task-2", DEADLINE)).isNull();
+    assertThat(cache.stats().getHits()).isZero();
+    assertThat(cache.stats().getMisses()).isEqualTo(2);
+    assertThat(cache.stats().getSize()).isZero();
+  }
+
+  @Test
+  void invalidateAll_LeavesExpiryOfOtherTasksAlone() {
+    AtomicLong nanos = new AtomicLong();
+    TaskCache ticking = new TaskCache(DbTask.TABLE_SCHEMA, 100, Duration.ofSeconds(60), nanos::get);
+    ticking.put(task("task-1", "Cached", 1L), 1L);
+
+    nanos.addAndGet(Duration.ofSeconds(40).toNanos());
+    ticking.invalidateAll("task-2");
+    nanos.addAndGet(Duration.ofSeconds(40).toNanos());
+
+    assertThat(ticking.getIfPresent("task-1", DEADLINE)).isNull();
+  }
+
+  @Test
+  void disabledCache_AlwaysLoads() {
+    TaskCache disabled = new TaskCache(DbTask.TABLE_SCHEMA, 0, Duration.ofMinutes(1));
+    AtomicInteger loads = new AtomicInteger();
+
+    disabled.get("task-1", DEADLINE, () -> task("task-1", "Title", loads.incrementAndGet() * 1L));
+    disabled.get("task-1", DEADLINE, () -> task("task-1", "Title", loads.incrementAndGet() * 1L));
+
+    assertThat(loads).hasValue(2);
+  }
+
+  private static DbTask task(String id, String title, Long version) {
+    DbTask task = new DbTask();
+    task.setId(id);
+    task.setTitle(title);
+    task.setPriority(Priority.LOW);
+    task.setDeadline(DEADLINE);
+    task.setVersion(version);
+    return task;
+  }
+
+  private static DbTask withDeadline(DbTask task, Instant deadline) {
+    task.setDeadline(deadline);
+    return task;
+  }
+}
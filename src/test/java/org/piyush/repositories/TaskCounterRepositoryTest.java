@@ -0,0 +1,92 @@
+package org.piyush.repositories;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.piyush.config.DynamoDbConfig;
+import org.piyush.constant.Priority;
+import org.piyush.constant.TaskStatus;
+import org.piyush.model.dynamodb.DbTask;
+import org.piyush.repositories.base.DynamoDBBaseRepositoryTest;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCounterRepositoryTest extends DynamoDBBaseRepositoryTest {
+
+  private static final String COUNTER_TABLE = "task_counters";
+  private static final String PENDING = TaskCounterRepository.statusCounter(TaskStatus.PENDING);
+  private static final String BLOCKED = TaskCounterRepository.statusCounter(TaskStatus.BLOCKED);
+
+  private static DynamoDbTable<DbTask> taskTable;
+  private TaskCounterRepository counters;
+
+  @BeforeAll
+  static void initializeTables() {
+    taskTable = TaskTableTestHelper.createTaskTable(TABLE_NAME);
+    TaskTableTestHelper.waitForTableToBecomeActive(taskTable);
+    TaskTableTestHelper.createCounterTable(COUNTER_TABLE);
+  }
+
+  @BeforeEach
+  void setUp() {
+    TaskTableTestHelper.deleteAllItems(TABLE_NAME);
+    DynamoDbConfig.dynamoDbClient().scanPaginator(r -> r.tableName(COUNTER_TABLE)).items()
+        .forEach(item -> DynamoDbConfig.dynamoDbClient().deleteItem(r -> r.tableName(COUNTER_TABLE)
+            .key(Map.of(TaskCounterRepository.COUNTER_ATTRIBUTE, item.get(TaskCounterRepository.COUNTER_ATTRIBUTE),
+                TaskCounterRepository.SHARD_ATTRIBUTE, item.get(TaskCounterRepository.SHARD_ATTRIBUTE)))));
+    counters = new TaskCounterRepository(DynamoDbConfig.dynamoDbClient(), COUNTER_TABLE, 4, TABLE_NAME);
+  }
+
+  @Test
+  void shouldSumShardsAndIgnoreReplayedTokens() {
+    for (int i = 0; i < 20; i++) {
+      counters.add(Map.of(PENDING, 1L), "change-" + i);
+    }
+    counters.add(Map.of(PENDING, -1L, BLOCKED, 1L), "change-20");
+    counters.add(Map.of(PENDING, -1L, BLOCKED, 1L), "change-20");
+
+    Map<String, Long> counts = counters.counts(List.of(PENDING, BLOCKED, TaskCounterRepository.assigneeCounter("x")));
+
+    assertEquals(19L, counts.get(PENDING));
+    assertEquals(1L, counts.get(BLOCKED));
+    assertEquals(0L, counts.get(TaskCounterRepository.assigneeCounter("x")));
+  }
+
+  @Test
+  void shouldCorrectDriftFromScan() {
+    TaskRepository repository = new TaskRepository(taskTable);
+    repository.save(task(TaskStatus.PENDING, "alice"));
+    repository.save(task(TaskStatus.PENDING, "alice"));
+    repository.save(task(TaskStatus.BLOCKED, "bob"));
+    counters.add(Map.of(PENDING, 5L, TaskCounterRepository.assigneeCounter("carol"), 2L), null);
+
+    CounterReconciliation reconciliation = counters.reconcile();
+
+    assertEquals(3, reconciliation.getScannedTasks());
+    assertEquals(Map.of(PENDING, -3L, BLOCKED, 1L, TaskCounterRepository.assigneeCounter("alice"), 2L,
+        TaskCounterRepository.assigneeCounter("bob"), 1L, TaskCounterRepository.assigneeCounter("carol"), -2L),
+        reconciliation.getCorrections());
+    Map<String, Long> counts = counters.counts(List.of(PENDING, BLOCKED,
+        TaskCounterRepository.assigneeCounter("alice"), TaskCounterRepository.assigneeCounter("carol")));
+    assertEquals(List.of(2L, 1L, 2L, 0L), List.copyOf(counts.values()));
+    assertTrue(counters.reconcile().getCorrections().isEmpty());
+  }
+
+  private static DbTask task(TaskStatus status, String assignee) {
+    DbTask task = new DbTask();
+    task.setId(UUID.randomUUID().toString());
+    task.setTitle("Counted Task");
+    task.setPriority(Priority.HIGH);
+    task.setDeadline(Instant.now().plus(1, ChronoUnit.DAYS));
+    task.setStatus(status);
+    task.setAssignee(assignee);
+    return task;
+  }
+}
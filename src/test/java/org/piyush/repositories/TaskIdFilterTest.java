@@ -0,0 +1,71 @@
+package org.piyush.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskIdFilterTest {
+
+  @Test
+  void mightContain_NeverMissesAddedIds() {
+    TaskIdFilter filter = TaskIdFilter.create(10_000, 0.01);
+    var ids = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+
+    ids.forEach(filter::put);
+
+    assertThat(ids).allMatch(filter::mightContain);
+  }
+
+  @Test
+  void mightContain_FalsePositiveRateStaysNearTarget() {
+    TaskIdFilter filter = TaskIdFilter.create(10_000, 0.01);
+    IntStream.range(0, 10_000).forEach(i -> filter.put(UUID.randomUUID().toString()));
+
+    long falsePositives = IntStream.range(0, 100_000)
+        .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+        .count();
+
+    assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    assertThat(filter.estimatedFpp()).isBetween(0.005, 0.02);
+    // ✅ ~9.6 bits per id at 1%
+    assertThat(filter.sizeInBytes()).isBetween(11_000L, 13_000L);
+    assertThat(filter.hashFunctions()).isEqualTo(7);
+  }
+
+  @Test
+  void readFrom_RestoresWrittenFilter() throws IOException {
+    TaskIdFilter filter = TaskIdFilter.create(1_000, 0.001);
+    filter.put("task-1");
+    filter.put("task-2");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    filter.writeTo(out);
+    TaskIdFilter restored = TaskIdFilter.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+    assertThat(restored.mightContain("task-1")).isTrue();
+    assertThat(restored.mightContain("task-2")).isTrue();
+    assertThat(restored.mightContain("task-3")).isFalse();
+    assertThat(restored.approximateIdCount()).isEqualTo(2);
+    assertThat(restored.bitSize()).isEqualTo(filter.bitSize());
+    assertThat(restored.estimatedFpp()).isEqualTo(filter.estimatedFpp());
+  }
+
+  @Test
+  void readFrom_RejectsOtherData() {
+    assertThatThrownBy(() -> TaskIdFilter.readFrom(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5})))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void create_RejectsInvalidSizing() {
+    assertThatThrownBy(() -> TaskIdFilter.create(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> TaskIdFilter.create(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,109 @@
+package org.piyush.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskIdGuardTest {
+  private static final Executor NEVER = command -> {
+  };
+  // ✅ Runs the cold-start build on the constructing thread
+  private static final Executor INLINE = Runnable::run;
+
+  @Test
+  void definitelyAbsent_FalseUntilBuilt() {
+    TaskIdGuard guard = new TaskIdGuard(settings(null), ids("task-1"), NEVER);
+
+    assertThat(guard.definitelyAbsent("missing")).isFalse();
+    assertThat(guard.stats().isReady()).isFalse();
+  }
+
+  @Test
+  void definitelyAbsent_FalseWhenDisabled() {
+    TaskIdGuard guard = new TaskIdGuard(new TaskIdGuard.Settings(false, 100, 0.01, Duration.ofMinutes(5), null),
+        ids("task-1"), INLINE);
+
+    guard.rebuild();
+
+    assertThat(guard.definitelyAbsent("missing")).isFalse();
+  }
+
+  @Test
+  void rebuild_ShortCircuitsUnknownIdsAndKeepsSavedOnes() {
+    TaskIdGuard guard = new TaskIdGuard(settings(null), ids("task-1", "task-2"), INLINE);
+
+    guard.recordSaved("task-3");
+
+    assertThat(guard.definitelyAbsent("task-1")).isFalse();
+    assertThat(guard.definitelyAbsent("task-3")).isFalse();
+    assertThat(guard.definitelyAbsent("missing")).isTrue();
+    assertThat(guard.stats().getShortCircuited()).isEqualTo(1);
+    assertThat(guard.stats().getApproximateIdCount()).isEqualTo(3);
+  }
+
+  @Test
+  void rebuild_KeepsIdsSavedWhileScanning() {
+    AtomicInteger builds = new AtomicInteger();
+    TaskIdGuard[] guard = new TaskIdGuard[1];
+    guard[0] = new TaskIdGuard(settings(null), consumer -> {
+      consumer.accept("task-1");
+      if (builds.incrementAndGet() == 2) {
+        guard[0].recordSaved("saved-mid-scan");
+      }
+    }, INLINE);
+
+    guard[0].rebuild();
+
+    assertThat(guard[0].definitelyAbsent("saved-mid-scan")).isFalse();
+  }
+
+  @Test
+  void recordSaved_IgnoresNullId() {
+    TaskIdGuard guard = new TaskIdGuard(settings(null), ids("task-1"), INLINE);
+
+    guard.recordSaved(null);
+
+    assertThat(guard.stats().getApproximateIdCount()).isEqualTo(1);
+  }
+
+  @Test
+  void recordDeleted_CountsUntilNextRebuild() {
+    TaskIdGuard guard = new TaskIdGuard(settings(null), ids("task-1"), INLINE);
+
+    guard.recordDeleted("task-1");
+
+    assertThat(guard.definitelyAbsent("task-1")).isFalse();
+    assertThat(guard.stats().getDeletedSinceBuild()).isEqualTo(1);
+    assertThat(guard.rebuild().getDeletedSinceBuild()).isZero();
+  }
+
+  @Test
+  void snapshot_LoadedAtColdStart(@TempDir Path dir) {
+    Path snapshot = dir.resolve("task-ids.bin");
+    new TaskIdGuard(settings(snapshot), ids("task-1"), INLINE);
+
+    TaskIdGuard coldStart = new TaskIdGuard(settings(snapshot), consumer -> {
+      throw new AssertionError("snapshot should make the scan unnecessary");
+    }, INLINE);
+
+    assertThat(coldStart.stats().isReady()).isTrue();
+    assertThat(coldStart.definitelyAbsent("task-1")).isFalse();
+    assertThat(coldStart.definitelyAbsent("missing")).isTrue();
+  }
+
+  private static TaskIdGuard.Settings settings(Path snapshot) {
+    return new TaskIdGuard.Settings(true, 100, 0.01, Duration.ofMinutes(5), snapshot);
+  }
+
+  private static Consumer<Consumer<String>> ids(String... ids) {
+    return consumer -> List.of(ids).forEach(consumer);
+  }
+}
@@ -0,0 +1,97 @@
+package org.piyush.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.piyush.constant.Priority;
+import org.piyush.constant.TaskStatus;
+import org.piyush.model.taskmanagement.DateRange;
+import org.piyush.model.taskmanagement.TaskSearchCriteria;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskQueryPlannerTest {
+
+  private static final Instant DEADLINE = Instant.parse("2099-02-18T10:00:00Z");
+
+  private final TableStatistics allIndexes = new TableStatistics(100_000, 100_000 * 2048L,
+      Map.of("AssigneeIndex", 100_000L, "StatusIndex", 100_000L, "DeadlineIndex", 100_000L));
+
+  @Test
+  void plan_PrefersAssigneeIndexAndFiltersTheRest() {
+    TaskSearchCriteria criteria = new TaskSearchCriteria()
+        .setAssignee("alice")
+        .setPriorities(new Priority[]{Priority.HIGH, Priority.URGENT})
+        .setLabels(new String[]{"backend"});
+
+    QueryPlan plan = new TaskQueryPlanner(() -> allIndexes).plan(criteria);
+
+    assertThat(plan.getAccessPath()).isEqualTo(QueryPlan.AccessPath.ASSIGNEE_INDEX);
+    assertThat(plan.getPartitionValues()).containsExactly("alice");
+    assertThat(plan.getFilterExpression())
+        .isEqualTo("#status IN (:v0, :v1, :v2, :v3) AND #priority IN (:v4, :v5) AND contains(#labels, :v6)");
+    assertThat(plan.getFilter().expressionValues()).containsEntry(":v6", AttributeValue.fromS("backend"));
+    assertThat(plan.getCandidates()).containsOnlyKeys(QueryPlan.AccessPath.ASSIGNEE_INDEX,
+        QueryPlan.AccessPath.STATUS_INDEX, QueryPlan.AccessPath.SCAN);
+  }
+
+  @Test
+  void plan_FansOutOverRequestedStatuses() {
+    TaskSearchCriteria criteria = new TaskSearchCriteria()
+        .setStatuses(new TaskStatus[]{TaskStatus.BLOCKED, TaskStatus.IN_REVIEW});
+
+    QueryPlan plan = new TaskQueryPlanner(() -> allIndexes).plan(criteria);
+
+    assertThat(plan.getAccessPath()).isEqualTo(QueryPlan.AccessPath.STATUS_INDEX);
+    assertThat(plan.getPartitionValues()).containsExactly("BLOCKED", "IN_REVIEW");
+    assertThat(plan.getFilter()).isNull();
+    assertThat(plan.getEstimatedItemsRead()).isEqualTo(40_000);
+  }
+
+  @Test
+  void plan_FansOutOverStatusShardsWhenIndexExists() {
+    TableStatistics withShardIndex = new TableStatistics(100_000, 100_000 * 2048L,
+        Map.of("StatusIndex", 100_000L, "StatusShardIndex", 100_000L));
+    TaskSearchCriteria criteria = new TaskSearchCriteria()
+        .setStatuses(new TaskStatus[]{TaskStatus.BLOCKED, TaskStatus.IN_REVIEW});
+
+    QueryPlan sharded = new TaskQueryPlanner(() -> withShardIndex, 3).plan(criteria);
+    QueryPlan notBackfilled = new TaskQueryPlanner(() -> allIndexes, 3).plan(criteria);
+
+    assertThat(sharded.getAccessPath()).isEqualTo(QueryPlan.AccessPath.STATUS_SHARD_INDEX);
+    assertThat(sharded.getPartitionValues())
+        .containsExactly("BLOCKED#0", "BLOCKED#1", "BLOCKED#2", "IN_REVIEW#0", "IN_REVIEW#1", "IN_REVIEW#2");
+    assertThat(sharded.getFilter()).isNull();
+    assertThat(notBackfilled.getAccessPath()).isEqualTo(QueryPlan.AccessPath.STATUS_INDEX);
+  }
+
+  @Test
+  void plan_UsesDeadlineIndexOnlyForExactDeadline() {
+    TaskQueryPlanner planner = new TaskQueryPlanner(() -> allIndexes);
+
+    QueryPlan exact = planner.plan(new TaskSearchCriteria()
+        .setIncludeCompleted(true)
+        .setDateRange(new DateRange(DEADLINE, DEADLINE)));
+    QueryPlan range = planner.plan(new TaskSearchCriteria()
+        .setIncludeCompleted(true)
+        .setDateRange(new DateRange(DEADLINE, null)));
+
+    assertThat(exact.getAccessPath()).isEqualTo(QueryPlan.AccessPath.DEADLINE_INDEX);
+    assertThat(exact.getFilter()).isNull();
+    assertThat(range.getAccessPath()).isEqualTo(QueryPlan.AccessPath.SCAN);
+    assertThat(range.getFilterExpression()).isEqualTo("#deadline >= :v0");
+  }
+
+  @Test
+  void plan_FallsBackToScanWhenIndexIsMissing() {
+    TableStatistics noIndexes = new TableStatistics(10, 10_240, Map.of());
+
+    QueryPlan plan = new TaskQueryPlanner(() -> noIndexes).plan(new TaskSearchCriteria().setAssignee("alice"));
+
+    assertThat(plan.getAccessPath()).isEqualTo(QueryPlan.AccessPath.SCAN);
+    assertThat(plan.getFilterExpression()).startsWith("#assignee = :v0 AND #status IN");
+    assertThat(plan.getEstimatedReadUnits()).isEqualTo(1.5);
+  }
+}
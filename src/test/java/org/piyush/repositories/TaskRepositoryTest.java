@@ -2,27 +2,55 @@ package org.piyush.repositories;
 
 import com.amazonaws.services.dynamodbv2.model.ProjectionType;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mapstruct.factory.Mappers;
 import org.mockito.Mockito;
 import org.piyush.config.DynamoDbConfig;
 import org.piyush.constant.Priority;
+import org.piyush.constant.SubTaskLayout;
 import org.piyush.constant.TaskStatus;
+import org.piyush.converters.ListSubTaskConverter;
+import org.piyush.exception.TaskConflictException;
 import org.piyush.exception.TaskNotFoundException;
 import org.piyush.exception.TaskRepositoryException;
+import org.piyush.mapper.TaskMapper;
 import org.piyush.model.dynamodb.DbTask;
 import org.piyush.model.taskmanagement.SubTask;
+import org.piyush.model.taskmanagement.SubTaskResult;
+import org.piyush.model.taskmanagement.TaskCreate;
+import org.piyush.model.taskmanagement.TaskFields;
+import org.piyush.model.taskmanagement.TaskKey;
+import org.piyush.model.taskmanagement.TaskProgress;
+import org.piyush.model.taskmanagement.TaskRead;
+import org.piyush.model.taskmanagement.TaskSearchCriteria;
 import org.piyush.repositories.base.DynamoDBBaseRepositoryTest;
+import org.piyush.service.TaskService;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.CreateTableEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.EnhancedGlobalSecondaryIndex;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
 import software.amazon.awssdk.services.dynamodb.model.Projection;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -35,7 +63,7 @@ class TaskRepositoryTest extends DynamoDBBaseRepositoryTest {
 
   @BeforeAll
   static void initializeTable() {
-    TableSchema<DbTask> schema = TableSchema.fromBean(DbTask.class);
+    TableSchema<DbTask> schema = DbTask.TABLE_SCHEMA;
     System.out.println("Table Schema: " + schema);
 
     taskTable = DynamoDbConfig.dynamoDbEnhancedClient()
@@ -118,14 +146,460 @@ class TaskRepositoryTest extends DynamoDBBaseRepositoryTest {
     assertEquals(task.getTitle(), retrieved.getTitle());
   }
 
+  @Test
+  void shouldServeRepeatReadsFromCacheAndWriteThrough() {
+    DbTask task = createSampleTask();
+    task.setDeadline(Instant.now().plusSeconds(86400).truncatedTo(ChronoUnit.SECONDS));
+    repository.save(task);
+
+    repository.findByIdAndDeadline(task.getId(), task.getDeadline());
+    DbTask cached = repository.findByIdAndDeadline(task.getId(), task.getDeadline());
+    cached.setTitle("Updated Task");
+    repository.save(cached);
+    DbTask afterWrite = repository.findByIdAndDeadline(task.getId(), task.getDeadline());
+
+    assertEquals("Updated Task", afterWrite.getTitle());
+    assertEquals(2L, afterWrite.getVersion());
+    assertEquals(3L, repository.cacheStats().getHits());
+    assertEquals(0L, repository.cacheStats().getMisses());
+
+    repository.deleteById(task.getId(), task.getDeadline());
+    assertThrows(TaskNotFoundException.class,
+        () -> repository.findByIdAndDeadline(task.getId(), task.getDeadline()));
+  }
+
+  @Test
+  void shouldRejectUnknownIdsFromIdFilter() {
+    TaskRepository guarded = new TaskRepository(DynamoDbConfig.dynamoDbClient(), taskTable,
+        new TaskIdGuard.Settings(true, 1000, 0.01, Duration.ofMinutes(5), null));
+    DbTask existing = guarded.save(createSampleTask());
+
+    guarded.rebuildIdFilter();
+    DbTask created = guarded.save(createSampleTask());
+
+    assertNotNull(guarded.findById(existing.getId()));
+    assertNotNull(guarded.findById(created.getId()));
+    assertThrows(TaskNotFoundException.class, () -> guarded.findById(UUID.randomUUID().toString()));
+    assertTrue(guarded.findAllByIdOrderByDeadline(UUID.randomUUID().toString()).isEmpty());
+    assertEquals(2, guarded.idFilterStats().getShortCircuited());
+    assertEquals(2, guarded.idFilterStats().getApproximateIdCount());
+  }
+
+  @Test
+  void shouldCountOnlyDeletesThatFoundTheTask() {
+    TaskRepository guarded = new TaskRepository(DynamoDbConfig.dynamoDbClient(), taskTable,
+        new TaskIdGuard.Settings(true, 1000, 0.01, Duration.ofMinutes(5), null));
+    DbTask task = guarded.save(createSampleTask());
+    guarded.rebuildIdFilter();
+
+    assertEquals(1, guarded.deleteAllById(task.getId()));
+    // ✅ Still in the filter until the next rebuild, so this one reaches the query and finds nothing
+    assertEquals(0, guarded.deleteAllById(task.getId()));
+    assertEquals(0, guarded.deleteAllById(UUID.randomUUID().toString()));
+
+    assertEquals(1, guarded.idFilterStats().getDeletedSinceBuild());
+  }
+
+  @Test
+  void shouldFindTaskCreatedThroughServiceOnceIdFilterIsBuilt() {
+    TaskRepository guarded = new TaskRepository(DynamoDbConfig.dynamoDbClient(), taskTable,
+        new TaskIdGuard.Settings(true, 1000, 0.01, Duration.ofMinutes(5), null));
+    guarded.rebuildIdFilter();
+    TaskService service = new TaskService(guarded, Mappers.getMapper(TaskMapper.class));
+    TaskCreate create = new TaskCreate();
+    create.setTitle("Created").setPriority(Priority.HIGH).setDeadline(Instant.now().plusSeconds(3600));
+
+    TaskRead created = service.createTask(create);
+
+    assertNotNull(created.getId());
+    assertEquals("Created", guarded.findById(created.getId()).getTitle());
+    assertEquals(0, guarded.idFilterStats().getShortCircuited());
+  }
+
+  @Test
+  void shouldUpdateOnlyChangedAttributes() {
+    DbTask task = createSampleTask();
+    task.setAssignee("alice");
+    repository.save(task);
+    DbTask changes = new DbTask();
+    changes.setId(task.getId());
+    changes.setDeadline(task.getDeadline());
+    changes.setTitle("Patched Task");
+
+    DbTask updated = repository.update(changes, List.of("title"), List.of("assignee"), 1L);
+
+    assertEquals("Patched Task", updated.getTitle());
+    assertEquals(task.getDescription(), updated.getDescription());
+    assertEquals(2, updated.getSubTasks().size());
+    assertNull(updated.getAssignee());
+    assertEquals(2L, updated.getVersion());
+    assertEquals("Patched Task", repository.findById(task.getId()).getTitle());
+
+    assertThrows(TaskConflictException.class, () -> repository.update(changes, List.of("title"), List.of(), 1L));
+    changes.setId(UUID.randomUUID().toString());
+    assertThrows(TaskNotFoundException.class, () -> repository.update(changes, List.of("title"), List.of(), null));
+  }
+
+  @Test
+  void shouldAppendAndUpdateSubTasksInPlace() {
+    DbTask task = createSampleTask();
+    task.setDeadline(Instant.now().plusSeconds(86400).truncatedTo(ChronoUnit.SECONDS));
+    repository.save(task);
+    String firstId = task.getSubTasks().get(0).getId();
+
+    List<SubTaskResult> appended = repository.appendSubTasks(task.getId(), task.getDeadline(),
+        List.of(createSubTask("Subtask 3")), 1L);
+    SubTaskResult completed = repository.updateSubTask(task.getId(), task.getDeadline(), 0,
+        new SubTask().setId(firstId).setCompleted(true).setCompletedAt(Instant.now()),
+        List.of("completed", "completedAt"), List.of(), null);
+
+    assertEquals(2, appended.get(0).getIndex());
+    assertEquals(2L, appended.get(0).getVersion());
+    assertEquals(3L, completed.getVersion());
+    List<SubTask> stored = repository.findByIdAndDeadline(task.getId(), task.getDeadline()).getSubTasks();
+    assertEquals(List.of("Subtask 1", "Subtask 2", "Subtask 3"), stored.stream().map(SubTask::getTitle).toList());
+    assertTrue(stored.get(0).getCompleted());
+    assertNotNull(stored.get(0).getCompletedAt());
+    assertFalse(stored.get(1).getCompleted());
+    assertNotNull(rawItem(task).get("subTasks").l());
+
+    SubTask wrongId = new SubTask().setId(firstId).setTitle("Renamed");
+    assertThrows(TaskConflictException.class, () -> repository.updateSubTask(task.getId(), task.getDeadline(), 1,
+        wrongId, List.of("title"), List.of(), null));
+    assertThrows(TaskConflictException.class, () -> repository.updateSubTask(task.getId(), task.getDeadline(), 9,
+        wrongId, List.of("title"), List.of(), null));
+    assertThrows(TaskNotFoundException.class, () -> repository.appendSubTasks("missing-id", task.getDeadline(),
+        List.of(createSubTask("Subtask 4")), null));
+  }
+
+  @Test
+  void shouldKeepProgressCountersCurrent() {
+    DbTask embedded = createSampleTask();
+    embedded.setDeadline(Instant.now().plusSeconds(86400).truncatedTo(ChronoUnit.SECONDS));
+    DbTask items = createSampleTask();
+    items.setDeadline(embedded.getDeadline());
+    items.setSubTaskLayout(SubTaskLayout.ITEMS);
+
+    for (DbTask task : List.of(embedded, items)) {
+      repository.save(task);
+      String firstId = task.getSubTasks().get(0).getId();
+      SubTask complete = new SubTask().setId(firstId).setCompleted(true);
+      repository.appendSubTasks(task.getId(), task.getDeadline(), List.of(createSubTask("Subtask 3")), null);
+      repository.updateSubTask(task.getId(), task.getDeadline(), 0, complete, List.of("completed"), List.of(), null);
+      // ✅ Completing it again must not count it twice
+      repository.updateSubTask(task.getId(), task.getDeadline(), 0, complete, List.of("completed"), List.of(), null);
+
+      Map<String, AttributeValue> stored = rawItem(task);
+      assertEquals("3", stored.get("totalSubTasks").n());
+      assertEquals("1", stored.get("completedSubTasks").n());
+      assertNotNull(stored.get("progressUpdatedAt"));
+    }
+
+    DbTask replaced = new DbTask();
+    replaced.setId(embedded.getId());
+    replaced.setDeadline(embedded.getDeadline());
+    repository.update(replaced, List.of(), List.of("subTasks"), null);
+    assertEquals("0", rawItem(embedded).get("totalSubTasks").n());
+  }
+
+  @Test
+  void shouldBackfillProgressCounters() {
+    DbTask task = createSampleTask();
+    task.setDeadline(Instant.now().plusSeconds(86400).truncatedTo(ChronoUnit.SECONDS));
+    task.getSubTasks().get(0).setCompleted(true);
+    repository.save(task);
+    Map<String, AttributeValue> withoutCounters = new HashMap<>(rawItem(task));
+    withoutCounters.keySet().removeAll(List.of("totalSubTasks", "completedSubTasks", "progressUpdatedAt"));
+    DynamoDbConfig.dynamoDbClient().putItem(r -> r.tableName(TABLE_NAME).item(withoutCounters));
+
+    assertEquals(1, repository.backfillProgress());
+    assertEquals(0, repository.backfillProgress());
+
+    DbTask read = repository.findByIdAndDeadline(task.getId(), task.getDeadline(), TaskFields.parse("progress"));
+    assertEquals(2, read.getTotalSubTasks());
+    assertEquals(1, read.getCompletedSubTasks());
+  }
+
+  @Test
+  void shouldCountProgressOfTasksWithoutCountersFromTheirSubTasks() {
+    DbTask task = createSampleTask();
+    task.setDeadline(Instant.now().plusSeconds(86400).truncatedTo(ChronoUnit.SECONDS));
+    task.getSubTasks().get(0).setCompleted(true);
+    repository.save(task);
+    Map<String, AttributeValue> withoutCounters = new HashMap<>(rawItem(task));
+    withoutCounters.keySet().removeAll(List.of("totalSubTasks", "completedSubTasks", "progressUpdatedAt"));
+    DynamoDbConfig.dynamoDbClient().putItem(r -> r.tableName(TABLE_NAME).item(withoutCounters));
+    TaskFields progress = TaskFields.parse("progress");
+    TaskMapper mapper = Mappers.getMapper(TaskMapper.class);
+
+    TaskProgress read = mapper.mapDbToRead(new TaskRepository()
+        .findByIdAndDeadline(task.getId(), task.getDeadline(), progress), progress).getProgress();
+    TaskProgress paged = mapper.mapDbToRead(repository.findPage(10, null, progress).items().get(0), progress)
+        .getProgress();
+
+    assertEquals(2, read.getTotalSubTasks());
+    assertEquals(1, read.getCompletedSubTasks());
+    assertEquals(read.getTotalSubTasks(), paged.getTotalSubTasks());
+    assertEquals(read.getCompletedSubTasks(), paged.getCompletedSubTasks());
+  }
+
+  @Test
+  void shouldStoreLongDescriptionsCompressed() {
+    DbTask task = createSampleTask();
+    task.setDeadline(Instant.now().plusSeconds(86400).truncatedTo(ChronoUnit.SECONDS));
+    String description = "Reproduce the timeout, capture a heap dump and attach it to the incident. ".repeat(6);
+    task.setDescription(description);
+    task.getSubTasks().get(0).setDescription(description);
+    repository.save(task);
+
+    Map<String, AttributeValue> stored = rawItem(task);
+    DbTask read = new TaskRepository().findByIdAndDeadline(task.getId(), task.getDeadline());
+
+    assertNotNull(stored.get("description").b());
+    assertTrue(stored.get("description").b().asByteArray().length < description.length() / 2);
+    assertNotNull(stored.get("subTasks").l().get(0).m().get("description").b());
+    assertEquals(description, read.getDescription());
+    assertEquals(description, read.getSubTasks().get(0).getDescription());
+  }
+
+  @Test
+  void shouldReadAndMigrateLegacySubTaskStrings() {
+    DbTask task = createSampleTask();
+    task.setDeadline(Instant.now().plusSeconds(86400).truncatedTo(ChronoUnit.SECONDS));
+    repository.save(task);
+    String firstId = task.getSubTasks().get(0).getId();
+    Map<String, AttributeValue> legacy = new HashMap<>(rawItem(task));
+    legacy.put("subTasks", new ListSubTaskConverter().transformFrom(task.getSubTasks()));
+    DynamoDbConfig.dynamoDbClient().putItem(r -> r.tableName(TABLE_NAME).item(legacy));
+
+    assertEquals(2, new TaskRepository().findByIdAndDeadline(task.getId(), task.getDeadline()).getSubTasks().size());
+
+    repository.updateSubTask(task.getId(), task.getDeadline(), 0, new SubTask().setId(firstId).setTitle("Renamed"),
+        List.of("title"), List.of(), null);
+
+    assertNotNull(rawItem(task).get("subTasks").l());
+    assertEquals("Renamed", repository.findByIdAndDeadline(task.getId(), task.getDeadline()).getSubTasks().get(0)
+        .getTitle());
+  }
+
+  @Test
+  void shouldStoreSubTasksAsSeparateItems() {
+    DbTask task = createSampleTask();
+    task.setDeadline(Instant.now().plusSeconds(86400).truncatedTo(ChronoUnit.SECONDS));
+    task.setSubTaskLayout(SubTaskLayout.ITEMS);
+    repository.save(task);
+    String firstId = task.getSubTasks().get(0).getId();
+
+    List<SubTaskResult> appended = repository.appendSubTasks(task.getId(), task.getDeadline(),
+        List.of(createSubTask("Subtask 3"), createSubTask("Subtask 4")), 1L);
+    repository.updateSubTask(task.getId(), task.getDeadline(), 0,
+        new SubTask().setId(firstId).setCompleted(true).setCompletedAt(Instant.now()),
+        List.of("completed", "completedAt"), List.of(), 1L);
+
+    assertNull(appended.get(0).getIndex());
+    assertFalse(rawItem(task).containsKey("subTasks"));
+    assertEquals(1L, Long.parseLong(rawItem(task).get("version").n()));
+    DbTask read = new TaskRepository().findByIdAndDeadline(task.getId(), task.getDeadline());
+    assertEquals(4, read.getSubTasks().size());
+    assertTrue(read.getSubTasks().stream().anyMatch(subTask -> firstId.equals(subTask.getId())
+        && subTask.getCompleted() && subTask.getCompletedAt() != null));
+
+    Page<SubTask> first = repository.findSubTasks(task.getId(), task.getDeadline(), 3, null);
+    Page<SubTask> second = repository.findSubTasks(task.getId(), task.getDeadline(), 3, first.lastEvaluatedKey());
+    assertEquals(3, first.items().size());
+    assertEquals(1, second.items().size());
+    assertNull(second.lastEvaluatedKey());
+
+    // ✅ Listing, searching and id lookups only see the task item
+    assertEquals(1, repository.streamAll(10).count());
+    assertNull(repository.findPage(10, null).items().get(0).getSubTasks());
+    assertEquals(1, repository.findAllByIdOrderByDeadline(task.getId()).size());
+    assertEquals(1, repository.countAll(null));
+
+    assertThrows(TaskConflictException.class, () -> repository.appendSubTasks(task.getId(), task.getDeadline(),
+        List.of(createSubTask("Subtask 5")), 7L));
+    assertThrows(TaskNotFoundException.class, () -> repository.updateSubTask(task.getId(), task.getDeadline(), 0,
+        new SubTask().setId("missing").setTitle("Renamed"), List.of("title"), List.of(), null));
+
+    assertEquals(5, repository.deleteAllById(task.getId()));
+    assertEquals(0, DynamoDbConfig.dynamoDbClient().scan(r -> r.tableName(TABLE_NAME)).count());
+  }
+
+  @Test
+  void shouldPageThroughEmbeddedSubTasks() {
+    DbTask task = createSampleTask();
+    task.setDeadline(Instant.now().plusSeconds(86400).truncatedTo(ChronoUnit.SECONDS));
+    repository.save(task);
+
+    Page<SubTask> first = repository.findSubTasks(task.getId(), task.getDeadline(), 1, null);
+    Page<SubTask> second = repository.findSubTasks(task.getId(), task.getDeadline(), 1, first.lastEvaluatedKey());
+
+    assertEquals("Subtask 1", first.items().get(0).getTitle());
+    assertEquals("Subtask 2", second.items().get(0).getTitle());
+    assertNull(second.lastEvaluatedKey());
+  }
+
+  @ParameterizedTest
+  @EnumSource(TaskRepository.DeleteMode.class)
+  void shouldDeleteEveryDeadlineOfTask(TaskRepository.DeleteMode mode) {
+    String taskId = UUID.randomUUID().toString();
+    DbTask other = repository.save(createSampleTask());
+    IntStream.range(0, 30).forEach(i -> {
+      DbTask task = createSampleTask();
+      task.setId(taskId);
+      task.setDeadline(Instant.now().plusSeconds(86400 + i));
+      repository.save(task);
+    });
+
+    int deleted = repository.deleteAllById(taskId, mode);
+
+    assertEquals(30, deleted);
+    assertTrue(repository.findAllByIdOrderByDeadline(taskId).isEmpty());
+    assertNotNull(repository.findById(other.getId()));
+    assertEquals(0, repository.deleteAllById(taskId, mode));
+  }
+
+  @Test
+  void shouldSaveAllInBatches() {
+    List<DbTask> tasks = IntStream.range(0, 60)
+        .mapToObj(i -> {
+          DbTask task = createSampleTask();
+          task.setId(null);
+          return task;
+        })
+        .toList();
+
+    Map<Integer, String> failures = repository.saveAll(tasks);
+
+    assertTrue(failures.isEmpty());
+    try (Stream<DbTask> stored = repository.streamAll(25)) {
+      assertEquals(60, stored.count());
+    }
+    DbTask retrieved = repository.findById(tasks.get(0).getId());
+    assertEquals(1L, retrieved.getVersion());
+    assertNotNull(retrieved.getCreatedAt());
+  }
+
+  @Test
+  void shouldFindAllByKeysInRequestOrder() {
+    List<DbTask> tasks = IntStream.range(0, 120)
+        .mapToObj(i -> repository.save(createSampleTask()))
+        .toList();
+    List<TaskKey> keys = new ArrayList<>();
+    keys.add(new TaskKey("missing-id", tasks.get(0).getDeadline()));
+    tasks.forEach(task -> keys.add(new TaskKey(task.getId(), task.getDeadline())));
+
+    List<DbTask> found = repository.findAllByKeys(keys);
+
+    assertEquals(121, found.size());
+    assertNull(found.get(0));
+    for (int i = 0; i < tasks.size(); i++) {
+      assertEquals(tasks.get(i).getId(), found.get(i + 1).getId());
+    }
+  }
+
+  @Test
+  void shouldSearchUsingPlannedIndex() {
+    DbTask blocked = createSampleTask();
+    blocked.setStatus(TaskStatus.BLOCKED);
+    blocked.setAssignee("alice");
+    DbTask completed = createSampleTask();
+    completed.setStatus(TaskStatus.COMPLETED);
+    completed.setAssignee("alice");
+    DbTask other = createSampleTask();
+    other.setAssignee("bob");
+    List.of(blocked, completed, other).forEach(repository::save);
+
+    QueryPlan byAssignee = repository.planSearch(new TaskSearchCriteria().setAssignee("alice"));
+    QueryPlan byStatus = repository.planSearch(new TaskSearchCriteria()
+        .setStatuses(new TaskStatus[]{TaskStatus.COMPLETED}));
+
+    assertEquals(QueryPlan.AccessPath.ASSIGNEE_INDEX, byAssignee.getAccessPath());
+    assertEquals(List.of(blocked.getId()), repository.search(byAssignee, 10).stream().map(DbTask::getId).toList());
+    assertEquals(QueryPlan.AccessPath.STATUS_INDEX, byStatus.getAccessPath());
+    assertEquals(List.of(completed.getId()), repository.search(byStatus, 10).stream().map(DbTask::getId).toList());
+  }
+
+  @Test
+  void shouldPageThroughAllTasks() {
+    IntStream.range(0, 25).forEach(i -> repository.save(createSampleTask()));
+
+    Set<String> seen = new HashSet<>();
+    Map<String, AttributeValue> startKey = null;
+    int pages = 0;
+    do {
+      Page<DbTask> page = repository.findPage(10, startKey);
+      assertTrue(page.items().size() <= 10);
+      page.items().forEach(task -> assertTrue(seen.add(task.getId())));
+      startKey = page.lastEvaluatedKey();
+      pages++;
+    } while (startKey != null);
+
+    assertEquals(25, seen.size());
+    assertTrue(pages >= 3);
+    assertEquals(25, repository.streamAll(10).count());
+  }
+
+  @Test
+  void shouldProjectRequestedFields() {
+    DbTask task = createSampleTask();
+    task.setDeadline(Instant.now().plusSeconds(86400).truncatedTo(ChronoUnit.SECONDS));
+    task.setAssignee("alice");
+    repository.save(task);
+    TaskFields fields = TaskFields.parse("title,status");
+
+    // ✅ A fresh repository has nothing cached, so the read reaches DynamoDB
+    DbTask projected = new TaskRepository().findByIdAndDeadline(task.getId(), task.getDeadline(), fields);
+    DbTask listed = repository.findPage(10, null, fields).items().get(0);
+
+    for (DbTask read : List.of(projected, listed)) {
+      assertEquals(task.getId(), read.getId());
+      assertEquals(task.getDeadline(), read.getDeadline());
+      assertEquals("Sample Task", read.getTitle());
+      assertEquals(TaskStatus.PENDING, read.getStatus());
+      assertNull(read.getDescription());
+      assertNull(read.getAssignee());
+      assertNull(read.getVersion());
+    }
+    assertThrows(TaskNotFoundException.class,
+        () -> new TaskRepository().findByIdAndDeadline("missing-id", task.getDeadline(), fields));
+  }
+
+  @Test
+  void shouldScanAllSegmentsInParallel() {
+    List<DbTask> saved = IntStream.range(0, 40)
+        .mapToObj(i -> {
+          DbTask task = createSampleTask();
+          task.setStatus(i % 4 == 0 ? TaskStatus.BLOCKED : TaskStatus.PENDING);
+          return repository.save(task);
+        })
+        .toList();
+
+    Set<String> seen = new HashSet<>();
+    ScanSummary summary = repository.scanAll(new ParallelScanRequest()
+        .setTotalSegments(4)
+        .setPageSize(5)
+        .setProjection(List.of("id", "deadline")), task -> {
+      assertNull(task.getTitle());
+      seen.add(task.getId());
+    });
+
+    assertEquals(saved.stream().map(DbTask::getId).collect(Collectors.toSet()), seen);
+    assertEquals(40, summary.getMatchedCount());
+    assertEquals(10, repository.countAll(Expression.builder()
+        .expression("#status = :status")
+        .putExpressionName("#status", "status")
+        .putExpressionValue(":status", AttributeValue.fromS("BLOCKED"))
+        .build()));
+  }
+
   @Test
   void shouldCleanTableBeforeEachTest() {
     DbTask task = createSampleTask();
     repository.save(task);
 
     cleanTable();
-    List<DbTask> tasks = repository.findAll();
-    assertTrue(tasks.isEmpty());
+    assertTrue(repository.findPage(10, null).items().isEmpty());
   }
 
   @Test
@@ -182,11 +656,16 @@ class TaskRepositoryTest extends DynamoDBBaseRepositoryTest {
     return subTask;
   }
 
+  private Map<String, AttributeValue> rawItem(DbTask task) {
+    return DynamoDbConfig.dynamoDbClient().getItem(r -> r.tableName(TABLE_NAME)
+        .key(Map.of("id", AttributeValue.fromS(task.getId()),
+            "deadline", AttributeValue.fromS(task.getDeadline().toString())))).item();
+  }
+
   private void cleanTable() {
     try {
       System.out.println("Cleaning table before test...");
-      var items = taskTable.scan().items();
-      items.forEach(taskTable::deleteItem);
+      TaskTableTestHelper.deleteAllItems(TABLE_NAME);
     } catch (Exception e) {
       System.out.println("Error clearing table: " + e.getMessage());
     }
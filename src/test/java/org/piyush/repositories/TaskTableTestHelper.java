@@ -1,20 +1,25 @@
 package org.piyush.repositories;
 
 import com.amazonaws.services.dynamodbv2.model.ProjectionType;
-import com.amazonaws.services.dynamodbv2.model.ResourceNotFoundException;
 import org.piyush.config.DynamoDbConfig;
 import org.piyush.model.dynamodb.DbTask;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.CreateTableEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.EnhancedGlobalSecondaryIndex;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.KeyType;
 import software.amazon.awssdk.services.dynamodb.model.Projection;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
 
 import java.util.Arrays;
+import java.util.Map;
 
 public class TaskTableTestHelper {
   public static DynamoDbTable<DbTask> createTaskTable(String tableName) {
-    TableSchema<DbTask> schema = TableSchema.fromBean(DbTask.class);
+    TableSchema<DbTask> schema = DbTask.TABLE_SCHEMA;
     DynamoDbTable<DbTask> taskTable = DynamoDbConfig.dynamoDbEnhancedClient()
         .table(tableName, schema);
 
@@ -29,6 +34,32 @@ public class TaskTableTestHelper {
     return taskTable;
   }
 
+  public static void createCounterTable(String tableName) {
+    DynamoDbClient client = DynamoDbConfig.dynamoDbClient();
+    try {
+      client.describeTable(r -> r.tableName(tableName));
+    } catch (ResourceNotFoundException e) {
+      client.createTable(r -> r.tableName(tableName)
+          .attributeDefinitions(
+              a -> a.attributeName(TaskCounterRepository.COUNTER_ATTRIBUTE).attributeType(ScalarAttributeType.S),
+              a -> a.attributeName(TaskCounterRepository.SHARD_ATTRIBUTE).attributeType(ScalarAttributeType.N))
+          .keySchema(
+              k -> k.attributeName(TaskCounterRepository.COUNTER_ATTRIBUTE).keyType(KeyType.HASH),
+              k -> k.attributeName(TaskCounterRepository.SHARD_ATTRIBUTE).keyType(KeyType.RANGE))
+          .billingMode(BillingMode.PAY_PER_REQUEST));
+    }
+  }
+
+  // ✅ Keys-only scan with the plain client, since sub-task items don't map to DbTask
+  public static void deleteAllItems(String tableName) {
+    DynamoDbClient client = DynamoDbConfig.dynamoDbClient();
+    client.scanPaginator(r -> r.tableName(tableName)
+            .projectionExpression("#pk, #sk")
+            .expressionAttributeNames(Map.of("#pk", "id", "#sk", "deadline")))
+        .items()
+        .forEach(key -> client.deleteItem(r -> r.tableName(tableName).key(key)));
+  }
+
   protected static void waitForTableToBecomeActive(DynamoDbTable<?> table) {
     try {
       int attempts = 0;
@@ -57,7 +88,8 @@ public class TaskTableTestHelper {
             .build())
         .globalSecondaryIndices(Arrays.asList(
             createAssigneeIndex(),
-            createStatusIndex()))
+            createStatusIndex(),
+            createStatusShardIndex()))
         .build();
   }
 
@@ -86,4 +118,17 @@ public class TaskTableTestHelper {
             .build())
         .build();
   }
+
+  private static EnhancedGlobalSecondaryIndex createStatusShardIndex() {
+    return EnhancedGlobalSecondaryIndex.builder()
+        .indexName(StatusShards.INDEX)
+        .provisionedThroughput(b -> b
+            .readCapacityUnits(10L)
+            .writeCapacityUnits(10L)
+            .build())
+        .projection(Projection.builder()
+            .projectionType(ProjectionType.ALL.toString())
+            .build())
+        .build();
+  }
 }
@@ -0,0 +1,71 @@
+package org.piyush.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.piyush.exception.TaskNotFoundException;
+import org.piyush.mapper.TaskMapperImpl;
+import org.piyush.model.dynamodb.DbTask;
+import org.piyush.model.taskmanagement.TaskRead;
+import org.piyush.model.taskmanagement.TaskSearchCriteria;
+import org.piyush.model.taskmanagement.TaskSearchResult;
+import org.piyush.repositories.AsyncTaskRepository;
+import org.piyush.repositories.QueryPlan;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncTaskServiceTest {
+
+  @Mock
+  private AsyncTaskRepository taskRepository;
+
+  @Mock
+  private TaskMapperImpl taskMapper;
+
+  @InjectMocks
+  private AsyncTaskService taskService;
+
+  @Test
+  void getTask_MapsStoredTask() {
+    DbTask stored = new DbTask();
+    stored.setId("test-id");
+    TaskRead expectedRead = new TaskRead();
+    expectedRead.setId("test-id");
+
+    when(taskRepository.findById("test-id")).thenReturn(CompletableFuture.completedFuture(stored));
+    when(taskMapper.mapDbToRead(stored)).thenReturn(expectedRead);
+
+    assertThat(taskService.getTask("test-id").join()).isEqualTo(expectedRead);
+  }
+
+  @Test
+  void getTask_CompletesWithNotFound() {
+    when(taskRepository.findById("missing-id"))
+        .thenReturn(CompletableFuture.failedFuture(new TaskNotFoundException("Task not found")));
+
+    assertThatThrownBy(() -> taskService.getTask("missing-id").join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(TaskNotFoundException.class);
+    verifyNoInteractions(taskMapper);
+  }
+
+  @Test
+  void searchTasks_ExplainSkipsSearch() {
+    TaskSearchCriteria criteria = new TaskSearchCriteria();
+    QueryPlan plan = new QueryPlan().setAccessPath(QueryPlan.AccessPath.SCAN);
+    when(taskRepository.planSearch(criteria)).thenReturn(CompletableFuture.completedFuture(plan));
+
+    TaskSearchResult result = taskService.searchTasks(criteria, true).join();
+
+    assertThat(result.getPlan()).isSameAs(plan);
+    verify(taskRepository, never()).search(any(), anyInt());
+  }
+}
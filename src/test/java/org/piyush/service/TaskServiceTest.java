@@ -5,16 +5,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.piyush.config.JacksonConfig;
+import org.piyush.constant.Priority;
+import org.piyush.constant.SubTaskLayout;
+import org.piyush.constant.TaskStatus;
+import org.piyush.exception.TaskConflictException;
 import org.piyush.exception.TaskNotFoundException;
 import org.piyush.mapper.TaskMapperImpl;
 import org.piyush.model.dynamodb.DbTask;
 import org.piyush.model.taskmanagement.*;
+import org.piyush.repositories.TaskCounterRepository;
 import org.piyush.repositories.TaskRepository;
+import org.piyush.utils.PageTokenUtil;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -27,6 +41,9 @@ class TaskServiceTest {
   @Mock
   private TaskMapperImpl taskMapper;
 
+  @Mock
+  private TaskCounterRepository taskCounterRepository;
+
   @InjectMocks
   private TaskService taskService;
 
@@ -55,6 +72,81 @@ class TaskServiceTest {
     verify(taskMapper).mapDbToRead(dbTask);
   }
 
+  @Test
+  void createTask_WithItemsLayoutStoresSubTasksAsItems() {
+    TaskService itemsService = new TaskService(taskRepository, taskMapper, SubTaskLayout.ITEMS);
+    TaskCreate taskCreate = new TaskCreate();
+    DbTask dbTask = new DbTask();
+    when(taskMapper.mapCreateToDb(taskCreate)).thenReturn(dbTask);
+    when(taskRepository.save(dbTask)).thenReturn(dbTask);
+
+    itemsService.createTask(taskCreate);
+
+    verify(taskRepository).save(argThat(task -> task.getSubTaskLayout() == SubTaskLayout.ITEMS));
+  }
+
+  @Test
+  void createTasks_ReportsPerItemResults() {
+    TaskCreate valid = (TaskCreate) new TaskCreate()
+        .setTitle("Valid Task")
+        .setPriority(Priority.LOW);
+    TaskCreate invalid = (TaskCreate) new TaskCreate()
+        .setDescription("Missing title and priority");
+    TaskCreate unwritten = (TaskCreate) new TaskCreate()
+        .setTitle("Throttled Task")
+        .setPriority(Priority.HIGH);
+    TaskCreate unmappable = (TaskCreate) new TaskCreate()
+        .setTitle("Unmappable Task")
+        .setPriority(Priority.MEDIUM);
+
+    DbTask validDb = new DbTask();
+    DbTask unwrittenDb = new DbTask();
+    when(taskMapper.mapCreateToDb(valid)).thenReturn(validDb);
+    when(taskMapper.mapCreateToDb(unwritten)).thenReturn(unwrittenDb);
+    when(taskMapper.mapCreateToDb(unmappable)).thenThrow(new IllegalStateException("Mapper failed"));
+    when(taskRepository.saveAll(List.of(validDb, unwrittenDb))).thenAnswer(invocation -> {
+      validDb.setId("id-1");
+      unwrittenDb.setId("id-2");
+      return Map.of(1, "Item still unprocessed");
+    });
+
+    BatchResult<Void> result = taskService.createTasks(List.of(valid, invalid, unwritten, unmappable));
+
+    assertThat(result.getSucceeded()).isEqualTo(1);
+    assertThat(result.getFailed()).isEqualTo(3);
+    assertThat(result.getItems())
+        .extracting(BatchItemResult::getIndex, BatchItemResult::getId, BatchItemResult::getStatusCode)
+        .containsExactly(
+            tuple(0, "id-1", 201),
+            tuple(1, null, 400),
+            tuple(2, "id-2", 500),
+            tuple(3, null, 500));
+    assertThat(result.getItems().get(1).getMessage()).startsWith("Validation failed:");
+    verify(taskMapper, never()).mapCreateToDb(invalid);
+  }
+
+  @Test
+  void getTasks_MarksMissingKeysNotFound() {
+    Instant deadline = Instant.parse("2099-02-18T10:00:00Z");
+    List<TaskKey> keys = List.of(new TaskKey("id-1", deadline), new TaskKey("id-2", deadline));
+    DbTask dbTask = new DbTask();
+    dbTask.setId("id-1");
+    TaskRead taskRead = new TaskRead();
+    taskRead.setId("id-1");
+
+    when(taskRepository.findAllByKeys(keys)).thenReturn(Arrays.asList(dbTask, null));
+    when(taskMapper.mapDbToRead(dbTask)).thenReturn(taskRead);
+
+    BatchResult<TaskRead> result = taskService.getTasks(keys);
+
+    assertThat(result.getSucceeded()).isEqualTo(1);
+    assertThat(result.getItems())
+        .extracting(BatchItemResult::getId, BatchItemResult::getStatusCode, BatchItemResult::getData)
+        .containsExactly(
+            tuple("id-1", 200, taskRead),
+            tuple("id-2", 404, null));
+  }
+
   @Test
   void getTask_Success() {
     String taskId = "test-id";
@@ -84,6 +176,101 @@ class TaskServiceTest {
     verify(taskMapper, never()).mapDbToRead(any());
   }
 
+  @Test
+  void patchTask_SendsOnlyPatchedFields() throws Exception {
+    Instant deadline = Instant.parse("2099-01-01T00:00:00Z");
+    TaskPatch patch = TaskPatch.fromMergePatch(JacksonConfig.getObjectMapper()
+        .readTree("{\"status\":\"COMPLETED\",\"description\":null}"), JacksonConfig.getObjectMapper());
+    DbTask updated = new DbTask();
+    when(taskRepository.update(any(), eq(Set.of("status")), eq(Set.of("description")), eq(4L))).thenReturn(updated);
+    when(taskMapper.mapDbToRead(updated)).thenReturn(new TaskRead());
+
+    taskService.patchTask("test-id", deadline, patch, 4L);
+
+    verify(taskRepository).update(argThat(changes -> "test-id".equals(changes.getId())
+        && deadline.equals(changes.getDeadline())
+        && changes.getStatus() == TaskStatus.COMPLETED), eq(Set.of("status")), eq(Set.of("description")), eq(4L));
+  }
+
+  @Test
+  void getTaskCounts_CountsEveryStatusWhenNoneRequested() {
+    when(taskCounterRepository.counts(anyList())).thenAnswer(invocation -> {
+      Map<String, Long> counts = new LinkedHashMap<>();
+      invocation.<List<String>>getArgument(0).forEach(counter -> counts.put(counter, 3L));
+      return counts;
+    });
+
+    TaskCounts counts = taskService.getTaskCounts(List.of(), List.of("alice"));
+
+    assertThat(counts.getByStatus()).containsOnlyKeys(Arrays.stream(TaskStatus.values()).map(Enum::name).toList());
+    assertThat(counts.getByAssignee()).containsEntry("alice", 3L);
+    verify(taskCounterRepository).counts(argThat(counters -> counters.size() == TaskStatus.values().length + 1));
+  }
+
+  @Test
+  void patchTask_RejectsDependencyThatClosesCycle() throws Exception {
+    Instant deadline = Instant.parse("2099-01-01T00:00:00Z");
+    TaskPatch patch = TaskPatch.fromMergePatch(JacksonConfig.getObjectMapper()
+        .readTree("{\"dependentTaskIds\":[\"task-b\"]}"), JacksonConfig.getObjectMapper());
+    DbTask taskB = new DbTask();
+    taskB.setId("task-b");
+    taskB.setDeadline(deadline);
+    taskB.setParentTaskId("test-id");
+    when(taskRepository.findDependencyLinks(List.of("task-b"))).thenReturn(List.of(taskB));
+
+    TaskConflictException e = assertThrows(TaskConflictException.class,
+        () -> taskService.patchTask("test-id", deadline, patch, null));
+
+    assertThat(e.getMessage()).endsWith("test-id -> task-b -> test-id");
+    verify(taskRepository, never()).update(any(), any(), any(), any());
+  }
+
+  @Test
+  void patchTask_RejectsRemovingMandatoryFields() throws Exception {
+    TaskPatch patch = TaskPatch.fromMergePatch(JacksonConfig.getObjectMapper()
+        .readTree("{\"title\":null,\"priority\":null}"), JacksonConfig.getObjectMapper());
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> taskService.patchTask("test-id", Instant.now(), patch, null));
+
+    assertThat(e.getMessage()).isEqualTo("Validation failed: Title is mandatory; Priority is mandatory;");
+    verifyNoInteractions(taskRepository);
+  }
+
+  @Test
+  void patchSubTask_StampsCompletionAndClearsItOnReopen() throws Exception {
+    Instant deadline = Instant.parse("2099-01-01T00:00:00Z");
+    SubTaskPatch reopen = SubTaskPatch.fromMergePatch(JacksonConfig.getObjectMapper()
+        .readTree("{\"id\":\"st-1\",\"completed\":null}"), JacksonConfig.getObjectMapper());
+
+    taskService.patchSubTask("test-id", deadline, 2, SubTaskPatch.complete("st-1"), null);
+    taskService.patchSubTask("test-id", deadline, 2, reopen, 5L);
+
+    verify(taskRepository).updateSubTask(eq("test-id"), eq(deadline), eq(2),
+        argThat(changes -> changes.getCompleted() && changes.getCompletedAt() != null),
+        eq(Set.of("completed", "completedAt")), eq(Set.of()), isNull());
+    verify(taskRepository).updateSubTask(eq("test-id"), eq(deadline), eq(2),
+        argThat(changes -> !changes.getCompleted() && changes.getCompletedAt() == null),
+        eq(Set.of("completed")), eq(Set.of("completedAt")), eq(5L));
+  }
+
+  @Test
+  void appendSubTasks_AssignsIdsAndRejectsInvalidSubTasks() {
+    Instant deadline = Instant.parse("2099-01-01T00:00:00Z");
+    List<SubTask> subTasks = List.of(new SubTask().setTitle("New").setCompleted(null));
+    when(taskMapper.mapSubTasks(subTasks)).thenReturn(List.of(new SubTask().setId("st-new").setTitle("New")
+        .setCompleted(null)));
+
+    taskService.appendSubTasks("test-id", deadline, subTasks, null);
+
+    verify(taskRepository).appendSubTasks(eq("test-id"), eq(deadline), argThat(appended ->
+        "st-new".equals(appended.get(0).getId()) && Boolean.FALSE.equals(appended.get(0).getCompleted())), isNull());
+    assertThrows(IllegalArgumentException.class, () -> taskService.appendSubTasks("test-id", deadline,
+        List.of(new SubTask()), null));
+    assertThrows(IllegalArgumentException.class, () -> taskService.appendSubTasks("test-id", deadline,
+        List.of(), null));
+  }
+
   @Test
   void updateTask_Success() {
     TaskUpdate taskUpdate = new TaskUpdate();
@@ -124,6 +311,26 @@ class TaskServiceTest {
   }
 
   @Test
+  void listTasks_ReturnsNextPageToken() {
+    DbTask task = new DbTask();
+    task.setId("id1");
+    TaskRead taskRead = new TaskRead();
+    taskRead.setId("id1");
+    Map<String, AttributeValue> lastKey = Map.of("id", AttributeValue.fromS("id1"));
+    Map<String, AttributeValue> startKey = Map.of("id", AttributeValue.fromS("id0"));
+
+    when(taskRepository.findPage(1, startKey, TaskFields.ALL))
+        .thenReturn(Page.builder(DbTask.class).items(List.of(task)).lastEvaluatedKey(lastKey).build());
+    when(taskMapper.mapDbToRead(task, TaskFields.ALL)).thenReturn(taskRead);
+
+    TaskPage page = taskService.listTasks(1, PageTokenUtil.encode(startKey));
+
+    assertThat(page.getTasks()).containsExactly(taskRead);
+    assertThat(PageTokenUtil.decode(page.getNextPageToken())).isEqualTo(lastKey);
+  }
+
+  @Test
+  @SuppressWarnings("deprecation") // ✅ Covers the deprecated full listing for as long as it exists
   void getAllTasks_Success() {
     DbTask task1 = new DbTask();
     task1.setId("id1");
@@ -152,24 +359,19 @@ class TaskServiceTest {
   void deleteTask_Success() {
     String taskId = "test-id";
 
-    List<DbTask> existingTasks = List.of(new DbTask());
-    existingTasks.get(0).setId(taskId);
-
-    when(taskRepository.findAllByIdOrderByDeadline(taskId)).thenReturn(existingTasks);
+    when(taskRepository.deleteAllById(taskId)).thenReturn(2);
 
     taskService.deleteTask(taskId);
 
-    verify(taskRepository).findAllByIdOrderByDeadline(taskId);
-    verify(taskRepository).deleteById(taskId);
+    verify(taskRepository).deleteAllById(taskId);
+    verify(taskRepository, never()).findAllByIdOrderByDeadline(any());
   }
 
   @Test
   void deleteTask_NotFound() {
     String taskId = "test-id";
-    when(taskRepository.findAllByIdOrderByDeadline(taskId)).thenThrow(TaskNotFoundException.class);
+    when(taskRepository.deleteAllById(taskId)).thenReturn(0);
 
     assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(taskId));
-    verify(taskRepository).findAllByIdOrderByDeadline(taskId);
-    verify(taskRepository, never()).deleteById(any());
   }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package org.piyush.utils;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageTokenUtilTest {
+
+  private static final Map<String, AttributeValue> KEY = Map.of(
+      "id", AttributeValue.fromS("task-1"),
+      "deadline", AttributeValue.fromS("2099-02-18T10:00:00Z"));
+
+  @Test
+  void shouldRoundTripLastEvaluatedKey() {
+    String token = PageTokenUtil.encode(KEY);
+
+    assertFalse(token.contains("task-1"));
+    assertEquals(KEY, PageTokenUtil.decode(token));
+  }
+
+  @Test
+  void shouldReturnNullWhenThereIsNoNextPage() {
+    assertNull(PageTokenUtil.encode(null));
+    assertNull(PageTokenUtil.encode(Map.of()));
+    assertNull(PageTokenUtil.decode(null));
+  }
+
+  @Test
+  void shouldRejectTamperedToken() {
+    String token = PageTokenUtil.encode(KEY);
+    String forged = PageTokenUtil.encode(Map.of("id", AttributeValue.fromS("task-2")));
+    String tampered = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+
+    assertThrows(IllegalArgumentException.class, () -> PageTokenUtil.decode(tampered));
+    assertThrows(IllegalArgumentException.class, () -> PageTokenUtil.decode("not-a-token"));
+  }
+}
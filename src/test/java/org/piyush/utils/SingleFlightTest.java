@@ -0,0 +1,121 @@
+package org.piyush.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+  private static final int CALLERS = 8;
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+  @Test
+  void execute_ConcurrentCallersShareOneLoad() throws Exception {
+    SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(10));
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<Future<String>> results = startCallers(flight, () -> {
+      loads.incrementAndGet();
+      await(release);
+      return "value";
+    });
+    awaitWaiters(flight);
+    release.countDown();
+
+    for (Future<String> result : results) {
+      assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+    }
+    assertThat(loads).hasValue(1);
+    assertThat(flight.stats().getCoalesced()).isEqualTo(CALLERS - 1);
+    assertThat(flight.stats().getInFlight()).isZero();
+  }
+
+  @Test
+  void execute_FailurePropagatesToEveryWaiter() throws Exception {
+    SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(10));
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<Future<String>> results = startCallers(flight, () -> {
+      await(release);
+      throw new IllegalArgumentException("boom");
+    });
+    awaitWaiters(flight);
+    release.countDown();
+
+    for (Future<String> result : results) {
+      assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(IllegalArgumentException.class)
+          .hasRootCauseMessage("boom");
+    }
+  }
+
+  @Test
+  void execute_WaiterLoadsItselfAfterMaxWait() throws Exception {
+    SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofMillis(50));
+    CountDownLatch release = new CountDownLatch(1);
+    Future<String> slow = executor.submit(() -> flight.execute("key", () -> {
+      await(release);
+      return "slow";
+    }));
+    while (flight.stats().getInFlight() == 0) {
+      Thread.onSpinWait();
+    }
+
+    String fast = flight.execute("key", () -> "fast");
+    release.countDown();
+
+    assertThat(fast).isEqualTo("fast");
+    assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+    assertThat(flight.stats().getTimeouts()).isEqualTo(1);
+  }
+
+  @Test
+  void execute_CompletedCallsAreNotReused() {
+    SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ofSeconds(1));
+    AtomicInteger loads = new AtomicInteger();
+
+    flight.execute("key", loads::incrementAndGet);
+    int second = flight.execute("key", loads::incrementAndGet);
+
+    assertThat(second).isEqualTo(2);
+    assertThat(flight.stats().getCoalesced()).isZero();
+  }
+
+  private List<Future<String>> startCallers(SingleFlight<String, String> flight,
+                                            Supplier<String> loader) {
+    List<Future<String>> results = new ArrayList<>();
+    for (int i = 0; i < CALLERS; i++) {
+      results.add(executor.submit(() -> flight.execute("key", loader)));
+    }
+    return results;
+  }
+
+  private static void awaitWaiters(SingleFlight<String, String> flight) {
+    while (flight.stats().getCoalesced() < CALLERS - 1) {
+      Thread.onSpinWait();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package org.piyush.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.piyush.constant.Priority;
+import org.piyush.model.taskmanagement.SubTask;
+import org.piyush.model.taskmanagement.Task;
+import org.piyush.model.taskmanagement.TaskCreate;
+import org.piyush.model.taskmanagement.TaskUpdate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskValidatorsTest {
+
+  static Stream<Object> payloads() {
+    String longTitle = "t".repeat(101);
+    String longDescription = "d".repeat(501);
+    Instant past = Instant.now().minus(1, ChronoUnit.DAYS);
+    Instant future = Instant.now().plus(1, ChronoUnit.DAYS);
+    return Stream.of(
+        create("Title", Priority.HIGH, null),
+        create(null, null, null),
+        create("   ", Priority.LOW, null),
+        create("", Priority.LOW, past),
+        create(longTitle, Priority.LOW, future).setDescription(longDescription),
+        create("t".repeat(100), Priority.LOW, future).setDescription("d".repeat(500)),
+        create("Title", Priority.MEDIUM, future).setSubTasks(Arrays.asList(
+            new SubTask().setTitle("ok"),
+            null,
+            new SubTask().setTitle(" "),
+            new SubTask().setTitle(longTitle).setDescription(longDescription))),
+        create("Title", Priority.MEDIUM, null).setSubTasks(null),
+        update(null, null),
+        update("task-1", "Title"),
+        update("task-1", longTitle).setSubTasks(List.of(new SubTask())),
+        new SubTask(),
+        new SubTask().setTitle(longTitle),
+        new Task().setPriority(Priority.HIGH));
+  }
+
+  @ParameterizedTest
+  @MethodSource("payloads")
+  void validate_ReportsSameMessagesAsHibernate(Object payload) {
+    List<String> expected = ValidationUtil.validateWithHibernate(payload, false);
+
+    assertThat(TaskValidators.validate(payload, false)).containsExactlyInAnyOrderElementsOf(expected);
+  }
+
+  @ParameterizedTest
+  @MethodSource("payloads")
+  void validate_FailFastReportsOneOfHibernatesMessages(Object payload) {
+    List<String> all = ValidationUtil.validateWithHibernate(payload, false);
+
+    List<String> actual = TaskValidators.validate(payload, true);
+
+    assertThat(actual).hasSize(all.isEmpty() ? 0 : 1);
+    assertThat(all).containsAll(actual);
+  }
+
+  @Test
+  void validate_FailFastThrowsWithSingleMessage() {
+    assertThatThrownBy(() -> ValidationUtil.validate(create(null, null, null), true))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Validation failed: Title is mandatory;");
+  }
+
+  @Test
+  void validate_UnknownTypeFallsBackToHibernate() {
+    assertThat(TaskValidators.validate(new Object(), false)).isNull();
+  }
+
+  private static Task create(String title, Priority priority, Instant deadline) {
+    return new TaskCreate().setTitle(title).setPriority(priority).setDeadline(deadline);
+  }
+
+  private static Task update(String id, String title) {
+    return new TaskUpdate().setId(id).setTitle(title).setPriority(Priority.LOW);
+  }
+}